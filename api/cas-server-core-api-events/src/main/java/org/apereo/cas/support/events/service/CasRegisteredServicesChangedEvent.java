@@ -0,0 +1,54 @@
+package org.apereo.cas.support.events.service;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apereo.cas.services.RegisteredService;
+
+import java.util.Collection;
+
+/**
+ * This is {@link CasRegisteredServicesChangedEvent} that is signaled
+ * when a subset of registered services is changed in the registry,
+ * carrying only those services that were saved or deleted.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CasRegisteredServicesChangedEvent extends BaseCasRegisteredServiceEvent {
+
+    private static final long serialVersionUID = 4618920271561254813L;
+
+    private final Collection<RegisteredService> savedServices;
+
+    private final Collection<RegisteredService> deletedServices;
+
+    /**
+     * Instantiates a new cas sso event.
+     *
+     * @param source          the source
+     * @param savedServices   the services that were created or modified
+     * @param deletedServices the services that were removed
+     */
+    public CasRegisteredServicesChangedEvent(final Object source,
+                                             final Collection<RegisteredService> savedServices,
+                                             final Collection<RegisteredService> deletedServices) {
+        super(source);
+        this.savedServices = savedServices;
+        this.deletedServices = deletedServices;
+    }
+
+    public Collection<RegisteredService> getSavedServices() {
+        return this.savedServices;
+    }
+
+    public Collection<RegisteredService> getDeletedServices() {
+        return this.deletedServices;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("savedServices", this.savedServices)
+                .append("deletedServices", this.deletedServices)
+                .toString();
+    }
+}
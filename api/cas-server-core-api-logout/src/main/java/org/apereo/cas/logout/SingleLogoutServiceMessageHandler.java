@@ -2,6 +2,11 @@ package org.apereo.cas.logout;
 
 import org.apereo.cas.authentication.principal.WebApplicationService;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * This is {@link SingleLogoutServiceMessageHandler} which defines how a logout message
  * for a service that supports SLO should be handled.
@@ -20,4 +25,18 @@ public interface SingleLogoutServiceMessageHandler {
      * @return the logout request
      */
     LogoutRequest handle(WebApplicationService singleLogoutService, String ticketId);
+
+    /**
+     * Handle logout for all services of a single sign-on session.
+     *
+     * @param services the services, keyed by the ticket id that was issued for each
+     * @return the logout requests
+     */
+    default List<LogoutRequest> handle(final Map<String, WebApplicationService> services) {
+        return services.entrySet()
+                .stream()
+                .map(entry -> handle(entry.getValue(), entry.getKey()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
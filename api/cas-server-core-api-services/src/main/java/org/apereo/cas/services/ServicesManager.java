@@ -132,6 +132,18 @@ public interface ServicesManager {
      */
     void load();
 
+    /**
+     * Inform the ServicesManager that a subset of its services has changed,
+     * so that only those entries are replaced or removed rather than reloading
+     * every service. By default, all services are reloaded.
+     *
+     * @param savedServices   the services that were created or modified
+     * @param deletedServices the services that were removed
+     */
+    default void update(final Collection<RegisteredService> savedServices, final Collection<RegisteredService> deletedServices) {
+        load();
+    }
+
     /**
      * Return a count of loaded services by this manager.
      *
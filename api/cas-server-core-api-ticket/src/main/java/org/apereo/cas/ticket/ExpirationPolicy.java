@@ -3,6 +3,7 @@ package org.apereo.cas.ticket;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 
 /**
  * Strategy that determines if the ticket is expired. Implementations of the
@@ -39,6 +40,20 @@ public interface ExpirationPolicy extends Serializable {
      */
     Long getTimeToIdle();
 
+    /**
+     * Calculate the next instant at which the ticket will be considered expired by this policy,
+     * given its current state and assuming it is not used again. Ticket registries may store this
+     * instant alongside the ticket so that expired tickets can be purged by the underlying store
+     * without evaluating the policy.
+     *
+     * @param ticketState the snapshot of the current ticket state
+     * @return the expiration instant, or {@code null} if the ticket never expires
+     * or the instant cannot be determined ahead of time.
+     */
+    default ZonedDateTime getNextExpirationTime(final TicketState ticketState) {
+        return null;
+    }
+
     /**
      * Gets name of this expiration policy.
      *
@@ -47,6 +47,26 @@ public interface TicketGrantingTicket extends Ticket {
                                      boolean credentialProvided,
                                      boolean onlyTrackMostRecentSession);
 
+    /**
+     * Grant a ServiceTicket for a specific service, and limit the number of earlier sessions this ticket
+     * keeps by ticket id only for single logout. The most recent session of each service is always tracked.
+     *
+     * @param id                         The unique identifier for this ticket.
+     * @param service                    The service for which we are granting a ticket
+     * @param expirationPolicy           the expiration policy.
+     * @param credentialProvided         current credential event for issuing this ticket. Could be null.
+     * @param onlyTrackMostRecentSession track the most recent session by keeping the latest service ticket
+     * @param maximumCompactedSessions   the maximum number of earlier sessions to keep by ticket id only, or zero for no limit
+     * @return the service ticket granted to a specific service for the principal of the TicketGrantingTicket
+     */
+    default ServiceTicket grantServiceTicket(final String id, final Service service,
+                                             final ExpirationPolicy expirationPolicy,
+                                             final boolean credentialProvided,
+                                             final boolean onlyTrackMostRecentSession,
+                                             final int maximumCompactedSessions) {
+        return grantServiceTicket(id, service, expirationPolicy, credentialProvided, onlyTrackMostRecentSession);
+    }
+
     /**
      * Gets an immutable map of service ticket and services accessed by this ticket-granting ticket.
      *
@@ -0,0 +1,21 @@
+package org.apereo.cas;
+
+import java.util.Map;
+
+/**
+ * This is {@link StatisticsSource} implemented by components that keep statistics
+ * on their own behavior, such as caches, pools and queues, so that these may be reported on.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@FunctionalInterface
+public interface StatisticsSource {
+
+    /**
+     * Collect the statistics of this component.
+     *
+     * @return the map
+     */
+    Map<String, Object> getStatistics();
+}
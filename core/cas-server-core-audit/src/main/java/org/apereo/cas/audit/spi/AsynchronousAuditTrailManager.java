@@ -0,0 +1,195 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.StatisticsSource;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link AsynchronousAuditTrailManager} that queues audit records
+ * and hands them over to the underlying manager from a background thread, so request threads
+ * do not wait on the audit destination. Queued records are written in batches once enough
+ * have accumulated or the flush interval has passed, whichever comes first. Managers that are
+ * {@link BatchingAuditTrailManager}s receive each batch in one go.
+ * <p>
+ * The queue is bounded. Once it is full, records are either discarded and counted,
+ * or written by the calling thread which slows callers down until the queue has drained.
+ * Queued records are flushed when this manager is destroyed.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class AsynchronousAuditTrailManager implements AuditTrailManager, DisposableBean, StatisticsSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsynchronousAuditTrailManager.class);
+
+    private final AuditTrailManager manager;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long shutdownTimeout;
+    private final boolean discardWhenFull;
+
+    private final Queue<AuditActionContext> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder writtenByCaller = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private volatile boolean shutdown;
+
+    /**
+     * Instantiates a new asynchronous audit trail manager.
+     *
+     * @param manager         the manager that writes audit records
+     * @param queueCapacity   the maximum number of queued records
+     * @param batchSize       the maximum number of records written at once
+     * @param flushInterval   the time in milliseconds between flushes
+     * @param shutdownTimeout the time in milliseconds to wait for an ongoing flush on shutdown
+     * @param discardWhenFull whether records should be discarded when the queue is full
+     */
+    public AsynchronousAuditTrailManager(final AuditTrailManager manager,
+                                         final int queueCapacity,
+                                         final int batchSize,
+                                         final long flushInterval,
+                                         final long shutdownTimeout,
+                                         final boolean discardWhenFull) {
+        this.manager = manager;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.shutdownTimeout = shutdownTimeout;
+        this.discardWhenFull = discardWhenFull;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "cas-audit-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void record(final AuditActionContext audit) {
+        this.recorded.increment();
+        if (this.shutdown || !reserve()) {
+            if (this.discardWhenFull && !this.shutdown) {
+                this.discarded.increment();
+                LOGGER.debug("Audit queue is full; discarding audit record for action [{}]", audit.getActionPerformed());
+                return;
+            }
+            this.manager.record(audit);
+            this.written.increment();
+            this.writtenByCaller.increment();
+            return;
+        }
+        this.queue.offer(audit);
+        if (this.queueSize.get() >= this.batchSize && this.flushRequested.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this::flush);
+            } catch (final RejectedExecutionException e) {
+                this.flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Write all queued audit records in batches.
+     */
+    public synchronized void flush() {
+        this.flushRequested.set(false);
+        List<AuditActionContext> batch = drain();
+        while (!batch.isEmpty()) {
+            write(batch);
+            batch = drain();
+        }
+    }
+
+    /**
+     * Collect statistics on how many audit records were queued, written or discarded.
+     *
+     * @return the map
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> results = new LinkedHashMap<>();
+        results.put("queued", this.queueSize.get());
+        results.put("recorded", this.recorded.sum());
+        results.put("written", this.written.sum());
+        results.put("writtenByCaller", this.writtenByCaller.sum());
+        results.put("discarded", this.discarded.sum());
+        results.put("failed", this.failed.sum());
+        results.put("batches", this.batches.sum());
+        return results;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.shutdown = true;
+        this.executor.shutdown();
+        if (!this.executor.awaitTermination(this.shutdownTimeout, TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("Timed out waiting for the audit writer to finish; [{}] audit record(s) remain queued", this.queueSize.get());
+        }
+        flush();
+    }
+
+    private boolean reserve() {
+        while (true) {
+            final int size = this.queueSize.get();
+            if (size >= this.queueCapacity) {
+                return false;
+            }
+            if (this.queueSize.compareAndSet(size, size + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private List<AuditActionContext> drain() {
+        final List<AuditActionContext> batch = new ArrayList<>(this.batchSize);
+        AuditActionContext audit = this.queue.poll();
+        while (audit != null) {
+            batch.add(audit);
+            if (batch.size() >= this.batchSize) {
+                break;
+            }
+            audit = this.queue.poll();
+        }
+        this.queueSize.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void write(final List<AuditActionContext> batch) {
+        try {
+            if (this.manager instanceof BatchingAuditTrailManager) {
+                ((BatchingAuditTrailManager) this.manager).recordAll(batch);
+            } else {
+                batch.forEach(this.manager::record);
+            }
+            this.written.add(batch.size());
+            this.batches.increment();
+            LOGGER.trace("Wrote a batch of [{}] audit record(s)", batch.size());
+        } catch (final Exception e) {
+            this.failed.add(batch.size());
+            LOGGER.error("Unable to write a batch of [{}] audit record(s): [{}]", batch.size(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditPointRuntimeInfo;
+
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This is {@link AuditActionContextRingBuffer} that keeps the most recent audit records
+ * in a fixed number of slots, overwriting the oldest record once full. Records are kept in a
+ * compact form, sharing a single copy of repeated values such as action names, application codes
+ * and server addresses, and timestamps are kept as epoch milliseconds. Records older than
+ * the maximum age are ignored. A small index maps each minute to the first record written
+ * during that minute, so time-range queries only scan the part of the buffer they need.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class AuditActionContextRingBuffer {
+    private static final long INDEX_BUCKET_MILLIS = 60_000;
+    private static final int MAX_SHARED_VALUES = 1024;
+
+    private static final AuditPointRuntimeInfo RUNTIME_INFO = new RecentAuditPointRuntimeInfo();
+
+    private final int capacity;
+    private final long maxAge;
+
+    private final AtomicReferenceArray<CompactAuditRecord> records;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentNavigableMap<Long, Long> timeIndex = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, String> sharedValues = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new ring buffer.
+     *
+     * @param capacity the number of records to keep
+     * @param maxAge   the time in milliseconds after which records are ignored
+     */
+    public AuditActionContextRingBuffer(final int capacity, final long maxAge) {
+        this.capacity = Math.max(1, capacity);
+        this.maxAge = maxAge;
+        this.records = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Add an audit record, overwriting the oldest if the buffer is full.
+     *
+     * @param audit the audit record
+     */
+    public void add(final AuditActionContext audit) {
+        final long seq = this.sequence.getAndIncrement();
+        final long timestamp = audit.getWhenActionWasPerformed() == null
+                ? System.currentTimeMillis()
+                : audit.getWhenActionWasPerformed().getTime();
+        this.records.set(slotOf(seq), new CompactAuditRecord(seq, timestamp,
+                audit.getPrincipal(),
+                audit.getResourceOperatedUpon(),
+                share(audit.getActionPerformed()),
+                share(audit.getApplicationCode()),
+                audit.getClientIpAddress(),
+                share(audit.getServerIpAddress())));
+        this.timeIndex.putIfAbsent(timestamp / INDEX_BUCKET_MILLIS, seq);
+        pruneTimeIndex(seq - this.capacity + 1);
+    }
+
+    /**
+     * Gets all records that have not exceeded the maximum age.
+     *
+     * @return the records
+     */
+    public Set<AuditActionContext> get() {
+        return find(Long.MIN_VALUE, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Gets records performed within the given time range, inclusive.
+     *
+     * @param since the start of the range
+     * @param until the end of the range
+     * @return the records
+     */
+    public Set<AuditActionContext> get(final Date since, final Date until) {
+        return find(since.getTime(), until.getTime(), null);
+    }
+
+    /**
+     * Gets records performed by the given principal.
+     *
+     * @param principal the principal
+     * @return the records
+     */
+    public Set<AuditActionContext> getByPrincipal(final String principal) {
+        return find(Long.MIN_VALUE, Long.MAX_VALUE, principal);
+    }
+
+    /**
+     * Gets the number of records currently held.
+     *
+     * @return the size
+     */
+    public int size() {
+        return (int) Math.min(this.sequence.get(), this.capacity);
+    }
+
+    private Set<AuditActionContext> find(final long since, final long until, final String principal) {
+        final long from = Math.max(since, System.currentTimeMillis() - this.maxAge);
+        final long next = this.sequence.get();
+        final long oldest = Math.max(0, next - this.capacity);
+
+        long start = oldest;
+        final Map.Entry<Long, Long> entry = this.timeIndex.floorEntry(from / INDEX_BUCKET_MILLIS - 1);
+        if (entry != null) {
+            start = Math.max(oldest, entry.getValue());
+        }
+
+        final Set<AuditActionContext> results = new LinkedHashSet<>();
+        for (long seq = start; seq < next; seq++) {
+            final CompactAuditRecord record = this.records.get(slotOf(seq));
+            if (record == null || record.sequence != seq) {
+                continue;
+            }
+            if (until != Long.MAX_VALUE && record.timestamp > until + INDEX_BUCKET_MILLIS) {
+                break;
+            }
+            if (record.timestamp >= from && record.timestamp <= until
+                    && (principal == null || Objects.equals(principal, record.principal))) {
+                results.add(record.toAuditActionContext());
+            }
+        }
+        return results;
+    }
+
+    private void pruneTimeIndex(final long oldestSequence) {
+        if (oldestSequence <= 0) {
+            return;
+        }
+        Map.Entry<Long, Long> first = this.timeIndex.firstEntry();
+        while (first != null) {
+            final Map.Entry<Long, Long> second = this.timeIndex.higherEntry(first.getKey());
+            if (second == null || second.getValue() > oldestSequence) {
+                return;
+            }
+            this.timeIndex.remove(first.getKey(), first.getValue());
+            first = this.timeIndex.firstEntry();
+        }
+    }
+
+    private int slotOf(final long seq) {
+        return (int) (seq % this.capacity);
+    }
+
+    private String share(final String value) {
+        if (value == null) {
+            return null;
+        }
+        final String shared = this.sharedValues.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (this.sharedValues.size() >= MAX_SHARED_VALUES) {
+            return value;
+        }
+        final String existing = this.sharedValues.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+    /**
+     * An audit record as kept in the buffer.
+     */
+    private static final class CompactAuditRecord {
+        private final long sequence;
+        private final long timestamp;
+        private final String principal;
+        private final String resource;
+        private final String action;
+        private final String applicationCode;
+        private final String clientIpAddress;
+        private final String serverIpAddress;
+
+        CompactAuditRecord(final long sequence, final long timestamp, final String principal,
+                           final String resource, final String action, final String applicationCode,
+                           final String clientIpAddress, final String serverIpAddress) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.principal = principal;
+            this.resource = resource;
+            this.action = action;
+            this.applicationCode = applicationCode;
+            this.clientIpAddress = clientIpAddress;
+            this.serverIpAddress = serverIpAddress;
+        }
+
+        AuditActionContext toAuditActionContext() {
+            return new AuditActionContext(this.principal, this.resource, this.action, this.applicationCode,
+                    new Date(this.timestamp), this.clientIpAddress, this.serverIpAddress, RUNTIME_INFO);
+        }
+    }
+
+    /**
+     * Runtime information for records read back from the buffer,
+     * for which the original audit point is no longer known.
+     */
+    private static final class RecentAuditPointRuntimeInfo implements AuditPointRuntimeInfo {
+        private static final long serialVersionUID = -2496893437651226373L;
+
+        @Override
+        public String asString() {
+            return AuditActionContextRingBuffer.class.getSimpleName();
+        }
+    }
+}
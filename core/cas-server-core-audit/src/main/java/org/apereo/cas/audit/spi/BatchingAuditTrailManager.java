@@ -0,0 +1,23 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+
+import java.util.Collection;
+
+/**
+ * This is {@link BatchingAuditTrailManager} that is able to
+ * write a number of audit records to its destination at once.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public interface BatchingAuditTrailManager extends AuditTrailManager {
+
+    /**
+     * Record all audit records in a single operation.
+     *
+     * @param audits the audit records
+     */
+    void recordAll(Collection<AuditActionContext> audits);
+}
@@ -1,65 +1,47 @@
 package org.apereo.cas.audit.spi;
 
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.apereo.cas.support.events.audit.CasAuditActionContextRecordedEvent;
-import org.apereo.cas.util.ISOStandardDateFormat;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 
-import java.util.HashSet;
+import java.util.Date;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link DefaultDelegatingAuditTrailManager}.
+ * Recent audit records are kept in a bounded {@link AuditActionContextRingBuffer}.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 public class DefaultDelegatingAuditTrailManager implements DelegatingAuditTrailManager {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultDelegatingAuditTrailManager.class);
-
-    private static final int INITIAL_CACHE_SIZE = 50;
-    private static final long MAX_CACHE_SIZE = 1_000_000;
+    private static final int DEFAULT_CAPACITY = 50_000;
+    private static final long DEFAULT_MAX_AGE = TimeUnit.HOURS.toMillis(2);
 
     @Autowired
     private ApplicationEventPublisher eventPublisher;
 
     private final AuditTrailManager manager;
-    private final LoadingCache<String, AuditActionContext> storage;
-
-    private int expirationDuration = 2;
-    private TimeUnit expirationTimeUnit = TimeUnit.HOURS;
+    private final AuditActionContextRingBuffer storage;
 
     public DefaultDelegatingAuditTrailManager(final AuditTrailManager manager) {
+        this(manager, DEFAULT_CAPACITY, DEFAULT_MAX_AGE);
+    }
+
+    public DefaultDelegatingAuditTrailManager(final AuditTrailManager manager, final int capacity, final long maxAge) {
         this.manager = manager;
-        this.storage = Caffeine.newBuilder()
-                .initialCapacity(INITIAL_CACHE_SIZE)
-                .maximumSize(MAX_CACHE_SIZE)
-                .recordStats()
-                .expireAfterWrite(this.expirationDuration, this.expirationTimeUnit)
-                .build(s -> {
-                    LOGGER.error("Load operation of the audit cache is not supported.");
-                    return null;
-                });
+        this.storage = new AuditActionContextRingBuffer(capacity, maxAge);
     }
 
     @Override
     public void record(final AuditActionContext auditActionContext) {
         this.manager.record(auditActionContext);
-        final String key = new StringBuilder(auditActionContext.getPrincipal())
-                .append("@").append(auditActionContext.getActionPerformed())
-                .append("@").append(auditActionContext.getResourceOperatedUpon())
-                .append("@").append(ISOStandardDateFormat.getInstance().format(auditActionContext.getWhenActionWasPerformed()))
-                .toString();
-        this.storage.put(key, auditActionContext);
+        this.storage.add(auditActionContext);
         if (this.eventPublisher != null) {
             this.eventPublisher.publishEvent(new CasAuditActionContextRecordedEvent(this, auditActionContext));
         }
@@ -67,14 +49,16 @@ public class DefaultDelegatingAuditTrailManager implements DelegatingAuditTrailM
 
     @Override
     public Set<AuditActionContext> get() {
-        return new HashSet<>(this.storage.asMap().values());
+        return this.storage.get();
     }
 
-    public void setExpirationDuration(final int expirationDuration) {
-        this.expirationDuration = expirationDuration;
+    @Override
+    public Set<AuditActionContext> get(final Date since, final Date until) {
+        return this.storage.get(since, until);
     }
 
-    public void setExpirationTimeUnit(final TimeUnit expirationTimeUnit) {
-        this.expirationTimeUnit = expirationTimeUnit;
+    @Override
+    public Set<AuditActionContext> getByPrincipal(final String principal) {
+        return this.storage.getByPrincipal(principal);
     }
 }
@@ -3,7 +3,10 @@ package org.apereo.cas.audit.spi;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
 
+import java.util.Date;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link DelegatingAuditTrailManager}.
@@ -19,4 +22,29 @@ public interface DelegatingAuditTrailManager extends AuditTrailManager {
      * @return the records
      */
     Set<AuditActionContext> get();
+
+    /**
+     * Get set of audit records performed within the given time range, inclusive.
+     *
+     * @param since the start of the range
+     * @param until the end of the range
+     * @return the records
+     */
+    default Set<AuditActionContext> get(final Date since, final Date until) {
+        return get().stream()
+                .filter(a -> !a.getWhenActionWasPerformed().before(since) && !a.getWhenActionWasPerformed().after(until))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Get set of audit records performed by the given principal.
+     *
+     * @param principal the principal
+     * @return the records
+     */
+    default Set<AuditActionContext> getByPrincipal(final String principal) {
+        return get().stream()
+                .filter(a -> Objects.equals(principal, a.getPrincipal()))
+                .collect(Collectors.toSet());
+    }
 }
@@ -13,6 +13,7 @@ import org.apereo.cas.audit.spi.ThreadLocalPrincipalResolver;
 import org.apereo.cas.audit.spi.TicketAsFirstParameterResourceResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.inspektr.audit.AuditTrailManagementAspect;
 import org.apereo.inspektr.audit.AuditTrailManager;
@@ -69,7 +70,7 @@ public class CasCoreAuditConfiguration {
         mgmr.setUseSingleLine(casProperties.getAudit().isUseSingleLine());
         mgmr.setEntrySeparator(casProperties.getAudit().getSinglelineSeparator());
         mgmr.setAuditFormat(casProperties.getAudit().getAuditFormat());
-        return new DefaultDelegatingAuditTrailManager(mgmr);
+        return newDelegatingAuditTrailManager(mgmr);
     }
 
     @Bean
@@ -231,4 +232,10 @@ public class CasCoreAuditConfiguration {
         return new AuditPrincipalIdProvider() {
         };
     }
+
+    private DelegatingAuditTrailManager newDelegatingAuditTrailManager(final AuditTrailManager manager) {
+        final AuditProperties audit = casProperties.getAudit();
+        return new DefaultDelegatingAuditTrailManager(manager, audit.getRecentRecordsCapacity(),
+                Beans.newDuration(audit.getRecentRecordsMaxAge()).toMillis());
+    }
 }
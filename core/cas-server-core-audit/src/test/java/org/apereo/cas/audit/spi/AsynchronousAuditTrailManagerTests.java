@@ -0,0 +1,96 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditPointRuntimeInfo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AsynchronousAuditTrailManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class AsynchronousAuditTrailManagerTests {
+    private static final long FLUSH_INTERVAL = 60_000;
+
+    private final CollectingAuditTrailManager destination = new CollectingAuditTrailManager();
+
+    @Test
+    public void verifyRecordsAreWrittenInBatches() throws Exception {
+        final AsynchronousAuditTrailManager manager = new AsynchronousAuditTrailManager(this.destination, 100, 10, FLUSH_INTERVAL, 1000, false);
+        for (int i = 0; i < 25; i++) {
+            manager.record(newAuditActionContext(i));
+        }
+        manager.destroy();
+
+        assertEquals(25, this.destination.getRecords().size());
+        assertTrue(this.destination.getBatches().stream().allMatch(size -> size <= 10));
+        assertEquals(25L, manager.getStatistics().get("written"));
+        assertEquals(0, manager.getStatistics().get("queued"));
+    }
+
+    @Test
+    public void verifyRecordsAreDiscardedWhenFull() throws Exception {
+        final AsynchronousAuditTrailManager manager = new AsynchronousAuditTrailManager(this.destination, 5, 100, FLUSH_INTERVAL, 1000, true);
+        for (int i = 0; i < 8; i++) {
+            manager.record(newAuditActionContext(i));
+        }
+        assertEquals(3L, manager.getStatistics().get("discarded"));
+        assertTrue(this.destination.getRecords().isEmpty());
+
+        manager.destroy();
+        assertEquals(5, this.destination.getRecords().size());
+    }
+
+    @Test
+    public void verifyCallerWritesWhenFull() throws Exception {
+        final AsynchronousAuditTrailManager manager = new AsynchronousAuditTrailManager(this.destination, 5, 100, FLUSH_INTERVAL, 1000, false);
+        for (int i = 0; i < 8; i++) {
+            manager.record(newAuditActionContext(i));
+        }
+        assertEquals(3L, manager.getStatistics().get("writtenByCaller"));
+        assertEquals(3, this.destination.getRecords().size());
+
+        manager.destroy();
+        assertEquals(8, this.destination.getRecords().size());
+        assertEquals(0L, manager.getStatistics().get("discarded"));
+    }
+
+    private static AuditActionContext newAuditActionContext(final int index) {
+        return new AuditActionContext("casuser", "resource-" + index, "action",
+                "CAS", new Date(), "1.2.3.4", "7.8.9.0", (AuditPointRuntimeInfo) () -> null);
+    }
+
+    private static class CollectingAuditTrailManager implements BatchingAuditTrailManager {
+        private final List<AuditActionContext> records = new CopyOnWriteArrayList<>();
+        private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void recordAll(final Collection<AuditActionContext> audits) {
+            this.batches.add(audits.size());
+            this.records.addAll(audits);
+        }
+
+        @Override
+        public void record(final AuditActionContext audit) {
+            recordAll(new ArrayList<>(Collections.singletonList(audit)));
+        }
+
+        List<AuditActionContext> getRecords() {
+            return this.records;
+        }
+
+        List<Integer> getBatches() {
+            return this.batches;
+        }
+    }
+}
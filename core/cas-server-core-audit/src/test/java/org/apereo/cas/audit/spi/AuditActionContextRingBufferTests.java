@@ -0,0 +1,74 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditPointRuntimeInfo;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AuditActionContextRingBufferTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class AuditActionContextRingBufferTests {
+    private static final long MAX_AGE = TimeUnit.HOURS.toMillis(2);
+
+    @Test
+    public void verifyOldestRecordsAreOverwritten() {
+        final AuditActionContextRingBuffer buffer = new AuditActionContextRingBuffer(10, MAX_AGE);
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < 25; i++) {
+            buffer.add(newAuditActionContext("casuser", now + i));
+        }
+        assertEquals(10, buffer.size());
+        final Set<AuditActionContext> results = buffer.get();
+        assertEquals(10, results.size());
+        assertTrue(results.stream().allMatch(a -> a.getWhenActionWasPerformed().getTime() >= now + 15));
+    }
+
+    @Test
+    public void verifyRecordsAreFoundByTimeRange() {
+        final AuditActionContextRingBuffer buffer = new AuditActionContextRingBuffer(1000, MAX_AGE);
+        final long start = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(30);
+        for (int i = 0; i < 30; i++) {
+            buffer.add(newAuditActionContext("casuser", start + TimeUnit.MINUTES.toMillis(i)));
+        }
+        final Set<AuditActionContext> results = buffer.get(new Date(start + TimeUnit.MINUTES.toMillis(10)),
+                new Date(start + TimeUnit.MINUTES.toMillis(14)));
+        assertEquals(5, results.size());
+    }
+
+    @Test
+    public void verifyRecordsAreFoundByPrincipal() {
+        final AuditActionContextRingBuffer buffer = new AuditActionContextRingBuffer(100, MAX_AGE);
+        final long now = System.currentTimeMillis();
+        buffer.add(newAuditActionContext("casuser", now));
+        buffer.add(newAuditActionContext("someone", now));
+        buffer.add(newAuditActionContext("casuser", now));
+        final Set<AuditActionContext> results = buffer.getByPrincipal("casuser");
+        assertEquals(2, results.size());
+        final AuditActionContext audit = results.iterator().next();
+        assertEquals("AUTHENTICATION_SUCCESS", audit.getActionPerformed());
+        assertEquals("1.2.3.4", audit.getClientIpAddress());
+    }
+
+    @Test
+    public void verifyExpiredRecordsAreIgnored() {
+        final AuditActionContextRingBuffer buffer = new AuditActionContextRingBuffer(100, MAX_AGE);
+        final long now = System.currentTimeMillis();
+        buffer.add(newAuditActionContext("casuser", now - MAX_AGE - 1000));
+        buffer.add(newAuditActionContext("casuser", now));
+        assertEquals(1, buffer.get().size());
+    }
+
+    private static AuditActionContext newAuditActionContext(final String principal, final long time) {
+        return new AuditActionContext(principal, "resource", "AUTHENTICATION_SUCCESS",
+                "CAS", new Date(time), "1.2.3.4", "7.8.9.0", (AuditPointRuntimeInfo) () -> null);
+    }
+}
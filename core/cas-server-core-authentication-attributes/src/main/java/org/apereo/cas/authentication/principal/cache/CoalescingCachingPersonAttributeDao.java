@@ -0,0 +1,164 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CoalescingCachingPersonAttributeDao} that sits in front of the attribute repository
+ * and caches person attributes by principal id and the set of attribute sources that produced them.
+ * The cache is shared by all consumers of the attribute repository, such as principal resolution at
+ * authentication time and attribute release policies at validation time. Concurrent lookups for the same
+ * principal are coalesced so that only one of them reaches the underlying attribute sources.
+ * <p>
+ * The backing store may be replaced by a distributed map (i.e. one provided by Hazelcast or Redis)
+ * so that attributes fetched by one node may be reused by others.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CoalescingCachingPersonAttributeDao extends BasePersonAttributeDao {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingCachingPersonAttributeDao.class);
+
+    private final IPersonAttributeDao delegate;
+
+    private final String sourceId;
+
+    private final ConcurrentMap<String, IPersonAttributes> cache;
+
+    private final ConcurrentMap<String, CompletableFuture<IPersonAttributes>> inFlightLookups = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new dao backed by a local cache.
+     *
+     * @param delegate          the attribute repository to cache
+     * @param sourceId          the identifier of the attribute sources behind the delegate
+     * @param maximumCacheSize  the maximum cache size
+     * @param expireInMinutes   the time after which cached attributes expire
+     */
+    public CoalescingCachingPersonAttributeDao(final IPersonAttributeDao delegate, final String sourceId,
+                                               final long maximumCacheSize, final long expireInMinutes) {
+        this(delegate, sourceId, Caffeine.newBuilder()
+                .maximumSize(maximumCacheSize)
+                .expireAfterWrite(expireInMinutes, TimeUnit.MINUTES)
+                .<String, IPersonAttributes>build()
+                .asMap());
+    }
+
+    /**
+     * Instantiates a new dao.
+     *
+     * @param delegate the attribute repository to cache
+     * @param sourceId the identifier of the attribute sources behind the delegate
+     * @param cache    the backing store, which is responsible for its own eviction and expiration
+     */
+    public CoalescingCachingPersonAttributeDao(final IPersonAttributeDao delegate, final String sourceId,
+                                               final ConcurrentMap<String, IPersonAttributes> cache) {
+        this.delegate = delegate;
+        this.sourceId = sourceId;
+        this.cache = cache;
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid) {
+        final String key = buildCacheKey(uid);
+        final IPersonAttributes cached = this.cache.get(key);
+        if (cached != null) {
+            LOGGER.debug("Found cached attributes for [{}]", uid);
+            return cached;
+        }
+
+        final CompletableFuture<IPersonAttributes> lookup = new CompletableFuture<>();
+        final CompletableFuture<IPersonAttributes> existing = this.inFlightLookups.putIfAbsent(key, lookup);
+        if (existing != null) {
+            LOGGER.debug("Waiting on in-flight attribute lookup for [{}]", uid);
+            return awaitLookup(existing);
+        }
+
+        try {
+            LOGGER.debug("Fetching attributes for [{}] from [{}]", uid, this.sourceId);
+            final IPersonAttributes person = this.delegate.getPerson(uid);
+            if (person != null) {
+                this.cache.put(key, person);
+            }
+            lookup.complete(person);
+            return person;
+        } catch (final RuntimeException e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlightLookups.remove(key, lookup);
+        }
+    }
+
+    /**
+     * Remove cached attributes for the given principal id.
+     *
+     * @param uid the uid
+     */
+    public void invalidate(final String uid) {
+        this.cache.remove(buildCacheKey(uid));
+    }
+
+    /**
+     * Searches by arbitrary attributes are passed on to the attribute repository as they are.
+     * CAS looks up attributes by principal id only, and search results are not
+     * tied to a single principal whose cached attributes could be reused or invalidated.
+     *
+     * @param query the query
+     * @return the people
+     */
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> query) {
+        return this.delegate.getPeople(query);
+    }
+
+    /**
+     * Searches by arbitrary attributes are passed on to the attribute repository as they are.
+     *
+     * @param query the query
+     * @return the people
+     * @see #getPeople(Map)
+     */
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+        return this.delegate.getPeopleWithMultivaluedAttributes(query);
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames() {
+        return this.delegate.getPossibleUserAttributeNames();
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes() {
+        return this.delegate.getAvailableQueryAttributes();
+    }
+
+    private String buildCacheKey(final String uid) {
+        return this.sourceId + ':' + uid;
+    }
+
+    private static IPersonAttributes awaitLookup(final CompletableFuture<IPersonAttributes> lookup) {
+        try {
+            return lookup.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
 
 /**
@@ -264,6 +265,22 @@ public abstract class AbstractRegisteredServiceAttributeReleasePolicy implements
         return new TreeMap<>();
     }
 
+    /**
+     * Present the given attributes as a map whose keys are compared case-insensitively.
+     * The given map is returned as is if it already is such a map; otherwise its entries are copied.
+     *
+     * @param attributes the attributes
+     * @return the case-insensitive map of attributes
+     */
+    protected static Map<String, Object> toCaseInsensitiveAttributes(final Map<String, Object> attributes) {
+        if (attributes instanceof SortedMap && ((SortedMap) attributes).comparator() == String.CASE_INSENSITIVE_ORDER) {
+            return attributes;
+        }
+        final Map<String, Object> resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        resolvedAttributes.putAll(attributes);
+        return resolvedAttributes;
+    }
+
     /**
      * Gets the attributes internally from the implementation.
      *
@@ -11,7 +11,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * Return only the collection of allowed attributes out of what's resolved
@@ -65,17 +64,16 @@ public class ReturnAllowedAttributeReleasePolicy extends AbstractRegisteredServi
      * @return the map
      */
     protected Map<String, Object> authorizeReleaseOfAllowedAttributes(final Map<String, Object> attrs) {
-        final Map<String, Object> resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        resolvedAttributes.putAll(attrs);
-        final Map<String, Object> attributesToRelease = new HashMap<>(resolvedAttributes.size());
-
-        getAllowedAttributes()
-                .stream()
-                .map(attr -> new Object[]{attr, resolvedAttributes.get(attr)}).filter(pair -> pair[1] != null)
-                .forEach(attribute -> {
-                    LOGGER.debug("Found attribute [{}] in the list of allowed attributes", attribute[0]);
-                    attributesToRelease.put((String) attribute[0], attribute[1]);
-                });
+        final Map<String, Object> resolvedAttributes = toCaseInsensitiveAttributes(attrs);
+        final List<String> allowed = getAllowedAttributes();
+        final Map<String, Object> attributesToRelease = new HashMap<>(allowed.size());
+        for (final String attr : allowed) {
+            final Object value = resolvedAttributes.get(attr);
+            if (value != null) {
+                LOGGER.debug("Found attribute [{}] in the list of allowed attributes", attr);
+                attributesToRelease.put(attr, value);
+            }
+        }
         return attributesToRelease;
     }
 
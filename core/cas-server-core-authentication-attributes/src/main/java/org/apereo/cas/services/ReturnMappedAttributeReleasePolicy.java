@@ -1,5 +1,7 @@
 package org.apereo.cas.services;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import groovy.lang.Script;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -13,8 +15,10 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
@@ -34,6 +38,13 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
 
     private Map<String, Object> allowedAttributes;
 
+    /**
+     * Mapping definitions compiled from the allowed attributes,
+     * built once on first use and reused on subsequent releases.
+     */
+    @JsonIgnore
+    private transient volatile List<MappedAttributeDefinition> compiledDefinitions;
+
     /**
      * Instantiates a new Return mapped attribute release policy.
      */
@@ -57,6 +68,7 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
      */
     public void setAllowedAttributes(final Map allowed) {
         this.allowedAttributes = allowed;
+        this.compiledDefinitions = null;
     }
 
     /**
@@ -72,98 +84,127 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
     protected Map<String, Object> getAttributesInternal(final Principal principal,
                                                         final Map<String, Object> attrs,
                                                         final RegisteredService service) {
-        final Map<String, Object> resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        resolvedAttributes.putAll(attrs);
-
-        final Map<String, Object> attributesToRelease = new HashMap<>(resolvedAttributes.size());
-
-        /*
-         * Map each entry in the allowed list into an array first
-         * by the original key, value and the original entry itself.
-         * Then process the array to populate the map for allowed attributes
-         */
-        this.allowedAttributes.entrySet()
-                .stream()
-                .forEach(entry -> {
-                    final String attributeName = entry.getKey();
-                    final Collection mappedAttributes = CollectionUtils.wrap(entry.getValue());
-                    LOGGER.debug("Attempting to map allowed attribute name [{}]", attributeName);
-                    final Object attributeValue = resolvedAttributes.get(attributeName);
-                    mappedAttributes.forEach(mapped -> {
-                        final String mappedAttributeName = mapped.toString();
-                        LOGGER.debug("Mapping attribute [{}] to [{}] with value [{}]", attributeName, mappedAttributeName, attributeValue);
-                        mapSingleAttributeDefinition(attributeName, mappedAttributeName, attributeValue, resolvedAttributes, attributesToRelease);
-                    });
-                });
+        final List<MappedAttributeDefinition> definitions = getCompiledDefinitions();
+        final boolean scripted = definitions.stream().anyMatch(MappedAttributeDefinition::isScripted);
+        final Map<String, Object> resolvedAttributes;
+        if (scripted) {
+            resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            resolvedAttributes.putAll(attrs);
+        } else {
+            resolvedAttributes = toCaseInsensitiveAttributes(attrs);
+        }
+
+        final Map<String, Object> attributesToRelease = new HashMap<>(definitions.size());
+        definitions.forEach(definition -> definition.apply(resolvedAttributes, attributesToRelease));
         return attributesToRelease;
     }
 
-    private static void mapSingleAttributeDefinition(final String attributeName,
-                                                     final String mappedAttributeName,
-                                                     final Object attributeValue,
-                                                     final Map<String, Object> resolvedAttributes,
-                                                     final Map<String, Object> attributesToRelease) {
-        final Matcher matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(mappedAttributeName);
-        final Matcher matcherFile = ScriptingUtils.getMatcherForInlineGroovyScript(mappedAttributeName);
+    /**
+     * Compile the allowed attributes into mapping definitions, if not done already.
+     * Inline groovy scripts are parsed once into script classes, so that only their
+     * execution is paid for when attributes are released. Inline scripts that fail
+     * to compile are left out, so the attribute is not released at all.
+     *
+     * @return the compiled definitions
+     */
+    private List<MappedAttributeDefinition> getCompiledDefinitions() {
+        List<MappedAttributeDefinition> definitions = this.compiledDefinitions;
+        if (definitions == null) {
+            definitions = new ArrayList<>();
+            for (final Map.Entry<String, Object> entry : this.allowedAttributes.entrySet()) {
+                final String attributeName = entry.getKey();
+                final Collection mappedAttributes = CollectionUtils.wrap(entry.getValue());
+                for (final Object mapped : mappedAttributes) {
+                    final MappedAttributeDefinition definition = compileDefinition(attributeName, mapped.toString());
+                    if (definition != null) {
+                        definitions.add(definition);
+                    }
+                }
+            }
+            this.compiledDefinitions = definitions;
+        }
+        return definitions;
+    }
 
+    private static MappedAttributeDefinition compileDefinition(final String attributeName, final String mappedAttributeName) {
+        final Matcher matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(mappedAttributeName);
         if (matcherInline.find()) {
             LOGGER.debug("Mapped attribute [{}] is an inlined groovy script", mappedAttributeName);
-            processInlineGroovyAttribute(resolvedAttributes, attributesToRelease, matcherInline, attributeName);
-        } else if (matcherFile.find()) {
-            LOGGER.debug("Mapped attribute [{}] is an external groovy script", mappedAttributeName);
-            processFileBasedGroovyAttributes(resolvedAttributes, attributesToRelease, matcherFile, attributeName);
-        } else {
-            if (attributeValue != null) {
-                LOGGER.debug("Found attribute [{}] in the list of allowed attributes, mapped to the name [{}]", attributeName, mappedAttributeName);
-                attributesToRelease.put(mappedAttributeName, attributeValue);
-            } else {
-                LOGGER.warn("Could not find value for mapped attribute [{}] that is based off of [{}] in the allowed attributes list. "
-                                + "Ensure the original attribute [{}] is retrieved and contains at least a single value. Attribute [{}] "
-                                + "will and can not be released without the presence of a value.",
-                        mappedAttributeName, attributeName, attributeName, mappedAttributeName);
+            final Class<? extends Script> script = ScriptingUtils.parseGroovyShellScript(matcherInline.group(1));
+            if (script == null) {
+                LOGGER.error("Inline groovy script for attribute [{}] could not be compiled. The attribute will not be released", attributeName);
+                return null;
             }
+            return new MappedAttributeDefinition(attributeName, mappedAttributeName, script, null);
         }
+        final Matcher matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(mappedAttributeName);
+        if (matcherFile.find()) {
+            LOGGER.debug("Mapped attribute [{}] is an external groovy script", mappedAttributeName);
+            return new MappedAttributeDefinition(attributeName, mappedAttributeName, null, new File(matcherFile.group(1)));
+        }
+        return new MappedAttributeDefinition(attributeName, mappedAttributeName, null, null);
     }
 
-    private static void processFileBasedGroovyAttributes(final Map<String, Object> resolvedAttributes,
-                                                         final Map<String, Object> attributesToRelease,
-                                                         final Matcher matcherFile, final String key) {
-        try {
-            LOGGER.debug("Found groovy script to execute for attribute mapping [{}]", key);
-            final String script = FileUtils.readFileToString(new File(matcherFile.group(1)), StandardCharsets.UTF_8);
-            final Object result = getGroovyAttributeValue(script, resolvedAttributes);
-            if (result != null) {
-                LOGGER.debug("Mapped attribute [{}] to [{}] from script", key, result);
-                attributesToRelease.put(key, result);
+    /**
+     * A single compiled mapping of an allowed attribute to its released name or script.
+     */
+    private static final class MappedAttributeDefinition {
+        private final String attributeName;
+        private final String mappedAttributeName;
+        private final Class<? extends Script> inlineScript;
+        private final File scriptFile;
+
+        MappedAttributeDefinition(final String attributeName, final String mappedAttributeName,
+                                  final Class<? extends Script> inlineScript, final File scriptFile) {
+            this.attributeName = attributeName;
+            this.mappedAttributeName = mappedAttributeName;
+            this.inlineScript = inlineScript;
+            this.scriptFile = scriptFile;
+        }
+
+        boolean isScripted() {
+            return this.inlineScript != null || this.scriptFile != null;
+        }
+
+        void apply(final Map<String, Object> resolvedAttributes, final Map<String, Object> attributesToRelease) {
+            if (this.inlineScript != null) {
+                LOGGER.debug("Found inline groovy script to execute for attribute mapping [{}]", this.attributeName);
+                putScriptResult(ScriptingUtils.executeGroovyShellScript(this.inlineScript,
+                        CollectionUtils.wrap("attributes", resolvedAttributes, "logger", LOGGER)), attributesToRelease);
+            } else if (this.scriptFile != null) {
+                try {
+                    LOGGER.debug("Found groovy script to execute for attribute mapping [{}]", this.attributeName);
+                    final String script = FileUtils.readFileToString(this.scriptFile, StandardCharsets.UTF_8);
+                    putScriptResult(ScriptingUtils.executeGroovyShellScript(script,
+                            CollectionUtils.wrap("attributes", resolvedAttributes, "logger", LOGGER)), attributesToRelease);
+                } catch (final IOException e) {
+                    LOGGER.error(e.getMessage(), e);
+                }
             } else {
-                LOGGER.warn("Groovy-scripted attribute returned no value for [{}]", key);
+                final Object attributeValue = resolvedAttributes.get(this.attributeName);
+                if (attributeValue != null) {
+                    LOGGER.debug("Found attribute [{}] in the list of allowed attributes, mapped to the name [{}]",
+                            this.attributeName, this.mappedAttributeName);
+                    attributesToRelease.put(this.mappedAttributeName, attributeValue);
+                } else {
+                    LOGGER.warn("Could not find value for mapped attribute [{}] that is based off of [{}] in the allowed attributes list. "
+                                    + "Ensure the original attribute [{}] is retrieved and contains at least a single value. Attribute [{}] "
+                                    + "will and can not be released without the presence of a value.",
+                            this.mappedAttributeName, this.attributeName, this.attributeName, this.mappedAttributeName);
+                }
             }
-        } catch (final IOException e) {
-            LOGGER.error(e.getMessage(), e);
         }
-    }
 
-    private static void processInlineGroovyAttribute(final Map<String, Object> resolvedAttributes,
-                                                     final Map<String, Object> attributesToRelease,
-                                                     final Matcher matcherInline,
-                                                     final String attributeName) {
-        LOGGER.debug("Found inline groovy script to execute for attribute mapping [{}]", attributeName);
-        final Object result = getGroovyAttributeValue(matcherInline.group(1), resolvedAttributes);
-        if (result != null) {
-            LOGGER.debug("Mapped attribute [{}] to [{}] from script", attributeName, result);
-            attributesToRelease.put(attributeName, result);
-        } else {
-            LOGGER.warn("Groovy-scripted attribute returned no value for [{}]", attributeName);
+        private void putScriptResult(final Object result, final Map<String, Object> attributesToRelease) {
+            if (result != null) {
+                LOGGER.debug("Mapped attribute [{}] to [{}] from script", this.attributeName, result);
+                attributesToRelease.put(this.attributeName, result);
+            } else {
+                LOGGER.warn("Groovy-scripted attribute returned no value for [{}]", this.attributeName);
+            }
         }
     }
 
-    private static Object getGroovyAttributeValue(final String groovyScript,
-                                                  final Map<String, Object> resolvedAttributes) {
-        return ScriptingUtils.executeGroovyShellScript(groovyScript,
-                CollectionUtils.wrap("attributes", resolvedAttributes, "logger", LOGGER));
-    }
-
-
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
@@ -0,0 +1,82 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.NamedPersonImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CoalescingCachingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CoalescingCachingPersonAttributeDaoTests {
+
+    @Test
+    public void verifyAttributesAreCached() {
+        final IPersonAttributeDao delegate = mock(IPersonAttributeDao.class);
+        when(delegate.getPerson("casuser")).thenReturn(newPerson("casuser"));
+
+        final CoalescingCachingPersonAttributeDao dao = new CoalescingCachingPersonAttributeDao(delegate, "test", 100, 10);
+        assertNotNull(dao.getPerson("casuser"));
+        assertNotNull(dao.getPerson("casuser"));
+        verify(delegate, times(1)).getPerson("casuser");
+
+        dao.invalidate("casuser");
+        assertNotNull(dao.getPerson("casuser"));
+        verify(delegate, times(2)).getPerson("casuser");
+    }
+
+    @Test
+    public void verifyMissingPersonIsNotCached() {
+        final IPersonAttributeDao delegate = mock(IPersonAttributeDao.class);
+        final CoalescingCachingPersonAttributeDao dao = new CoalescingCachingPersonAttributeDao(delegate, "test", 100, 10);
+        assertNull(dao.getPerson("unknown"));
+        assertNull(dao.getPerson("unknown"));
+        verify(delegate, times(2)).getPerson("unknown");
+    }
+
+    @Test
+    public void verifyConcurrentLookupsAreCoalesced() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final IPersonAttributeDao delegate = mock(IPersonAttributeDao.class);
+        when(delegate.getPerson("casuser")).thenAnswer(invocation -> {
+            latch.await(5, TimeUnit.SECONDS);
+            return newPerson("casuser");
+        });
+
+        final CoalescingCachingPersonAttributeDao dao = new CoalescingCachingPersonAttributeDao(delegate, "test", 100, 10);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<IPersonAttributes>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> dao.getPerson("casuser")));
+            }
+            Thread.sleep(200);
+            latch.countDown();
+            for (final Future<IPersonAttributes> result : results) {
+                assertEquals("casuser", result.get().getName());
+            }
+            verify(delegate, times(1)).getPerson("casuser");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static IPersonAttributes newPerson(final String uid) {
+        return new NamedPersonImpl(uid, CollectionUtils.wrap("cn", CollectionUtils.wrap(uid)));
+    }
+}
@@ -88,6 +88,25 @@ public class ReturnMappedAttributeReleasePolicyTests {
         assertTrue(result.containsValue("DOMAIN\\" + CoreAuthenticationTestUtils.CONST_USERNAME));
     }
     
+    @Test
+    public void verifyInlinedGroovyAttributesAreReusedAcrossReleases() {
+        final Multimap<String, String> allowedAttributes = ArrayListMultimap.create();
+        allowedAttributes.put("attr1", "groovy { return 'DOMAIN\\\\' + attributes['uid'] }");
+        final ReturnMappedAttributeReleasePolicy policy =
+                new ReturnMappedAttributeReleasePolicy(CollectionUtils.wrap(allowedAttributes));
+        final RegisteredService registeredService = CoreAuthenticationTestUtils.getRegisteredService();
+        when(registeredService.getAttributeReleasePolicy()).thenReturn(policy);
+
+        Stream.of("casuser1", "casuser2").forEach(uid -> {
+            final Map<String, Object> principalAttributes = new HashMap<>();
+            principalAttributes.put("uid", uid);
+            final Map<String, Object> result = policy.getAttributes(
+                    CoreAuthenticationTestUtils.getPrincipal(uid, principalAttributes),
+                    CoreAuthenticationTestUtils.getService(), registeredService);
+            assertEquals("DOMAIN\\" + uid, result.get("attr1"));
+        });
+    }
+
     @Test
     public void verifyMappingWithoutAttributeValue() {
         final Multimap<String, String> allowedAttributes = ArrayListMultimap.create();
@@ -111,4 +130,21 @@ public class ReturnMappedAttributeReleasePolicyTests {
         assertTrue(result.containsKey(mappedAttribute));
         assertEquals(result.get(mappedAttribute), "user@example.org");
     }
+
+    @Test
+    public void verifyInlinedGroovyScriptThatFailsToCompileIsNotReleased() {
+        final Multimap<String, String> allowedAttributes = ArrayListMultimap.create();
+        allowedAttributes.put("attr1", "groovy { return 'DOMAIN\\\\' + attributes['uid' }");
+        final ReturnMappedAttributeReleasePolicy policy =
+                new ReturnMappedAttributeReleasePolicy(CollectionUtils.wrap(allowedAttributes));
+        final RegisteredService registeredService = CoreAuthenticationTestUtils.getRegisteredService();
+        when(registeredService.getAttributeReleasePolicy()).thenReturn(policy);
+        final Map<String, Object> principalAttributes = new HashMap<>();
+        principalAttributes.put("uid", CoreAuthenticationTestUtils.CONST_USERNAME);
+        principalAttributes.put("attr1", "value1");
+        final Map<String, Object> result = policy.getAttributes(
+                CoreAuthenticationTestUtils.getPrincipal(CoreAuthenticationTestUtils.CONST_USERNAME, principalAttributes),
+                CoreAuthenticationTestUtils.getService(), registeredService);
+        assertTrue(result.isEmpty());
+    }
 }
@@ -0,0 +1,183 @@
+package org.apereo.cas.authentication;
+
+import org.apereo.cas.authentication.principal.NullPrincipal;
+import org.apereo.cas.authentication.principal.PrincipalResolver;
+import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionStartedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ConcurrentPolicyBasedAuthenticationManager} that evaluates
+ * authentication handlers which share the same order concurrently. Handlers of a given
+ * order are submitted together to the executor; the first result that satisfies the
+ * authentication policy wins and the remaining handlers of the tier are cancelled.
+ * Handlers that do not produce a result within the configured timeout are cancelled
+ * and recorded as failures, and so are handlers that the executor rejects because it is saturated.
+ * Tiers are evaluated in order, one after another.
+ * <p>
+ * Handlers run on executor threads and must not rely on state bound to the request thread,
+ * other than the current credentials which are made available via {@link AuthenticationCredentialsLocalBinder}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ConcurrentPolicyBasedAuthenticationManager extends PolicyBasedAuthenticationManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentPolicyBasedAuthenticationManager.class);
+
+    private final ExecutorService executorService;
+
+    private final long handlerTimeout;
+
+    /**
+     * Instantiates a new concurrent policy based authentication manager.
+     *
+     * @param authenticationEventExecutionPlan the execution plan
+     * @param authenticationHandlerResolver    the authentication handler resolver
+     * @param authenticationPolicies           the authentication policy
+     * @param principalResolutionFatal         the principal resolution fatal
+     * @param executorService                  the executor service that runs handlers
+     * @param handlerTimeout                   the handler timeout in milliseconds
+     */
+    public ConcurrentPolicyBasedAuthenticationManager(final AuthenticationEventExecutionPlan authenticationEventExecutionPlan,
+                                                      final AuthenticationHandlerResolver authenticationHandlerResolver,
+                                                      final Collection<AuthenticationPolicy> authenticationPolicies,
+                                                      final boolean principalResolutionFatal,
+                                                      final ExecutorService executorService,
+                                                      final long handlerTimeout) {
+        super(authenticationEventExecutionPlan, authenticationHandlerResolver, authenticationPolicies, principalResolutionFatal);
+        this.executorService = executorService;
+        this.handlerTimeout = handlerTimeout;
+    }
+
+    @Override
+    protected AuthenticationBuilder authenticateInternal(final AuthenticationTransaction transaction) throws AuthenticationException {
+        final Collection<Credential> credentials = transaction.getCredentials();
+        final AuthenticationBuilder builder = new DefaultAuthenticationBuilder(NullPrincipal.getInstance());
+        credentials.forEach(cred -> builder.addCredential(new BasicCredentialMetaData(cred)));
+
+        final Set<AuthenticationHandler> handlerSet = getAuthenticationHandlersForThisTransaction(transaction);
+        Assert.notNull(handlerSet, "Resolved authentication handlers for this transaction cannot be null");
+        if (handlerSet.isEmpty()) {
+            LOGGER.warn("Resolved authentication handlers for this transaction are empty");
+        }
+
+        final boolean success = credentials
+                .stream()
+                .anyMatch(credential -> {
+                    final Map<Integer, List<AuthenticationHandler>> tiers = handlerSet
+                            .stream()
+                            .filter(handler -> handler.supports(credential))
+                            .collect(Collectors.groupingBy(AuthenticationHandler::getOrder, TreeMap::new, Collectors.toList()));
+
+                    final boolean isSatisfied = tiers.values()
+                            .stream()
+                            .anyMatch(tier -> authenticateConcurrently(builder, credential, tier, transaction));
+
+                    if (!isSatisfied) {
+                        LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
+                                        + "find authentication handler that supports [{}] of type [{}].",
+                                credential, credential.getClass().getSimpleName());
+                    }
+                    return isSatisfied;
+                });
+
+        if (!success) {
+            evaluateFinalAuthentication(builder, transaction);
+        }
+        return builder;
+    }
+
+    /**
+     * Run the given handlers concurrently for the credential and
+     * stop as soon as the authentication policy is satisfied.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param handlers    the handlers that share the same order
+     * @param transaction the transaction
+     * @return true if the authentication policy is satisfied
+     */
+    protected boolean authenticateConcurrently(final AuthenticationBuilder builder,
+                                               final Credential credential,
+                                               final List<AuthenticationHandler> handlers,
+                                               final AuthenticationTransaction transaction) {
+        final Collection<Credential> currentCredentials = transaction.getCredentials();
+        final CompletionService<HandlerResult> completionService = new ExecutorCompletionService<>(this.executorService);
+        final Map<Future<HandlerResult>, AuthenticationHandler> pending = new LinkedHashMap<>();
+
+        handlers.forEach(handler -> {
+            publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
+            LOGGER.debug("Submitting authentication handler [{}] for [{}]", handler.getName(), credential);
+            try {
+                final Future<HandlerResult> future = completionService.submit(() -> {
+                    AuthenticationCredentialsLocalBinder.bindCurrent(currentCredentials);
+                    try {
+                        return handler.authenticate(credential);
+                    } finally {
+                        AuthenticationCredentialsLocalBinder.clear();
+                    }
+                });
+                pending.put(future, handler);
+            } catch (final RejectedExecutionException e) {
+                LOGGER.warn("Authentication handler [{}] cannot be executed as all threads are busy", handler.getName());
+                handleAuthenticationException(new PreventedException(e), handler.getName(), builder);
+            }
+        });
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.handlerTimeout);
+        try {
+            while (!pending.isEmpty()) {
+                final long remaining = deadline - System.nanoTime();
+                final Future<HandlerResult> future = remaining > 0
+                        ? completionService.poll(remaining, TimeUnit.NANOSECONDS)
+                        : completionService.poll();
+                if (future == null) {
+                    pending.values().forEach(handler -> {
+                        LOGGER.warn("Authentication handler [{}] did not complete within [{}] ms", handler.getName(), this.handlerTimeout);
+                        handleAuthenticationException(new PreventedException(
+                                new TimeoutException("Authentication handler timed out after " + this.handlerTimeout + " ms")),
+                                handler.getName(), builder);
+                    });
+                    return false;
+                }
+                final AuthenticationHandler handler = pending.remove(future);
+                try {
+                    final HandlerResult result = future.get();
+                    LOGGER.debug("Authentication handler [{}] successfully authenticated [{}]", handler.getName(), credential);
+                    final PrincipalResolver resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+                    applyHandlerResultAndResolvePrincipal(builder, credential, resolver, handler, result);
+                    if (evaluateAuthenticationPolicies(builder.build()).getKey()) {
+                        return true;
+                    }
+                } catch (final ExecutionException e) {
+                    handleAuthenticationException(e.getCause(), handler.getName(), builder);
+                } catch (final Exception e) {
+                    handleAuthenticationException(e, handler.getName(), builder);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.values().forEach(handler -> handleAuthenticationException(new PreventedException(e), handler.getName(), builder));
+        } finally {
+            pending.keySet().forEach(future -> future.cancel(true));
+        }
+        return false;
+    }
+}
@@ -251,12 +251,26 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
                                                    final Credential credential,
                                                    final PrincipalResolver resolver,
                                                    final AuthenticationHandler handler) throws GeneralSecurityException, PreventedException {
-
-        Principal principal;
-
         publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
-
         final HandlerResult result = handler.authenticate(credential);
+        applyHandlerResultAndResolvePrincipal(builder, credential, resolver, handler, result);
+    }
+
+    /**
+     * Record the successful result produced by the handler and resolve the principal.
+     *
+     * @param builder    the builder
+     * @param credential the credential
+     * @param resolver   the resolver
+     * @param handler    the handler
+     * @param result     the result produced by the handler
+     */
+    protected void applyHandlerResultAndResolvePrincipal(final AuthenticationBuilder builder,
+                                                         final Credential credential,
+                                                         final PrincipalResolver resolver,
+                                                         final AuthenticationHandler handler,
+                                                         final HandlerResult result) {
+        Principal principal;
         builder.addSuccess(handler.getName(), result);
         LOGGER.debug("Authentication handler [{}] successfully authenticated [{}]", handler.getName(), credential);
 
@@ -1,5 +1,7 @@
 package org.apereo.cas.authentication.handler.support;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apereo.cas.authentication.AbstractAuthenticationHandler;
 import org.apereo.cas.authentication.Credential;
 import org.apereo.cas.authentication.DefaultHandlerResult;
@@ -14,6 +16,7 @@ import org.slf4j.LoggerFactory;
 import javax.security.auth.login.FailedLoginException;
 import java.net.URL;
 import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to validate the credential presented by communicating with the web
@@ -23,6 +26,9 @@ import java.security.GeneralSecurityException;
  * This class is concerned with ensuring that the protocol is HTTPS and that a
  * response is returned. The SSL handshake that occurs automatically by opening
  * a connection does the heavy process of authenticating.
+ * <p>
+ * Callback urls that are found valid may be remembered for a short while, so that
+ * services that proxy frequently are not called back for every validation request.
  *
  * @author Scott Battaglia
 
@@ -32,9 +38,14 @@ public class HttpBasedServiceCredentialsAuthenticationHandler extends AbstractAu
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpBasedServiceCredentialsAuthenticationHandler.class);
     
+    private static final long MAX_VERIFIED_CALLBACK_URLS = 10_000;
+
     /** Instance of Apache Commons HttpClient. */
     private final HttpClient httpClient;
 
+    /** Callback urls recently found valid, if any are remembered. */
+    private final Cache<String, Boolean> verifiedCallbackUrls;
+
     /**
      * Instantiates a new Abstract authentication handler.
      *
@@ -47,8 +58,31 @@ public class HttpBasedServiceCredentialsAuthenticationHandler extends AbstractAu
     public HttpBasedServiceCredentialsAuthenticationHandler(final String name, final ServicesManager servicesManager, 
                                                             final PrincipalFactory principalFactory,
                                                             final Integer order, final HttpClient httpClient) {
+        this(name, servicesManager, principalFactory, order, httpClient, 0);
+    }
+
+    /**
+     * Instantiates a new Abstract authentication handler.
+     *
+     * @param name                       Handler name.
+     * @param servicesManager            the services manager.
+     * @param principalFactory           the principal factory
+     * @param order                      the order
+     * @param httpClient                 the http client
+     * @param verifiedCallbackUrlTimeout the time in milliseconds a valid callback url is remembered for; zero or less to not remember
+     */
+    public HttpBasedServiceCredentialsAuthenticationHandler(final String name, final ServicesManager servicesManager,
+                                                            final PrincipalFactory principalFactory,
+                                                            final Integer order, final HttpClient httpClient,
+                                                            final long verifiedCallbackUrlTimeout) {
         super(name, servicesManager, principalFactory, order);
         this.httpClient = httpClient;
+        this.verifiedCallbackUrls = verifiedCallbackUrlTimeout > 0
+                ? Caffeine.newBuilder()
+                .maximumSize(MAX_VERIFIED_CALLBACK_URLS)
+                .expireAfterWrite(verifiedCallbackUrlTimeout, TimeUnit.MILLISECONDS)
+                .build()
+                : null;
     }
 
     @Override
@@ -62,8 +96,15 @@ public class HttpBasedServiceCredentialsAuthenticationHandler extends AbstractAu
 
         LOGGER.debug("Attempting to authenticate [{}]", httpCredential);
         final URL callbackUrl = httpCredential.getCallbackUrl();
-        if (!this.httpClient.isValidEndPoint(callbackUrl)) {
-            throw new FailedLoginException(callbackUrl.toExternalForm() + " sent an unacceptable response status code");
+        final String key = callbackUrl.toExternalForm();
+        if (this.verifiedCallbackUrls != null && this.verifiedCallbackUrls.getIfPresent(key) != null) {
+            LOGGER.debug("Callback url [{}] was recently found valid", key);
+        } else if (this.httpClient.isValidEndPoint(callbackUrl)) {
+            if (this.verifiedCallbackUrls != null) {
+                this.verifiedCallbackUrls.put(key, Boolean.TRUE);
+            }
+        } else {
+            throw new FailedLoginException(key + " sent an unacceptable response status code");
         }
         return new DefaultHandlerResult(this, httpCredential, this.principalFactory.createPrincipal(httpCredential.getId()));
     }
@@ -6,11 +6,14 @@ import org.apereo.cas.authentication.AuthenticationHandlerResolver;
 import org.apereo.cas.authentication.AuthenticationManager;
 import org.apereo.cas.authentication.AuthenticationPolicy;
 import org.apereo.cas.authentication.AuthenticationTransactionManager;
+import org.apereo.cas.authentication.ConcurrentPolicyBasedAuthenticationManager;
 import org.apereo.cas.authentication.DefaultAuthenticationEventExecutionPlan;
 import org.apereo.cas.authentication.DefaultAuthenticationTransactionManager;
 import org.apereo.cas.authentication.AuthenticationEventExecutionPlanConfigurer;
 import org.apereo.cas.authentication.PolicyBasedAuthenticationManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.authentication.ConcurrentAuthenticationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,9 +22,12 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * This is {@link CasCoreAuthenticationConfiguration}.
@@ -53,6 +59,18 @@ public class CasCoreAuthenticationConfiguration {
                                                           final AuthenticationHandlerResolver registeredServiceAuthenticationHandlerResolver,
                                                           @Qualifier("authenticationEventExecutionPlan")
                                                           final AuthenticationEventExecutionPlan authenticationEventExecutionPlan) {
+        final ConcurrentAuthenticationProperties concurrent = casProperties.getAuthn().getConcurrent();
+        if (concurrent.isEnabled()) {
+            LOGGER.debug("Authentication handlers of the same order will be executed concurrently");
+            return new ConcurrentPolicyBasedAuthenticationManager(
+                    authenticationEventExecutionPlan,
+                    registeredServiceAuthenticationHandlerResolver,
+                    authenticationPolicy,
+                    casProperties.getPersonDirectory().isPrincipalResolutionFailureFatal(),
+                    authenticationHandlerExecutorService().getObject(),
+                    concurrent.getHandlerTimeout()
+            );
+        }
         return new PolicyBasedAuthenticationManager(
                 authenticationEventExecutionPlan,
                 registeredServiceAuthenticationHandlerResolver,
@@ -61,6 +79,16 @@ public class CasCoreAuthenticationConfiguration {
         );
     }
 
+    @Lazy
+    @Bean
+    public ThreadPoolExecutorFactoryBean authenticationHandlerExecutorService() {
+        final ConcurrentAuthenticationProperties concurrent = casProperties.getAuthn().getConcurrent();
+        final ThreadPoolExecutorFactoryBean bean = Beans.newThreadPoolExecutorFactoryBean(concurrent.getPool());
+        bean.setQueueCapacity(concurrent.getQueueCapacity());
+        bean.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return bean;
+    }
+
     @ConditionalOnMissingBean(name = "authenticationEventExecutionPlan")
     @Autowired
     @Bean
@@ -73,7 +73,8 @@ public class CasCoreAuthenticationHandlersConfiguration {
     public AuthenticationHandler proxyAuthenticationHandler() {
         return new HttpBasedServiceCredentialsAuthenticationHandler(null, servicesManager,
                 proxyPrincipalFactory(), Integer.MIN_VALUE,
-                supportsTrustStoreSslSocketFactoryHttpClient);
+                supportsTrustStoreSslSocketFactoryHttpClient,
+                casProperties.getTicket().getPgt().getVerifiedCallbackUrlTimeout());
     }
 
     @ConditionalOnMissingBean(name = "proxyPrincipalFactory")
@@ -66,10 +66,7 @@ public class CasCoreHttpConfiguration {
     @ConditionalOnMissingBean(name = "httpClient")
     @Bean
     public FactoryBean<SimpleHttpClient> httpClient() {
-        final SimpleHttpClientFactoryBean.DefaultHttpClient c = new SimpleHttpClientFactoryBean.DefaultHttpClient();
-        c.setConnectionTimeout(casProperties.getHttpClient().getConnectionTimeout());
-        c.setReadTimeout((int) casProperties.getHttpClient().getReadTimeout());
-        return c;
+        return buildHttpClientFactory();
     }
 
     @ConditionalOnMissingBean(name = "noRedirectHttpClient")
@@ -94,13 +91,25 @@ public class CasCoreHttpConfiguration {
     }
 
     private HttpClient getHttpClient(final boolean redirectEnabled) throws Exception {
-        final SimpleHttpClientFactoryBean.DefaultHttpClient c = new SimpleHttpClientFactoryBean.DefaultHttpClient();
-        c.setConnectionTimeout(casProperties.getHttpClient().getConnectionTimeout());
-        c.setReadTimeout((int) casProperties.getHttpClient().getReadTimeout());
+        final SimpleHttpClientFactoryBean.DefaultHttpClient c = buildHttpClientFactory();
         c.setRedirectsEnabled(redirectEnabled);
         c.setCircularRedirectsAllowed(redirectEnabled);
         c.setSslSocketFactory(trustStoreSslSocketFactory());
+        c.setSslContext(sslContext());
         c.setHostnameVerifier(hostnameVerifier());
         return c.getObject();
     }
+
+    private SimpleHttpClientFactoryBean.DefaultHttpClient buildHttpClientFactory() {
+        final HttpClientProperties httpClient = casProperties.getHttpClient();
+        final SimpleHttpClientFactoryBean.DefaultHttpClient c = new SimpleHttpClientFactoryBean.DefaultHttpClient();
+        c.setConnectionTimeout(httpClient.getConnectionTimeout());
+        c.setReadTimeout((int) httpClient.getReadTimeout());
+        c.setMaxConnectionsPerRoute(httpClient.getMaxConnectionsPerRoute());
+        c.setNonBlocking(httpClient.isNonBlocking());
+        c.setRequestTimeout(httpClient.getRequestTimeout());
+        c.setCircuitBreakerFailureThreshold(httpClient.getCircuitBreakerFailureThreshold());
+        c.setCircuitBreakerDelay(httpClient.getCircuitBreakerDelay());
+        return c;
+    }
 }
@@ -0,0 +1,138 @@
+package org.apereo.cas.authentication;
+
+import org.apereo.cas.authentication.policy.AllAuthenticationPolicy;
+import org.apereo.cas.authentication.policy.AnyAuthenticationPolicy;
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalResolver;
+import org.apereo.cas.util.CollectionUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import javax.security.auth.login.FailedLoginException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test for {@link ConcurrentPolicyBasedAuthenticationManager}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ConcurrentPolicyBasedAuthenticationManagerTests {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    private final AuthenticationTransaction transaction = AuthenticationTransaction.wrap(CoreAuthenticationTestUtils.getService(),
+            mock(Credential.class));
+
+    @After
+    public void tearDown() {
+        this.executorService.shutdownNow();
+    }
+
+    @Test
+    public void verifyAuthenticateAnySuccess() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new LinkedHashMap<>();
+        map.put(newMockHandler(false, 0), null);
+        map.put(newMockHandler(true, 0), null);
+
+        final Authentication auth = newManager(map, new AnyAuthenticationPolicy(false), 5_000).authenticate(transaction);
+        assertEquals(1, auth.getSuccesses().size());
+    }
+
+    @Test
+    public void verifyAuthenticateAllSuccess() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new LinkedHashMap<>();
+        map.put(newMockHandler(true, 0), null);
+        map.put(newMockHandler(true, 0), null);
+
+        final Authentication auth = newManager(map, new AllAuthenticationPolicy(), 5_000).authenticate(transaction);
+        assertEquals(2, auth.getSuccesses().size());
+        assertEquals(0, auth.getFailures().size());
+    }
+
+    @Test
+    public void verifySlowHandlerTimesOut() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new LinkedHashMap<>();
+        map.put(newMockHandler(true, 5_000), null);
+
+        this.thrown.expect(AuthenticationException.class);
+        newManager(map, new AnyAuthenticationPolicy(false), 100).authenticate(transaction);
+        fail("Should have thrown authentication exception");
+    }
+
+    @Test
+    public void verifyFastHandlerWinsOverSlowHandler() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new LinkedHashMap<>();
+        map.put(newMockHandler(true, 5_000), null);
+        map.put(newMockHandler(true, 0), null);
+
+        final long start = System.currentTimeMillis();
+        final Authentication auth = newManager(map, new AnyAuthenticationPolicy(false), 10_000).authenticate(transaction);
+        assertEquals(1, auth.getSuccesses().size());
+        assertTrue(System.currentTimeMillis() - start < 5_000);
+    }
+
+    @Test
+    public void verifyHandlerRejectedBySaturatedExecutorFails() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new LinkedHashMap<>();
+        map.put(newMockHandler(true, 100), null);
+        map.put(newMockHandler(true, 0), null);
+
+        final ExecutorService saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        try {
+            final Authentication auth = newManager(map, new AnyAuthenticationPolicy(false), 5_000, saturated).authenticate(transaction);
+            assertEquals(1, auth.getSuccesses().size());
+            assertEquals(1, auth.getFailures().size());
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    private ConcurrentPolicyBasedAuthenticationManager newManager(final Map<AuthenticationHandler, PrincipalResolver> map,
+                                                                  final AuthenticationPolicy policy,
+                                                                  final long timeout) {
+        return newManager(map, policy, timeout, this.executorService);
+    }
+
+    private static ConcurrentPolicyBasedAuthenticationManager newManager(final Map<AuthenticationHandler, PrincipalResolver> map,
+                                                                         final AuthenticationPolicy policy,
+                                                                         final long timeout,
+                                                                         final ExecutorService executorService) {
+        final DefaultAuthenticationEventExecutionPlan plan = new DefaultAuthenticationEventExecutionPlan();
+        plan.registerAuthenticationHandlerWithPrincipalResolver(map);
+        return new ConcurrentPolicyBasedAuthenticationManager(plan, (handlers, tx) -> handlers,
+                CollectionUtils.wrap(policy), false, executorService, timeout);
+    }
+
+    private static AuthenticationHandler newMockHandler(final boolean success, final long delay) throws Exception {
+        final AuthenticationHandler mock = mock(AuthenticationHandler.class);
+        when(mock.getName()).thenReturn("MockAuthenticationHandler" + System.nanoTime());
+        when(mock.supports(any(Credential.class))).thenReturn(true);
+        if (success) {
+            final Principal p = new DefaultPrincipalFactory().createPrincipal("nobody");
+            final HandlerResult result = new DefaultHandlerResult(mock, mock(CredentialMetaData.class), p);
+            when(mock.authenticate(any(Credential.class))).thenAnswer(invocation -> {
+                Thread.sleep(delay);
+                return result;
+            });
+        } else {
+            when(mock.authenticate(any(Credential.class))).thenThrow(new FailedLoginException());
+        }
+        return mock;
+    }
+}
@@ -0,0 +1,96 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditAsynchronousProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class AuditAsynchronousProperties implements Serializable {
+    private static final long serialVersionUID = -3357925631406735478L;
+
+    /**
+     * Whether audit records should be queued and written to the audit destination
+     * in batches by a background thread, rather than on the request thread.
+     * Only applies to database and MongoDb audit destinations.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of audit records that may be waiting in the queue.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of audit records written to the audit destination at once.
+     * Queued records are flushed as soon as this many have accumulated.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Interval at which queued audit records are flushed, regardless of the batch size.
+     */
+    private String flushInterval = "PT1S";
+
+    /**
+     * How long to wait on shutdown for queued audit records to be written.
+     */
+    private String shutdownTimeout = "PT10S";
+
+    /**
+     * Decide what happens once the queue is full. By default, the request thread writes
+     * the audit record itself, which slows callers down until the queue has drained.
+     * Otherwise, the record is discarded and counted.
+     */
+    private boolean discardWhenFull;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(final String flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public String getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(final String shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public boolean isDiscardWhenFull() {
+        return discardWhenFull;
+    }
+
+    public void setDiscardWhenFull(final boolean discardWhenFull) {
+        this.discardWhenFull = discardWhenFull;
+    }
+}
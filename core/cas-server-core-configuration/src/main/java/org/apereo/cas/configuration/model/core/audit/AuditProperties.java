@@ -70,6 +70,12 @@ public class AuditProperties implements Serializable {
      */
     private AuditMongoDbProperties mongo = new AuditMongoDbProperties();
 
+    /**
+     * Control how audit records are queued and written in batches
+     * to database and MongoDb audit destinations.
+     */
+    private AuditAsynchronousProperties asynchronous = new AuditAsynchronousProperties();
+
     /**
      * The audit format to use in the logs.
      */
@@ -82,6 +88,17 @@ public class AuditProperties implements Serializable {
      */
     private boolean ignoreAuditFailures;
 
+    /**
+     * Number of recent audit records kept in memory for reports and statistics.
+     * Once reached, the oldest records are overwritten.
+     */
+    private int recentRecordsCapacity = 50_000;
+
+    /**
+     * How long recent audit records kept in memory remain visible to reports and statistics.
+     */
+    private String recentRecordsMaxAge = "PT2H";
+
     public AuditMongoDbProperties getMongo() {
         return mongo;
     }
@@ -90,6 +107,14 @@ public class AuditProperties implements Serializable {
         this.mongo = mongo;
     }
 
+    public AuditAsynchronousProperties getAsynchronous() {
+        return asynchronous;
+    }
+
+    public void setAsynchronous(final AuditAsynchronousProperties asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
     public AuditJdbcProperties getJdbc() {
         return jdbc;
     }
@@ -138,6 +163,22 @@ public class AuditProperties implements Serializable {
         this.ignoreAuditFailures = ignoreAuditFailures;
     }
 
+    public int getRecentRecordsCapacity() {
+        return recentRecordsCapacity;
+    }
+
+    public void setRecentRecordsCapacity(final int recentRecordsCapacity) {
+        this.recentRecordsCapacity = recentRecordsCapacity;
+    }
+
+    public String getRecentRecordsMaxAge() {
+        return recentRecordsMaxAge;
+    }
+
+    public void setRecentRecordsMaxAge(final String recentRecordsMaxAge) {
+        this.recentRecordsMaxAge = recentRecordsMaxAge;
+    }
+
     public String getAlternateServerAddrHeaderName() {
         return alternateServerAddrHeaderName;
     }
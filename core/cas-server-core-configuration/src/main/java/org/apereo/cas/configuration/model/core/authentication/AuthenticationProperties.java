@@ -292,6 +292,20 @@ public class AuthenticationProperties implements Serializable {
      */
     private boolean releaseProtocolAttributes = true;
 
+    /**
+     * Settings that control concurrent execution of authentication handlers.
+     */
+    @NestedConfigurationProperty
+    private ConcurrentAuthenticationProperties concurrent = new ConcurrentAuthenticationProperties();
+
+    public ConcurrentAuthenticationProperties getConcurrent() {
+        return concurrent;
+    }
+
+    public void setConcurrent(final ConcurrentAuthenticationProperties concurrent) {
+        this.concurrent = concurrent;
+    }
+
     public ShibbolethIdPProperties getShibIdp() {
         return shibIdp;
     }
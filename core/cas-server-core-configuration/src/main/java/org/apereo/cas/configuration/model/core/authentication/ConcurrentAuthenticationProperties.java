@@ -0,0 +1,77 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import org.apereo.cas.configuration.model.support.ConnectionPoolingProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.configuration.support.RequiresModule;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+import java.io.Serializable;
+
+/**
+ * Configuration properties class for cas.authn.concurrent.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@RequiresModule(name = "cas-server-core-authentication", automated = true)
+public class ConcurrentAuthenticationProperties implements Serializable {
+    private static final long serialVersionUID = 5587263713487104217L;
+
+    /**
+     * Whether authentication handlers that share the same order should be executed concurrently.
+     * The first result that satisfies the authentication policy wins, and remaining handlers are cancelled.
+     * When disabled, handlers are executed one after another.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum amount of time to wait for authentication handlers of the same order
+     * to produce a result. Handlers that do not complete in time are cancelled and recorded as failures.
+     */
+    private String handlerTimeout = "PT10S";
+
+    /**
+     * Settings of the thread pool that executes authentication handlers.
+     */
+    @NestedConfigurationProperty
+    private ConnectionPoolingProperties pool = new ConnectionPoolingProperties();
+
+    /**
+     * Number of authentication handlers that may wait for a free thread once the pool is at its maximum size.
+     * Handlers that cannot be queued either are not executed and are recorded as failures,
+     * rather than holding up the authentication request. Zero means handlers never wait.
+     */
+    private int queueCapacity;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getHandlerTimeout() {
+        return Beans.newDuration(handlerTimeout).toMillis();
+    }
+
+    public void setHandlerTimeout(final String handlerTimeout) {
+        this.handlerTimeout = handlerTimeout;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public ConnectionPoolingProperties getPool() {
+        return pool;
+    }
+
+    public void setPool(final ConnectionPoolingProperties pool) {
+        this.pool = pool;
+    }
+}
@@ -46,6 +46,36 @@ public class HttpClientProperties implements Serializable {
      * For example http(s)://localhost/logout
      */    
     private boolean allowLocalLogoutUrls;
+
+    /**
+     * Whether requests should be executed by a non-blocking client, so that no thread is held
+     * while waiting for an endpoint to respond. Each request is then bound to the request timeout.
+     */
+    private boolean nonBlocking;
+
+    /**
+     * Overall time a request executed by the non-blocking client may take, from acquiring a connection
+     * to reading the response, after which it is cancelled. Zero or less lets requests run
+     * as long as the connection and read timeouts allow.
+     */
+    private String requestTimeout = "PT10S";
+
+    /**
+     * Maximum number of connections to each host.
+     */
+    private int maxConnectionsPerRoute = 50;
+
+    /**
+     * Number of consecutive failed requests to a host after which requests
+     * to the host are rejected by the non-blocking client. Zero or less disables the circuit breaker.
+     */
+    private int circuitBreakerFailureThreshold = 5;
+
+    /**
+     * Amount of time requests to a failing host are rejected for by the non-blocking client,
+     * before a single request is let through to probe the host.
+     */
+    private String circuitBreakerDelay = "PT30S";
     
     public String getHostNameVerifier() {
         return hostNameVerifier;
@@ -95,6 +125,46 @@ public class HttpClientProperties implements Serializable {
         this.allowLocalLogoutUrls = allowLocalLogoutUrls;
     }
 
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    public void setNonBlocking(final boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
+    public long getRequestTimeout() {
+        return Beans.newDuration(this.requestTimeout).toMillis();
+    }
+
+    public void setRequestTimeout(final String requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(final int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    public void setCircuitBreakerFailureThreshold(final int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    public long getCircuitBreakerDelay() {
+        return Beans.newDuration(this.circuitBreakerDelay).toMillis();
+    }
+
+    public void setCircuitBreakerDelay(final String circuitBreakerDelay) {
+        this.circuitBreakerDelay = circuitBreakerDelay;
+    }
+
     public static class Truststore implements Serializable {
 
         private static final long serialVersionUID = -1357168622083627654L;
@@ -108,6 +108,12 @@ public class ServiceRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private SchedulingProperties schedule = new SchedulingProperties();
 
+    /**
+     * Settings for the local snapshot of registered services used on startup.
+     */
+    @NestedConfigurationProperty
+    private ServiceRegistrySnapshotProperties snapshot = new ServiceRegistrySnapshotProperties();
+
     /**
      * Email settings for notifications.
      */
@@ -255,6 +261,14 @@ public class ServiceRegistryProperties implements Serializable {
         this.redis = redis;
     }
 
+    public ServiceRegistrySnapshotProperties getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(final ServiceRegistrySnapshotProperties snapshot) {
+        this.snapshot = snapshot;
+    }
+
     public EmailProperties getMail() {
         return mail;
     }
@@ -0,0 +1,59 @@
+package org.apereo.cas.configuration.model.core.services;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import java.io.Serializable;
+
+/**
+ * Configuration properties class for service.registry.snapshot.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@RequiresModule(name = "cas-server-core-services", automated = true)
+public class ServiceRegistrySnapshotProperties implements Serializable {
+
+    private static final long serialVersionUID = -2781920134917648259L;
+
+    /**
+     * Whether a local snapshot of registered services should be written after services are loaded,
+     * and used on startup before the service registry is consulted in the background.
+     */
+    private boolean enabled;
+
+    /**
+     * Path to the snapshot file, which must be set when snapshots are enabled.
+     * The file should be kept in a directory that only CAS may write to;
+     * locations under the temporary directory are refused.
+     */
+    private String location;
+
+    /**
+     * Snapshots older than this duration are ignored on startup.
+     */
+    private String maxAge = "PT24H";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(final String location) {
+        this.location = location;
+    }
+
+    public String getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(final String maxAge) {
+        this.maxAge = maxAge;
+    }
+}
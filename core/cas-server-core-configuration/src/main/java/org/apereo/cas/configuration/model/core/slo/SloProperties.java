@@ -1,6 +1,8 @@
 package org.apereo.cas.configuration.model.core.slo;
 
+import org.apereo.cas.configuration.model.support.ConnectionPoolingProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serializable;
 
@@ -25,6 +27,18 @@ public class SloProperties implements Serializable {
      */
     private boolean disabled;
 
+    /**
+     * Settings that control how asynchronous back-channel logout messages are queued, throttled and retried.
+     */
+    private Dispatcher dispatcher = new Dispatcher();
+
+    /**
+     * Settings of the thread pool that sends back-channel logout messages of distinct logout urls in parallel,
+     * when SLO callbacks are not asynchronous.
+     */
+    @NestedConfigurationProperty
+    private ConnectionPoolingProperties pool = new ConnectionPoolingProperties();
+
     public boolean isAsynchronous() {
         return asynchronous;
     }
@@ -40,4 +54,157 @@ public class SloProperties implements Serializable {
     public void setDisabled(final boolean disabled) {
         this.disabled = disabled;
     }
+
+    public ConnectionPoolingProperties getPool() {
+        return pool;
+    }
+
+    public void setPool(final ConnectionPoolingProperties pool) {
+        this.pool = pool;
+    }
+
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public void setDispatcher(final Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public static class Dispatcher implements Serializable {
+        private static final long serialVersionUID = -4581236472918740815L;
+
+        /**
+         * Whether asynchronous back-channel logout messages should be queued and delivered by the dispatcher,
+         * rather than handed to the http client once.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of logout messages waiting to be delivered. Messages beyond this limit are rejected.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Number of threads that deliver logout messages.
+         */
+        private int threads = 10;
+
+        /**
+         * Maximum number of logout messages delivered to the same host at the same time.
+         */
+        private int maxConcurrentPerHost = 2;
+
+        /**
+         * Maximum number of logout messages delivered to the same host per second. Zero or less means no limit.
+         */
+        private int maxRatePerHost = 20;
+
+        /**
+         * Maximum number of attempts to deliver a logout message before it is dropped.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Delay before the first retry of a failed delivery. The delay doubles with each further attempt.
+         */
+        private String retryDelay = "PT1S";
+
+        /**
+         * Maximum delay between retries.
+         */
+        private String maxRetryDelay = "PT5M";
+
+        /**
+         * Path to the file where undelivered logout messages are kept, so that they survive restarts,
+         * i.e. {@code /etc/cas/slo/dispatcher.queue}. The file is only readable by its owner.
+         * Leave blank to keep messages in memory only.
+         */
+        private String location;
+
+        /**
+         * How often undelivered logout messages are written to the file, if any changed.
+         */
+        private String checkpointInterval = "PT10S";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(final int threads) {
+            this.threads = threads;
+        }
+
+        public int getMaxConcurrentPerHost() {
+            return maxConcurrentPerHost;
+        }
+
+        public void setMaxConcurrentPerHost(final int maxConcurrentPerHost) {
+            this.maxConcurrentPerHost = maxConcurrentPerHost;
+        }
+
+        public int getMaxRatePerHost() {
+            return maxRatePerHost;
+        }
+
+        public void setMaxRatePerHost(final int maxRatePerHost) {
+            this.maxRatePerHost = maxRatePerHost;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(final int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public String getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(final String retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+
+        public String getMaxRetryDelay() {
+            return maxRetryDelay;
+        }
+
+        public void setMaxRetryDelay(final String maxRetryDelay) {
+            this.maxRetryDelay = maxRetryDelay;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(final String location) {
+            this.location = location;
+        }
+
+        public String getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        public void setCheckpointInterval(final String checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package org.apereo.cas.configuration.model.core.ticket;
 
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import java.io.Serializable;
@@ -18,6 +19,34 @@ public class ProxyGrantingTicketProperties implements Serializable {
      */
     private int maxLength = 50;
 
+    /**
+     * Maximum amount of time to wait for the proxy callback url to receive the proxy granting ticket.
+     * The callback is considered failed once this time elapses. Zero waits as long as the http client does.
+     */
+    private String callbackTimeout = "PT10S";
+
+    /**
+     * Amount of time a proxy callback url that was found valid is remembered for,
+     * so that it is not verified again on every validation request. Zero verifies it every time.
+     */
+    private String verifiedCallbackUrlTimeout = "PT1M";
+
+    public long getCallbackTimeout() {
+        return Beans.newDuration(callbackTimeout).toMillis();
+    }
+
+    public void setCallbackTimeout(final String callbackTimeout) {
+        this.callbackTimeout = callbackTimeout;
+    }
+
+    public long getVerifiedCallbackUrlTimeout() {
+        return Beans.newDuration(verifiedCallbackUrlTimeout).toMillis();
+    }
+
+    public void setVerifiedCallbackUrlTimeout(final String verifiedCallbackUrlTimeout) {
+        this.verifiedCallbackUrlTimeout = verifiedCallbackUrlTimeout;
+    }
+
     public int getMaxLength() {
         return maxLength;
     }
@@ -37,6 +37,15 @@ public class TicketGrantingTicketProperties implements Serializable {
      */
     private boolean onlyTrackMostRecentSession = true;
 
+    /**
+     * Maximum number of earlier sessions a TGT keeps by ticket id only for single logout.
+     * The most recent session of each application (service path) is always tracked in full,
+     * so every application is still notified on logout; earlier sessions of the same application
+     * are kept by ticket id only and, once this limit is exceeded, the oldest of those are forgotten.
+     * A value of zero places no limit on the number of sessions.
+     */
+    private int maximumCompactedSessions;
+
     /**
      * Hard timeout for TGTs.
      */
@@ -105,6 +114,14 @@ public class TicketGrantingTicketProperties implements Serializable {
         this.onlyTrackMostRecentSession = onlyTrackMostRecentSession;
     }
 
+    public int getMaximumCompactedSessions() {
+        return maximumCompactedSessions;
+    }
+
+    public void setMaximumCompactedSessions(final int maximumCompactedSessions) {
+        this.maximumCompactedSessions = maximumCompactedSessions;
+    }
+
     public int getMaxTimeToLiveInSeconds() {
         return maxTimeToLiveInSeconds;
     }
@@ -13,6 +13,7 @@ import org.apereo.cas.configuration.model.support.memcached.MemcachedTicketRegis
 import org.apereo.cas.configuration.model.support.mongo.ticketregistry.MongoTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
 import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.RequiresModule;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
@@ -100,6 +101,18 @@ public class TicketRegistryProperties implements Serializable {
      */
     private InMemory inMemory = new InMemory();
 
+    /**
+     * Settings for the local cache of ticket-granting tickets
+     * that may be put in front of a remote ticket registry.
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * Settings for sharing concurrent reads of the same ticket
+     * from a remote ticket registry.
+     */
+    private Coalescing coalescing = new Coalescing();
+
     /**
      * Ticket registry cleaner settings.
      */
@@ -122,6 +135,14 @@ public class TicketRegistryProperties implements Serializable {
         this.inMemory = inMemory;
     }
 
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    public void setNearCache(final NearCache nearCache) {
+        this.nearCache = nearCache;
+    }
+
     public ScheduledJobProperties getCleaner() {
         return cleaner;
     }
@@ -210,6 +231,84 @@ public class TicketRegistryProperties implements Serializable {
         this.jms = jms;
     }
 
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public void setCoalescing(final Coalescing coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    @RequiresModule(name = "cas-server-core-tickets", automated = true)
+    public static class Coalescing implements Serializable {
+
+        private static final long serialVersionUID = -3820744283714823946L;
+
+        /**
+         * Whether concurrent reads of the same ticket should share a single fetch
+         * from the registry. This only applies to registries that are not kept in memory.
+         * The registry bean is decorated when turned on, so components that expect
+         * the concrete registry type should unwrap it first.
+         */
+        private boolean enabled;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    @RequiresModule(name = "cas-server-core-tickets", automated = true)
+    public static class NearCache implements Serializable {
+
+        private static final long serialVersionUID = 2719434937386512367L;
+
+        /**
+         * Whether ticket-granting tickets should be cached locally.
+         * Nodes that share the registry are notified of changes
+         * if the registry module supports it.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of tickets to keep in the cache.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which a cached ticket is read again from the registry.
+         * This also bounds how long a node may observe a stale ticket.
+         */
+        private String timeToLive = "PT5S";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(final long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getTimeToLive() {
+            return Beans.newDuration(timeToLive).toMillis();
+        }
+
+        public void setTimeToLive(final String timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
     @RequiresModule(name = "cas-server-core-tickets", automated = true)
     public static class InMemory implements Serializable {
 
@@ -36,6 +36,25 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
      */
     private String jpaLockingTimeout = DEFAULT_LOCK_TIMEOUT;
 
+    /**
+     * Detect concurrent updates to ticket-granting tickets via a version column
+     * instead of locking ticket rows. Updates that lose the race are merged with the
+     * latest state of the ticket in the database and retried. When enabled,
+     * tickets are read without locks regardless of the configured lock type.
+     */
+    private boolean optimisticLocking;
+
+    /**
+     * Number of times a conflicting ticket-granting ticket update
+     * is merged and retried before giving up.
+     */
+    private int optimisticLockingRetries = 3;
+
+    /**
+     * Number of expired service tickets the cleaner removes per statement.
+     */
+    private int cleanerBatchSize = 500;
+
     /**
      * Crypto settings for the registry.
      */
@@ -63,6 +82,30 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
         this.jpaLockingTimeout = jpaLockingTimeout;
     }
 
+    public boolean isOptimisticLocking() {
+        return optimisticLocking;
+    }
+
+    public void setOptimisticLocking(final boolean optimisticLocking) {
+        this.optimisticLocking = optimisticLocking;
+    }
+
+    public int getOptimisticLockingRetries() {
+        return optimisticLockingRetries;
+    }
+
+    public void setOptimisticLockingRetries(final int optimisticLockingRetries) {
+        this.optimisticLockingRetries = optimisticLockingRetries;
+    }
+
+    public int getCleanerBatchSize() {
+        return cleanerBatchSize;
+    }
+
+    public void setCleanerBatchSize(final int cleanerBatchSize) {
+        this.cleanerBatchSize = cleanerBatchSize;
+    }
+
     public LockModeType getTicketLockType() {
         return ticketLockType;
     }
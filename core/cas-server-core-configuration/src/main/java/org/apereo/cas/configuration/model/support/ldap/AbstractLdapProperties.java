@@ -173,6 +173,14 @@ public abstract class AbstractLdapProperties implements Serializable {
      */
     private String blockWaitTime = "PT3S";
 
+    /**
+     * Whether the connection pool should be shared with all other components
+     * that connect to the same LDAP url with the same bind and SSL settings.
+     * Pool sizing and validation settings are dictated by whichever component
+     * first creates the shared pool.
+     */
+    private boolean sharedPool;
+
     /**
      * If multiple URLs are provided as the ldapURL this describes how each URL will be processed.
      * <ul>
@@ -445,6 +453,14 @@ public abstract class AbstractLdapProperties implements Serializable {
         this.blockWaitTime = blockWaitTime;
     }
 
+    public boolean isSharedPool() {
+        return sharedPool;
+    }
+
+    public void setSharedPool(final boolean sharedPool) {
+        this.sharedPool = sharedPool;
+    }
+
     public String getLdapUrl() {
         return ldapUrl;
     }
@@ -2,6 +2,7 @@ package org.apereo.cas.configuration.model.support.throttle;
 
 import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
 import org.apereo.cas.configuration.model.support.quartz.SchedulingProperties;
+import org.apereo.cas.configuration.model.support.redis.BaseRedisProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
@@ -35,6 +36,11 @@ public class ThrottleProperties implements Serializable {
      */
     private Jdbc jdbc = new Jdbc();
 
+    /**
+     * Keep track of authentication failures in Redis, shared by all CAS nodes.
+     */
+    private Redis redis = new Redis();
+
     /**
      * Username parameter to use in order to extract the username from the request.
      */
@@ -73,6 +79,14 @@ public class ThrottleProperties implements Serializable {
         return jdbc;
     }
 
+    public Redis getRedis() {
+        return redis;
+    }
+
+    public void setRedis(final Redis redis) {
+        this.redis = redis;
+    }
+
     public Failure getFailure() {
         return failure;
     }
@@ -170,5 +184,23 @@ public class ThrottleProperties implements Serializable {
         }
     }
 
+    @RequiresModule(name = "cas-server-support-throttle-redis")
+    public static class Redis extends BaseRedisProperties {
+        private static final long serialVersionUID = 4087428137154619231L;
+
+        /**
+         * How often failures counted locally on each node are sent to Redis.
+         */
+        private String flushInterval = "PT0.5S";
+
+        public String getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(final String flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
 
 }
@@ -36,12 +36,33 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     private boolean compress;
 
+    /**
+     * Whether client-side webflow state should be encoded in the compact binary format.
+     * State encoded in either format is always decoded, so this may be turned on once all
+     * nodes are able to read the compact format.
+     * Only relevant if session storage is done on the client.
+     */
+    private boolean compactState;
+
     /**
      * Controls whether spring webflow sessions are to be stored server-side or client side.
      * By default state is managed on the client side, that is also signed and encrypted.
      */
     private boolean storage;
 
+    /**
+     * Whether server-side sessions should be kept in the ticket registry rather than the http session,
+     * so that flows may be resumed by any node without sticky sessions.
+     * Only relevant if session storage is done on the server.
+     */
+    private boolean ticketRegistry;
+
+    /**
+     * The time after which a flow kept in the ticket registry expires, if left unused.
+     * Only relevant if session storage is done on the server, in the ticket registry.
+     */
+    private String timeout = "PT30M";
+
     /**
      * If sessions are to be replicated via Hazelcast, defines the location of a {@code hazelcast.xml}
      * file that defines how state should be replicated.
@@ -73,6 +94,14 @@ public class WebflowSessionManagementProperties implements Serializable {
         this.compress = compress;
     }
 
+    public boolean isCompactState() {
+        return compactState;
+    }
+
+    public void setCompactState(final boolean compactState) {
+        this.compactState = compactState;
+    }
+
     public boolean isStorage() {
         return storage;
     }
@@ -81,6 +110,22 @@ public class WebflowSessionManagementProperties implements Serializable {
         this.storage = storage;
     }
 
+    public boolean isTicketRegistry() {
+        return ticketRegistry;
+    }
+
+    public void setTicketRegistry(final boolean ticketRegistry) {
+        this.ticketRegistry = ticketRegistry;
+    }
+
+    public long getTimeout() {
+        return Beans.newDuration(timeout).getSeconds();
+    }
+
+    public void setTimeout(final String timeout) {
+        this.timeout = timeout;
+    }
+
     public Resource getHzLocation() {
         return hzLocation;
     }
@@ -0,0 +1,406 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.StatisticsSource;
+import org.apereo.cas.util.http.HttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link BackChannelLogoutDispatcher} that queues back-channel logout messages and delivers
+ * them in the background. Messages are queued per host, and each host is limited in how many messages
+ * are delivered to it at the same time and per second, so that a slow application cannot hold up
+ * logout for all others. Failed deliveries are retried with an exponentially growing delay.
+ * A message for a logout url and ticket that is already queued is not queued again.
+ * <p>
+ * The queue is bounded, and undelivered messages are periodically written to a file and read back
+ * on startup, so that messages survive restarts. Messages queued after the last write are lost
+ * if the server stops abruptly. Logout messages identify user sessions, so the file and any
+ * directories created for it are only accessible to their owner.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class BackChannelLogoutDispatcher implements DisposableBean, StatisticsSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackChannelLogoutDispatcher.class);
+
+    private static final int MAGIC = 0xCA55101F;
+    private static final int VERSION = 1;
+    private static final int MAX_BACKOFF_SHIFT = 20;
+    private static final int MAX_MESSAGE_LENGTH = 1024 * 1024;
+
+    private final HttpClient httpClient;
+    private final int capacity;
+    private final int maxConcurrentPerHost;
+    private final long minIntervalPerHost;
+    private final int maxAttempts;
+    private final long retryDelay;
+    private final long maxRetryDelay;
+    private final Path location;
+
+    private final ScheduledExecutorService executor;
+
+    private final ConcurrentMap<String, Delivery> deliveries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder restored = new LongAdder();
+    private final LongAdder deliveryTime = new LongAdder();
+
+    /**
+     * Instantiates a new back channel logout dispatcher.
+     *
+     * @param httpClient           the http client
+     * @param capacity             the maximum number of messages waiting to be delivered
+     * @param threads              the number of threads that deliver messages
+     * @param maxConcurrentPerHost the maximum number of messages delivered to a host at the same time
+     * @param maxRatePerHost       the maximum number of messages delivered to a host per second, or zero for no limit
+     * @param maxAttempts          the maximum number of attempts to deliver a message
+     * @param retryDelay           the time in milliseconds before the first retry
+     * @param maxRetryDelay        the maximum time in milliseconds between retries
+     * @param location             the file where undelivered messages are kept, or {@code null}
+     * @param checkpointInterval   the time in milliseconds between writes of undelivered messages to the file
+     */
+    public BackChannelLogoutDispatcher(final HttpClient httpClient, final int capacity, final int threads,
+                                       final int maxConcurrentPerHost, final int maxRatePerHost, final int maxAttempts,
+                                       final long retryDelay, final long maxRetryDelay,
+                                       final Path location, final long checkpointInterval) {
+        this.httpClient = httpClient;
+        this.capacity = capacity;
+        this.maxConcurrentPerHost = Math.max(1, maxConcurrentPerHost);
+        this.minIntervalPerHost = maxRatePerHost > 0 ? TimeUnit.SECONDS.toNanos(1) / maxRatePerHost : 0;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.location = location;
+
+        final AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, threads), r -> {
+            final Thread thread = new Thread(r, "cas-slo-dispatcher-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (this.location != null) {
+            restore();
+            this.executor.scheduleWithFixedDelay(this::checkpoint, checkpointInterval, checkpointInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queue the logout message for delivery.
+     *
+     * @param request       the logout request
+     * @param logoutMessage the logout message
+     * @return true if the message is queued, or was already queued
+     */
+    public boolean dispatch(final LogoutRequest request, final String logoutMessage) {
+        return dispatch(new Delivery(request.getLogoutUrl(), request.getTicketId(), logoutMessage, 0));
+    }
+
+    private boolean dispatch(final Delivery delivery) {
+        if (this.pending.incrementAndGet() > this.capacity) {
+            this.pending.decrementAndGet();
+            this.rejected.increment();
+            LOGGER.warn("Logout message for [{}] is rejected since [{}] messages are waiting to be delivered",
+                    delivery.url, this.capacity);
+            return false;
+        }
+        if (this.deliveries.putIfAbsent(delivery.getKey(), delivery) != null) {
+            this.pending.decrementAndGet();
+            this.coalesced.increment();
+            LOGGER.debug("Logout message for [{}] and ticket [{}] is already queued", delivery.url, delivery.ticketId);
+            return true;
+        }
+        this.submitted.increment();
+        this.changed.set(true);
+        getEndpoint(delivery).offer(delivery);
+        return true;
+    }
+
+    /**
+     * Collect statistics on the deliveries of logout messages.
+     *
+     * @return the map
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        final long count = this.delivered.sum();
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", this.deliveries.size());
+        stats.put("submitted", this.submitted.sum());
+        stats.put("coalesced", this.coalesced.sum());
+        stats.put("rejected", this.rejected.sum());
+        stats.put("delivered", count);
+        stats.put("retried", this.retried.sum());
+        stats.put("failed", this.failed.sum());
+        stats.put("restored", this.restored.sum());
+        stats.put("averageDeliveryTime", count == 0 ? 0D : (double) TimeUnit.NANOSECONDS.toMicros(this.deliveryTime.sum()) / count / 1000D);
+        return stats;
+    }
+
+    /**
+     * Write undelivered messages to the file, if any changed since the last write.
+     */
+    public void checkpoint() {
+        if (this.location == null || !this.changed.getAndSet(false)) {
+            return;
+        }
+        final List<Delivery> pending = new ArrayList<>(this.deliveries.values());
+        final Path temp = this.location.resolveSibling(this.location.getFileName() + ".tmp");
+        try {
+            if (pending.isEmpty()) {
+                Files.deleteIfExists(this.location);
+                return;
+            }
+            if (this.location.getParent() != null && Files.notExists(this.location.getParent())) {
+                if (isPosix(this.location)) {
+                    Files.createDirectories(this.location.getParent(), PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+                } else {
+                    Files.createDirectories(this.location.getParent());
+                }
+            }
+            createOwnerOnlyFile(temp);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(pending.size());
+                for (final Delivery delivery : pending) {
+                    out.writeUTF(delivery.url.toExternalForm());
+                    out.writeUTF(delivery.ticketId);
+                    final byte[] message = delivery.message.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(message.length);
+                    out.write(message);
+                    out.writeInt(delivery.attempts);
+                }
+            }
+            Files.move(temp, this.location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Wrote [{}] undelivered logout message(s) to [{}]", pending.size(), this.location);
+        } catch (final Exception e) {
+            this.changed.set(true);
+            LOGGER.warn("Unable to write undelivered logout messages to [{}]: [{}]", this.location, e.getMessage());
+        }
+    }
+
+    private static void createOwnerOnlyFile(final Path file) throws IOException {
+        Files.deleteIfExists(file);
+        if (isPosix(file)) {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(file);
+        }
+    }
+
+    private static boolean isPosix(final Path file) {
+        return file.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+        try {
+            this.executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.changed.set(true);
+        checkpoint();
+    }
+
+    private void restore() {
+        if (!Files.isReadable(this.location)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.location)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.info("Undelivered logout messages in [{}] are written in an unknown format and will be ignored", this.location);
+                return;
+            }
+            final int count = in.readInt();
+            int dropped = 0;
+            for (int i = 0; i < count; i++) {
+                final URL url = new URL(in.readUTF());
+                final String ticketId = in.readUTF();
+                final int length = in.readInt();
+                if (length < 0 || length > MAX_MESSAGE_LENGTH) {
+                    throw new IOException("Logout message of " + length + " bytes exceeds the maximum of " + MAX_MESSAGE_LENGTH + " bytes");
+                }
+                final byte[] message = new byte[length];
+                in.readFully(message);
+                final Delivery delivery = new Delivery(url, ticketId, new String(message, StandardCharsets.UTF_8), in.readInt());
+                if (dispatch(delivery)) {
+                    this.restored.increment();
+                } else {
+                    dropped++;
+                }
+            }
+            LOGGER.info("Restored [{}] undelivered logout message(s) from [{}]", this.restored.sum(), this.location);
+            if (dropped > 0) {
+                LOGGER.warn("[{}] undelivered logout message(s) from [{}] were dropped since the queue is limited to [{}] messages",
+                        dropped, this.location, this.capacity);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read undelivered logout messages from [{}]: [{}]", this.location, e.getMessage());
+        }
+    }
+
+    private Endpoint getEndpoint(final Delivery delivery) {
+        return this.endpoints.computeIfAbsent(delivery.url.getAuthority(), Endpoint::new);
+    }
+
+    private void deliver(final Delivery delivery) {
+        final long start = System.nanoTime();
+        boolean success;
+        try {
+            final LogoutHttpMessage msg = new LogoutHttpMessage(delivery.url, delivery.message, false);
+            success = this.httpClient.sendMessageToEndPoint(msg);
+        } catch (final Exception e) {
+            LOGGER.debug(e.getMessage(), e);
+            success = false;
+        }
+        delivery.attempts++;
+        if (success) {
+            this.delivered.increment();
+            this.deliveryTime.add(System.nanoTime() - start);
+            complete(delivery);
+            LOGGER.debug("Delivered logout message for ticket [{}] to [{}]", delivery.ticketId, delivery.url);
+        } else if (delivery.attempts >= this.maxAttempts) {
+            this.failed.increment();
+            complete(delivery);
+            LOGGER.warn("Logout message for ticket [{}] could not be delivered to [{}] after [{}] attempt(s)",
+                    delivery.ticketId, delivery.url, delivery.attempts);
+        } else {
+            this.retried.increment();
+            this.changed.set(true);
+            final long delay = Math.min(this.maxRetryDelay, this.retryDelay << Math.min(delivery.attempts - 1, MAX_BACKOFF_SHIFT));
+            LOGGER.debug("Logout message for ticket [{}] could not be delivered to [{}] and will be retried in [{}] ms",
+                    delivery.ticketId, delivery.url, delay);
+            this.executor.schedule(() -> getEndpoint(delivery).offer(delivery), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void complete(final Delivery delivery) {
+        if (this.deliveries.remove(delivery.getKey(), delivery)) {
+            this.pending.decrementAndGet();
+        }
+        this.changed.set(true);
+    }
+
+    /**
+     * A logout message and the state of its delivery.
+     */
+    private static class Delivery {
+        private final URL url;
+        private final String ticketId;
+        private final String message;
+        private volatile int attempts;
+
+        Delivery(final URL url, final String ticketId, final String message, final int attempts) {
+            this.url = url;
+            this.ticketId = ticketId;
+            this.message = message;
+            this.attempts = attempts;
+        }
+
+        String getKey() {
+            return this.url.toExternalForm() + ';' + this.ticketId;
+        }
+    }
+
+    /**
+     * The messages queued for a host, delivered by no more than the allowed number of threads at a time.
+     */
+    private class Endpoint {
+        private final String host;
+        private final Queue<Delivery> queue = new ConcurrentLinkedQueue<>();
+        private int active;
+        private long nextDeliveryTime = System.nanoTime();
+
+        Endpoint(final String host) {
+            this.host = host;
+        }
+
+        void offer(final Delivery delivery) {
+            this.queue.add(delivery);
+            synchronized (this) {
+                if (this.active < maxConcurrentPerHost && !executor.isShutdown()) {
+                    this.active++;
+                    executor.execute(this::drain);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!this.queue.isEmpty()) {
+                    final long wait = acquire();
+                    if (wait > 0) {
+                        LOGGER.trace("Delivery of logout messages to [{}] is delayed by [{}] ns", this.host, wait);
+                        executor.schedule(this::drain, wait, TimeUnit.NANOSECONDS);
+                        return;
+                    }
+                    final Delivery delivery = this.queue.poll();
+                    if (delivery != null) {
+                        deliver(delivery);
+                    }
+                }
+            } catch (final RuntimeException e) {
+                LOGGER.error("Unable to deliver logout messages to [{}]: [{}]", this.host, e.getMessage());
+            }
+            release();
+        }
+
+        private synchronized long acquire() {
+            final long now = System.nanoTime();
+            if (minIntervalPerHost == 0) {
+                return 0;
+            }
+            if (this.nextDeliveryTime - now > 0) {
+                return this.nextDeliveryTime - now;
+            }
+            this.nextDeliveryTime = now + minIntervalPerHost;
+            return 0;
+        }
+
+        private synchronized void release() {
+            this.active--;
+            if (!this.queue.isEmpty() && this.active < maxConcurrentPerHost && !executor.isShutdown()) {
+                this.active++;
+                executor.execute(this::drain);
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package org.apereo.cas.logout;
 
-import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CompressionUtils;
@@ -8,11 +7,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -69,19 +67,14 @@ public class DefaultLogoutManager implements LogoutManager {
     }
 
     private List<LogoutRequest> performLogoutForTicket(final TicketGrantingTicket ticketToBeLoggedOut) {
-        final Stream<Map<String, Service>> streamServices = Stream.concat(Stream.of(ticketToBeLoggedOut.getServices()),
-                Stream.of(ticketToBeLoggedOut.getProxyGrantingTickets()));
-        return streamServices
+        final Map<String, WebApplicationService> services = new LinkedHashMap<>();
+        Stream.concat(Stream.of(ticketToBeLoggedOut.getServices()), Stream.of(ticketToBeLoggedOut.getProxyGrantingTickets()))
                 .map(Map::entrySet)
                 .flatMap(Set::stream)
                 .filter(entry -> entry.getValue() instanceof WebApplicationService)
-                .map(entry -> {
-                    final Service service = entry.getValue();
-                    LOGGER.debug("Handling single logout callback for [{}]", service);
-                    return this.singleLogoutServiceMessageHandler.handle((WebApplicationService) service, entry.getKey());
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                .forEach(entry -> services.put(entry.getKey(), (WebApplicationService) entry.getValue()));
+        LOGGER.debug("Handling single logout callbacks for [{}] services", services.size());
+        return this.singleLogoutServiceMessageHandler.handle(services);
     }
 
     /**
@@ -1,5 +1,6 @@
 package org.apereo.cas.logout;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.services.RegisteredService;
@@ -9,6 +10,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * This is {@link DefaultSingleLogoutServiceMessageHandler} which handles the processing of logout messages
@@ -27,6 +38,8 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
     private final LogoutMessageCreator logoutMessageBuilder;
     private final SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder;
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
+    private BackChannelLogoutDispatcher backChannelLogoutDispatcher;
+    private ExecutorService executorService;
 
     /**
      * Instantiates a new Single logout service message handler.
@@ -67,7 +80,105 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
 
         final WebApplicationService selectedService = WebApplicationService.class.cast(
                 this.authenticationRequestServiceSelectionStrategies.resolveService(singleLogoutService));
+        final LogoutTarget target = determineLogoutTarget(selectedService);
+        if (target == null) {
+            return null;
+        }
+
+        final DefaultLogoutRequest logoutRequest = createLogoutRequest(target, selectedService, ticketId);
+        if (target.getType() == RegisteredService.LogoutType.BACK_CHANNEL) {
+            sendBackChannelLogoutRequest(logoutRequest, singleLogoutService);
+        }
+        return logoutRequest;
+    }
+
+    /**
+     * Handle logout for all services of a single sign-on session.
+     * The registered service and the logout url are determined once per distinct service,
+     * and back-channel logout requests of each logout url are sent in parallel to those of other urls
+     * when messages are sent synchronously and an executor service is available.
+     *
+     * @param services the services, keyed by the ticket id that was issued for each
+     * @return the logout requests
+     */
+    @Override
+    public List<LogoutRequest> handle(final Map<String, WebApplicationService> services) {
+        final Map<Pair<String, String>, Optional<LogoutTarget>> targets = new HashMap<>();
+        final Map<Pair<Long, String>, List<Pair<DefaultLogoutRequest, WebApplicationService>>> backChannelRequests = new LinkedHashMap<>();
+        final List<LogoutRequest> logoutRequests = new ArrayList<>(services.size());
+
+        services.forEach((ticketId, singleLogoutService) -> {
+            if (singleLogoutService.isLoggedOutAlready()) {
+                LOGGER.debug("Service [{}] is already logged out.", singleLogoutService);
+                return;
+            }
+            final WebApplicationService selectedService = WebApplicationService.class.cast(
+                    this.authenticationRequestServiceSelectionStrategies.resolveService(singleLogoutService));
+            final Optional<LogoutTarget> target = targets.computeIfAbsent(Pair.of(selectedService.getId(), selectedService.getOriginalUrl()),
+                    k -> Optional.ofNullable(determineLogoutTarget(selectedService)));
+            if (!target.isPresent()) {
+                return;
+            }
+            final DefaultLogoutRequest logoutRequest = createLogoutRequest(target.get(), selectedService, ticketId);
+            logoutRequests.add(logoutRequest);
+            if (target.get().getType() == RegisteredService.LogoutType.BACK_CHANNEL) {
+                final Pair<Long, String> key = Pair.of(target.get().getRegisteredService().getId(), target.get().getLogoutUrl().toExternalForm());
+                backChannelRequests.computeIfAbsent(key, k -> new ArrayList<>()).add(Pair.of(logoutRequest, singleLogoutService));
+            }
+        });
+        LOGGER.debug("Resolved [{}] logout requests for [{}] services to [{}] distinct services and [{}] back-channel logout urls",
+                logoutRequests.size(), services.size(), targets.size(), backChannelRequests.size());
+        sendBackChannelLogoutRequests(backChannelRequests.values());
+        return logoutRequests;
+    }
 
+    private void sendBackChannelLogoutRequests(final Collection<List<Pair<DefaultLogoutRequest, WebApplicationService>>> requests) {
+        if (this.asynchronous || this.executorService == null || requests.size() <= 1) {
+            requests.forEach(group -> group.forEach(r -> sendBackChannelLogoutRequest(r.getLeft(), r.getRight())));
+            return;
+        }
+        final CompletableFuture<?>[] futures = requests.stream()
+                .map(group -> {
+                    final Runnable task = () -> group.forEach(r -> sendBackChannelLogoutRequest(r.getLeft(), r.getRight()));
+                    try {
+                        return CompletableFuture.runAsync(task, this.executorService);
+                    } catch (final RejectedExecutionException e) {
+                        LOGGER.debug("Logout requests cannot be sent in parallel: [{}]", e.getMessage());
+                        task.run();
+                        return CompletableFuture.completedFuture(null);
+                    }
+                })
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void sendBackChannelLogoutRequest(final DefaultLogoutRequest logoutRequest, final WebApplicationService singleLogoutService) {
+        if (performBackChannelLogout(logoutRequest)) {
+            logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
+        } else {
+            logoutRequest.setStatus(LogoutRequestStatus.FAILURE);
+            LOGGER.warn("Logout message is not sent to [{}]; Continuing processing...", singleLogoutService.getId());
+        }
+    }
+
+    private static DefaultLogoutRequest createLogoutRequest(final LogoutTarget target, final WebApplicationService selectedService,
+                                                            final String ticketId) {
+        LOGGER.debug("Creating logout request for [{}] and ticket id [{}]", selectedService, ticketId);
+        final DefaultLogoutRequest logoutRequest = new DefaultLogoutRequest(ticketId, selectedService, target.getLogoutUrl());
+        if (target.getType() != RegisteredService.LogoutType.BACK_CHANNEL) {
+            LOGGER.debug("Logout operation is not yet attempted for [{}] given logout type is set to [{}]", selectedService, target.getType());
+            logoutRequest.setStatus(LogoutRequestStatus.NOT_ATTEMPTED);
+        }
+        return logoutRequest;
+    }
+
+    /**
+     * Determine the registered service, logout url and logout type of the given service.
+     *
+     * @param selectedService the selected service
+     * @return the logout target, or null if the service does not support single logout
+     */
+    private LogoutTarget determineLogoutTarget(final WebApplicationService selectedService) {
         LOGGER.debug("Processing logout request for service [{}]...", selectedService);
         final RegisteredService registeredService = this.servicesManager.findServiceBy(selectedService);
 
@@ -84,30 +195,10 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
             return null;
         }
 
-        LOGGER.debug("Creating logout request for [{}] and ticket id [{}]", selectedService, ticketId);
-        final DefaultLogoutRequest logoutRequest = new DefaultLogoutRequest(ticketId, selectedService, logoutUrl);
-        LOGGER.debug("Logout request [{}] created for [{}] and ticket id [{}]", logoutRequest, selectedService, ticketId);
-
         final RegisteredService.LogoutType type = registeredService.getLogoutType() == null
                 ? RegisteredService.LogoutType.BACK_CHANNEL : registeredService.getLogoutType();
         LOGGER.debug("Logout type registered for [{}] is [{}]", selectedService, type);
-
-        switch (type) {
-            case BACK_CHANNEL:
-                if (performBackChannelLogout(logoutRequest)) {
-                    logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
-                } else {
-                    logoutRequest.setStatus(LogoutRequestStatus.FAILURE);
-                    LOGGER.warn("Logout message is not sent to [{}]; Continuing processing...", singleLogoutService.getId());
-                }
-                break;
-            default:
-                LOGGER.debug("Logout operation is not yet attempted for [{}] given logout type is set to [{}]", selectedService, type);
-                logoutRequest.setStatus(LogoutRequestStatus.NOT_ATTEMPTED);
-                break;
-        }
-        return logoutRequest;
-
+        return new LogoutTarget(registeredService, logoutUrl, type);
     }
 
     /**
@@ -123,6 +214,11 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
             final WebApplicationService logoutService = request.getService();
             logoutService.setLoggedOutAlready(true);
 
+            if (this.asynchronous && this.backChannelLogoutDispatcher != null) {
+                LOGGER.debug("Queuing logout request for [{}] to [{}]", logoutService.getId(), request.getLogoutUrl());
+                return this.backChannelLogoutDispatcher.dispatch(request, logoutRequest);
+            }
+
             LOGGER.debug("Preparing logout request for [{}] to [{}]", logoutService.getId(), request.getLogoutUrl());
             final LogoutHttpMessage msg = new LogoutHttpMessage(request.getLogoutUrl(), logoutRequest, this.asynchronous);
             LOGGER.debug("Prepared logout message to send is [{}]. Sending...", msg);
@@ -149,4 +245,39 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
     public ServicesManager getServicesManager() {
         return this.servicesManager;
     }
+
+    public void setBackChannelLogoutDispatcher(final BackChannelLogoutDispatcher backChannelLogoutDispatcher) {
+        this.backChannelLogoutDispatcher = backChannelLogoutDispatcher;
+    }
+
+    public void setExecutorService(final ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * The registered service, logout url and logout type resolved for a service.
+     */
+    private static class LogoutTarget {
+        private final RegisteredService registeredService;
+        private final URL logoutUrl;
+        private final RegisteredService.LogoutType type;
+
+        LogoutTarget(final RegisteredService registeredService, final URL logoutUrl, final RegisteredService.LogoutType type) {
+            this.registeredService = registeredService;
+            this.logoutUrl = logoutUrl;
+            this.type = type;
+        }
+
+        public RegisteredService getRegisteredService() {
+            return this.registeredService;
+        }
+
+        public URL getLogoutUrl() {
+            return this.logoutUrl;
+        }
+
+        public RegisteredService.LogoutType getType() {
+            return this.type;
+        }
+    }
 }
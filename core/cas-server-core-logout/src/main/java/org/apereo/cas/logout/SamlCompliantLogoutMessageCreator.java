@@ -21,16 +21,24 @@ public class SamlCompliantLogoutMessageCreator implements LogoutMessageCreator {
     /** A ticket Id generator. */
     private static final UniqueTicketIdGenerator GENERATOR = new DefaultUniqueTicketIdGenerator(18);
 
-    /** The logout request template. */
-    private static final String LOGOUT_REQUEST_TEMPLATE =
-            "<samlp:LogoutRequest xmlns:samlp=\"urn:oasis:names:tc:SAML:2.0:protocol\" ID=\"%s\" Version=\"2.0\" "
-            + "IssueInstant=\"%s\"><saml:NameID xmlns:saml=\"urn:oasis:names:tc:SAML:2.0:assertion\">@NOT_USED@"
-            + "</saml:NameID><samlp:SessionIndex>%s</samlp:SessionIndex></samlp:LogoutRequest>";
+    /** The formatter of the issue instant, which is thread-safe and built once. */
+    private static final ISOStandardDateFormat DATE_FORMAT = new ISOStandardDateFormat();
+
+    /** The logout request template, split around the id, issue instant and session index. */
+    private static final String LOGOUT_REQUEST_ID =
+            "<samlp:LogoutRequest xmlns:samlp=\"urn:oasis:names:tc:SAML:2.0:protocol\" ID=\"";
+    private static final String LOGOUT_REQUEST_ISSUE_INSTANT = "\" Version=\"2.0\" IssueInstant=\"";
+    private static final String LOGOUT_REQUEST_SESSION_INDEX =
+            "\"><saml:NameID xmlns:saml=\"urn:oasis:names:tc:SAML:2.0:assertion\">@NOT_USED@"
+            + "</saml:NameID><samlp:SessionIndex>";
+    private static final String LOGOUT_REQUEST_END = "</samlp:SessionIndex></samlp:LogoutRequest>";
 
     @Override
     public String create(final LogoutRequest request) {
-        final String logoutRequest = String.format(LOGOUT_REQUEST_TEMPLATE, GENERATOR.getNewTicketId("LR"),
-                new ISOStandardDateFormat().getCurrentDateAndTime(), request.getTicketId());
+        final String logoutRequest = LOGOUT_REQUEST_ID + GENERATOR.getNewTicketId("LR")
+                + LOGOUT_REQUEST_ISSUE_INSTANT + DATE_FORMAT.getCurrentDateAndTime()
+                + LOGOUT_REQUEST_SESSION_INDEX + request.getTicketId()
+                + LOGOUT_REQUEST_END;
         
         LOGGER.debug("Generated logout message: [{}]", logoutRequest);
         return logoutRequest;
@@ -3,6 +3,9 @@ package org.apereo.cas.logout.config;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.slo.SloProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.BackChannelLogoutDispatcher;
 import org.apereo.cas.logout.DefaultLogoutExecutionPlan;
 import org.apereo.cas.logout.DefaultLogoutManager;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceLogoutUrlBuilder;
@@ -27,7 +30,11 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -72,12 +79,43 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @ConditionalOnMissingBean(name = "defaultSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler defaultSingleLogoutServiceMessageHandler() {
-        return new DefaultSingleLogoutServiceMessageHandler(httpClient,
+        final DefaultSingleLogoutServiceMessageHandler handler = new DefaultSingleLogoutServiceMessageHandler(httpClient,
                 logoutBuilder(),
                 servicesManager,
                 singleLogoutServiceLogoutUrlBuilder(),
                 casProperties.getSlo().isAsynchronous(),
                 authenticationRequestServiceSelectionStrategies);
+        if (casProperties.getSlo().getDispatcher().isEnabled()) {
+            handler.setBackChannelLogoutDispatcher(backChannelLogoutDispatcher());
+        }
+        if (!casProperties.getSlo().isAsynchronous()) {
+            handler.setExecutorService(singleLogoutExecutorService().getObject());
+        }
+        return handler;
+    }
+
+    @Lazy
+    @Bean
+    public ThreadPoolExecutorFactoryBean singleLogoutExecutorService() {
+        return Beans.newThreadPoolExecutorFactoryBean(casProperties.getSlo().getPool());
+    }
+
+    @ConditionalOnMissingBean(name = "backChannelLogoutDispatcher")
+    @Lazy
+    @Bean
+    public BackChannelLogoutDispatcher backChannelLogoutDispatcher() {
+        final SloProperties.Dispatcher dispatcher = casProperties.getSlo().getDispatcher();
+        final Path location = StringUtils.isBlank(dispatcher.getLocation()) ? null : Paths.get(dispatcher.getLocation());
+        return new BackChannelLogoutDispatcher(httpClient,
+                dispatcher.getCapacity(),
+                dispatcher.getThreads(),
+                dispatcher.getMaxConcurrentPerHost(),
+                dispatcher.getMaxRatePerHost(),
+                dispatcher.getMaxAttempts(),
+                Beans.newDuration(dispatcher.getRetryDelay()).toMillis(),
+                Beans.newDuration(dispatcher.getMaxRetryDelay()).toMillis(),
+                location,
+                Beans.newDuration(dispatcher.getCheckpointInterval()).toMillis());
     }
 
     @ConditionalOnMissingBean(name = "logoutManager")
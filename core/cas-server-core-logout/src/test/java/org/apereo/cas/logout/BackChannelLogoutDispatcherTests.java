@@ -0,0 +1,144 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link BackChannelLogoutDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class BackChannelLogoutDispatcherTests {
+    private static final String URL = "https://app.example.org/logout";
+
+    private Path location;
+
+    @Before
+    public void setUp() throws Exception {
+        final File file = File.createTempFile("slo", ".queue");
+        file.deleteOnExit();
+        assertTrue(file.delete());
+        this.location = file.toPath();
+    }
+
+    @Test
+    public void verifyFailedDeliveryIsRetried() throws Exception {
+        final HttpClient client = mock(HttpClient.class);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false, true);
+        final BackChannelLogoutDispatcher dispatcher = newDispatcher(client, 10);
+        try {
+            assertTrue(dispatcher.dispatch(newLogoutRequest("ST-1"), "message"));
+            verify(client, timeout(5000).times(2)).sendMessageToEndPoint(any(HttpMessage.class));
+            waitForQueue(dispatcher);
+            assertEquals(1L, dispatcher.getStatistics().get("retried"));
+            assertEquals(1L, dispatcher.getStatistics().get("delivered"));
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyQueuedMessagesAreCoalescedAndBounded() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final HttpClient client = mock(HttpClient.class);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(invocation -> latch.await(5, TimeUnit.SECONDS));
+        final BackChannelLogoutDispatcher dispatcher = newDispatcher(client, 2);
+        try {
+            assertTrue(dispatcher.dispatch(newLogoutRequest("ST-1"), "message"));
+            assertTrue(dispatcher.dispatch(newLogoutRequest("ST-1"), "message"));
+            assertTrue(dispatcher.dispatch(newLogoutRequest("ST-2"), "message"));
+            assertFalse(dispatcher.dispatch(newLogoutRequest("ST-3"), "message"));
+            assertEquals(1L, dispatcher.getStatistics().get("coalesced"));
+            assertEquals(1L, dispatcher.getStatistics().get("rejected"));
+            latch.countDown();
+            waitForQueue(dispatcher);
+            assertEquals(2L, dispatcher.getStatistics().get("delivered"));
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyUndeliveredMessagesSurviveRestart() throws Exception {
+        final HttpClient failing = mock(HttpClient.class);
+        when(failing.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        final BackChannelLogoutDispatcher first = new BackChannelLogoutDispatcher(failing, 10, 1, 1, 0, 5,
+                60_000, 60_000, this.location, 60_000);
+        first.dispatch(newLogoutRequest("ST-1"), "message");
+        verify(failing, timeout(5000)).sendMessageToEndPoint(any(HttpMessage.class));
+        first.destroy();
+        assertTrue(Files.exists(this.location));
+        if (this.location.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(this.location));
+        }
+
+        final HttpClient client = mock(HttpClient.class);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(true);
+        final BackChannelLogoutDispatcher second = newDispatcher(client, 10);
+        try {
+            assertEquals(1L, second.getStatistics().get("restored"));
+            verify(client, timeout(5000)).sendMessageToEndPoint(argThat((HttpMessage msg) -> msg.getUrl().toExternalForm().equals(URL)));
+            waitForQueue(second);
+            second.checkpoint();
+            assertFalse(Files.exists(this.location));
+        } finally {
+            second.destroy();
+        }
+    }
+
+    @Test
+    public void verifyOversizedRestoredMessageIsIgnored() throws Exception {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(this.location))) {
+            out.writeInt(0xCA55101F);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeUTF(URL);
+            out.writeUTF("ST-1");
+            out.writeInt(Integer.MAX_VALUE);
+        }
+        final HttpClient client = mock(HttpClient.class);
+        final BackChannelLogoutDispatcher dispatcher = newDispatcher(client, 10);
+        try {
+            assertEquals(0L, dispatcher.getStatistics().get("restored"));
+            assertEquals(0, dispatcher.getStatistics().get("queued"));
+            verifyZeroInteractions(client);
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    private BackChannelLogoutDispatcher newDispatcher(final HttpClient client, final int capacity) {
+        return new BackChannelLogoutDispatcher(client, capacity, 2, 1, 0, 3, 10, 100, this.location, 60_000);
+    }
+
+    private static void waitForQueue(final BackChannelLogoutDispatcher dispatcher) {
+        for (int i = 0; i < 50 && (int) dispatcher.getStatistics().get("queued") > 0; i++) {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        assertEquals(0, dispatcher.getStatistics().get("queued"));
+    }
+
+    private static LogoutRequest newLogoutRequest(final String ticketId) throws Exception {
+        return new DefaultLogoutRequest(ticketId, RegisteredServiceTestUtils.getService(URL), new URL(URL));
+    }
+}
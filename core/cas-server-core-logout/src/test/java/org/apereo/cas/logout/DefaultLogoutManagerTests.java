@@ -25,6 +25,8 @@ import java.net.URL;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -155,6 +157,52 @@ public class DefaultLogoutManagerTests {
         assertEquals(LogoutRequestStatus.NOT_ATTEMPTED, logoutRequest.getStatus());
     }
     
+    @Test
+    public void verifyRegisteredServiceIsResolvedOncePerService() throws Exception {
+        final Map<String, Service> services = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            services.put(ID + i, RegisteredServiceTestUtils.getService(URL));
+        }
+        when(this.tgt.getServices()).thenReturn(services);
+        when(servicesManager.findServiceBy(any(Service.class))).thenReturn(this.registeredService);
+
+        final Collection<LogoutRequest> logoutRequests = this.logoutManager.performLogout(tgt);
+        assertEquals(10, logoutRequests.size());
+        assertTrue(logoutRequests.stream().allMatch(r -> r.getStatus() == LogoutRequestStatus.SUCCESS));
+        verify(servicesManager, times(1)).findServiceBy(any(Service.class));
+        verify(client, times(10)).sendMessageToEndPoint(any(HttpMessage.class));
+    }
+
+    @Test
+    public void verifySynchronousLogoutIsSentInParallel() throws Exception {
+        final UrlValidator validator = new SimpleUrlValidatorFactoryBean(true).getObject();
+        final DefaultSingleLogoutServiceMessageHandler handler = new DefaultSingleLogoutServiceMessageHandler(client,
+                new SamlCompliantLogoutMessageCreator(), servicesManager,
+                new DefaultSingleLogoutServiceLogoutUrlBuilder(validator), false,
+                new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()));
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        handler.setExecutorService(executorService);
+
+        final Map<String, Service> services = new HashMap<>();
+        services.put(ID, this.simpleWebApplicationServiceImpl);
+        final AbstractWebApplicationService other = RegisteredServiceTestUtils.getService("https://www.apereo.org");
+        services.put(ID + 1, other);
+        when(this.tgt.getServices()).thenReturn(services);
+        final AbstractRegisteredService otherRegisteredService = RegisteredServiceTestUtils.getRegisteredService("https://www.apereo.org");
+        when(servicesManager.findServiceBy(other)).thenReturn(otherRegisteredService);
+
+        try {
+            final DefaultLogoutManager manager = new DefaultLogoutManager(new SamlCompliantLogoutMessageCreator(),
+                    handler, false, mock(LogoutExecutionPlan.class));
+            final Collection<LogoutRequest> logoutRequests = manager.performLogout(tgt);
+            assertEquals(2, logoutRequests.size());
+            assertTrue(logoutRequests.stream().allMatch(r -> r.getStatus() == LogoutRequestStatus.SUCCESS));
+            verify(client, times(2)).sendMessageToEndPoint(any(HttpMessage.class));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     public void verifyAsynchronousLogout() {
         this.registeredService.setLogoutType(LogoutType.BACK_CHANNEL);
@@ -5,6 +5,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.email.EmailProperties;
 import org.apereo.cas.configuration.model.support.sms.SmsProperties;
 import org.apereo.cas.support.events.service.CasRegisteredServiceExpiredEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesChangedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicesRefreshEvent;
 import org.apereo.cas.util.io.CommunicationsManager;
 import org.springframework.context.event.EventListener;
@@ -40,6 +41,16 @@ public class RegisteredServicesEventListener {
         servicesManager.load();
     }
 
+    /**
+     * Handle services changed event, updating only the affected services.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleChangedEvent(final CasRegisteredServicesChangedEvent event) {
+        servicesManager.update(event.getSavedServices(), event.getDeletedServices());
+    }
+
     /**
      * Handle registered service expired event.
      *
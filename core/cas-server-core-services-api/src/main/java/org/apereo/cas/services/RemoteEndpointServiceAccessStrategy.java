@@ -6,7 +6,6 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.http.client.utils.URIBuilder;
 import org.apereo.cas.util.http.HttpClient;
 import org.apereo.cas.util.spring.ApplicationContextProvider;
-import org.apereo.cas.util.http.HttpMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
@@ -18,7 +17,8 @@ import java.util.Map;
  * This is {@link RemoteEndpointServiceAccessStrategy} that reaches out
  * to a remote endpoint, passing the CAS principal id to determine if access is allowed.
  * If the status code returned in the final response is not accepted by the policy here,
- * access shall be denied.
+ * access shall be denied. With the non-blocking http client, the endpoint is called without holding
+ * a connection thread and within the request timeout of the client; failures to reach it deny access.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -44,10 +44,17 @@ public class RemoteEndpointServiceAccessStrategy extends DefaultRegisteredServic
                 final URIBuilder builder = new URIBuilder(this.endpointUrl);
                 builder.addParameter("username", principal);
                 final URL url = builder.build().toURL();
-                final HttpMessage message = client.sendMessageToEndPoint(url);
-                LOGGER.debug("Message received from [{}] is [{}]", url, message);
-                return message != null && StringUtils.commaDelimitedListToSet(this.acceptableResponseCodes)
-                        .contains(String.valueOf(message.getResponseCode()));
+                return client.sendMessageToEndPointAsync(url)
+                        .thenApply(message -> {
+                            LOGGER.debug("Message received from [{}] is [{}]", url, message);
+                            return message != null && StringUtils.commaDelimitedListToSet(this.acceptableResponseCodes)
+                                    .contains(String.valueOf(message.getResponseCode()));
+                        })
+                        .exceptionally(e -> {
+                            LOGGER.warn("Unable to reach [{}] to determine access: [{}]", url, e.getMessage());
+                            return Boolean.FALSE;
+                        })
+                        .get();
             }
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -1,5 +1,6 @@
 package org.apereo.cas.services.support;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apereo.cas.services.RegisteredServiceAttributeFilter;
@@ -12,6 +13,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -34,6 +36,12 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
     private boolean completeMatch;
     private int order;
 
+    /**
+     * Patterns compiled on first use, keyed by their regular expression.
+     */
+    @JsonIgnore
+    private transient Map<String, Pattern> compiledPatterns = new ConcurrentHashMap<>();
+
     public RegisteredServiceMappedRegexAttributeFilter() {
     }
 
@@ -56,7 +64,7 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
                     final String attributeName = entry.getKey();
                     if (patterns.containsKey(attributeName)) {
                         final Set<Object> attributeValues = CollectionUtils.toCollection(entry.getValue());
-                        final Pattern pattern = RegexUtils.createPattern(patterns.get(attributeName));
+                        final Pattern pattern = getCompiledPattern(patterns.get(attributeName));
                         LOGGER.debug("Found attribute [{}] in the pattern definitions. Processing pattern [{}]", attributeName, pattern.pattern());
                         final List<Object> filteredValues = filterAttributeValuesByPattern(attributeValues, pattern);
                         LOGGER.debug("Filtered attribute values for [{}] are [{}]", attributeName, filteredValues);
@@ -80,6 +88,22 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
         return attributesToRelease;
     }
 
+    /**
+     * Gets the compiled pattern for the given expression, compiling it only once.
+     *
+     * @param regex the regex
+     * @return the pattern
+     */
+    protected Pattern getCompiledPattern(final String regex) {
+        if (regex == null) {
+            return RegexUtils.createPattern(null);
+        }
+        if (this.compiledPatterns == null) {
+            this.compiledPatterns = new ConcurrentHashMap<>();
+        }
+        return this.compiledPatterns.computeIfAbsent(regex, RegexUtils::createPattern);
+    }
+
     /**
      * Filter attribute values by pattern and return the list.
      *
@@ -115,6 +139,7 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
 
     public void setPatterns(final Map<String, String> patterns) {
         this.patterns = patterns;
+        this.compiledPatterns = new ConcurrentHashMap<>();
     }
 
     public boolean isExcludeUnmappedAttributes() {
@@ -1,32 +1,60 @@
 package org.apereo.cas.services.util;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.StatisticsSource;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
-
+import org.apereo.cas.services.RegisteredServicePublicKey;
+import org.apereo.cas.util.EncodingUtils;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.ResourceUtils;
 
 import javax.crypto.Cipher;
+import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.security.PublicKey;
 import java.security.Security;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Default cipher implementation based on public keys.
+ * Public keys are loaded once per service and kept along with a small pool of
+ * ciphers initialized with the key, so that encoding does not read and parse
+ * the key on every request. Keys that are loaded from the file system are reloaded
+ * once the file is modified, or once the key location or algorithm of the service changes.
  *
  * @author Misagh Moayyed
  * @since 4.1
  */
-public class DefaultRegisteredServiceCipherExecutor implements RegisteredServiceCipherExecutor {
+public class DefaultRegisteredServiceCipherExecutor implements RegisteredServiceCipherExecutor, StatisticsSource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultRegisteredServiceCipherExecutor.class);
 
+    private static final int MAX_POOLED_CIPHERS = 16;
+
     static {
         Security.addProvider(new BouncyCastleProvider());
     }
-    
+
+    private final ConcurrentMap<Long, ServicePublicKey> publicKeys = new ConcurrentHashMap<>();
+
+    private final LongAdder encodings = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder keyLoads = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final AtomicLong maxTime = new AtomicLong();
+
     /**
      * Encrypt using the given cipher associated with the service,
      * and encode the data in base 64.
@@ -37,41 +65,75 @@ public class DefaultRegisteredServiceCipherExecutor implements RegisteredService
      */
     @Override
     public String encode(final String data, final RegisteredService service) {
+        final long start = System.nanoTime();
+        boolean failed = true;
         try {
-            final PublicKey publicKey = createRegisteredServicePublicKey(service);
-            final byte[] result = encodeInternal(data, publicKey, service);
+            final ServicePublicKey publicKey = getServicePublicKey(service);
+            if (publicKey == null) {
+                failed = false;
+                return null;
+            }
+            final byte[] result = publicKey.encrypt(data, service);
             if (result != null) {
+                failed = false;
                 return EncodingUtils.encodeBase64(result);
             }
         } catch (final Exception e) {
             LOGGER.warn(e.getMessage(), e);
+        } finally {
+            recordEncoding(System.nanoTime() - start, failed);
         }
 
         return null;
     }
 
     /**
-     * Encode internally, meant to be called by extensions.
-     * Default behavior will encode the data based on the
-     * registered service public key's algorithm using {@link javax.crypto.Cipher}.
+     * Collect statistics on how many values were encoded, how long encoding took
+     * and how often public keys had to be loaded.
      *
-     * @param data              the data
-     * @param publicKey         the public key
-     * @param registeredService the registered service
-     * @return a byte[] that contains the encrypted result
+     * @return the map
      */
-    protected static byte[] encodeInternal(final String data, final PublicKey publicKey,
-                                           final RegisteredService registeredService) {
-        try {
-            final Cipher cipher = initializeCipherBasedOnServicePublicKey(publicKey, registeredService);
-            if (cipher != null) {
-                LOGGER.debug("Initialized cipher successfully. Proceeding to finalize...");
-                return cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    @Override
+    public Map<String, Object> getStatistics() {
+        final long count = this.encodings.sum();
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("encodings", count);
+        stats.put("failures", this.failures.sum());
+        stats.put("keyLoads", this.keyLoads.sum());
+        stats.put("cachedKeys", this.publicKeys.size());
+        stats.put("averageTime", count == 0 ? 0D : (double) TimeUnit.NANOSECONDS.toMicros(this.totalTime.sum()) / count / 1000D);
+        stats.put("maxTime", TimeUnit.NANOSECONDS.toMillis(this.maxTime.get()));
+        return stats;
+    }
+
+    private ServicePublicKey getServicePublicKey(final RegisteredService registeredService) {
+        final RegisteredServicePublicKey definition = registeredService.getPublicKey();
+        if (definition == null) {
+            LOGGER.debug("No public key is defined for service [{}]. No encoding will take place.", registeredService);
+            this.publicKeys.remove(registeredService.getId());
+            return null;
+        }
+        final ServicePublicKey cached = this.publicKeys.get(registeredService.getId());
+        if (cached != null && !cached.isStale(definition)) {
+            return cached;
+        }
+        final ServicePublicKey loaded = this.publicKeys.compute(registeredService.getId(), (id, current) -> {
+            if (current != null && !current.isStale(definition)) {
+                return current;
             }
-        } catch (final Exception e) {
-            throw new RuntimeException("Unable to encode data for service " + registeredService.getServiceId(), e);
+            final PublicKey publicKey = createRegisteredServicePublicKey(registeredService);
+            return publicKey == null ? null : new ServicePublicKey(definition, publicKey);
+        });
+        return loaded;
+    }
+
+    private void recordEncoding(final long elapsed, final boolean failed) {
+        this.encodings.increment();
+        if (failed) {
+            this.failures.increment();
         }
-        return null;
+        this.totalTime.add(elapsed);
+        this.maxTime.accumulateAndGet(elapsed, Math::max);
     }
 
     /**
@@ -79,13 +141,10 @@ public class DefaultRegisteredServiceCipherExecutor implements RegisteredService
      *
      * @param registeredService the registered service
      * @return the public key
-     * @throws Exception the exception, if key cant be created
      */
-    private static PublicKey createRegisteredServicePublicKey(final RegisteredService registeredService) throws Exception {
-        if (registeredService.getPublicKey() == null) {
-            LOGGER.debug("No public key is defined for service [{}]. No encoding will take place.", registeredService);
-            return null;
-        }
+    private PublicKey createRegisteredServicePublicKey(final RegisteredService registeredService) {
+        LOGGER.debug("Loading public key [{}] for service [{}]", registeredService.getPublicKey(), registeredService.getServiceId());
+        this.keyLoads.increment();
         final PublicKey publicKey = registeredService.getPublicKey().createInstance();
         if (publicKey == null) {
             LOGGER.debug("No public key instance created for service [{}]. No encoding will take place.", registeredService);
@@ -119,4 +178,63 @@ public class DefaultRegisteredServiceCipherExecutor implements RegisteredService
         }
         return null;
     }
+
+    /**
+     * A loaded public key of a service along with the ciphers initialized with it.
+     * Ciphers are not thread-safe, so each is handed to one caller at a time.
+     */
+    private static final class ServicePublicKey {
+        private final String location;
+        private final String algorithm;
+        private final File file;
+        private final long lastModified;
+        private final PublicKey publicKey;
+        private final Queue<Cipher> ciphers = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pooledCiphers = new AtomicInteger();
+
+        ServicePublicKey(final RegisteredServicePublicKey definition, final PublicKey publicKey) {
+            this.location = definition.getLocation();
+            this.algorithm = definition.getAlgorithm();
+            this.file = getFile(this.location);
+            this.lastModified = this.file == null ? 0 : this.file.lastModified();
+            this.publicKey = publicKey;
+        }
+
+        boolean isStale(final RegisteredServicePublicKey definition) {
+            return !StringUtils.equals(this.location, definition.getLocation())
+                    || !StringUtils.equals(this.algorithm, definition.getAlgorithm())
+                    || this.file != null && this.file.lastModified() != this.lastModified;
+        }
+
+        byte[] encrypt(final String data, final RegisteredService registeredService) {
+            Cipher cipher = this.ciphers.poll();
+            if (cipher == null) {
+                cipher = initializeCipherBasedOnServicePublicKey(this.publicKey, registeredService);
+                if (cipher == null) {
+                    return null;
+                }
+            } else {
+                this.pooledCiphers.decrementAndGet();
+            }
+            try {
+                final byte[] result = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+                if (this.pooledCiphers.incrementAndGet() <= MAX_POOLED_CIPHERS) {
+                    this.ciphers.offer(cipher);
+                } else {
+                    this.pooledCiphers.decrementAndGet();
+                }
+                return result;
+            } catch (final Exception e) {
+                throw new RuntimeException("Unable to encode data for service " + registeredService.getServiceId(), e);
+            }
+        }
+
+        private static File getFile(final String location) {
+            if (StringUtils.isBlank(location) || location.startsWith(ResourceUtils.CLASSPATH_URL_PREFIX)) {
+                return null;
+            }
+            final File file = new File(location);
+            return file.exists() ? file : null;
+        }
+    }
 }
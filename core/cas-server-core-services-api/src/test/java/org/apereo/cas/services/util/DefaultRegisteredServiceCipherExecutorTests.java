@@ -9,6 +9,12 @@ import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 import static org.junit.Assert.*;
 
@@ -40,6 +46,26 @@ public class DefaultRegisteredServiceCipherExecutorTests {
         assertNotNull(e.encode(ticketId, svc));
     }
 
+    @Test
+    public void verifyPublicKeyIsLoadedOnceAndReloadedWhenModified() throws Exception {
+        final File keyFile = File.createTempFile("public", ".key");
+        keyFile.deleteOnExit();
+        try (InputStream in = new ClassPathResource("keys/RSA4096Public.key").getInputStream()) {
+            Files.copy(in, keyFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        final AbstractRegisteredService svc = getService(keyFile.getCanonicalPath());
+        final DefaultRegisteredServiceCipherExecutor e = new DefaultRegisteredServiceCipherExecutor();
+
+        assertNotNull(e.encode("casuser", svc));
+        assertNotNull(e.encode("casuser", svc));
+        assertEquals(1L, e.getStatistics().get("keyLoads"));
+        assertEquals(2L, e.getStatistics().get("encodings"));
+
+        assertTrue(keyFile.setLastModified(keyFile.lastModified() + 5000));
+        assertNotNull(e.encode("casuser", svc));
+        assertEquals(2L, e.getStatistics().get("keyLoads"));
+    }
+
     private AbstractRegisteredService getService(final String keyLocation) {
         final AbstractRegisteredService svc = RegisteredServiceTestUtils.getRegisteredService("test");
         svc.setPublicKey(new RegisteredServicePublicKeyImpl(keyLocation, "RSA"));
@@ -2,13 +2,12 @@ package org.apereo.cas.services;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apereo.cas.support.events.AbstractCasEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
-import org.apereo.cas.support.events.service.CasRegisteredServicesRefreshEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesChangedEvent;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
-import org.apereo.cas.util.function.ComposableSupplier;
 import org.apereo.cas.util.io.LockedOutputStream;
 import org.apereo.cas.util.io.PathWatcherService;
 import org.apereo.cas.util.serialization.StringSerializer;
@@ -19,19 +18,22 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 
 import javax.annotation.PreDestroy;
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -41,6 +43,10 @@ import java.util.stream.Collectors;
 
 /**
  * This is {@link AbstractResourceBasedServiceRegistryDao}.
+ * Service definition files are parsed in parallel and tracked by their modification time,
+ * size and content hash, so that only files that were created, modified or deleted
+ * are parsed again. Changes observed by the watcher are published as
+ * {@link CasRegisteredServicesChangedEvent}s that carry the affected services only.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -53,6 +59,8 @@ public abstract class AbstractResourceBasedServiceRegistryDao extends AbstractSe
                 + "This will overwrite previous service definitions and is likely a configuration problem. "
                 + "Make sure all services have a unique id and try again.", service.getServiceId(), service.getId());
 
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
     private static final BinaryOperator<RegisteredService> LOG_DUPLICATE_AND_RETURN_FIRST_ONE = (s1, s2) -> {
         LOG_SERVICE_DUPLICATE.accept(s2);
         return s1;
@@ -63,12 +71,16 @@ public abstract class AbstractResourceBasedServiceRegistryDao extends AbstractSe
      */
     protected Path serviceRegistryDirectory;
 
-    private final ComposableSupplier<AbstractCasEvent> createServiceRefreshEvent = () -> new CasRegisteredServicesRefreshEvent(this);
+    /**
+     * Map of service ID to registered service, ordered by evaluation order.
+     * Changes are applied to a copy that then replaces this map.
+     */
+    private volatile Map<Long, RegisteredService> serviceMap = new LinkedHashMap<>();
 
     /**
-     * Map of service ID to registered service.
+     * Map of service definition file paths to their last known state.
      */
-    private Map<Long, RegisteredService> serviceMap = new ConcurrentHashMap<>();
+    private final Map<String, ServiceDefinitionFile> serviceDefinitionFiles = new ConcurrentHashMap<>();
 
     /**
      * The Registered service json serializers.
@@ -151,48 +163,82 @@ public abstract class AbstractResourceBasedServiceRegistryDao extends AbstractSe
         LOGGER.info("Setting up a watch for service registry directory at [{}]", configDirectory);
 
         final Consumer<File> onCreate = file -> {
-            LOGGER.debug("New service definition [{}] was created. Locating service entry from cache...", file);
-            final Collection<RegisteredService> services = load(file);
-            services.stream()
-                    .filter(Objects::nonNull)
-                    .forEach(service -> {
-                        if (findServiceById(service.getId()) != null) {
-                            LOG_SERVICE_DUPLICATE.accept(service);
-                        }
-                        LOGGER.debug("Updating service definitions with [{}]", service);
-                        update(service);
-                        createServiceRefreshEvent.andThen(this.casEventConsumer);
-                        
-                    });
+            LOGGER.debug("New service definition [{}] was created. Loading service definitions from file...", file);
+            refresh(file);
         };
         final Consumer<File> onDelete = file -> {
-            LOGGER.debug("Service definition [{}] was deleted. Reloading cache...", file);
-            load();
-            createServiceRefreshEvent.andThen(this.casEventConsumer);
+            LOGGER.debug("Service definition [{}] was deleted. Removing service definitions from cache...", file);
+            remove(file);
         };
         final Consumer<File> onModify = file -> {
-            LOGGER.debug("New service definition [{}] was modified. Locating service entry from cache...", file);
-            final Collection<RegisteredService> newServices = load(file);
-            newServices.stream()
-                    .filter(Objects::nonNull)
-                    .forEach(newService -> {
-                        final RegisteredService oldService = findServiceById(newService.getId());
-
-                        if (!newService.equals(oldService)) {
-                            LOGGER.debug("Updating service definitions with [{}]", newService);
-                            update(newService);
-                            createServiceRefreshEvent.andThen(this.casEventConsumer);
-                        } else {
-                            LOGGER.debug("Service [{}] loaded from [{}] is identical to the existing entry. Entry may have already been saved "
-                                    + "in the event processing pipeline", newService.getId(), file.getName());
-                        }
-                    });
+            LOGGER.debug("Service definition [{}] was modified. Loading service definitions from file...", file);
+            refresh(file);
         };
         this.serviceRegistryConfigWatcher = new PathWatcherService(serviceRegistryDirectory, onCreate, onModify, onDelete);
         this.serviceRegistryConfigWatcher.start(getClass().getSimpleName());
         LOGGER.debug("Started service registry watcher thread");
     }
 
+    /**
+     * Parse the given service definition file again, if its content has changed,
+     * and publish the services that were added, modified or removed as a result.
+     *
+     * @param file the file
+     */
+    protected synchronized void refresh(final File file) {
+        final String path = file.getAbsolutePath();
+        final ServiceDefinitionFile previous = this.serviceDefinitionFiles.get(path);
+        final ServiceDefinitionFile current = loadServiceDefinitionFile(file, true);
+        if (current == null) {
+            remove(file);
+            return;
+        }
+        this.serviceDefinitionFiles.put(path, current);
+        if (previous != null && previous.getServices() == current.getServices()) {
+            LOGGER.debug("Content of [{}] is unchanged. Entries may have already been saved in the event processing pipeline", file.getName());
+            return;
+        }
+
+        final Collection<RegisteredService> previousServices = previous != null ? previous.getServices() : Collections.emptyList();
+        final Set<Long> currentIds = current.getServices().stream().map(RegisteredService::getId).collect(Collectors.toSet());
+        final List<RegisteredService> deleted = previousServices.stream()
+                .filter(service -> !currentIds.contains(service.getId()))
+                .collect(Collectors.toList());
+        final List<RegisteredService> saved = current.getServices().stream()
+                .filter(service -> {
+                    final RegisteredService existing = findServiceById(service.getId());
+                    if (existing != null && previousServices.stream().noneMatch(s -> s.getId() == service.getId())) {
+                        LOG_SERVICE_DUPLICATE.accept(service);
+                    }
+                    if (service.equals(existing)) {
+                        LOGGER.debug("Service [{}] loaded from [{}] is identical to the existing entry. Entry may have already been saved "
+                                + "in the event processing pipeline", service.getId(), file.getName());
+                        return false;
+                    }
+                    return true;
+                })
+                .collect(Collectors.toList());
+        applyServiceChanges(saved, deleted, true);
+    }
+
+    /**
+     * Remove the services that were loaded from the given service definition file,
+     * and publish the services that were removed as a result.
+     *
+     * @param file the file
+     */
+    protected synchronized void remove(final File file) {
+        final ServiceDefinitionFile previous = this.serviceDefinitionFiles.remove(file.getAbsolutePath());
+        if (previous == null) {
+            LOGGER.debug("Service definitions from [{}] are not tracked and may have already been removed", file.getName());
+            return;
+        }
+        final List<RegisteredService> deleted = previous.getServices().stream()
+                .filter(service -> this.serviceMap.containsKey(service.getId()))
+                .collect(Collectors.toList());
+        applyServiceChanges(Collections.emptyList(), deleted, true);
+    }
+
     /**
      * Destroy the watch service thread.
      */
@@ -235,7 +281,8 @@ public abstract class AbstractResourceBasedServiceRegistryDao extends AbstractSe
             if (!result) {
                 LOGGER.warn("Failed to delete service definition file [{}]", f.getCanonicalPath());
             } else {
-                this.serviceMap.remove(service.getId());
+                this.serviceDefinitionFiles.remove(f.getAbsolutePath());
+                applyServiceChanges(Collections.emptyList(), CollectionUtils.wrap(service), false);
                 LOGGER.debug("Successfully deleted service definition file [{}]", f.getCanonicalPath());
             }
             return result;
@@ -247,8 +294,16 @@ public abstract class AbstractResourceBasedServiceRegistryDao extends AbstractSe
     @Override
     public synchronized List<RegisteredService> load() {
         final Collection<File> files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), new String[]{getExtension()}, true);
-        this.serviceMap = files.stream()
-                .map(this::load)
+        final List<ServiceDefinitionFile> definitionFiles = files.parallelStream()
+                .map(file -> loadServiceDefinitionFile(file, false))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        this.serviceDefinitionFiles.clear();
+        definitionFiles.forEach(definition -> this.serviceDefinitionFiles.put(definition.getPath(), definition));
+
+        this.serviceMap = definitionFiles.stream()
+                .map(ServiceDefinitionFile::getServices)
                 .flatMap(Collection::stream)
                 .filter(Objects::nonNull)
                 .sorted()
@@ -267,19 +322,66 @@ public abstract class AbstractResourceBasedServiceRegistryDao extends AbstractSe
      */
     @Override
     public Collection<RegisteredService> load(final File file) {
+        if (!isReadableServiceDefinitionFile(file)) {
+            return null;
+        }
+        try {
+            return parseServiceDefinitionFile(file, Files.readAllBytes(file.toPath()));
+        } catch (final Exception e) {
+            LOGGER.error("Error reading configuration file [{}]", file.getName(), e);
+        }
+        return new ArrayList<>(0);
+    }
+
+    /**
+     * Load the state of the given service definition file. Unless forced, a file whose
+     * modification time and size match its last known state is not read again. Otherwise, the file
+     * is only parsed again if its content hash has changed.
+     *
+     * @param file  the file
+     * @param force whether the file should be read regardless of its modification time and size
+     * @return the service definition file, or null if the file cannot be read, is not found or is empty.
+     */
+    private ServiceDefinitionFile loadServiceDefinitionFile(final File file, final boolean force) {
+        final String path = file.getAbsolutePath();
+        final ServiceDefinitionFile current = this.serviceDefinitionFiles.get(path);
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        if (!force && current != null && current.getLastModified() == lastModified && current.getLength() == length) {
+            return current;
+        }
+        if (!isReadableServiceDefinitionFile(file)) {
+            return null;
+        }
+        try {
+            final byte[] content = Files.readAllBytes(file.toPath());
+            final String hash = DigestUtils.digest(CONTENT_HASH_ALGORITHM, content);
+            if (current != null && current.getHash().equals(hash)) {
+                LOGGER.trace("Content of [{}] is unchanged; service definitions will not be parsed again", file.getName());
+                return new ServiceDefinitionFile(path, lastModified, length, hash, current.getServices());
+            }
+            LOGGER.debug("Parsing service definitions from [{}]", file.getName());
+            return new ServiceDefinitionFile(path, lastModified, length, hash, parseServiceDefinitionFile(file, content));
+        } catch (final Exception e) {
+            LOGGER.error("Error reading configuration file [{}]", file.getName(), e);
+        }
+        return new ServiceDefinitionFile(path, lastModified, length, StringUtils.EMPTY, new ArrayList<>(0));
+    }
+
+    private boolean isReadableServiceDefinitionFile(final File file) {
         if (!file.canRead()) {
             LOGGER.warn("[{}] is not readable. Check file permissions", file.getName());
-            return null;
+            return false;
         }
 
         if (!file.exists()) {
             LOGGER.warn("[{}] is not found at the path specified", file.getName());
-            return null;
+            return false;
         }
 
         if (file.length() == 0) {
             LOGGER.debug("[{}] appears to be empty so no service definition will be loaded", file.getName());
-            return null;
+            return false;
         }
 
         if (!RegexUtils.matches(this.serviceFileNamePattern, file.getName())) {
@@ -289,14 +391,18 @@ public abstract class AbstractResourceBasedServiceRegistryDao extends AbstractSe
                             + "Future CAS versions may try to strictly force the naming syntax, refusing to load the file.",
                     file.getName(), this.serviceFileNamePattern.pattern());
         }
+        return true;
+    }
 
-        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(file))) {
+    private List<RegisteredService> parseServiceDefinitionFile(final File file, final byte[] content) {
+        try {
             return this.registeredServiceSerializers
                     .stream()
                     .filter(s -> s.supports(file))
-                    .map(s -> s.load(in))
+                    .map(s -> s.load(new ByteArrayInputStream(content)))
                     .filter(Objects::nonNull)
                     .flatMap(Collection::stream)
+                    .filter(Objects::nonNull)
                     .collect(Collectors.toList());
         } catch (final Exception e) {
             LOGGER.error("Error reading configuration file [{}]", file.getName(), e);
@@ -330,14 +436,55 @@ public abstract class AbstractResourceBasedServiceRegistryDao extends AbstractSe
             if (this.serviceMap.containsKey(service.getId())) {
                 LOGGER.debug("Found existing service definition by id [{}]. Saving...", service.getId());
             }
-            this.serviceMap.put(service.getId(), service);
-            LOGGER.debug("Saved service to [{}]", f.getCanonicalPath());
         } catch (final IOException e) {
             throw new IllegalArgumentException("IO error opening file stream.", e);
         }
+        trackSavedServiceDefinitionFile(f, service);
+        LOGGER.debug("Saved service to [{}]", f);
         return findServiceById(service.getId());
     }
 
+    private synchronized void trackSavedServiceDefinitionFile(final File file, final RegisteredService service) {
+        applyServiceChanges(CollectionUtils.wrap(service), Collections.emptyList(), false);
+        try {
+            final long lastModified = file.lastModified();
+            final byte[] content = Files.readAllBytes(file.toPath());
+            this.serviceDefinitionFiles.put(file.getAbsolutePath(), new ServiceDefinitionFile(file.getAbsolutePath(), lastModified,
+                    content.length, DigestUtils.digest(CONTENT_HASH_ALGORITHM, content), CollectionUtils.wrap(service)));
+        } catch (final IOException e) {
+            LOGGER.debug("Unable to track service definition file [{}]: [{}]", file, e.getMessage());
+            this.serviceDefinitionFiles.remove(file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Replace and remove the given services in a copy of the service map,
+     * which then replaces the current map, keeping services ordered.
+     *
+     * @param saved   the saved services
+     * @param deleted the deleted services
+     * @param publish whether the changes should be published
+     */
+    private synchronized void applyServiceChanges(final Collection<RegisteredService> saved,
+                                                  final Collection<RegisteredService> deleted,
+                                                  final boolean publish) {
+        if (saved.isEmpty() && deleted.isEmpty()) {
+            return;
+        }
+        final Map<Long, RegisteredService> services = new HashMap<>(this.serviceMap);
+        deleted.forEach(service -> services.remove(service.getId()));
+        saved.forEach(service -> services.put(service.getId(), service));
+        this.serviceMap = services.values()
+                .stream()
+                .sorted()
+                .collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
+                        LOG_DUPLICATE_AND_RETURN_FIRST_ONE, LinkedHashMap::new));
+        if (publish) {
+            LOGGER.debug("Publishing [{}] saved and [{}] deleted service definitions", saved.size(), deleted.size());
+            publishEvent(new CasRegisteredServicesChangedEvent(this, saved, deleted));
+        }
+    }
+
     /**
      * Creates a file for a registered service.
      * The file is named as {@code [SERVICE-NAME]-[SERVICE-ID]-.{@value #getExtension()}}
@@ -371,6 +518,46 @@ public abstract class AbstractResourceBasedServiceRegistryDao extends AbstractSe
 
     @Override
     public void update(final RegisteredService service) {
-        this.serviceMap.put(service.getId(), service);
+        applyServiceChanges(CollectionUtils.wrap(service), Collections.emptyList(), false);
+    }
+
+    /**
+     * The last known state of a service definition file, along with the services parsed from it.
+     */
+    private static final class ServiceDefinitionFile {
+        private final String path;
+        private final long lastModified;
+        private final long length;
+        private final String hash;
+        private final Collection<RegisteredService> services;
+
+        ServiceDefinitionFile(final String path, final long lastModified, final long length,
+                              final String hash, final Collection<RegisteredService> services) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hash = hash;
+            this.services = services;
+        }
+
+        String getPath() {
+            return this.path;
+        }
+
+        long getLastModified() {
+            return this.lastModified;
+        }
+
+        long getLength() {
+            return this.length;
+        }
+
+        String getHash() {
+            return this.hash;
+        }
+
+        Collection<RegisteredService> getServices() {
+            return this.services;
+        }
     }
 }
@@ -17,6 +17,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import javax.annotation.PostConstruct;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -46,6 +47,8 @@ public abstract class AbstractServicesManager implements ServicesManager {
 
     private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
 
+    private ServiceRegistrySnapshot serviceRegistrySnapshot;
+
     public AbstractServicesManager(final ServiceRegistryDao serviceRegistryDao,
                                    final ApplicationEventPublisher eventPublisher) {
         this.serviceRegistryDao = serviceRegistryDao;
@@ -181,24 +184,91 @@ public abstract class AbstractServicesManager implements ServicesManager {
     }
 
     /**
-     * Load services that are provided by the DAO.
+     * Load services on startup. If a snapshot of services is available, services
+     * are loaded from the snapshot and are then reconciled with the DAO in the background.
+     */
+    @PostConstruct
+    public void initialize() {
+        if (this.serviceRegistrySnapshot != null && loadFromSnapshot()) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    load();
+                } catch (final Exception e) {
+                    LOGGER.error("Unable to reconcile services loaded from [{}] with [{}]: [{}]",
+                            this.serviceRegistrySnapshot, this.serviceRegistryDao, e.getMessage(), e);
+                }
+            }, "cas-service-registry-reconciler");
+            thread.setDaemon(true);
+            thread.start();
+            return;
+        }
+        load();
+    }
+
+    /**
+     * Load services that are provided by the DAO. Loads are serialized with each other
+     * and with changes to services, so the reconciliation that follows a snapshot on startup
+     * never overlaps with a scheduled load.
      */
     @Scheduled(initialDelayString = "${cas.serviceRegistry.schedule.startDelay:20000}",
             fixedDelayString = "${cas.serviceRegistry.schedule.repeatInterval:60000}")
     @Override
-    @PostConstruct
-    public void load() {
+    public synchronized void load() {
         LOGGER.debug("Loading services from [{}]", this.serviceRegistryDao);
-        this.services = this.serviceRegistryDao.load()
+        final Map<Long, RegisteredService> loadedServices = this.serviceRegistryDao.load()
                 .stream()
                 .collect(Collectors.toConcurrentMap(r -> {
                     LOGGER.debug("Adding registered service [{}]", r.getServiceId());
                     return r.getId();
                 }, Function.identity(), (r, s) -> s == null ? r : s));
+        final boolean changed = !loadedServices.equals(this.services);
+        this.services = loadedServices;
         loadInternal();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
         LOGGER.info("Loaded [{}] service(s) from [{}].", this.services.size(), this.serviceRegistryDao);
+
+        if (this.serviceRegistrySnapshot != null) {
+            if (changed || !Files.exists(this.serviceRegistrySnapshot.getLocation())) {
+                this.serviceRegistrySnapshot.write(this.services.values());
+            } else {
+                this.serviceRegistrySnapshot.touch();
+            }
+        }
+    }
+
+    private synchronized boolean loadFromSnapshot() {
+        final Collection<RegisteredService> snapshot = this.serviceRegistrySnapshot.read();
+        if (snapshot.isEmpty()) {
+            return false;
+        }
+        this.services = snapshot.stream()
+                .collect(Collectors.toConcurrentMap(RegisteredService::getId, Function.identity(), (r, s) -> s == null ? r : s));
+        loadInternal();
+        publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+        LOGGER.info("Loaded [{}] service(s) from [{}]. Services will be reconciled with [{}] in the background.",
+                this.services.size(), this.serviceRegistrySnapshot, this.serviceRegistryDao);
+        return true;
+    }
+
+    public void setServiceRegistrySnapshot(final ServiceRegistrySnapshot serviceRegistrySnapshot) {
+        this.serviceRegistrySnapshot = serviceRegistrySnapshot;
+    }
+
+    @Override
+    public synchronized void update(final Collection<RegisteredService> savedServices, final Collection<RegisteredService> deletedServices) {
+        LOGGER.debug("Updating [{}] and removing [{}] service(s) loaded from [{}]",
+                savedServices.size(), deletedServices.size(), this.serviceRegistryDao);
+        deletedServices.forEach(r -> this.services.remove(r.getId()));
+        savedServices.forEach(r -> this.services.put(r.getId(), r));
+        loadInternal();
+        publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+        savedServices.stream()
+                .filter(getRegisteredServicesFilteringPredicate().negate())
+                .filter(Objects::nonNull)
+                .forEach(this::processExpiredRegisteredService);
+        LOGGER.info("Updated [{}] and removed [{}] service(s) from [{}].",
+                savedServices.size(), deletedServices.size(), this.serviceRegistryDao);
     }
 
     private void evaluateExpiredServiceDefinitions() {
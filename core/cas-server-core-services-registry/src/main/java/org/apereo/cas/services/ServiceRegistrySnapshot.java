@@ -0,0 +1,192 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.services.util.DefaultRegisteredServiceJsonSerializer;
+import org.apereo.cas.util.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This is {@link ServiceRegistrySnapshot} that keeps a local copy of registered services
+ * in a compact file, so that services can be made available on startup before the
+ * service registry is consulted. The file starts with a header that carries a format version,
+ * followed by the compressed JSON definitions of services, written with the same serializer as
+ * the JSON service registry. Snapshots are written to a new file that only the owner may read and
+ * write, and then moved in place, so readers never see a partial file. The age of a snapshot is
+ * determined by its modification time, which is refreshed when services are found to be unchanged.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ServiceRegistrySnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceRegistrySnapshot.class);
+
+    private static final int MAGIC = 0xCA5005E5;
+    private static final int VERSION = 2;
+    private static final int MAX_SERVICE_LENGTH = 16 * 1024 * 1024;
+
+    private final Path location;
+    private final long maxAge;
+    private final StringSerializer<RegisteredService> serializer = new DefaultRegisteredServiceJsonSerializer();
+
+    /**
+     * Instantiates a new service registry snapshot.
+     *
+     * @param location the snapshot file
+     * @param maxAge   the time in milliseconds after which the snapshot is no longer used
+     */
+    public ServiceRegistrySnapshot(final Path location, final long maxAge) {
+        this.location = location;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Write the given services to the snapshot, replacing the previous snapshot.
+     *
+     * @param services the services
+     */
+    public void write(final Collection<RegisteredService> services) {
+        final Path temp = this.location.resolveSibling(this.location.getFileName() + ".tmp");
+        try {
+            if (this.location.getParent() != null) {
+                Files.createDirectories(this.location.getParent());
+            }
+            createOwnerOnlyFile(temp);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING, LinkOption.NOFOLLOW_LINKS))) {
+                final DataOutputStream header = new DataOutputStream(out);
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                header.writeInt(services.size());
+                header.flush();
+
+                final GZIPOutputStream compressed = new GZIPOutputStream(out);
+                final DataOutputStream definitions = new DataOutputStream(compressed);
+                for (final RegisteredService service : services) {
+                    final StringWriter writer = new StringWriter();
+                    this.serializer.to(writer, service);
+                    final byte[] definition = writer.toString().getBytes(StandardCharsets.UTF_8);
+                    definitions.writeInt(definition.length);
+                    definitions.write(definition);
+                }
+                definitions.flush();
+                compressed.finish();
+            }
+            Files.move(temp, this.location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Wrote [{}] service(s) to snapshot [{}]", services.size(), this.location);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to write service registry snapshot [{}]: [{}]", this.location, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (final IOException ex) {
+                LOGGER.trace(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Read services from the snapshot. Snapshots that are missing, too old,
+     * written in a different format or that cannot be read produce no services.
+     *
+     * @return the services
+     */
+    public Collection<RegisteredService> read() {
+        if (!Files.isReadable(this.location)) {
+            LOGGER.debug("Service registry snapshot [{}] cannot be found or read", this.location);
+            return new ArrayList<>(0);
+        }
+        try {
+            final long age = System.currentTimeMillis() - Files.getLastModifiedTime(this.location).toMillis();
+            if (age > this.maxAge) {
+                LOGGER.info("Service registry snapshot [{}] is older than [{}] ms and will be ignored", this.location, this.maxAge);
+                return new ArrayList<>(0);
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to determine the age of service registry snapshot [{}]: [{}]", this.location, e.getMessage());
+            return new ArrayList<>(0);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.location)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.info("Service registry snapshot [{}] is written in an unknown format and will be ignored", this.location);
+                return new ArrayList<>(0);
+            }
+            final int count = in.readInt();
+            final List<RegisteredService> services = new ArrayList<>();
+            try (DataInputStream definitions = new DataInputStream(new GZIPInputStream(in))) {
+                for (int i = 0; i < count; i++) {
+                    final int length = definitions.readInt();
+                    if (length < 0 || length > MAX_SERVICE_LENGTH) {
+                        throw new IOException("Service definition of " + length + " bytes is not valid");
+                    }
+                    final byte[] definition = new byte[length];
+                    definitions.readFully(definition);
+                    final RegisteredService service = this.serializer.from(new String(definition, StandardCharsets.UTF_8));
+                    if (service == null) {
+                        throw new IOException("Service definition cannot be read");
+                    }
+                    services.add(service);
+                }
+            }
+            LOGGER.debug("Read [{}] service(s) from snapshot [{}]", services.size(), this.location);
+            return services;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read service registry snapshot [{}]: [{}]", this.location, e.getMessage());
+        }
+        return new ArrayList<>(0);
+    }
+
+    /**
+     * Mark the snapshot as current, for when services are found to be unchanged.
+     */
+    public void touch() {
+        try {
+            if (Files.exists(this.location)) {
+                Files.setLastModifiedTime(this.location, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+        } catch (final IOException e) {
+            LOGGER.debug("Unable to update service registry snapshot [{}]: [{}]", this.location, e.getMessage());
+        }
+    }
+
+    private static void createOwnerOnlyFile(final Path file) throws IOException {
+        Files.deleteIfExists(file);
+        if (Files.getFileAttributeView(file.toAbsolutePath().getParent(), PosixFileAttributeView.class) != null) {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(EnumSet.of(PosixFilePermission.OWNER_READ,
+                    PosixFilePermission.OWNER_WRITE)));
+        } else {
+            Files.createFile(file);
+        }
+    }
+
+    public Path getLocation() {
+        return this.location;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '[' + this.location + ']';
+    }
+}
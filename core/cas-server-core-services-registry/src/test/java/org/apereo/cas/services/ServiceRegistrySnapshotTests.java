@@ -0,0 +1,118 @@
+package org.apereo.cas.services;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ServiceRegistrySnapshotTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ServiceRegistrySnapshotTests {
+    private static final long MAX_AGE = 60_000;
+
+    private Path location;
+
+    @Before
+    public void setUp() throws Exception {
+        final File file = File.createTempFile("services", ".snapshot");
+        file.deleteOnExit();
+        assertTrue(file.delete());
+        this.location = file.toPath();
+    }
+
+    @Test
+    public void verifyServicesAreWrittenAndRead() {
+        final ServiceRegistrySnapshot snapshot = new ServiceRegistrySnapshot(this.location, MAX_AGE);
+        assertTrue(snapshot.read().isEmpty());
+
+        snapshot.write(Arrays.asList(newService(1), newService(2)));
+        final Collection<RegisteredService> services = snapshot.read();
+        assertEquals(2, services.size());
+        assertTrue(services.contains(newService(1)));
+        assertTrue(services.contains(newService(2)));
+    }
+
+    @Test
+    public void verifySnapshotIsOnlyAccessibleToOwner() throws Exception {
+        new ServiceRegistrySnapshot(this.location, MAX_AGE).write(Collections.singletonList(newService(1)));
+        if (Files.getFileAttributeView(this.location, PosixFileAttributeView.class) != null) {
+            assertEquals(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE),
+                    Files.getPosixFilePermissions(this.location));
+        }
+    }
+
+    @Test
+    public void verifyJavaSerializedSnapshotIsIgnored() throws Exception {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(this.location))) {
+            out.writeInt(0xCA5005E5);
+            out.writeInt(1);
+            out.writeInt(1);
+            new ObjectOutputStream(out).writeObject(newService(1));
+        }
+        assertTrue(new ServiceRegistrySnapshot(this.location, MAX_AGE).read().isEmpty());
+    }
+
+    @Test
+    public void verifyStaleSnapshotIsIgnored() throws Exception {
+        final ServiceRegistrySnapshot snapshot = new ServiceRegistrySnapshot(this.location, MAX_AGE);
+        snapshot.write(Collections.singletonList(newService(1)));
+        Files.setLastModifiedTime(this.location, FileTime.fromMillis(System.currentTimeMillis() - MAX_AGE * 2));
+        assertTrue(snapshot.read().isEmpty());
+
+        snapshot.touch();
+        assertEquals(1, snapshot.read().size());
+    }
+
+    @Test
+    public void verifyServicesManagerStartsFromSnapshot() throws Exception {
+        new ServiceRegistrySnapshot(this.location, MAX_AGE).write(Arrays.asList(newService(1), newService(2)));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ServiceRegistryDao dao = mock(ServiceRegistryDao.class);
+        when(dao.load()).thenAnswer(invocation -> {
+            latch.await();
+            return Collections.singletonList(newService(1));
+        });
+        final DefaultServicesManager servicesManager = new DefaultServicesManager(dao, null);
+        servicesManager.setServiceRegistrySnapshot(new ServiceRegistrySnapshot(this.location, MAX_AGE));
+        servicesManager.initialize();
+        assertEquals(2, servicesManager.count());
+        assertNotNull(servicesManager.findServiceBy("https://app2.example.org/login"));
+
+        latch.countDown();
+        verify(dao, timeout(5000)).load();
+        final ServiceRegistrySnapshot snapshot = new ServiceRegistrySnapshot(this.location, MAX_AGE);
+        for (int i = 0; i < 50 && snapshot.read().size() != 1; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, servicesManager.count());
+        assertEquals(1, snapshot.read().size());
+    }
+
+    private static RegexRegisteredService newService(final long id) {
+        final RegexRegisteredService service = new RegexRegisteredService();
+        service.setId(id);
+        service.setServiceId("^https://app" + id + ".example.org/.*");
+        service.setName("Test" + id);
+        return service;
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.config;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.DefaultMultifactorTriggerSelectionStrategy;
 import org.apereo.cas.authentication.MultifactorTriggerSelectionStrategy;
 import org.apereo.cas.authentication.principal.DefaultWebApplicationResponseBuilderLocator;
@@ -10,7 +11,10 @@ import org.apereo.cas.authentication.principal.ShibbolethCompatiblePersistentIdG
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.authentication.principal.WebApplicationServiceResponseBuilder;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.services.ServiceRegistrySnapshotProperties;
 import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.services.AbstractServicesManager;
 import org.apereo.cas.services.DefaultServicesManager;
 import org.apereo.cas.services.DomainServicesManager;
 import org.apereo.cas.services.InMemoryServiceRegistry;
@@ -18,6 +22,7 @@ import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
 import org.apereo.cas.services.RegisteredServicesEventListener;
 import org.apereo.cas.services.ServiceRegistryDao;
+import org.apereo.cas.services.ServiceRegistrySnapshot;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.util.DefaultRegisteredServiceCipherExecutor;
 import org.apereo.cas.util.io.CommunicationsManager;
@@ -33,6 +38,8 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -100,15 +107,38 @@ public class CasCoreServicesConfiguration {
     @Bean
     @RefreshScope
     public ServicesManager servicesManager(@Qualifier("serviceRegistryDao") final ServiceRegistryDao serviceRegistryDao) {
+        final AbstractServicesManager servicesManager;
         switch (casProperties.getServiceRegistry().getManagementType()) {
             case DOMAIN:
                 LOGGER.debug("Managing CAS service definitions via domains");
-                return new DomainServicesManager(serviceRegistryDao, eventPublisher);
+                servicesManager = new DomainServicesManager(serviceRegistryDao, eventPublisher);
+                break;
             case DEFAULT:
             default:
+                servicesManager = new DefaultServicesManager(serviceRegistryDao, eventPublisher);
                 break;
         }
-        return new DefaultServicesManager(serviceRegistryDao, eventPublisher);
+        final ServiceRegistrySnapshotProperties snapshot = casProperties.getServiceRegistry().getSnapshot();
+        if (snapshot.isEnabled()) {
+            final Path location = getServiceRegistrySnapshotLocation(snapshot);
+            LOGGER.debug("Using service registry snapshot at [{}]", location);
+            servicesManager.setServiceRegistrySnapshot(new ServiceRegistrySnapshot(location,
+                    Beans.newDuration(snapshot.getMaxAge()).toMillis()));
+        }
+        return servicesManager;
+    }
+
+    private static Path getServiceRegistrySnapshotLocation(final ServiceRegistrySnapshotProperties snapshot) {
+        if (StringUtils.isBlank(snapshot.getLocation())) {
+            throw new IllegalArgumentException("The location of the service registry snapshot must be defined "
+                    + "via cas.serviceRegistry.snapshot.location when snapshots are enabled");
+        }
+        final Path location = Paths.get(snapshot.getLocation()).toAbsolutePath().normalize();
+        final Path temp = Paths.get(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize();
+        if (location.startsWith(temp)) {
+            throw new IllegalArgumentException("The service registry snapshot may not be kept under the temporary directory " + temp);
+        }
+        return location;
     }
 
     @Bean
@@ -9,8 +9,10 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import javax.security.auth.login.FailedLoginException;
+import java.net.URL;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Scott Battaglia
@@ -52,6 +54,17 @@ public class HttpBasedServiceCredentialsAuthenticationHandlerTests {
         this.authenticationHandler.authenticate(RegisteredServiceTestUtils.getHttpBasedServiceCredentials("https://clearinghouse.ja-sig.org"));
     }
 
+    @Test
+    public void verifyValidCallbackUrlIsRemembered() throws Exception {
+        final HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.isValidEndPoint(any(URL.class))).thenReturn(true);
+        this.authenticationHandler = new HttpBasedServiceCredentialsAuthenticationHandler("", null, null, null, httpClient, 60_000);
+
+        assertNotNull(this.authenticationHandler.authenticate(RegisteredServiceTestUtils.getHttpBasedServiceCredentials()));
+        assertNotNull(this.authenticationHandler.authenticate(RegisteredServiceTestUtils.getHttpBasedServiceCredentials()));
+        verify(httpClient, times(1)).isValidEndPoint(any(URL.class));
+    }
+
     @Test
     public void verifyAcceptsNonHttpsCredentials() throws Exception {
         assertNotNull(this.authenticationHandler.authenticate(RegisteredServiceTestUtils.getHttpBasedServiceCredentials("http://www.google.com")));
@@ -14,7 +14,10 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.springframework.core.io.ClassPathResource;
 
+import java.io.File;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -484,4 +487,35 @@ public abstract class AbstractResourceBasedServiceRegistryDaoTests {
         final RegisteredServiceProperty prop = r.getProperties().get("field1");
         assertEquals(prop.getValues().size(), 2);
     }
+
+    @Test
+    public void verifyOnlyModifiedServiceFilesAreReloaded() throws Exception {
+        prepTests();
+        final RegisteredService first = this.dao.save(newServiceWithDescription(6100, "Original"));
+        final RegisteredService second = this.dao.save(newServiceWithDescription(6200, "Original"));
+        assertEquals(2, this.dao.load().size());
+        assertSame(first, this.dao.findServiceById(first.getId()));
+
+        final File file = FileUtils.listFiles(RESOURCE.getFile(), null, false)
+                .stream()
+                .filter(f -> f.getName().contains("-" + second.getId() + '.'))
+                .findFirst()
+                .get();
+        final String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        Files.write(file.toPath(), content.replace("Original", "Modified").getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.setLastModified(file.lastModified() + 5000));
+
+        assertEquals(2, this.dao.load().size());
+        assertSame(first, this.dao.findServiceById(first.getId()));
+        assertEquals("Modified", this.dao.findServiceById(second.getId()).getDescription());
+    }
+
+    private static RegexRegisteredService newServiceWithDescription(final long id, final String description) {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setServiceId(HTTPS_SERVICE_ID);
+        r.setName("verifyOnlyModifiedServiceFilesAreReloaded");
+        r.setDescription(description);
+        r.setId(id);
+        return r;
+    }
 }
@@ -28,12 +28,16 @@ import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.proxy.support.Cas10ProxyHandler;
 import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandler;
 import org.apereo.cas.ticket.registry.CachingTicketRegistry;
+import org.apereo.cas.ticket.registry.CoalescingTicketRegistryBeanPostProcessor;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
+import org.apereo.cas.ticket.registry.NearCachingTicketRegistryBeanPostProcessor;
 import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
+import org.apereo.cas.ticket.registry.support.NoOpTicketCacheInvalidationChannel;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationChannel;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
@@ -53,6 +57,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -185,6 +190,7 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
         return new DefaultServiceTicketFactory(serviceTicketExpirationPolicy(),
                 uniqueIdGeneratorsMap,
                 onlyTrackMostRecentSession,
+                casProperties.getTicket().getTgt().getMaximumCompactedSessions(),
                 protocolTicketCipherExecutor());
     }
 
@@ -214,7 +220,8 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
     @ConditionalOnMissingBean(name = "proxy20Handler")
     @Bean
     public ProxyHandler proxy20Handler() {
-        return new Cas20ProxyHandler(httpClient, proxy20TicketUniqueIdGenerator());
+        return new Cas20ProxyHandler(httpClient, proxy20TicketUniqueIdGenerator(),
+                casProperties.getTicket().getPgt().getCallbackTimeout());
     }
 
     @ConditionalOnMissingBean(name = "ticketRegistry")
@@ -232,6 +239,22 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
         return new DefaultTicketRegistry(mem.getInitialCapacity(), mem.getLoadFactor(), mem.getConcurrency(), cipher);
     }
 
+    @ConditionalOnMissingBean(name = "ticketCacheInvalidationChannel")
+    @Bean
+    public TicketCacheInvalidationChannel ticketCacheInvalidationChannel() {
+        return NoOpTicketCacheInvalidationChannel.getInstance();
+    }
+
+    @Bean
+    public static BeanPostProcessor nearCachingTicketRegistryBeanPostProcessor() {
+        return new NearCachingTicketRegistryBeanPostProcessor();
+    }
+
+    @Bean
+    public static BeanPostProcessor coalescingTicketRegistryBeanPostProcessor() {
+        return new CoalescingTicketRegistryBeanPostProcessor();
+    }
+
     @ConditionalOnMissingBean(name = "defaultTicketRegistrySupport")
     @Bean
     public TicketRegistrySupport defaultTicketRegistrySupport() {
@@ -12,6 +12,8 @@ import javax.persistence.Column;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -76,6 +78,13 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "NUMBER_OF_TIMES_USED")
     private int countOfUses;
 
+    /**
+     * The next instant at which this ticket will be considered expired, if it can be determined.
+     * Stored so that expired tickets may be removed in bulk via an indexed query.
+     */
+    @Column(name = "EXPIRATION_TIME")
+    private ZonedDateTime expirationTime;
+
     /**
      * Instantiates a new abstract ticket.
      */
@@ -146,6 +155,46 @@ public abstract class AbstractTicket implements Ticket, TicketState {
                 || isExpiredInternal();
     }
 
+    /**
+     * Calculate the next instant at which this ticket will be considered expired,
+     * as reported by its expiration policy. A ticket that is forcefully
+     * expired is considered expired as of now.
+     *
+     * @return the expiration instant, or {@code null} if it cannot be determined.
+     */
+    @JsonIgnore
+    public ZonedDateTime getNextExpirationTime() {
+        if (isExpiredInternal()) {
+            return ZonedDateTime.now(ZoneOffset.UTC);
+        }
+        if (this.expirationPolicy == null) {
+            return null;
+        }
+        return this.expirationPolicy.getNextExpirationTime(this);
+    }
+
+    /**
+     * Record the next expiration instant of this ticket before it is stored.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void updateExpirationTime() {
+        this.expirationTime = getNextExpirationTime();
+    }
+
+    /**
+     * Carry over usage of another copy of this ticket, if that copy was used more recently.
+     *
+     * @param ticket the other copy of this ticket
+     */
+    protected void mergeUsage(final AbstractTicket ticket) {
+        this.countOfUses = Math.max(this.countOfUses, ticket.countOfUses);
+        if (ticket.lastTimeUsed != null && (this.lastTimeUsed == null || ticket.lastTimeUsed.isAfter(this.lastTimeUsed))) {
+            this.previousLastTimeUsed = ticket.previousLastTimeUsed;
+            this.lastTimeUsed = ticket.lastTimeUsed;
+        }
+    }
+
     @JsonIgnore
     protected boolean isExpiredInternal() {
         return false;
@@ -14,6 +14,7 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -28,7 +29,7 @@ import javax.persistence.Table;
  * @since 3.0.0
  */
 @Entity
-@Table(name = "SERVICETICKET")
+@Table(name = "SERVICETICKET", indexes = @Index(name = "IDX_ST_EXPIRATION_TIME", columnList = "EXPIRATION_TIME"))
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(ServiceTicket.PREFIX)
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY)
@@ -14,15 +14,24 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Concrete implementation of a TicketGrantingTicket. A TicketGrantingTicket is
@@ -35,7 +44,7 @@ import java.util.Map;
  * @since 3.0.0
  */
 @Entity
-@Table(name = "TICKETGRANTINGTICKET")
+@Table(name = "TICKETGRANTINGTICKET", indexes = @Index(name = "IDX_TGT_EXPIRATION_TIME", columnList = "EXPIRATION_TIME"))
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(TicketGrantingTicket.PREFIX)
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -68,12 +77,22 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     private Service proxiedBy;
 
     /**
-     * The services associated to this ticket.
+     * The services associated to this ticket, with at most one service ticket per service.
      */
     @Lob
     @Column(name = "SERVICES_GRANTED_ACCESS_TO", nullable = false, length = Integer.MAX_VALUE)
+    @JsonProperty
     private HashMap<String, Service> services = new HashMap<>();
 
+    /**
+     * Service tickets granted to a service path before its most recent ticket, mapped to the id of the service,
+     * in the order they were granted. The service itself is only kept with the most recent ticket of its path.
+     */
+    @Lob
+    @Column(name = "COMPACTED_SERVICES", length = Integer.MAX_VALUE)
+    @JsonProperty
+    private LinkedHashMap<String, String> compactedServices = new LinkedHashMap<>();
+
     /**
      * The {@link TicketGrantingTicket} this is associated with.
      */
@@ -94,6 +113,30 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @Column(name = "DESCENDANT_TICKETS", nullable = false, length = Integer.MAX_VALUE)
     private HashSet<String> descendantTickets = new HashSet<>();
 
+    /**
+     * Version of this ticket, incremented by registries that detect concurrent updates.
+     */
+    @JsonIgnore
+    @Column(name = "VERSION")
+    private Long version;
+
+    /**
+     * Ids of the service tickets, proxy-granting tickets and descendant tickets held by this copy
+     * when it was last read from or written to the registry. Anything missing from the copy since
+     * was removed from it, and is not brought back when merging a concurrent update.
+     */
+    @Transient
+    @JsonIgnore
+    private HashSet<String> storedServices;
+
+    @Transient
+    @JsonIgnore
+    private HashSet<String> storedProxyGrantingTickets;
+
+    @Transient
+    @JsonIgnore
+    private HashSet<String> storedDescendantTickets;
+
     /**
      * Instantiates a new ticket granting ticket impl.
      */
@@ -157,15 +200,22 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
      * impact the ticket expiration policy in that, depending on the policy
      * configuration, the ticket may be considered expired.
      */
+    @Override
+    public ServiceTicket grantServiceTicket(final String id, final Service service, final ExpirationPolicy expirationPolicy,
+                                            final boolean credentialProvided, final boolean onlyTrackMostRecentSession) {
+        return grantServiceTicket(id, service, expirationPolicy, credentialProvided, onlyTrackMostRecentSession, 0);
+    }
+
     @Override
     public synchronized ServiceTicket grantServiceTicket(final String id, final Service service, final ExpirationPolicy expirationPolicy,
-                                                         final boolean credentialProvided, final boolean onlyTrackMostRecentSession) {
+                                                         final boolean credentialProvided, final boolean onlyTrackMostRecentSession,
+                                                         final int maximumCompactedSessions) {
 
         final ServiceTicket serviceTicket = new ServiceTicketImpl(id, this,
                 service, credentialProvided,
                 expirationPolicy);
 
-        trackServiceSession(serviceTicket.getId(), service, onlyTrackMostRecentSession);
+        trackServiceSession(serviceTicket.getId(), service, onlyTrackMostRecentSession, maximumCompactedSessions);
         return serviceTicket;
     }
 
@@ -177,6 +227,21 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
      * @param onlyTrackMostRecentSession the only track most recent session
      */
     protected void trackServiceSession(final String id, final Service service, final boolean onlyTrackMostRecentSession) {
+        trackServiceSession(id, service, onlyTrackMostRecentSession, 0);
+    }
+
+    /**
+     * Update service and track session. The session previously tracked for the same service path
+     * is kept by its ticket id only, and once more than the given number of sessions are kept that way,
+     * the oldest of those are forgotten.
+     *
+     * @param id                         the id
+     * @param service                    the service
+     * @param onlyTrackMostRecentSession the only track most recent session
+     * @param maximumCompactedSessions   the maximum number of sessions to keep by ticket id only, or zero for no limit
+     */
+    protected void trackServiceSession(final String id, final Service service, final boolean onlyTrackMostRecentSession,
+                                       final int maximumCompactedSessions) {
         update();
 
         service.setPrincipal(getRoot().getAuthentication().getPrincipal().getId());
@@ -187,10 +252,47 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
             existingServices.stream()
                     .filter(existingService -> path.equals(normalizePath(existingService)))
                     .findFirst().ifPresent(existingServices::remove);
+            getCompactedServices().values().removeIf(serviceId -> path.equals(normalizePath(serviceId)));
+        }
+        addService(id, service);
+
+        if (maximumCompactedSessions > 0) {
+            final Iterator<String> compacted = getCompactedServices().keySet().iterator();
+            while (this.compactedServices.size() > maximumCompactedSessions && compacted.hasNext()) {
+                compacted.next();
+                compacted.remove();
+            }
+        }
+    }
+
+    /**
+     * Add the service ticket, and keep the ticket previously granted to the same service path by its id only,
+     * so that services which only differ by their query string, such as portal widgets, are compacted together.
+     *
+     * @param id      the service ticket id
+     * @param service the service
+     */
+    private void addService(final String id, final Service service) {
+        final String path = normalizePath(service);
+        final Iterator<Map.Entry<String, Service>> existingServices = this.services.entrySet().iterator();
+        while (existingServices.hasNext()) {
+            final Map.Entry<String, Service> existingService = existingServices.next();
+            if (!existingService.getKey().equals(id) && path.equals(normalizePath(existingService.getValue()))) {
+                getCompactedServices().put(existingService.getKey(), service.getId());
+                existingServices.remove();
+                break;
+            }
         }
         this.services.put(id, service);
     }
 
+    private Map<String, String> getCompactedServices() {
+        if (this.compactedServices == null) {
+            this.compactedServices = new LinkedHashMap<>();
+        }
+        return this.compactedServices;
+    }
+
     /**
      * Normalize the path of a service by removing the query string and everything after a semi-colon.
      *
@@ -198,7 +300,11 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
      * @return the normalized path
      */
     private static String normalizePath(final Service service) {
-        String path = service.getId();
+        return normalizePath(service.getId());
+    }
+
+    private static String normalizePath(final String serviceId) {
+        String path = serviceId;
         path = StringUtils.substringBefore(path, "?");
         path = StringUtils.substringBefore(path, ";");
         path = StringUtils.substringBefore(path, "#");
@@ -207,12 +313,25 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
 
     /**
      * Gets an new map with the service ticket and services accessed by this ticket-granting ticket.
+     * Service tickets that are kept by id only are mapped to the same instance as the most recent ticket of their service path.
      *
      * @return a map of service ticket and services accessed by this ticket-granting ticket.
      */
+    @JsonIgnore
     @Override
     public synchronized Map<String, Service> getServices() {
-        return new HashMap<>(this.services);
+        final Map<String, Service> results = new HashMap<>(this.services);
+        if (this.compactedServices != null && !this.compactedServices.isEmpty()) {
+            final Map<String, Service> servicesByPath = this.services.values().stream()
+                    .collect(Collectors.toMap(TicketGrantingTicketImpl::normalizePath, Function.identity(), (s1, s2) -> s1));
+            this.compactedServices.forEach((ticketId, serviceId) -> {
+                final Service service = servicesByPath.get(normalizePath(serviceId));
+                if (service != null) {
+                    results.put(ticketId, service);
+                }
+            });
+        }
+        return results;
     }
     
     @Override
@@ -226,6 +345,7 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @Override
     public void removeAllServices() {
         this.services.clear();
+        getCompactedServices().clear();
     }
 
     /**
@@ -243,6 +363,81 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         this.expired = Boolean.TRUE;
     }
 
+    /**
+     * Merge the state of another copy of this ticket that was updated concurrently.
+     * Service tickets, proxy-granting tickets and descendant tickets the other copy added or
+     * removed since it was stored are added to or removed from this copy, while the changes made
+     * to this copy are left alone. Usage is carried over from the most recently used copy and the ticket
+     * remains expired if either copy is.
+     *
+     * @param ticket the other copy of this ticket
+     */
+    public synchronized void mergeConcurrentUpdate(final TicketGrantingTicketImpl ticket) {
+        final Set<String> storedServices = ticket.storedServices == null ? Collections.emptySet() : ticket.storedServices;
+        storedServices.stream()
+                .filter(id -> !ticket.services.containsKey(id) && !ticket.getCompactedServices().containsKey(id))
+                .forEach(id -> {
+                    this.services.remove(id);
+                    getCompactedServices().remove(id);
+                });
+        ticket.services.forEach((id, service) -> {
+            if (!storedServices.contains(id) && !this.services.containsKey(id) && !getCompactedServices().containsKey(id)) {
+                addService(id, service);
+            }
+        });
+        ticket.getCompactedServices().forEach((id, serviceId) -> {
+            if (!storedServices.contains(id) && !this.services.containsKey(id)) {
+                getCompactedServices().putIfAbsent(id, serviceId);
+            }
+        });
+
+        final Set<String> storedProxyGrantingTickets = ticket.storedProxyGrantingTickets == null
+                ? Collections.emptySet() : ticket.storedProxyGrantingTickets;
+        storedProxyGrantingTickets.stream()
+                .filter(id -> !ticket.proxyGrantingTickets.containsKey(id))
+                .forEach(this.proxyGrantingTickets::remove);
+        ticket.proxyGrantingTickets.forEach((id, service) -> {
+            if (!storedProxyGrantingTickets.contains(id)) {
+                this.proxyGrantingTickets.putIfAbsent(id, service);
+            }
+        });
+
+        final Set<String> storedDescendantTickets = ticket.storedDescendantTickets == null
+                ? Collections.emptySet() : ticket.storedDescendantTickets;
+        storedDescendantTickets.stream()
+                .filter(id -> !ticket.descendantTickets.contains(id))
+                .forEach(this.descendantTickets::remove);
+        ticket.descendantTickets.stream()
+                .filter(id -> !storedDescendantTickets.contains(id))
+                .forEach(this.descendantTickets::add);
+
+        this.expired = this.expired || ticket.expired;
+        mergeUsage(ticket);
+    }
+
+    /**
+     * Remember the service tickets, proxy-granting tickets and descendant tickets held by this copy
+     * as stored in the registry, so that changes made to the copy afterwards can be told apart
+     * when merging concurrent updates. Called when the ticket is loaded, and by registries
+     * once the ticket has been written.
+     */
+    @PostLoad
+    public synchronized void markStored() {
+        this.storedServices = new HashSet<>(this.services.keySet());
+        this.storedServices.addAll(getCompactedServices().keySet());
+        this.storedProxyGrantingTickets = new HashSet<>(this.proxyGrantingTickets.keySet());
+        this.storedDescendantTickets = new HashSet<>(this.descendantTickets);
+    }
+
+    @JsonIgnore
+    public long getVersion() {
+        return this.version == null ? 0 : this.version;
+    }
+
+    public void setVersion(final long version) {
+        this.version = version;
+    }
+
     @JsonIgnore
     @Override
     public TicketGrantingTicket getRoot() {
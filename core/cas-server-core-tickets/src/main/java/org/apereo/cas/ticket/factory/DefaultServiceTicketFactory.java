@@ -37,11 +37,20 @@ public class DefaultServiceTicketFactory implements ServiceTicketFactory {
 
     private boolean trackMostRecentSession = true;
 
+    private final int maximumCompactedSessions;
+
     public DefaultServiceTicketFactory(final ExpirationPolicy serviceTicketExpirationPolicy, final Map<String, UniqueTicketIdGenerator> ticketIdGeneratorMap,
                                        final boolean onlyTrackMostRecentSession, final CipherExecutor cipherExecutor) {
+        this(serviceTicketExpirationPolicy, ticketIdGeneratorMap, onlyTrackMostRecentSession, 0, cipherExecutor);
+    }
+
+    public DefaultServiceTicketFactory(final ExpirationPolicy serviceTicketExpirationPolicy, final Map<String, UniqueTicketIdGenerator> ticketIdGeneratorMap,
+                                       final boolean onlyTrackMostRecentSession, final int maximumCompactedSessions,
+                                       final CipherExecutor cipherExecutor) {
         this.serviceTicketExpirationPolicy = serviceTicketExpirationPolicy;
         this.uniqueTicketIdGeneratorsForService = ticketIdGeneratorMap;
         this.trackMostRecentSession = onlyTrackMostRecentSession;
+        this.maximumCompactedSessions = maximumCompactedSessions;
         this.cipherExecutor = cipherExecutor;
     }
 
@@ -68,6 +77,15 @@ public class DefaultServiceTicketFactory implements ServiceTicketFactory {
      */
     protected <T extends Ticket> T produceTicket(final TicketGrantingTicket ticketGrantingTicket, final Service service,
                                                  final boolean credentialProvided, final String ticketId) {
+        if (this.maximumCompactedSessions > 0) {
+            return (T) ticketGrantingTicket.grantServiceTicket(
+                    ticketId,
+                    service,
+                    this.serviceTicketExpirationPolicy,
+                    credentialProvided,
+                    trackMostRecentSession,
+                    this.maximumCompactedSessions);
+        }
         final ServiceTicket serviceTicket = ticketGrantingTicket.grantServiceTicket(
                 ticketId,
                 service,
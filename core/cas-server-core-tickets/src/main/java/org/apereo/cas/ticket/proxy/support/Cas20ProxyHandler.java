@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.proxy.support;
 
 import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.StatisticsSource;
 import org.apereo.cas.authentication.Credential;
 import org.apereo.cas.authentication.HttpBasedServiceCredential;
 import org.apereo.cas.ticket.TicketGrantingTicket;
@@ -12,7 +13,15 @@ import org.apereo.cas.util.http.HttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Proxy Handler to handle the default callback functionality of CAS 2.0.
@@ -20,11 +29,15 @@ import java.net.URL;
  * The default behavior as defined in the CAS 2 Specification is to callback the
  * URL provided and give it a pgtIou and a pgtId.
  * </p>
+ * <p>
+ * The callback is abandoned once the callback timeout elapses, if one is set, and the latency of callbacks
+ * is recorded per service.
+ * </p>
  *
  * @author Scott Battaglia
  * @since 3.0.0
  */
-public class Cas20ProxyHandler implements ProxyHandler {
+public class Cas20ProxyHandler implements ProxyHandler, StatisticsSource {
   
     private static final Logger LOGGER = LoggerFactory.getLogger(Cas20ProxyHandler.class);
 
@@ -32,6 +45,9 @@ public class Cas20ProxyHandler implements ProxyHandler {
 
     private final UniqueTicketIdGenerator uniqueTicketIdGenerator;
     private final HttpClient httpClient;
+    private final long callbackTimeout;
+
+    private final ConcurrentMap<String, CallbackStatistics> statistics = new ConcurrentHashMap<>();
 
     /**
      * Initializes the ticket id generator to {@link DefaultUniqueTicketIdGenerator}.
@@ -39,8 +55,22 @@ public class Cas20ProxyHandler implements ProxyHandler {
      * @param uniqueTicketIdGenerator ticket id generator
      */
     public Cas20ProxyHandler(final HttpClient httpClient, final UniqueTicketIdGenerator uniqueTicketIdGenerator) {
+        this(httpClient, uniqueTicketIdGenerator, 0);
+    }
+
+    /**
+     * Instantiates a new Cas 20 proxy handler.
+     *
+     * @param httpClient              http client
+     * @param uniqueTicketIdGenerator ticket id generator
+     * @param callbackTimeout         the time in milliseconds to wait for the callback to complete, or zero to wait
+     *                                as long as the http client does
+     */
+    public Cas20ProxyHandler(final HttpClient httpClient, final UniqueTicketIdGenerator uniqueTicketIdGenerator,
+                             final long callbackTimeout) {
         this.httpClient = httpClient;
         this.uniqueTicketIdGenerator = uniqueTicketIdGenerator;
+        this.callbackTimeout = callbackTimeout;
     }
 
     @Override
@@ -70,7 +100,12 @@ public class Cas20ProxyHandler implements ProxyHandler {
                 .append('=')
                 .append(proxyGrantingTicketId);
 
-        if (this.httpClient.isValidEndPoint(stringBuffer.toString())) {
+        final long start = System.nanoTime();
+        final boolean sent = sendProxyIou(stringBuffer.toString());
+        final String serviceId = serviceCredentials.getService() == null ? callbackUrl.getAuthority() : serviceCredentials.getService().getServiceId();
+        this.statistics.computeIfAbsent(serviceId, k -> new CallbackStatistics()).record(System.nanoTime() - start, sent);
+
+        if (sent) {
             LOGGER.debug("Sent ProxyIou of [{}] for service: [{}]", proxyIou, serviceCredentials);
             return proxyIou;
         }
@@ -78,9 +113,59 @@ public class Cas20ProxyHandler implements ProxyHandler {
         LOGGER.debug("Failed to send ProxyIou of [{}] for service: [{}]", proxyIou, serviceCredentials);
         return null;
     }
+
+    private boolean sendProxyIou(final String url) {
+        if (this.callbackTimeout <= 0) {
+            return this.httpClient.isValidEndPoint(url);
+        }
+        try {
+            return this.httpClient.isValidEndPoint(new URL(url), this.callbackTimeout);
+        } catch (final MalformedURLException e) {
+            LOGGER.error("Unable to build URL", e);
+            return false;
+        }
+    }
+
+    /**
+     * Collect the latency of proxy callbacks per service.
+     *
+     * @return the map
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new TreeMap<>();
+        this.statistics.forEach((serviceId, s) -> stats.put(serviceId, s.toMap()));
+        return stats;
+    }
     
     @Override
     public boolean canHandle(final Credential credential) {
         return true;
     }
+
+    /**
+     * The number and latency of callbacks to a service.
+     */
+    private static class CallbackStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder time = new LongAdder();
+
+        void record(final long elapsed, final boolean success) {
+            this.count.increment();
+            this.time.add(elapsed);
+            if (!success) {
+                this.failures.increment();
+            }
+        }
+
+        Map<String, Object> toMap() {
+            final long total = this.count.sum();
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", total);
+            stats.put("failures", this.failures.sum());
+            stats.put("averageTime", total == 0 ? 0D : (double) TimeUnit.NANOSECONDS.toMicros(this.time.sum()) / total / 1000D);
+            return stats;
+        }
+    }
 }
@@ -4,9 +4,11 @@ import com.google.common.io.ByteSource;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.serialization.SerializationUtils;
@@ -14,6 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -306,5 +309,20 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
     }
 
-
+    /**
+     * Gets the next instant at which the ticket will be considered expired,
+     * so registries may hand off expiration of the ticket to the underlying store.
+     *
+     * @param ticket the ticket, as is and not encoded
+     * @return the expiration instant, or {@code null} if it cannot be determined.
+     */
+    protected static ZonedDateTime getNextExpirationTime(final Ticket ticket) {
+        if (ticket instanceof AbstractTicket) {
+            return ((AbstractTicket) ticket).getNextExpirationTime();
+        }
+        if (ticket instanceof TicketState && ticket.getExpirationPolicy() != null) {
+            return ticket.getExpirationPolicy().getNextExpirationTime((TicketState) ticket);
+        }
+        return null;
+    }
 }
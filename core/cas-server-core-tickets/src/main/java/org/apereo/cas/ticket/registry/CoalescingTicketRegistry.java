@@ -0,0 +1,189 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.StatisticsSource;
+import org.apereo.cas.ticket.Ticket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link CoalescingTicketRegistry} that decorates a remote ticket registry so that
+ * concurrent reads of the same ticket share a single fetch from the registry. The first thread to ask for
+ * a ticket fetches it, and threads that ask for the same ticket while that fetch is in flight wait for it and
+ * receive the very same decoded ticket. Nothing is kept once the fetch completes.
+ * <p>
+ * Reads that begin after a ticket is added, updated or removed by this node never share a fetch
+ * that began before the change.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CoalescingTicketRegistry implements TicketRegistry, DisposableBean, StatisticsSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingTicketRegistry.class);
+
+    private final TicketRegistry delegate;
+
+    private final ConcurrentMap<String, CompletableFuture<Ticket>> fetches = new ConcurrentHashMap<>();
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+
+    public CoalescingTicketRegistry(final TicketRegistry delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        this.delegate.addTicket(ticket);
+        this.fetches.remove(ticket.getId());
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        final Ticket ticket = getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId()
+                    + " is of type " + ticket.getClass()
+                    + " when we were expecting " + clazz);
+        }
+        return (T) ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        this.reads.increment();
+        final CompletableFuture<Ticket> fetch = new CompletableFuture<>();
+        final CompletableFuture<Ticket> inFlight = this.fetches.putIfAbsent(ticketId, fetch);
+        if (inFlight != null) {
+            return awaitFetch(ticketId, inFlight);
+        }
+        try {
+            final Ticket ticket = this.delegate.getTicket(ticketId);
+            fetch.complete(ticket);
+            return ticket;
+        } catch (final RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.fetches.remove(ticketId, fetch);
+        }
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        final int count = this.delegate.deleteTicket(ticketId);
+        this.fetches.remove(ticketId);
+        return count;
+    }
+
+    @Override
+    public long deleteAll() {
+        final long count = this.delegate.deleteAll();
+        this.fetches.clear();
+        return count;
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        return this.delegate.getTickets();
+    }
+
+    @Override
+    public Stream<Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return this.delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Stream<Ticket> getTicketsStream() {
+        return this.delegate.getTicketsStream();
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        final Ticket result = this.delegate.updateTicket(ticket);
+        this.fetches.remove(ticket.getId());
+        return result;
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.delegate.serviceTicketCount();
+    }
+
+    /**
+     * Collect statistics on how many reads shared a fetch already in flight, and how long they waited for it.
+     * Statistics of the decorated registry are included, if it keeps any.
+     *
+     * @return the map
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        final long reads = this.reads.sum();
+        final long coalesced = this.coalesced.sum();
+        final Map<String, Object> results = new LinkedHashMap<>();
+        results.put("reads", reads);
+        results.put("fetches", reads - coalesced);
+        results.put("coalesced", coalesced);
+        results.put("coalescedRate", reads == 0 ? 0D : (double) coalesced / reads);
+        results.put("inFlight", this.fetches.size());
+        results.put("averageWaitTime", coalesced == 0 ? 0D : (double) TimeUnit.NANOSECONDS.toMicros(this.waitTime.sum()) / coalesced / 1000D);
+        if (this.delegate instanceof StatisticsSource) {
+            results.put("delegate", ((StatisticsSource) this.delegate).getStatistics());
+        }
+        return results;
+    }
+
+    public TicketRegistry getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.delegate instanceof DisposableBean) {
+            ((DisposableBean) this.delegate).destroy();
+        } else if (this.delegate instanceof AutoCloseable) {
+            ((AutoCloseable) this.delegate).close();
+        }
+    }
+
+    private Ticket awaitFetch(final String ticketId, final CompletableFuture<Ticket> inFlight) {
+        this.coalesced.increment();
+        LOGGER.trace("Waiting for the fetch of ticket [{}] already in flight", ticketId);
+        final long start = System.nanoTime();
+        try {
+            return inFlight.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            this.waitTime.add(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.Ordered;
+
+/**
+ * This is {@link CoalescingTicketRegistryBeanPostProcessor} that decorates
+ * the configured ticket registry with a {@link CoalescingTicketRegistry},
+ * if coalescing is enabled and the registry is not kept in memory.
+ * This processor is ordered so that it runs before {@link NearCachingTicketRegistryBeanPostProcessor},
+ * which leaves reads that miss the near cache to be coalesced.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CoalescingTicketRegistryBeanPostProcessor implements BeanPostProcessor, ApplicationContextAware, Ordered {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingTicketRegistryBeanPostProcessor.class);
+
+    private static final String TICKET_REGISTRY_BEAN_NAME = "ticketRegistry";
+
+    private ApplicationContext applicationContext;
+
+    @Override
+    public Object postProcessBeforeInitialization(final Object bean, final String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+        if (!TICKET_REGISTRY_BEAN_NAME.equals(beanName) || !(bean instanceof TicketRegistry)
+                || bean instanceof CoalescingTicketRegistry || isKeptInMemory((TicketRegistry) bean)) {
+            return bean;
+        }
+        final TicketRegistryProperties.Coalescing coalescing = this.applicationContext.getBean(CasConfigurationProperties.class)
+                .getTicket().getRegistry().getCoalescing();
+        if (!coalescing.isEnabled()) {
+            return bean;
+        }
+        LOGGER.debug("Coalescing concurrent reads of the same ticket from [{}]", bean);
+        return new CoalescingTicketRegistry((TicketRegistry) bean);
+    }
+
+    @Override
+    public void setApplicationContext(final ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private static boolean isKeptInMemory(final TicketRegistry registry) {
+        TicketRegistry current = registry;
+        while (current instanceof NearCachingTicketRegistry) {
+            current = ((NearCachingTicketRegistry) current).getDelegate();
+        }
+        return current instanceof AbstractMapBasedTicketRegistry;
+    }
+}
@@ -0,0 +1,280 @@
+package org.apereo.cas.ticket.registry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.StatisticsSource;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationChannel;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link NearCachingTicketRegistry} that decorates a remote ticket registry
+ * with a small local cache of ticket-granting tickets, which are read many times over during
+ * a single login flow. Cached tickets are stamped with their usage count as a version.
+ * Updates and removals are broadcast to other nodes via a {@link TicketCacheInvalidationChannel},
+ * which evict their cached copy unless it is newer. Entries are kept for a short time only,
+ * which bounds how long a node may see a stale ticket should a message be lost.
+ * Ticket-granting tickets are only updated if they are still found in the registry,
+ * so that a copy read before the ticket was removed elsewhere does not bring it back.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class NearCachingTicketRegistry implements TicketRegistry, DisposableBean, StatisticsSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCachingTicketRegistry.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final TicketRegistry delegate;
+    private final TicketCacheInvalidationChannel invalidationChannel;
+    private final Cache<String, CachedTicket> cache;
+
+    private final LongAdder invalidationsReceived = new LongAdder();
+    private final LongAdder staleEntriesEvicted = new LongAdder();
+
+    /**
+     * Instantiates a new near caching ticket registry.
+     *
+     * @param delegate            the registry to decorate
+     * @param invalidationChannel the invalidation channel
+     * @param maximumSize         the maximum number of cached tickets
+     * @param timeToLive          the time in milliseconds after which cached tickets expire
+     */
+    public NearCachingTicketRegistry(final TicketRegistry delegate,
+                                     final TicketCacheInvalidationChannel invalidationChannel,
+                                     final long maximumSize,
+                                     final long timeToLive) {
+        this.delegate = delegate;
+        this.invalidationChannel = invalidationChannel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        this.invalidationChannel.subscribe(this::handleInvalidationMessage);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        this.delegate.addTicket(ticket);
+        cacheTicketIfEligible(ticket);
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        final Ticket ticket = getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId()
+                    + " is of type " + ticket.getClass()
+                    + " when we were expecting " + clazz);
+        }
+        return (T) ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        final CachedTicket cached = this.cache.getIfPresent(ticketId);
+        if (cached != null) {
+            if (!cached.getTicket().isExpired()) {
+                LOGGER.trace("Found ticket [{}] in the local cache", ticketId);
+                return cached.getTicket();
+            }
+            this.cache.invalidate(ticketId);
+        }
+        final Ticket ticket = this.delegate.getTicket(ticketId);
+        cacheTicketIfEligible(ticket);
+        return ticket;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        final TicketGrantingTicket parent = getParentOfProxyGrantingTicket(ticketId);
+        final int count = this.delegate.deleteTicket(ticketId);
+        invalidate(ticketId, TicketCacheInvalidationMessage.ANY_VERSION);
+        if (parent != null) {
+            invalidate(parent.getId(), TicketCacheInvalidationMessage.ANY_VERSION);
+        }
+        return count;
+    }
+
+    @Override
+    public long deleteAll() {
+        final long count = this.delegate.deleteAll();
+        invalidate(null, TicketCacheInvalidationMessage.ANY_VERSION);
+        return count;
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        return this.delegate.getTickets();
+    }
+
+    @Override
+    public Stream<Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return this.delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Stream<Ticket> getTicketsStream() {
+        return this.delegate.getTicketsStream();
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        final Ticket result = this.delegate.updateTicket(ticket);
+        invalidate(ticket.getId(), ticket.getCountOfUses());
+        return result;
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.delegate.serviceTicketCount();
+    }
+
+    /**
+     * Collect cache statistics, which report how effective the cache is
+     * and how many cached tickets were found to be stale by other nodes.
+     * Statistics of the decorated registry are included, if it keeps any.
+     *
+     * @return the map
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        final CacheStats stats = this.cache.stats();
+        final Map<String, Object> results = new LinkedHashMap<>();
+        results.put("size", this.cache.estimatedSize());
+        results.put("hits", stats.hitCount());
+        results.put("misses", stats.missCount());
+        results.put("hitRate", stats.hitRate());
+        results.put("evictions", stats.evictionCount());
+        results.put("invalidationsReceived", this.invalidationsReceived.sum());
+        results.put("staleEntriesEvicted", this.staleEntriesEvicted.sum());
+        if (this.delegate instanceof StatisticsSource) {
+            results.put("delegate", ((StatisticsSource) this.delegate).getStatistics());
+        }
+        return results;
+    }
+
+    public TicketRegistry getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.cache.invalidateAll();
+        if (this.delegate instanceof DisposableBean) {
+            ((DisposableBean) this.delegate).destroy();
+        } else if (this.delegate instanceof AutoCloseable) {
+            ((AutoCloseable) this.delegate).close();
+        }
+    }
+
+    /**
+     * Handle an invalidation message published by another node.
+     *
+     * @param message the message
+     */
+    protected void handleInvalidationMessage(final TicketCacheInvalidationMessage message) {
+        if (this.nodeId.equals(message.getOrigin())) {
+            return;
+        }
+        this.invalidationsReceived.increment();
+        LOGGER.trace("Received ticket cache invalidation message [{}]", message);
+        if (message.getTicketId() == null) {
+            this.cache.invalidateAll();
+            return;
+        }
+        this.cache.asMap().computeIfPresent(message.getTicketId(), (id, cached) -> {
+            if (cached.getVersion() <= message.getVersion()) {
+                this.staleEntriesEvicted.increment();
+                return null;
+            }
+            return cached;
+        });
+    }
+
+    private void invalidate(final String ticketId, final long version) {
+        if (ticketId == null) {
+            this.cache.invalidateAll();
+        } else {
+            this.cache.invalidate(ticketId);
+        }
+        publish(ticketId, version);
+    }
+
+    private void publish(final String ticketId, final long version) {
+        try {
+            this.invalidationChannel.publish(new TicketCacheInvalidationMessage(this.nodeId, ticketId, version));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to publish cache invalidation message for ticket [{}]: [{}]", ticketId, e.getMessage());
+        }
+    }
+
+    private void cacheTicketIfEligible(final Ticket ticket) {
+        if (isCacheable(ticket) && !ticket.isExpired()) {
+            this.cache.put(ticket.getId(), new CachedTicket(ticket, ticket.getCountOfUses()));
+        }
+    }
+
+    private static boolean isCacheable(final Ticket ticket) {
+        return ticket instanceof TicketGrantingTicket && !(ticket instanceof ProxyGrantingTicket);
+    }
+
+    private TicketGrantingTicket getParentOfProxyGrantingTicket(final String ticketId) {
+        if (StringUtils.startsWith(ticketId, ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX)) {
+            final Ticket ticket = this.delegate.getTicket(ticketId);
+            if (ticket instanceof ProxyGrantingTicket) {
+                return ticket.getGrantingTicket();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A cached ticket along with its version.
+     */
+    private static final class CachedTicket {
+        private final Ticket ticket;
+        private final long version;
+
+        CachedTicket(final Ticket ticket, final long version) {
+            this.ticket = ticket;
+            this.version = version;
+        }
+
+        Ticket getTicket() {
+            return this.ticket;
+        }
+
+        long getVersion() {
+            return this.version;
+        }
+    }
+}
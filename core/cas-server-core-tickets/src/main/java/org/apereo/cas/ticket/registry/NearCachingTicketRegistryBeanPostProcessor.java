@@ -0,0 +1,62 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
+import org.apereo.cas.ticket.registry.support.NoOpTicketCacheInvalidationChannel;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+/**
+ * This is {@link NearCachingTicketRegistryBeanPostProcessor} that decorates
+ * whichever ticket registry is configured with a {@link NearCachingTicketRegistry},
+ * if the near cache is enabled and the registry provides a channel to invalidate cached tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class NearCachingTicketRegistryBeanPostProcessor implements BeanPostProcessor, ApplicationContextAware {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCachingTicketRegistryBeanPostProcessor.class);
+
+    private static final String TICKET_REGISTRY_BEAN_NAME = "ticketRegistry";
+
+    private ApplicationContext applicationContext;
+
+    @Override
+    public Object postProcessBeforeInitialization(final Object bean, final String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+        if (!TICKET_REGISTRY_BEAN_NAME.equals(beanName) || !(bean instanceof TicketRegistry)
+                || bean instanceof NearCachingTicketRegistry) {
+            return bean;
+        }
+        final TicketRegistryProperties.NearCache nearCache = this.applicationContext.getBean(CasConfigurationProperties.class)
+                .getTicket().getRegistry().getNearCache();
+        if (!nearCache.isEnabled()) {
+            return bean;
+        }
+        final TicketCacheInvalidationChannel channel = this.applicationContext.getBean("ticketCacheInvalidationChannel",
+                TicketCacheInvalidationChannel.class);
+        if (channel instanceof NoOpTicketCacheInvalidationChannel) {
+            LOGGER.warn("The near cache is enabled, yet ticket registry [{}] provides no channel to invalidate cached tickets "
+                    + "across CAS nodes. Tickets removed or updated on one node would remain visible on others; the near cache is disabled.",
+                    bean.getClass().getSimpleName());
+            return bean;
+        }
+        LOGGER.debug("Caching ticket-granting tickets locally in front of [{}] with invalidation channel [{}]",
+                bean, channel.getClass().getSimpleName());
+        return new NearCachingTicketRegistry((TicketRegistry) bean, channel, nearCache.getMaximumSize(), nearCache.getTimeToLive());
+    }
+
+    @Override
+    public void setApplicationContext(final ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+}
@@ -0,0 +1,35 @@
+package org.apereo.cas.ticket.registry.support;
+
+import java.util.function.Consumer;
+
+/**
+ * This is {@link NoOpTicketCacheInvalidationChannel} that does not deliver messages,
+ * which is suitable for single-node deployments.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class NoOpTicketCacheInvalidationChannel implements TicketCacheInvalidationChannel {
+
+    private static final TicketCacheInvalidationChannel INSTANCE = new NoOpTicketCacheInvalidationChannel();
+
+    protected NoOpTicketCacheInvalidationChannel() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static TicketCacheInvalidationChannel getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void publish(final TicketCacheInvalidationMessage message) {
+    }
+
+    @Override
+    public void subscribe(final Consumer<TicketCacheInvalidationMessage> consumer) {
+    }
+}
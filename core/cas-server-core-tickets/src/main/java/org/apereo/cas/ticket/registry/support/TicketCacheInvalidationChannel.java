@@ -0,0 +1,27 @@
+package org.apereo.cas.ticket.registry.support;
+
+import java.util.function.Consumer;
+
+/**
+ * This is {@link TicketCacheInvalidationChannel} that carries invalidation messages
+ * between CAS nodes that cache tickets locally in front of a shared ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public interface TicketCacheInvalidationChannel {
+
+    /**
+     * Publish the message to all nodes.
+     *
+     * @param message the message
+     */
+    void publish(TicketCacheInvalidationMessage message);
+
+    /**
+     * Register a consumer for messages published by any node.
+     *
+     * @param consumer the consumer
+     */
+    void subscribe(Consumer<TicketCacheInvalidationMessage> consumer);
+}
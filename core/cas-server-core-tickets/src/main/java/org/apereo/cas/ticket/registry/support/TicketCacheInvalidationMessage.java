@@ -0,0 +1,58 @@
+package org.apereo.cas.ticket.registry.support;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketCacheInvalidationMessage} that is broadcast to other CAS nodes
+ * once a ticket that they may have cached locally is updated or removed.
+ * The version is that of the ticket after the change, such that nodes holding a newer copy may keep it.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TicketCacheInvalidationMessage implements Serializable {
+    /**
+     * Version that invalidates any cached copy of a ticket.
+     */
+    public static final long ANY_VERSION = Long.MAX_VALUE;
+
+    private static final long serialVersionUID = 4412391873285463093L;
+
+    private final String origin;
+    private final String ticketId;
+    private final long version;
+
+    public TicketCacheInvalidationMessage(final String origin, final String ticketId, final long version) {
+        this.origin = origin;
+        this.ticketId = ticketId;
+        this.version = version;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Gets ticket id.
+     *
+     * @return the ticket id, or null if all cached tickets should be invalidated.
+     */
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("origin", origin)
+                .append("ticketId", ticketId)
+                .append("version", version)
+                .toString();
+    }
+}
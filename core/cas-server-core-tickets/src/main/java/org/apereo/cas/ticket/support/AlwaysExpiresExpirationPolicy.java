@@ -6,6 +6,8 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apereo.cas.ticket.TicketState;
 
+import java.time.ZonedDateTime;
+
 /**
  * AlwaysExpiresExpirationPolicy always answers true when asked if a Ticket is
  * expired.
@@ -45,6 +47,11 @@ public class AlwaysExpiresExpirationPolicy extends AbstractCasExpirationPolicy {
     }
 
 
+    @Override
+    public ZonedDateTime getNextExpirationTime(final TicketState ticketState) {
+        return ticketState.getCreationTime();
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
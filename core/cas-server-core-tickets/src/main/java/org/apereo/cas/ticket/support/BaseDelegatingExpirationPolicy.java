@@ -10,6 +10,7 @@ import org.apereo.cas.ticket.TicketState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.ZonedDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -140,6 +141,13 @@ public abstract class BaseDelegatingExpirationPolicy extends AbstractCasExpirati
      */
     protected abstract String getExpirationPolicyNameFor(TicketState ticketState);
     
+    @Override
+    public ZonedDateTime getNextExpirationTime(final TicketState ticketState) {
+        return getExpirationPolicyFor(ticketState)
+                .map(policy -> policy.getNextExpirationTime(ticketState))
+                .orElse(null);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
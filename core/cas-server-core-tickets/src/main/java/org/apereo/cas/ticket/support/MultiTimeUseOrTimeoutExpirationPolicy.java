@@ -106,6 +106,14 @@ public class MultiTimeUseOrTimeoutExpirationPolicy extends AbstractCasExpiration
         return 0L;
     }
 
+    @Override
+    public ZonedDateTime getNextExpirationTime(final TicketState ticketState) {
+        if (ticketState.getCountOfUses() >= this.numberOfUses) {
+            return ticketState.getLastTimeUsed();
+        }
+        return ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
@@ -96,6 +96,17 @@ public class ThrottledUseAndTimeoutExpirationPolicy extends AbstractCasExpiratio
     }
 
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses that come too soon are refused, yet do not permanently expire the ticket.
+     * The ticket permanently expires once the time to kill passes.
+     */
+    @Override
+    public ZonedDateTime getNextExpirationTime(final TicketState ticketState) {
+        return ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
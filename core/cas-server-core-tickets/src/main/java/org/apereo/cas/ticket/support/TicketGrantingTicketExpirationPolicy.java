@@ -114,6 +114,13 @@ public class TicketGrantingTicketExpirationPolicy extends AbstractCasExpirationP
         return this.timeToKillInSeconds;
     }
     
+    @Override
+    public ZonedDateTime getNextExpirationTime(final TicketState ticketState) {
+        final ZonedDateTime hardExpiration = ticketState.getCreationTime().plus(this.maxTimeToLiveInSeconds, ChronoUnit.SECONDS);
+        final ZonedDateTime idleExpiration = ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+        return hardExpiration.isBefore(idleExpiration) ? hardExpiration : idleExpiration;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
@@ -78,6 +78,11 @@ public class TimeoutExpirationPolicy extends AbstractCasExpirationPolicy {
     }
 
 
+    @Override
+    public ZonedDateTime getNextExpirationTime(final TicketState ticketState) {
+        return ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
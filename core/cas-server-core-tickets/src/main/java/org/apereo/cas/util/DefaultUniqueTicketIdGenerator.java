@@ -4,6 +4,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.util.gen.Base64RandomStringGenerator;
 import org.apereo.cas.util.gen.DefaultLongNumericGenerator;
+import org.apereo.cas.util.gen.LongNumericGenerator;
 import org.apereo.cas.util.gen.NumericGenerator;
 import org.apereo.cas.util.gen.RandomStringGenerator;
 
@@ -20,6 +21,12 @@ import org.apereo.cas.util.gen.RandomStringGenerator;
  */
 public class DefaultUniqueTicketIdGenerator implements UniqueTicketIdGenerator {
 
+    /**
+     * Capacity reserved for the separators and the sequence number,
+     * on top of twice the length of the random part which covers its encoded length.
+     */
+    private static final int RESERVED_CAPACITY = 24;
+
     /**
      * The numeric generator to generate the static part of the id.
      */
@@ -90,9 +97,16 @@ public class DefaultUniqueTicketIdGenerator implements UniqueTicketIdGenerator {
 
     @Override
     public String getNewTicketId(final String prefix) {
-        final String number = this.numericGenerator.getNextNumberAsString();
-        return prefix + '-' + number + '-'
-            + this.randomStringGenerator.getNewString() + this.suffix;
+        final StringBuilder builder = new StringBuilder(prefix.length() + RESERVED_CAPACITY
+            + this.randomStringGenerator.getDefaultLength() * 2 + this.suffix.length());
+        builder.append(prefix).append('-');
+        if (this.numericGenerator instanceof LongNumericGenerator) {
+            builder.append(((LongNumericGenerator) this.numericGenerator).getNextLong());
+        } else {
+            builder.append(this.numericGenerator.getNextNumberAsString());
+        }
+        builder.append('-');
+        return this.randomStringGenerator.appendNewString(builder).append(this.suffix).toString();
     }
 
     /**
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.authentication.principal.Service;
@@ -353,4 +354,98 @@ public class TicketGrantingTicketImplTests {
 
         assertEquals(2, t.getServices().size());
     }
+
+    @Test
+    public void verifyRepeatedGrantsToSameServiceAreCompacted() {
+        final TicketGrantingTicketImpl t = new TicketGrantingTicketImpl(TGT_ID, null, null,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final List<String> ticketIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ticketIds.add(t.grantServiceTicket(
+                    ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+                    RegisteredServiceTestUtils.getService(),
+                    new NeverExpiresExpirationPolicy(),
+                    false,
+                    false).getId());
+        }
+        final Map<String, Service> services = t.getServices();
+        assertEquals(3, services.size());
+        assertTrue(services.keySet().containsAll(ticketIds));
+        assertSame(services.get(ticketIds.get(0)), services.get(ticketIds.get(2)));
+
+        assertEquals(services.keySet(), SerializationUtils.clone(t).getServices().keySet());
+    }
+
+    @Test
+    public void verifyGrantsToSameServicePathAreCompacted() {
+        final TicketGrantingTicketImpl t = new TicketGrantingTicketImpl(TGT_ID, null, null,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final List<String> ticketIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ticketIds.add(t.grantServiceTicket(
+                    ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+                    RegisteredServiceTestUtils.getService("https://portal.example.org/widget?id=" + i),
+                    new NeverExpiresExpirationPolicy(),
+                    false,
+                    false,
+                    1).getId());
+        }
+        final Map<String, Service> services = t.getServices();
+        assertEquals(2, services.size());
+        assertFalse(services.containsKey(ticketIds.get(0)));
+        assertSame(services.get(ticketIds.get(1)), services.get(ticketIds.get(2)));
+    }
+
+    @Test
+    public void verifyCompactedSessionsAreCapped() {
+        final TicketGrantingTicket t = new TicketGrantingTicketImpl(TGT_ID, null, null,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final String otherTicketId = t.grantServiceTicket(
+                ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+                RegisteredServiceTestUtils.getService2(),
+                new NeverExpiresExpirationPolicy(),
+                false,
+                false,
+                3).getId();
+        String lastTicketId = null;
+        for (int i = 0; i < 5; i++) {
+            lastTicketId = t.grantServiceTicket(
+                    ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+                    RegisteredServiceTestUtils.getService(),
+                    new NeverExpiresExpirationPolicy(),
+                    false,
+                    false,
+                    1).getId();
+        }
+        final Map<String, Service> services = t.getServices();
+        assertEquals(3, services.size());
+        assertTrue(services.containsKey(otherTicketId));
+        assertTrue(services.containsKey(lastTicketId));
+    }
+
+    @Test
+    public void verifyConcurrentRemovalsAreNotUndoneByMerge() {
+        final TicketGrantingTicketImpl stored = new TicketGrantingTicketImpl(TGT_ID, null, null,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final String removedTicketId = stored.grantServiceTicket(ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+                RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, false).getId();
+        stored.getProxyGrantingTickets().put("PGT-1", RegisteredServiceTestUtils.getService());
+        stored.markStored();
+
+        final TicketGrantingTicketImpl first = SerializationUtils.clone(stored);
+        final TicketGrantingTicketImpl second = SerializationUtils.clone(stored);
+
+        first.getProxyGrantingTickets().remove("PGT-1");
+        first.removeAllServices();
+
+        second.getProxyGrantingTickets().put("PGT-2", RegisteredServiceTestUtils.getService2());
+        final String addedTicketId = second.grantServiceTicket(ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+                RegisteredServiceTestUtils.getService2(), new NeverExpiresExpirationPolicy(), false, false).getId();
+
+        second.mergeConcurrentUpdate(first);
+        assertFalse(second.getProxyGrantingTickets().containsKey("PGT-1"));
+        assertTrue(second.getProxyGrantingTickets().containsKey("PGT-2"));
+        assertFalse(second.getServices().containsKey(removedTicketId));
+        assertTrue(second.getServices().containsKey(addedTicketId));
+    }
 }
@@ -4,6 +4,7 @@ import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.authentication.HttpBasedServiceCredential;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.http.HttpClient;
 import org.apereo.cas.util.http.SimpleHttpClientFactoryBean;
 import org.junit.Before;
 import org.junit.Test;
@@ -11,6 +12,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -62,4 +65,21 @@ public class Cas20ProxyHandlerTests {
         assertNull(this.handler.handle(new HttpBasedServiceCredential(new URL("http://www.rutgers.edu"),
                 CoreAuthenticationTestUtils.getRegisteredService("https://some.app.edu")), proxyGrantingTicket));
     }
+
+    @Test
+    public void verifySlowProxyCallbackIsAbandoned() throws Exception {
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        final HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.isValidEndPointAsync(any(URL.class))).thenReturn(result);
+        when(httpClient.isValidEndPoint(any(URL.class), anyLong())).thenCallRealMethod();
+        this.handler = new Cas20ProxyHandler(httpClient, new DefaultUniqueTicketIdGenerator(), 100);
+
+        assertNull(this.handler.handle(new HttpBasedServiceCredential(new URL("https://www.example.org/"),
+                CoreAuthenticationTestUtils.getRegisteredService("https://some.app.edu")), proxyGrantingTicket));
+        assertTrue(result.isCancelled());
+
+        final Map<String, Object> stats = (Map<String, Object>) this.handler.getStatistics().get("https://some.app.edu");
+        assertEquals(1L, stats.get("count"));
+        assertEquals(1L, stats.get("failures"));
+    }
 }
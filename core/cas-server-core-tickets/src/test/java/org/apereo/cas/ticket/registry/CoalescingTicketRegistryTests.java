@@ -0,0 +1,109 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CoalescingTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CoalescingTicketRegistryTests {
+    private static final String TGT_ID = "TGT-1";
+    private static final int READERS = 5;
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private CountDownLatch fetching;
+    private CountDownLatch release;
+    private CoalescingTicketRegistry registry;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        this.fetching = new CountDownLatch(1);
+        this.release = new CountDownLatch(1);
+        this.executor = Executors.newFixedThreadPool(READERS);
+        this.registry = new CoalescingTicketRegistry(new DefaultTicketRegistry() {
+            @Override
+            public Ticket getTicket(final String ticketId) {
+                reads.incrementAndGet();
+                fetching.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getTicket(ticketId);
+            }
+        });
+        this.registry.getDelegate().addTicket(new TicketGrantingTicketImpl(TGT_ID,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+    }
+
+    @After
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void verifyConcurrentReadsShareOneFetch() throws Exception {
+        final List<Future<TicketGrantingTicket>> results = new ArrayList<>();
+        results.add(this.executor.submit(() -> this.registry.getTicket(TGT_ID, TicketGrantingTicket.class)));
+        assertTrue(this.fetching.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < READERS; i++) {
+            results.add(this.executor.submit(() -> this.registry.getTicket(TGT_ID, TicketGrantingTicket.class)));
+        }
+        waitForCoalescedReads(READERS - 1);
+        this.release.countDown();
+
+        final TicketGrantingTicket ticket = results.get(0).get(5, TimeUnit.SECONDS);
+        assertNotNull(ticket);
+        for (final Future<TicketGrantingTicket> result : results) {
+            assertSame(ticket, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, this.reads.get());
+        assertEquals((long) READERS, this.registry.getStatistics().get("reads"));
+        assertEquals(1L, this.registry.getStatistics().get("fetches"));
+        assertEquals(0, this.registry.getStatistics().get("inFlight"));
+    }
+
+    @Test
+    public void verifyReadAfterUpdateDoesNotShareEarlierFetch() throws Exception {
+        final Future<Ticket> first = this.executor.submit(() -> this.registry.getTicket(TGT_ID));
+        assertTrue(this.fetching.await(5, TimeUnit.SECONDS));
+        this.registry.updateTicket(this.registry.getDelegate().getTickets().iterator().next());
+
+        final Future<Ticket> second = this.executor.submit(() -> this.registry.getTicket(TGT_ID));
+        this.release.countDown();
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        assertNotNull(second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, this.reads.get());
+        assertEquals(0L, this.registry.getStatistics().get("coalesced"));
+    }
+
+    private void waitForCoalescedReads(final long count) throws InterruptedException {
+        for (int i = 0; i < 50 && (long) this.registry.getStatistics().get("coalesced") < count; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(count, this.registry.getStatistics().get("coalesced"));
+    }
+}
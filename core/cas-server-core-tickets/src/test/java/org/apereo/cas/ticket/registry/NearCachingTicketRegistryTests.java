@@ -0,0 +1,125 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationChannel;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationMessage;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link NearCachingTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class NearCachingTicketRegistryTests {
+    private static final String TGT_ID = "TGT-1";
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private TicketRegistry sharedRegistry;
+    private TicketCacheInvalidationChannel channel;
+
+    @Before
+    public void setUp() {
+        this.reads.set(0);
+        this.sharedRegistry = new DefaultTicketRegistry() {
+            @Override
+            public Ticket getTicket(final String ticketId) {
+                reads.incrementAndGet();
+                return super.getTicket(ticketId);
+            }
+        };
+        this.channel = new InMemoryTicketCacheInvalidationChannel();
+    }
+
+    @Test
+    public void verifyTicketGrantingTicketIsReadOnce() {
+        final NearCachingTicketRegistry registry = new NearCachingTicketRegistry(this.sharedRegistry, this.channel, 100, 60_000);
+        registry.addTicket(newTicketGrantingTicket());
+        this.sharedRegistry.getTicket(TGT_ID);
+        this.reads.set(0);
+
+        final NearCachingTicketRegistry other = new NearCachingTicketRegistry(this.sharedRegistry, this.channel, 100, 60_000);
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(other.getTicket(TGT_ID, TicketGrantingTicket.class));
+        }
+        assertEquals(1, this.reads.get());
+        assertEquals(4L, other.getStatistics().get("hits"));
+    }
+
+    @Test
+    public void verifyUpdateInvalidatesOtherNodes() {
+        final NearCachingTicketRegistry first = new NearCachingTicketRegistry(this.sharedRegistry, this.channel, 100, 60_000);
+        final NearCachingTicketRegistry second = new NearCachingTicketRegistry(this.sharedRegistry, this.channel, 100, 60_000);
+        first.addTicket(newTicketGrantingTicket());
+        assertNotNull(second.getTicket(TGT_ID));
+
+        final TicketGrantingTicket tgt = first.getTicket(TGT_ID, TicketGrantingTicket.class);
+        final ServiceTicket st = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true);
+        first.addTicket(st);
+        first.updateTicket(tgt);
+        assertEquals(1L, second.getStatistics().get("staleEntriesEvicted"));
+
+        this.reads.set(0);
+        assertNotNull(second.getTicket(TGT_ID));
+        assertEquals(1, this.reads.get());
+    }
+
+    @Test
+    public void verifyDeleteInvalidatesOtherNodes() {
+        final NearCachingTicketRegistry first = new NearCachingTicketRegistry(this.sharedRegistry, this.channel, 100, 60_000);
+        final NearCachingTicketRegistry second = new NearCachingTicketRegistry(this.sharedRegistry, this.channel, 100, 60_000);
+        first.addTicket(newTicketGrantingTicket());
+        assertNotNull(second.getTicket(TGT_ID));
+
+        assertEquals(1, first.deleteTicket(TGT_ID));
+        assertNull(second.getTicket(TGT_ID));
+    }
+
+    @Test
+    public void verifyUpdateInvalidatesLocalCopyWithoutReading() {
+        final NearCachingTicketRegistry registry = new NearCachingTicketRegistry(this.sharedRegistry, this.channel, 100, 60_000);
+        registry.addTicket(newTicketGrantingTicket());
+        final TicketGrantingTicket tgt = registry.getTicket(TGT_ID, TicketGrantingTicket.class);
+
+        this.reads.set(0);
+        registry.updateTicket(tgt);
+        assertEquals(0, this.reads.get());
+
+        assertNotNull(registry.getTicket(TGT_ID));
+        assertEquals(1, this.reads.get());
+    }
+
+    private static TicketGrantingTicket newTicketGrantingTicket() {
+        return new TicketGrantingTicketImpl(TGT_ID, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+
+    private static class InMemoryTicketCacheInvalidationChannel implements TicketCacheInvalidationChannel {
+        private final List<Consumer<TicketCacheInvalidationMessage>> consumers = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(final TicketCacheInvalidationMessage message) {
+            this.consumers.forEach(c -> c.accept(message));
+        }
+
+        @Override
+        public void subscribe(final Consumer<TicketCacheInvalidationMessage> consumer) {
+            this.consumers.add(consumer);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.TicketState;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -65,6 +66,16 @@ public class MultiTimeUseOrTimeoutExpirationPolicyTests {
         assertTrue(this.ticket.isExpired());
     }
 
+    @Test
+    public void verifyNextExpirationTime() {
+        assertEquals(this.ticket.getLastTimeUsed().plusSeconds(TIMEOUT_SECONDS),
+                this.expirationPolicy.getNextExpirationTime((TicketState) this.ticket));
+        IntStream.range(0, NUMBER_OF_USES)
+                .forEach(i -> this.ticket.grantServiceTicket("test", RegisteredServiceTestUtils.getService(),
+                        new NeverExpiresExpirationPolicy(), false, true));
+        assertEquals(this.ticket.getLastTimeUsed(), this.expirationPolicy.getNextExpirationTime((TicketState) this.ticket));
+    }
+
     @Test
     public void verifySerializeATimeoutExpirationPolicyToJson() throws IOException {
         MAPPER.writeValue(JSON_FILE, expirationPolicy);
@@ -67,6 +67,19 @@ public class RememberMeDelegatingExpirationPolicyTests {
         assertFalse(t.isExpired());
     }
 
+    @Test
+    public void verifyNextExpirationTimeDelegates() {
+        final Authentication authentication = CoreAuthenticationTestUtils.getAuthentication(
+                this.principalFactory.createPrincipal("test"),
+                Collections.singletonMap(
+                        RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME, true));
+        final TicketGrantingTicketImpl t = new TicketGrantingTicketImpl("111", authentication, this.p);
+        assertEquals(t.getLastTimeUsed().plusSeconds(20000), this.p.getNextExpirationTime(t));
+        t.grantServiceTicket("55", RegisteredServiceTestUtils.getService(), this.p, false, true);
+        assertEquals(t.getLastTimeUsed(), this.p.getNextExpirationTime(t));
+        assertEquals(t.getLastTimeUsed(), t.getNextExpirationTime());
+    }
+
     @Test
     public void verifySerializeATimeoutExpirationPolicyToJson() throws IOException {
         MAPPER.writeValue(JSON_FILE, p);
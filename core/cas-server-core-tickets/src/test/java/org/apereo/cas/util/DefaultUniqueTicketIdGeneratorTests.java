@@ -2,6 +2,10 @@ package org.apereo.cas.util;
 
 import org.junit.Test;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
 import static org.junit.Assert.*;
 
 /**
@@ -35,4 +39,13 @@ public class DefaultUniqueTicketIdGeneratorTests {
         final String ticketId = generator.getNewTicketId("test");
         assertEquals(lengthWithoutSuffix, ticketId.length());
     }
+
+    @Test
+    public void verifyConcurrentGenerationOfTicketIds() {
+        final DefaultUniqueTicketIdGenerator generator = new DefaultUniqueTicketIdGenerator(12, "suffix");
+        final Set<String> ticketIds = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 1000).parallel().forEach(i -> ticketIds.add(generator.getNewTicketId("ST")));
+        assertEquals(1000, ticketIds.size());
+        ticketIds.forEach(id -> assertTrue(id, id.matches("ST-\\d+-[A-Za-z0-9_-]{16}-suffix")));
+    }
 }
@@ -0,0 +1,187 @@
+package org.apereo.cas.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link GroovyScriptCache} that holds on to compiled groovy scripts
+ * so they are not recompiled on every execution. Inline scripts are keyed by a hash
+ * of their content; script files are keyed by their path and are recompiled
+ * once their last-modified timestamp changes. Execution times are recorded per script, for a bounded
+ * number of scripts; statistics of the least recently executed scripts are dropped first.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+final class GroovyScriptCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroovyScriptCache.class);
+
+    private static final long MAXIMUM_INLINE_SCRIPTS = 1000;
+
+    private static final long MAXIMUM_SCRIPT_STATISTICS = 1000;
+
+    private final Cache<String, Class<? extends Script>> inlineScripts = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_INLINE_SCRIPTS)
+            .build();
+
+    private final ConcurrentMap<String, CompiledScriptFile> scriptFiles = new ConcurrentHashMap<>();
+
+    private final Cache<String, ScriptStatistics> statistics = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SCRIPT_STATISTICS)
+            .build();
+
+    /**
+     * Gets the compiled class for the inline script, compiling it on first request.
+     *
+     * @param script the script
+     * @return the script class
+     */
+    public Class<? extends Script> getInlineScript(final String script) {
+        return this.inlineScripts.get(getInlineScriptKey(script), k -> {
+            LOGGER.debug("Compiling inline groovy script [{}]", k);
+            return new GroovyShell().parse(script).getClass();
+        });
+    }
+
+    /**
+     * Gets the compiled class for the script file, compiling it on first request
+     * or when the file has been modified since it was last compiled.
+     *
+     * @param groovyFile the groovy file
+     * @param parent     the parent class loader
+     * @return the script class
+     * @throws Exception the exception
+     */
+    public Class<?> getScriptFile(final File groovyFile, final ClassLoader parent) throws Exception {
+        final String key = groovyFile.getCanonicalPath();
+        final long lastModified = groovyFile.lastModified();
+        final CompiledScriptFile compiled = this.scriptFiles.get(key);
+        if (compiled != null && compiled.getLastModified() == lastModified) {
+            return compiled.getScriptClass();
+        }
+        try {
+            return this.scriptFiles.compute(key, (k, current) -> {
+                if (current != null && current.getLastModified() == lastModified) {
+                    return current;
+                }
+                LOGGER.debug("Compiling groovy script [{}]", k);
+                try (GroovyClassLoader loader = new GroovyClassLoader(parent)) {
+                    return new CompiledScriptFile(loader.parseClass(groovyFile), lastModified);
+                } catch (final Exception e) {
+                    throw new ScriptCompilationException(e);
+                }
+            }).getScriptClass();
+        } catch (final ScriptCompilationException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    /**
+     * Record the execution of a script.
+     *
+     * @param name    the script name
+     * @param elapsed the elapsed time in nanoseconds
+     * @param failed  whether the execution failed
+     */
+    public void recordExecution(final String name, final long elapsed, final boolean failed) {
+        this.statistics.get(name, k -> new ScriptStatistics()).record(elapsed, failed);
+    }
+
+    /**
+     * Collect execution statistics, keyed by script name.
+     *
+     * @return the map
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        this.statistics.cleanUp();
+        final Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        this.statistics.asMap().forEach((name, s) -> stats.put(name, s.toMap()));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Remove all compiled scripts and statistics.
+     */
+    public void clear() {
+        this.inlineScripts.invalidateAll();
+        this.scriptFiles.clear();
+        this.statistics.invalidateAll();
+    }
+
+    /**
+     * Gets the key that identifies an inline script.
+     *
+     * @param script the script
+     * @return the key
+     */
+    public static String getInlineScriptKey(final String script) {
+        return "inline:" + DigestUtils.sha256(script);
+    }
+
+    private static final class CompiledScriptFile {
+        private final Class<?> scriptClass;
+        private final long lastModified;
+
+        CompiledScriptFile(final Class<?> scriptClass, final long lastModified) {
+            this.scriptClass = scriptClass;
+            this.lastModified = lastModified;
+        }
+
+        Class<?> getScriptClass() {
+            return this.scriptClass;
+        }
+
+        long getLastModified() {
+            return this.lastModified;
+        }
+    }
+
+    private static final class ScriptStatistics {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final AtomicLong maxTime = new AtomicLong();
+
+        void record(final long elapsed, final boolean failed) {
+            this.executions.increment();
+            if (failed) {
+                this.failures.increment();
+            }
+            this.totalTime.add(elapsed);
+            this.maxTime.accumulateAndGet(elapsed, Math::max);
+        }
+
+        Map<String, Object> toMap() {
+            final long count = this.executions.sum();
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("executions", count);
+            stats.put("failures", this.failures.sum());
+            stats.put("averageTime", count == 0 ? 0D : (double) TimeUnit.NANOSECONDS.toMicros(this.totalTime.sum()) / count / 1000D);
+            stats.put("maxTime", TimeUnit.NANOSECONDS.toMillis(this.maxTime.get()));
+            return stats;
+        }
+    }
+
+    private static final class ScriptCompilationException extends RuntimeException {
+        private static final long serialVersionUID = -5321405207440453270L;
+
+        ScriptCompilationException(final Exception cause) {
+            super(cause);
+        }
+    }
+}
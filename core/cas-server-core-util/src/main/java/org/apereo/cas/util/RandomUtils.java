@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
 
 /**
  * This is {@link RandomUtils}
@@ -17,6 +18,17 @@ import java.security.SecureRandom;
 public final class RandomUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(RandomUtils.class);
 
+    private static final int SEED_LENGTH = 32;
+
+    /**
+     * Number of random bytes a thread-local instance produces before it is reseeded from the native source.
+     */
+    private static final long RESEED_INTERVAL = 64 * 1024;
+
+    private static final SecureRandom SEED_SOURCE = getInstanceNative();
+
+    private static final ThreadLocal<SecureRandom> THREAD_LOCAL_INSTANCE = ThreadLocal.withInitial(RandomUtils::newSeededInstance);
+
     private RandomUtils() {
     }
 
@@ -34,5 +46,78 @@ public final class RandomUtils {
             return new SecureRandom();
         }
     }
-    
+
+    /**
+     * Get a strong SecureRandom instance that is only used by the calling thread,
+     * so that threads generating random values do not contend for a shared instance.
+     * Each instance is seeded from the native source when the thread first asks for it, and the native
+     * source is mixed in again every {@value #RESEED_INTERVAL} bytes, so that a long-lived thread does
+     * not keep drawing from the same seed indefinitely.
+     *
+     * @return the instance of the calling thread
+     */
+    public static SecureRandom getThreadLocalInstance() {
+        return THREAD_LOCAL_INSTANCE.get();
+    }
+
+    private static SecureRandom newSeededInstance() {
+        try {
+            final SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+            random.setSeed(SEED_SOURCE.generateSeed(SEED_LENGTH));
+            return new ReseedingSecureRandom(random);
+        } catch (final NoSuchAlgorithmException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return getInstanceNative();
+        }
+    }
+
+    /**
+     * Secure random that periodically supplements the seed of the instance it wraps.
+     */
+    private static final class ReseedingSecureRandom extends SecureRandom {
+        private static final long serialVersionUID = -4468317582637253153L;
+
+        private final SecureRandom delegate;
+
+        ReseedingSecureRandom(final SecureRandom delegate) {
+            super(new ReseedingSecureRandomSpi(delegate), delegate.getProvider());
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return this.delegate.getAlgorithm();
+        }
+    }
+
+    private static final class ReseedingSecureRandomSpi extends SecureRandomSpi {
+        private static final long serialVersionUID = 2722403963580329574L;
+
+        private final SecureRandom delegate;
+        private long generated;
+
+        ReseedingSecureRandomSpi(final SecureRandom delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        protected void engineSetSeed(final byte[] seed) {
+            this.delegate.setSeed(seed);
+        }
+
+        @Override
+        protected void engineNextBytes(final byte[] bytes) {
+            if (this.generated >= RESEED_INTERVAL) {
+                this.delegate.setSeed(SEED_SOURCE.generateSeed(SEED_LENGTH));
+                this.generated = 0;
+            }
+            this.delegate.nextBytes(bytes);
+            this.generated += bytes.length;
+        }
+
+        @Override
+        protected byte[] engineGenerateSeed(final int numBytes) {
+            return this.delegate.generateSeed(numBytes);
+        }
+    }
 }
@@ -1,20 +1,18 @@
 package org.apereo.cas.util;
 
 import groovy.lang.Binding;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
-import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import org.apache.commons.lang3.StringUtils;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.Resource;
 
-import javax.script.Bindings;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
-import javax.script.SimpleBindings;
 import java.io.File;
 import java.io.FileReader;
 import java.security.AccessController;
@@ -42,6 +40,8 @@ public final class ScriptingUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ScriptingUtils.class);
 
+    private static final GroovyScriptCache SCRIPT_CACHE = new GroovyScriptCache();
+
     private ScriptingUtils() {
     }
 
@@ -95,17 +95,60 @@ public final class ScriptingUtils {
      */
     public static <T> T executeGroovyShellScript(final String script,
                                                  final Map<String, Object> variables) {
+        final Class<? extends Script> scriptClass = parseGroovyShellScript(script);
+        if (scriptClass == null) {
+            return null;
+        }
+        return executeGroovyShellScript(scriptClass, variables);
+    }
+
+    /**
+     * Parse groovy shell script into a script class
+     * that can be executed repeatedly without recompilation.
+     * Compiled scripts are cached by content, so parsing the same script again is cheap.
+     *
+     * @param script the script
+     * @return the script class, or null if the script cannot be compiled
+     */
+    public static Class<? extends Script> parseGroovyShellScript(final String script) {
+        try {
+            return SCRIPT_CACHE.getInlineScript(script);
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Execute a previously parsed groovy shell script.
+     * A new script instance is created per execution, so the same script
+     * class may be safely executed by concurrent threads.
+     *
+     * @param <T>         the type parameter
+     * @param scriptClass the script class
+     * @param variables   the variables
+     * @return the t
+     */
+    public static <T> T executeGroovyShellScript(final Class<? extends Script> scriptClass,
+                                                 final Map<String, Object> variables) {
         try {
             final Binding binding = new Binding();
-            final GroovyShell shell = new GroovyShell(binding);
             if (variables != null && !variables.isEmpty()) {
                 variables.forEach(binding::setVariable);
             }
             if (!binding.hasVariable("logger")) {
                 binding.setVariable("logger", LOGGER);
             }
-            LOGGER.debug("Executing groovy script [{}] with variables [{}]", script, binding.getVariables());
-            return (T) shell.evaluate(script);
+            LOGGER.debug("Executing groovy script [{}] with variables [{}]", scriptClass.getName(), binding.getVariables());
+            final long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                final T result = (T) InvokerHelper.createScript(scriptClass, binding).run();
+                failed = false;
+                return result;
+            } finally {
+                SCRIPT_CACHE.recordExecution(scriptClass.getName(), System.nanoTime() - start, failed);
+            }
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
@@ -182,16 +225,24 @@ public final class ScriptingUtils {
 
     private static <T> T getGroovyResult(final Resource groovyScript, final String methodName,
                                          final Object[] args, final Class<T> clazz, final ClassLoader parent) {
-        try (GroovyClassLoader loader = new GroovyClassLoader(parent)) {
+        try {
             final File groovyFile = groovyScript.getFile();
             if (groovyFile.exists()) {
-                final Class<?> groovyClass = loader.parseClass(groovyFile);
+                final Class<?> groovyClass = SCRIPT_CACHE.getScriptFile(groovyFile, parent);
                 LOGGER.trace("Creating groovy object instance from class [{}]", groovyFile.getCanonicalPath());
 
                 final GroovyObject groovyObject = (GroovyObject) groovyClass.newInstance();
 
                 LOGGER.trace("Executing groovy script's [{}] method, with parameters [{}]", methodName, args);
-                final T result = (T) groovyObject.invokeMethod(methodName, args);
+                final long start = System.nanoTime();
+                boolean failed = true;
+                final T result;
+                try {
+                    result = (T) groovyObject.invokeMethod(methodName, args);
+                    failed = false;
+                } finally {
+                    SCRIPT_CACHE.recordExecution(groovyFile.getCanonicalPath() + '#' + methodName, System.nanoTime() - start, failed);
+                }
                 LOGGER.trace("Results returned by the groovy script are [{}]", result);
 
                 if (result != null && !clazz.isAssignableFrom(result.getClass())) {
@@ -207,8 +258,28 @@ public final class ScriptingUtils {
         return null;
     }
 
+    /**
+     * Collect execution statistics of groovy scripts, keyed by script name.
+     * Inline scripts are named after their compiled class, and script files
+     * after their path and the method that was invoked.
+     *
+     * @return the map
+     */
+    public static Map<String, Map<String, Object>> getGroovyScriptStatistics() {
+        return SCRIPT_CACHE.getStatistics();
+    }
+
+    /**
+     * Remove all compiled groovy scripts and their statistics.
+     */
+    public static void clearGroovyScriptCache() {
+        SCRIPT_CACHE.clear();
+    }
+
     /**
      * Execute groovy script engine t.
+     * Groovy script files are compiled once and cached, as is done for {@link #executeGroovyScript(Resource, Object[], Class)};
+     * other scripts are evaluated by their script engine on every execution.
      *
      * @param <T>        the type parameter
      * @param scriptFile the script file
@@ -218,6 +289,9 @@ public final class ScriptingUtils {
     public static <T> T executeGroovyScriptEngine(final String scriptFile, final Object[] args) {
         try {
             final String engineName = getScriptEngineName(scriptFile);
+            if ("groovy".equals(engineName)) {
+                return (T) executeGroovyScript(ResourceUtils.getResourceFrom(scriptFile), "run", args, Object.class);
+            }
             final ScriptEngine engine = new ScriptEngineManager().getEngineByName(engineName);
             if (engine == null || StringUtils.isBlank(engineName)) {
                 LOGGER.warn("Script engine is not available for [{}]", engineName);
@@ -229,13 +303,18 @@ public final class ScriptingUtils {
             if (theScriptFile.exists()) {
                 LOGGER.debug("Created object instance from class [{}]", theScriptFile.getCanonicalPath());
 
-                engine.eval(new FileReader(theScriptFile));
-                final Invocable invocable = (Invocable) engine;
-
                 LOGGER.debug("Executing script's run method, with parameters [{}]", args);
-                final T result = (T) invocable.invokeFunction("run", args);
-                LOGGER.debug("Groovy script result is [{}]", result);
-                return result;
+                final long start = System.nanoTime();
+                boolean failed = true;
+                try (FileReader reader = new FileReader(theScriptFile)) {
+                    engine.eval(reader);
+                    final T result = (T) ((Invocable) engine).invokeFunction("run", args);
+                    failed = false;
+                    LOGGER.debug("Groovy script result is [{}]", result);
+                    return result;
+                } finally {
+                    SCRIPT_CACHE.recordExecution(theScriptFile.getCanonicalPath() + "#run", System.nanoTime() - start, failed);
+                }
             }
             LOGGER.warn("[{}] script [{}] does not exist, or cannot be loaded", StringUtils.capitalize(engineName), scriptFile);
         } catch (final Exception e) {
@@ -246,6 +325,7 @@ public final class ScriptingUtils {
 
     /**
      * Execute inline groovy script engine.
+     * The script is compiled once and cached, as is done for groovy shell scripts.
      *
      * @param <T>       the type parameter
      * @param script    the script
@@ -254,24 +334,7 @@ public final class ScriptingUtils {
      */
     public static <T> T executeGroovyScriptEngine(final String script,
                                                   final Map<String, Object> variables) {
-        try {
-            final ScriptEngine engine = new ScriptEngineManager().getEngineByName("groovy");
-            if (engine == null) {
-                LOGGER.warn("Script engine is not available for Groovy");
-                return null;
-            }
-            final Bindings binding = new SimpleBindings();
-            if (variables != null && !variables.isEmpty()) {
-                binding.putAll(variables);
-            }
-            if (!binding.containsKey("logger")) {
-                binding.put("logger", LOGGER);
-            }
-            return (T) engine.eval(script, binding);
-        } catch (final Exception e) {
-            LOGGER.error(e.getMessage(), e);
-        }
-        return null;
+        return executeGroovyShellScript(script, variables);
     }
 
     private static String getScriptEngineName(final String scriptFile) {
@@ -41,6 +41,11 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
 
     private byte[] encryptionSecretKey;
 
+    /**
+     * The cipher service is thread-safe and is reused across operations.
+     */
+    private final CipherService cipherService = new AesCipherService();
+
 
     /**
      * Instantiates a new cryptic ticket cipher executor.
@@ -67,8 +72,7 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
     public byte[] encode(final byte[] value) {
         try {
             final Key key = new SecretKeySpec(this.encryptionSecretKey, this.secretKeyAlgorithm);
-            final CipherService cipher = new AesCipherService();
-            final byte[] result = cipher.encrypt(value, key.getEncoded()).getBytes();
+            final byte[] result = this.cipherService.encrypt(value, key.getEncoded()).getBytes();
             return sign(result);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -81,8 +85,7 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         try {
             final byte[] verifiedValue = verifySignature(value);
             final Key key = new SecretKeySpec(this.encryptionSecretKey, this.secretKeyAlgorithm);
-            final CipherService cipher = new AesCipherService();
-            return cipher.decrypt(verifiedValue, key.getEncoded()).getBytes();
+            return this.cipherService.decrypt(verifiedValue, key.getEncoded()).getBytes();
         } catch (final Exception e) {
             throw new RuntimeException(e.getMessage(), e);
         }
@@ -4,6 +4,7 @@ import org.apereo.cas.util.RandomUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
 
 /**
  * This is {@link AbstractRandomStringGenerator}.
@@ -16,8 +17,14 @@ import java.security.SecureRandom;
  * @since 5.2.0
  */
 public abstract class AbstractRandomStringGenerator implements RandomStringGenerator{
-    /** An instance of secure random to ensure randomness is secure. */
-    protected final SecureRandom randomizer = RandomUtils.getInstanceNative();
+    /**
+     * An instance of secure random to ensure randomness is secure.
+     * Every call is passed on to {@link #getRandomizer()}, the instance of the calling thread.
+     *
+     * @deprecated Use {@link #getRandomizer()} instead; calls on this instance are serialized across threads.
+     */
+    @Deprecated
+    protected final SecureRandom randomizer = new DelegatingSecureRandom(new DelegatingSecureRandomSpi());
 
     /** Default string length before encoding. */
     protected final int defaultLength;
@@ -46,7 +53,17 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
 
     @Override
     public String getAlgorithm() {
-        return randomizer.getAlgorithm();
+        return getRandomizer().getAlgorithm();
+    }
+
+    /**
+     * Gets the secure random instance of the calling thread, to ensure randomness is secure
+     * without threads contending for a shared instance.
+     *
+     * @return the secure random
+     */
+    protected SecureRandom getRandomizer() {
+        return RandomUtils.getThreadLocalInstance();
     }
 
     /**
@@ -70,10 +87,27 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
         return getNewString(this.getDefaultLength());
     }
 
+    @Override
+    public StringBuilder appendNewString(final StringBuilder builder) {
+        return appendBytes(builder, getNewStringAsBytes());
+    }
+
+    /**
+     * Appends the converted bytes to the builder. Subclasses may override to encode
+     * the bytes directly into the builder.
+     *
+     * @param builder the builder
+     * @param random  raw bytes
+     * @return the builder
+     */
+    protected StringBuilder appendBytes(final StringBuilder builder, final byte[] random) {
+        return builder.append(convertBytesToString(random));
+    }
+
     @Override
     public byte[] getNewStringAsBytes(final int size) {
         final byte[] random = new byte[size];
-        this.randomizer.nextBytes(random);
+        getRandomizer().nextBytes(random);
         return random;
     }
 
@@ -81,4 +115,39 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
     public byte[] getNewStringAsBytes() {
         return this.getNewStringAsBytes(this.getDefaultLength());
     }
+
+    /**
+     * Secure random that passes every call on to the randomizer of the calling thread.
+     */
+    private final class DelegatingSecureRandom extends SecureRandom {
+        private static final long serialVersionUID = 6307361434823958405L;
+
+        DelegatingSecureRandom(final SecureRandomSpi spi) {
+            super(spi, null);
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return getRandomizer().getAlgorithm();
+        }
+    }
+
+    private final class DelegatingSecureRandomSpi extends SecureRandomSpi {
+        private static final long serialVersionUID = -2036224358112452385L;
+
+        @Override
+        protected void engineSetSeed(final byte[] seed) {
+            getRandomizer().setSeed(seed);
+        }
+
+        @Override
+        protected void engineNextBytes(final byte[] bytes) {
+            getRandomizer().nextBytes(bytes);
+        }
+
+        @Override
+        protected byte[] engineGenerateSeed(final int numBytes) {
+            return getRandomizer().generateSeed(numBytes);
+        }
+    }
 }
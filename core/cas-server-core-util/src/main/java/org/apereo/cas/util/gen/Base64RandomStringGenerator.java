@@ -1,7 +1,5 @@
 package org.apereo.cas.util.gen;
 
-import org.apereo.cas.util.EncodingUtils;
-
 /**
  * This is {@link Base64RandomStringGenerator}.
  *
@@ -14,6 +12,10 @@ import org.apereo.cas.util.EncodingUtils;
  */
 public class Base64RandomStringGenerator extends AbstractRandomStringGenerator {
 
+    private static final char[] URL_SAFE_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+    private static final int SEXTET = 0x3f;
+
     public Base64RandomStringGenerator() {
         super();
     }
@@ -28,8 +30,42 @@ public class Base64RandomStringGenerator extends AbstractRandomStringGenerator {
      * @param random raw bytes
      * @return a converted String
      */
+    @Override
     protected String convertBytesToString(final byte[] random) {
-        return EncodingUtils.encodeUrlSafeBase64(random);
+        return appendBytes(new StringBuilder(getEncodedLength(random.length)), random).toString();
     }
 
+    /**
+     * Encodes the bytes with the url safe base64 alphabet and without padding, directly into the builder.
+     *
+     * @param builder the builder
+     * @param random  raw bytes
+     * @return the builder
+     */
+    @Override
+    protected StringBuilder appendBytes(final StringBuilder builder, final byte[] random) {
+        builder.ensureCapacity(builder.length() + getEncodedLength(random.length));
+        int i = 0;
+        for (; i + 2 < random.length; i += 3) {
+            final int block = (random[i] & 0xff) << 16 | (random[i + 1] & 0xff) << 8 | random[i + 2] & 0xff;
+            builder.append(URL_SAFE_ALPHABET[block >>> 18 & SEXTET])
+                    .append(URL_SAFE_ALPHABET[block >>> 12 & SEXTET])
+                    .append(URL_SAFE_ALPHABET[block >>> 6 & SEXTET])
+                    .append(URL_SAFE_ALPHABET[block & SEXTET]);
+        }
+        final int remaining = random.length - i;
+        if (remaining > 0) {
+            final int block = (random[i] & 0xff) << 16 | (remaining == 2 ? (random[i + 1] & 0xff) << 8 : 0);
+            builder.append(URL_SAFE_ALPHABET[block >>> 18 & SEXTET])
+                    .append(URL_SAFE_ALPHABET[block >>> 12 & SEXTET]);
+            if (remaining == 2) {
+                builder.append(URL_SAFE_ALPHABET[block >>> 6 & SEXTET]);
+            }
+        }
+        return builder;
+    }
+
+    private static int getEncodedLength(final int length) {
+        return (length * 4 + 2) / 3;
+    }
 }
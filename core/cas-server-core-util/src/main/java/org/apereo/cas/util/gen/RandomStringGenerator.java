@@ -33,6 +33,16 @@ public interface RandomStringGenerator {
      */
     String getNewString();
 
+    /**
+     * Append a new random string of default initial size to the given builder.
+     *
+     * @param builder the builder
+     * @return the builder
+     */
+    default StringBuilder appendNewString(final StringBuilder builder) {
+        return builder.append(getNewString());
+    }
+
     /**
      * Gets the new string as bytes.
      *
@@ -1,6 +1,10 @@
 package org.apereo.cas.util.http;
 
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Define the behaviour of a HTTP client.
@@ -46,6 +50,64 @@ public interface HttpClient {
      */
     boolean isValidEndPoint(URL url);
 
+    /**
+     * Make a HTTP(S) call to ensure that the url is reachable, and give up on the call once the timeout elapses.
+     * By default, the call is made through {@link #isValidEndPointAsync(URL)} and cancelled if it does not complete in time.
+     *
+     * @param url     the url to call
+     * @param timeout the time in milliseconds to wait for the call to complete
+     * @return whether the url is valid, which is false if the call did not complete in time
+     */
+    default boolean isValidEndPoint(final URL url, final long timeout) {
+        final CompletableFuture<Boolean> result = isValidEndPointAsync(url);
+        try {
+            return result.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            result.cancel(true);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * Sends a message to a particular endpoint, and provides the outcome as a future.
+     * The future completes once the response is received, regardless of whether the message is asynchronous.
+     * By default, the request is executed on the calling thread and the returned future is already complete.
+     *
+     * @param message The message that should be sent to the http endpoint
+     * @return the future result, which is true if the message was accepted by the endpoint
+     */
+    default CompletableFuture<Boolean> sendMessageToEndPointAsync(final HttpMessage message) {
+        return CompletableFuture.completedFuture(sendMessageToEndPoint(message));
+    }
+
+    /**
+     * Contact the URL endpoint as a GET, and provide the resulting http message as a future.
+     * Implementations that execute requests without blocking complete the future once the response arrives.
+     * By default, the request is executed on the calling thread and the returned future is already complete.
+     *
+     * @param url the url
+     * @return the future http message, which is null if the response is not acceptable
+     */
+    default CompletableFuture<HttpMessage> sendMessageToEndPointAsync(final URL url) {
+        return CompletableFuture.completedFuture(sendMessageToEndPoint(url));
+    }
+
+    /**
+     * Make a HTTP(S) call to ensure that the url is reachable, and provide the outcome as a future.
+     * Implementations that execute requests without blocking complete the future once the response arrives.
+     * By default, the request is executed on the calling thread and the returned future is already complete.
+     *
+     * @param url the url to call
+     * @return the future result, which is true if the url is valid
+     */
+    default CompletableFuture<Boolean> isValidEndPointAsync(final URL url) {
+        return CompletableFuture.completedFuture(isValidEndPoint(url));
+    }
+
     /**
      * Gets wrapped http client.
      *
@@ -1,42 +1,67 @@
 package org.apereo.cas.util.http;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.FutureRequestExecutionService;
 import org.apache.http.impl.client.HttpRequestFutureTask;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
+import org.apereo.cas.StatisticsSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of CAS {@link HttpClient}
  * which delegates requests to a {@link #httpClient} instance.
+ * <p>
+ * When a non-blocking client is available, requests are executed by the non-blocking client instead,
+ * so that no thread is held while waiting for an endpoint to respond. Each request is then bound to an overall
+ * timeout, and requests to a host that keeps failing are rejected for a while by the circuit breaker of that host.
  *
  * @author Jerome Leleu
  * @author Scott Battaglia
  * @author Misagh Moayyed
  * @since 3.1
  */
-public class SimpleHttpClient implements HttpClient, Serializable, DisposableBean {
+public class SimpleHttpClient implements HttpClient, Serializable, DisposableBean, StatisticsSource {
 
     /**
      * Unique Id for serialization.
@@ -45,6 +70,10 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleHttpClient.class);
 
+    private static final int MAXIMUM_CIRCUIT_BREAKERS = 10_000;
+
+    private static final long CIRCUIT_BREAKER_IDLE_TIME_HOURS = 1;
+
     /**
      * the acceptable codes supported by this client.
      */
@@ -60,6 +89,37 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
      */
     private final FutureRequestExecutionService requestExecutorService;
 
+    /**
+     * the non-blocking HTTP client for this client, if any.
+     */
+    private final transient CloseableHttpAsyncClient asyncClient;
+
+    private final transient PoolingNHttpClientConnectionManager asyncConnectionManager;
+
+    private final long requestTimeout;
+
+    private final int circuitBreakerFailureThreshold;
+
+    private final long circuitBreakerDelay;
+
+    /**
+     * Circuit breakers per host. Hosts that are no longer contacted are forgotten after a while.
+     */
+    private final transient Cache<String, CircuitBreaker> circuitBreakers = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_CIRCUIT_BREAKERS)
+            .expireAfterAccess(CIRCUIT_BREAKER_IDLE_TIME_HOURS, TimeUnit.HOURS)
+            .build();
+
+    private final transient ScheduledThreadPoolExecutor timeoutScheduler;
+
+    private final transient LongAdder requests = new LongAdder();
+
+    private final transient LongAdder failed = new LongAdder();
+
+    private final transient LongAdder timedOut = new LongAdder();
+
+    private final transient LongAdder rejected = new LongAdder();
+
     /**
      * Instantiates a new Simple HTTP client, based on the provided inputs.
      *
@@ -69,20 +129,50 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
      */
     SimpleHttpClient(final List<Integer> acceptableCodes, final CloseableHttpClient httpClient,
                      final FutureRequestExecutionService requestExecutorService) {
+        this(acceptableCodes, httpClient, requestExecutorService, null, null, 0, 0, 0);
+    }
+
+    /**
+     * Instantiates a new Simple HTTP client, based on the provided inputs.
+     *
+     * @param acceptableCodes                the acceptable codes of the client
+     * @param httpClient                     the HTTP client used by the client
+     * @param requestExecutorService         the request executor service used by the client
+     * @param asyncClient                    the started non-blocking HTTP client, or null
+     * @param asyncConnectionManager         the connection manager of the non-blocking HTTP client
+     * @param requestTimeout                 the overall timeout of each non-blocking request in milliseconds
+     * @param circuitBreakerFailureThreshold the number of consecutive failures after which requests to a host are rejected
+     * @param circuitBreakerDelay            the time in milliseconds requests to a failing host are rejected for
+     */
+    SimpleHttpClient(final List<Integer> acceptableCodes, final CloseableHttpClient httpClient,
+                     final FutureRequestExecutionService requestExecutorService,
+                     final CloseableHttpAsyncClient asyncClient, final PoolingNHttpClientConnectionManager asyncConnectionManager,
+                     final long requestTimeout, final int circuitBreakerFailureThreshold, final long circuitBreakerDelay) {
         this.acceptableCodes = acceptableCodes.stream().sorted().collect(Collectors.toList());
         this.httpClient = httpClient;
         this.requestExecutorService = requestExecutorService;
+        this.asyncClient = asyncClient;
+        this.asyncConnectionManager = asyncConnectionManager;
+        this.requestTimeout = requestTimeout;
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+        this.circuitBreakerDelay = circuitBreakerDelay;
+        this.timeoutScheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("cas-http-client-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeoutScheduler.setRemoveOnCancelPolicy(true);
     }
 
     @Override
     public boolean sendMessageToEndPoint(final HttpMessage message) {
+        if (this.asyncClient != null) {
+            final CompletableFuture<Boolean> result = sendMessageToEndPointAsync(message);
+            return message.isAsynchronous() || await(result, message.getUrl(), Boolean.FALSE);
+        }
         try {
-            final HttpPost request = new HttpPost(message.getUrl().toURI());
-            request.addHeader("Content-Type", message.getContentType());
-
-            final StringEntity entity = new StringEntity(message.getMessage(), ContentType.create(message.getContentType()));
-            request.setEntity(entity);
-
+            final HttpPost request = createPostRequest(message);
             final ResponseHandler<Boolean> handler = response -> response.getStatusLine().getStatusCode() == HttpStatus.SC_OK;
             LOGGER.debug("Created HTTP post message payload [{}]", request);
             final HttpRequestFutureTask<Boolean> task = this.requestExecutorService.execute(request, HttpClientContext.create(), handler);
@@ -101,32 +191,17 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
 
     @Override
     public HttpMessage sendMessageToEndPoint(final URL url) {
-        HttpEntity entity = null;
-
+        if (this.asyncClient != null) {
+            return await(sendMessageToEndPointAsync(url), url, null);
+        }
         try (CloseableHttpResponse response = this.httpClient.execute(new HttpGet(url.toURI()))) {
-            final int responseCode = response.getStatusLine().getStatusCode();
-
-            for (final int acceptableCode : this.acceptableCodes) {
-                if (responseCode == acceptableCode) {
-                    LOGGER.debug("Response code received from server matched [{}].", responseCode);
-                    entity = response.getEntity();
-                    final HttpMessage msg = new HttpMessage(url, IOUtils.toString(entity.getContent(), StandardCharsets.UTF_8));
-                    msg.setContentType(entity.getContentType().getValue());
-                    msg.setResponseCode(responseCode);
-                    return msg;
-                }
-            }
-            LOGGER.warn("Response code [{}] from [{}] did not match any of the acceptable response codes.",
-                    responseCode, url);
-            if (responseCode == HttpStatus.SC_INTERNAL_SERVER_ERROR) {
-                final String value = response.getStatusLine().getReasonPhrase();
-                LOGGER.error("There was an error contacting the endpoint: [{}]; The error:\n[{}]", url.toExternalForm(),
-                        value);
+            try {
+                return toHttpMessage(url, response);
+            } finally {
+                EntityUtils.consumeQuietly(response.getEntity());
             }
         } catch (final Exception e) {
             LOGGER.error("Unable to send message", e);
-        } finally {
-            EntityUtils.consumeQuietly(entity);
         }
         return null;
     }
@@ -144,29 +219,244 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
 
     @Override
     public boolean isValidEndPoint(final URL url) {
-        HttpEntity entity = null;
-
+        if (this.asyncClient != null) {
+            return await(isValidEndPointAsync(url), url, Boolean.FALSE);
+        }
         try (CloseableHttpResponse response = this.httpClient.execute(new HttpGet(url.toURI()))) {
-            final int responseCode = response.getStatusLine().getStatusCode();
+            try {
+                return isAcceptable(url, response);
+            } finally {
+                EntityUtils.consumeQuietly(response.getEntity());
+            }
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return false;
+    }
 
-            final int idx = Collections.binarySearch(this.acceptableCodes, responseCode);
-            if (idx >= 0) {
-                LOGGER.debug("Response code from server matched [{}].", responseCode);
-                return true;
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Without a non-blocking client, the request is made on the calling thread and aborted once the timeout elapses.
+     */
+    @Override
+    public boolean isValidEndPoint(final URL url, final long timeout) {
+        if (timeout <= 0) {
+            return isValidEndPoint(url);
+        }
+        if (this.asyncClient != null) {
+            return HttpClient.super.isValidEndPoint(url, timeout);
+        }
+        final HttpGet request;
+        try {
+            request = new HttpGet(url.toURI());
+        } catch (final URISyntaxException e) {
+            LOGGER.error("Unable to build URI from [{}]", url, e);
+            return false;
+        }
+        final ScheduledFuture<?> abort = this.timeoutScheduler.schedule(() -> {
+            LOGGER.debug("Request to [{}] did not complete in [{}] ms and is aborted", url, timeout);
+            this.timedOut.increment();
+            request.abort();
+        }, timeout, TimeUnit.MILLISECONDS);
+        try (CloseableHttpResponse response = this.httpClient.execute(request)) {
+            try {
+                return isAcceptable(url, response);
+            } finally {
+                EntityUtils.consumeQuietly(response.getEntity());
             }
+        } catch (final Exception e) {
+            LOGGER.debug("Request to [{}] failed: [{}]", url, e.getMessage());
+        } finally {
+            abort.cancel(false);
+        }
+        return false;
+    }
 
-            LOGGER.debug("Response code did not match any of the acceptable response codes. Code returned was [{}]", responseCode);
+    @Override
+    public CompletableFuture<Boolean> sendMessageToEndPointAsync(final HttpMessage message) {
+        if (this.asyncClient == null) {
+            return HttpClient.super.sendMessageToEndPointAsync(message);
+        }
+        try {
+            return execute(createPostRequest(message), message.getUrl(),
+                    response -> response.getStatusLine().getStatusCode() == HttpStatus.SC_OK);
+        } catch (final Exception e) {
+            return failedFuture(e);
+        }
+    }
 
-            if (responseCode == HttpStatus.SC_INTERNAL_SERVER_ERROR) {
-                final String value = response.getStatusLine().getReasonPhrase();
-                LOGGER.error("There was an error contacting the endpoint: [{}]; The error was:\n[{}]", url.toExternalForm(), value);
+    @Override
+    public CompletableFuture<HttpMessage> sendMessageToEndPointAsync(final URL url) {
+        if (this.asyncClient == null) {
+            return HttpClient.super.sendMessageToEndPointAsync(url);
+        }
+        try {
+            return execute(new HttpGet(url.toURI()), url, response -> toHttpMessage(url, response));
+        } catch (final Exception e) {
+            return failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isValidEndPointAsync(final URL url) {
+        if (this.asyncClient == null) {
+            return HttpClient.super.isValidEndPointAsync(url);
+        }
+        try {
+            return execute(new HttpGet(url.toURI()), url, response -> isAcceptable(url, response));
+        } catch (final Exception e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Collect statistics on the connection pool and the requests of the non-blocking client.
+     *
+     * @return the map
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        if (this.asyncConnectionManager != null) {
+            final PoolStats pool = this.asyncConnectionManager.getTotalStats();
+            stats.put("leased", pool.getLeased());
+            stats.put("pending", pool.getPending());
+            stats.put("available", pool.getAvailable());
+            stats.put("max", pool.getMax());
+        }
+        stats.put("requests", this.requests.sum());
+        stats.put("failed", this.failed.sum());
+        stats.put("timedOut", this.timedOut.sum());
+        stats.put("rejected", this.rejected.sum());
+        stats.put("openCircuits", this.circuitBreakers.asMap().values().stream().filter(CircuitBreaker::isOpen).count());
+        return stats;
+    }
+
+    private <T> CompletableFuture<T> execute(final HttpUriRequest request, final URL url, final Function<HttpResponse, T> handler) {
+        final CircuitBreaker circuitBreaker = this.circuitBreakers.get(url.getAuthority(), k -> new CircuitBreaker());
+        if (!circuitBreaker.allowRequest()) {
+            this.rejected.increment();
+            return failedFuture(new IllegalStateException("Requests to " + url.getAuthority() + " are rejected until the host recovers"));
+        }
+        this.requests.increment();
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Future<HttpResponse> future = this.asyncClient.execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(final HttpResponse response) {
+                try {
+                    if (response.getStatusLine().getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                    result.complete(handler.apply(response));
+                } catch (final Exception e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                }
             }
 
-            entity = response.getEntity();
+            @Override
+            public void failed(final Exception e) {
+                SimpleHttpClient.this.failed.increment();
+                circuitBreaker.onFailure();
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                circuitBreaker.onFailure();
+                result.cancel(false);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        if (this.requestTimeout > 0) {
+            final ScheduledFuture<?> timeout = this.timeoutScheduler.schedule(() -> {
+                if (!result.isDone()) {
+                    LOGGER.debug("Request to [{}] did not complete in [{}] ms and is cancelled", url, this.requestTimeout);
+                    this.timedOut.increment();
+                    future.cancel(true);
+                }
+            }, this.requestTimeout, TimeUnit.MILLISECONDS);
+            result.whenComplete((value, error) -> timeout.cancel(false));
+        }
+        return result;
+    }
+
+    private <T> T await(final CompletableFuture<T> result, final URL url, final T defaultValue) {
+        try {
+            return result.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (final Exception e) {
-            LOGGER.error(e.getMessage(), e);
-        } finally {
-            EntityUtils.consumeQuietly(entity);
+            LOGGER.debug("Request to [{}] failed: [{}]", url, e.getMessage());
+        }
+        return defaultValue;
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(final Throwable e) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        result.completeExceptionally(e);
+        return result;
+    }
+
+    private static HttpPost createPostRequest(final HttpMessage message) throws Exception {
+        final HttpPost request = new HttpPost(message.getUrl().toURI());
+        request.addHeader("Content-Type", message.getContentType());
+
+        final StringEntity entity = new StringEntity(message.getMessage(), ContentType.create(message.getContentType()));
+        request.setEntity(entity);
+        return request;
+    }
+
+    private HttpMessage toHttpMessage(final URL url, final HttpResponse response) {
+        final int responseCode = response.getStatusLine().getStatusCode();
+
+        for (final int acceptableCode : this.acceptableCodes) {
+            if (responseCode == acceptableCode) {
+                LOGGER.debug("Response code received from server matched [{}].", responseCode);
+                final HttpEntity entity = response.getEntity();
+                try {
+                    final HttpMessage msg = new HttpMessage(url, IOUtils.toString(entity.getContent(), StandardCharsets.UTF_8));
+                    msg.setContentType(entity.getContentType().getValue());
+                    msg.setResponseCode(responseCode);
+                    return msg;
+                } catch (final IOException e) {
+                    LOGGER.error("Unable to read the response from [{}]", url, e);
+                    return null;
+                }
+            }
+        }
+        LOGGER.warn("Response code [{}] from [{}] did not match any of the acceptable response codes.",
+                responseCode, url);
+        if (responseCode == HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+            final String value = response.getStatusLine().getReasonPhrase();
+            LOGGER.error("There was an error contacting the endpoint: [{}]; The error:\n[{}]", url.toExternalForm(),
+                    value);
+        }
+        return null;
+    }
+
+    private boolean isAcceptable(final URL url, final HttpResponse response) {
+        final int responseCode = response.getStatusLine().getStatusCode();
+
+        final int idx = Collections.binarySearch(this.acceptableCodes, responseCode);
+        if (idx >= 0) {
+            LOGGER.debug("Response code from server matched [{}].", responseCode);
+            return true;
+        }
+
+        LOGGER.debug("Response code did not match any of the acceptable response codes. Code returned was [{}]", responseCode);
+
+        if (responseCode == HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+            final String value = response.getStatusLine().getReasonPhrase();
+            LOGGER.error("There was an error contacting the endpoint: [{}]; The error was:\n[{}]", url.toExternalForm(), value);
         }
         return false;
     }
@@ -178,10 +468,50 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
     @Override
     public void destroy() {
         IOUtils.closeQuietly(this.requestExecutorService);
+        IOUtils.closeQuietly(this.asyncClient);
+        this.timeoutScheduler.shutdownNow();
     }
 
     @Override
     public org.apache.http.client.HttpClient getWrappedHttpClient() {
         return this.httpClient;
     }
+
+    /**
+     * Counts the consecutive failures of requests to a host, and rejects requests to the host
+     * for a while once too many have failed. A single request is let through afterwards to probe the host.
+     */
+    private class CircuitBreaker {
+        private int failures;
+        private long openUntil;
+        private boolean probing;
+
+        synchronized boolean allowRequest() {
+            if (this.failures < circuitBreakerFailureThreshold || circuitBreakerFailureThreshold <= 0) {
+                return true;
+            }
+            if (System.currentTimeMillis() < this.openUntil || this.probing) {
+                return false;
+            }
+            this.probing = true;
+            return true;
+        }
+
+        synchronized boolean isOpen() {
+            return circuitBreakerFailureThreshold > 0 && this.failures >= circuitBreakerFailureThreshold;
+        }
+
+        synchronized void onSuccess() {
+            this.failures = 0;
+            this.probing = false;
+        }
+
+        synchronized void onFailure() {
+            this.failures++;
+            this.probing = false;
+            if (circuitBreakerFailureThreshold > 0 && this.failures >= circuitBreakerFailureThreshold) {
+                this.openUntil = System.currentTimeMillis() + circuitBreakerDelay;
+            }
+        }
+    }
 }
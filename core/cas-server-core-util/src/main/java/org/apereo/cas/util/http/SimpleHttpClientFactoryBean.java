@@ -28,12 +28,22 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.client.ProxyAuthenticationStrategy;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.ssl.SSLContexts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.FactoryBean;
 
 import javax.annotation.PreDestroy;
 import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.util.ArrayList;
@@ -67,6 +77,10 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
 
     private static final int DEFAULT_TIMEOUT = 5000;
 
+    private static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+
+    private static final long DEFAULT_CIRCUIT_BREAKER_DELAY = 30_000;
+
     /**
      * The default status codes we accept.
      */
@@ -180,6 +194,32 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
      */
     private ExecutorService executorService;
 
+    /**
+     * Determines whether requests should be executed by a non-blocking client.
+     */
+    private boolean nonBlocking;
+
+    /**
+     * The overall timeout of each request executed by the non-blocking client, in milliseconds.
+     */
+    private long requestTimeout = DEFAULT_TIMEOUT * 2;
+
+    /**
+     * The number of consecutive failures after which requests to a host are rejected by the non-blocking client.
+     * Zero or less disables the circuit breaker.
+     */
+    private int circuitBreakerFailureThreshold = DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+
+    /**
+     * The time, in milliseconds, requests to a failing host are rejected for by the non-blocking client.
+     */
+    private long circuitBreakerDelay = DEFAULT_CIRCUIT_BREAKER_DELAY;
+
+    /**
+     * The SSL context of the non-blocking client. The system default is used if none is set.
+     */
+    private SSLContext sslContext;
+
     @Override
     public SimpleHttpClient getObject() {
 
@@ -187,7 +227,15 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
 
         final FutureRequestExecutionService requestExecutorService = buildRequestExecutorService(httpClient);
 
-        return new SimpleHttpClient(this.acceptableCodes, httpClient, requestExecutorService);
+        if (!this.nonBlocking) {
+            return new SimpleHttpClient(this.acceptableCodes, httpClient, requestExecutorService);
+        }
+
+        final PoolingNHttpClientConnectionManager connectionManager = buildNonBlockingConnectionManager();
+        final CloseableHttpAsyncClient asyncClient = buildNonBlockingHttpClient(connectionManager);
+        asyncClient.start();
+        return new SimpleHttpClient(this.acceptableCodes, httpClient, requestExecutorService, asyncClient, connectionManager,
+                this.requestTimeout, this.circuitBreakerFailureThreshold, this.circuitBreakerDelay);
     }
 
     @Override
@@ -225,19 +273,9 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
             final HttpRoute httpRoute = new HttpRoute(httpHost);
             connMgmr.setMaxPerRoute(httpRoute, MAX_CONNECTIONS_PER_ROUTE);
 
-            final RequestConfig requestConfig = RequestConfig.custom()
-                    .setSocketTimeout(this.readTimeout)
-                    .setConnectTimeout((int) this.connectionTimeout)
-                    .setConnectionRequestTimeout((int) this.connectionTimeout)
-                    .setCircularRedirectsAllowed(this.circularRedirectsAllowed)
-                    .setRedirectsEnabled(this.redirectsEnabled)
-                    .setAuthenticationEnabled(this.authenticationEnabled)
-                    .build();
-
-
             final HttpClientBuilder builder = HttpClients.custom()
                     .setConnectionManager(connMgmr)
-                    .setDefaultRequestConfig(requestConfig)
+                    .setDefaultRequestConfig(buildRequestConfig())
                     .setSSLSocketFactory(sslsf)
                     .setSSLHostnameVerifier(this.hostnameVerifier)
                     .setRedirectStrategy(this.redirectionStrategy)
@@ -258,6 +296,66 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
         }
     }
 
+    /**
+     * Build the connection manager of the non-blocking HTTP client, with the same limits per route as the HTTP client.
+     *
+     * @return the connection manager
+     */
+    private PoolingNHttpClientConnectionManager buildNonBlockingConnectionManager() {
+        try {
+            final IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                    .setConnectTimeout((int) this.connectionTimeout)
+                    .setSoTimeout(this.readTimeout)
+                    .build();
+
+            final SSLContext context = this.sslContext == null ? SSLContexts.createSystemDefault() : this.sslContext;
+            final Registry<SchemeIOSessionStrategy> registry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                    .register("http", NoopIOSessionStrategy.INSTANCE)
+                    .register("https", new SSLIOSessionStrategy(context, this.hostnameVerifier))
+                    .build();
+
+            final PoolingNHttpClientConnectionManager connMgmr =
+                    new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig), registry);
+            connMgmr.setMaxTotal(this.maxPooledConnections);
+            connMgmr.setDefaultMaxPerRoute(this.maxConnectionsPerRoute);
+            return connMgmr;
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Build a non-blocking HTTP client based on the current properties.
+     *
+     * @param connectionManager the connection manager
+     * @return the non-blocking HTTP client, which is not yet started
+     */
+    private CloseableHttpAsyncClient buildNonBlockingHttpClient(final PoolingNHttpClientConnectionManager connectionManager) {
+        return HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(buildRequestConfig())
+                .setRedirectStrategy(this.redirectionStrategy)
+                .setDefaultCredentialsProvider(this.credentialsProvider)
+                .setDefaultCookieStore(this.cookieStore)
+                .setConnectionReuseStrategy(this.connectionReuseStrategy)
+                .setProxyAuthenticationStrategy(this.proxyAuthenticationStrategy)
+                .setDefaultHeaders(this.defaultHeaders)
+                .useSystemProperties()
+                .build();
+    }
+
+    private RequestConfig buildRequestConfig() {
+        return RequestConfig.custom()
+                .setSocketTimeout(this.readTimeout)
+                .setConnectTimeout((int) this.connectionTimeout)
+                .setConnectionRequestTimeout((int) this.connectionTimeout)
+                .setCircularRedirectsAllowed(this.circularRedirectsAllowed)
+                .setRedirectsEnabled(this.redirectsEnabled)
+                .setAuthenticationEnabled(this.authenticationEnabled)
+                .build();
+    }
+
     /**
      * Build a {@link FutureRequestExecutionService} from the current properties and a HTTP client.
      *
@@ -443,6 +541,46 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
         this.redirectsEnabled = redirectsEnabled;
     }
 
+    public boolean isNonBlocking() {
+        return this.nonBlocking;
+    }
+
+    public void setNonBlocking(final boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
+    public long getRequestTimeout() {
+        return this.requestTimeout;
+    }
+
+    public void setRequestTimeout(final long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return this.circuitBreakerFailureThreshold;
+    }
+
+    public void setCircuitBreakerFailureThreshold(final int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    public long getCircuitBreakerDelay() {
+        return this.circuitBreakerDelay;
+    }
+
+    public void setCircuitBreakerDelay(final long circuitBreakerDelay) {
+        this.circuitBreakerDelay = circuitBreakerDelay;
+    }
+
+    public SSLContext getSslContext() {
+        return this.sslContext;
+    }
+
+    public void setSslContext(final SSLContext sslContext) {
+        this.sslContext = sslContext;
+    }
+
     /**
      * Destroy.
      */
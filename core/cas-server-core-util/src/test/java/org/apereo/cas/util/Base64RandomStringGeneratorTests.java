@@ -4,6 +4,8 @@ import org.apereo.cas.util.gen.Base64RandomStringGenerator;
 import org.apereo.cas.util.gen.RandomStringGenerator;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 import static org.junit.Assert.*;
 
 /**
@@ -31,4 +33,27 @@ public class Base64RandomStringGeneratorTests {
         assertNotSame(this.randomStringGenerator.getNewString(),
             this.randomStringGenerator.getNewString());
     }
+
+    @Test
+    public void verifyEncodingMatchesUrlSafeBase64() {
+        final EncodingBase64RandomStringGenerator generator = new EncodingBase64RandomStringGenerator();
+        for (int size = 0; size < 20; size++) {
+            final byte[] random = generator.getNewStringAsBytes(size);
+            assertEquals(EncodingUtils.encodeUrlSafeBase64(random), generator.encode(random));
+            assertEquals(EncodingUtils.encodeUrlSafeBase64(random), generator.append(random));
+        }
+        final byte[] ones = new byte[5];
+        Arrays.fill(ones, (byte) -1);
+        assertEquals(EncodingUtils.encodeUrlSafeBase64(ones), generator.encode(ones));
+    }
+
+    private static class EncodingBase64RandomStringGenerator extends Base64RandomStringGenerator {
+        String encode(final byte[] random) {
+            return convertBytesToString(random);
+        }
+
+        String append(final byte[] random) {
+            return appendBytes(new StringBuilder(), random).toString();
+        }
+    }
 }
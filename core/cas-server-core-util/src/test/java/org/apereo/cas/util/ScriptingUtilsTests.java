@@ -0,0 +1,72 @@
+package org.apereo.cas.util;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ScriptingUtilsTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ScriptingUtilsTests {
+
+    @Before
+    public void setup() {
+        ScriptingUtils.clearGroovyScriptCache();
+    }
+
+    @Test
+    public void verifyInlineScriptIsCompiledOnce() {
+        final String script = "return name.toUpperCase()";
+        final Class first = ScriptingUtils.parseGroovyShellScript(script);
+        assertSame(first, ScriptingUtils.parseGroovyShellScript(script));
+
+        assertEquals("CAS", ScriptingUtils.executeGroovyShellScript(script, Collections.singletonMap("name", "cas")));
+        assertEquals("APEREO", ScriptingUtils.executeGroovyShellScript(script, Collections.singletonMap("name", "apereo")));
+        assertEquals(2L, ScriptingUtils.getGroovyScriptStatistics().get(first.getName()).get("executions"));
+    }
+
+    @Test
+    public void verifyScriptStatisticsAreBounded() {
+        final GroovyScriptCache cache = new GroovyScriptCache();
+        IntStream.range(0, 5_000).forEach(i -> cache.recordExecution("script" + i, 1, false));
+        assertTrue(cache.getStatistics().size() <= 1_000);
+    }
+
+    @Test
+    public void verifyScriptFileIsRecompiledWhenModified() throws Exception {
+        final File file = File.createTempFile("script", ".groovy");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "def run(final Object... args) { return 'first' }".getBytes(StandardCharsets.UTF_8));
+        final FileSystemResource resource = new FileSystemResource(file);
+
+        assertEquals("first", ScriptingUtils.executeGroovyScript(resource, new Object[]{"cas"}, String.class));
+        assertEquals("first", ScriptingUtils.executeGroovyScript(resource, new Object[]{"cas"}, String.class));
+
+        Files.write(file.toPath(), "def run(final Object... args) { return 'second' }".getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.setLastModified(file.lastModified() + 5000));
+        assertEquals("second", ScriptingUtils.executeGroovyScript(resource, new Object[]{"cas"}, String.class));
+        assertEquals(3L, ScriptingUtils.getGroovyScriptStatistics().get(file.getCanonicalPath() + "#run").get("executions"));
+    }
+
+    @Test
+    public void verifyScriptEngineFileIsCompiledOnce() throws Exception {
+        final File file = File.createTempFile("script", ".groovy");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "def run(final Object... args) { return args[0].toUpperCase() }".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("CAS", ScriptingUtils.executeGroovyScriptEngine(file.getCanonicalPath(), new Object[]{"cas"}));
+        assertEquals("APEREO", ScriptingUtils.executeGroovyScriptEngine(file.getCanonicalPath(), new Object[]{"apereo"}));
+        assertEquals(2L, ScriptingUtils.getGroovyScriptStatistics().get(file.getCanonicalPath() + "#run").get("executions"));
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.util.http;
 
+import com.sun.net.httpserver.HttpServer;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.junit.Test;
@@ -7,7 +8,13 @@ import org.junit.Test;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -49,6 +56,114 @@ public class SimpleHttpClientTests {
         assertTrue(client.isValidEndPoint("https://wrong.host.badssl.com/"));
     }
 
+    @Test
+    public void verifyNonBlockingRequests() throws Exception {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        final SimpleHttpClientFactoryBean clientFactory = new SimpleHttpClientFactoryBean();
+        clientFactory.setNonBlocking(true);
+        final SimpleHttpClient client = clientFactory.getObject();
+        try {
+            final URL url = new URL("http://localhost:" + server.getAddress().getPort() + "/callback");
+            assertTrue(client.isValidEndPointAsync(url).get(10, TimeUnit.SECONDS));
+            assertTrue(client.isValidEndPoint(url));
+            assertEquals(2L, client.getStatistics().get("requests"));
+            assertTrue(client.getStatistics().containsKey("leased"));
+        } finally {
+            client.destroy();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void verifyFailingHostIsRejected() throws Exception {
+        final int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        final SimpleHttpClientFactoryBean clientFactory = new SimpleHttpClientFactoryBean();
+        clientFactory.setNonBlocking(true);
+        clientFactory.setCircuitBreakerFailureThreshold(2);
+        clientFactory.setCircuitBreakerDelay(60_000);
+        final SimpleHttpClient client = clientFactory.getObject();
+        try {
+            final URL url = new URL("http://localhost:" + port + "/callback");
+            assertFalse(client.isValidEndPoint(url));
+            assertFalse(client.isValidEndPoint(url));
+            assertFalse(client.isValidEndPoint(url));
+            assertEquals(2L, client.getStatistics().get("requests"));
+            assertEquals(1L, client.getStatistics().get("rejected"));
+            assertEquals(1L, client.getStatistics().get("openCircuits"));
+        } finally {
+            client.destroy();
+        }
+    }
+
+    @Test
+    public void verifyCancelledRequestReleasesConnection() throws Exception {
+        final CountDownLatch received = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final HttpServer server = getSlowServer(received, release);
+        final SimpleHttpClientFactoryBean clientFactory = new SimpleHttpClientFactoryBean();
+        clientFactory.setNonBlocking(true);
+        final SimpleHttpClient client = clientFactory.getObject();
+        try {
+            final URL url = new URL("http://localhost:" + server.getAddress().getPort() + "/callback");
+            final CompletableFuture<Boolean> result = client.isValidEndPointAsync(url);
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+            assertEquals(1, client.getStatistics().get("leased"));
+
+            result.cancel(true);
+            final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (!Integer.valueOf(0).equals(client.getStatistics().get("leased")) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, client.getStatistics().get("leased"));
+        } finally {
+            release.countDown();
+            client.destroy();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void verifyBlockingRequestIsAbortedOnTimeout() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final HttpServer server = getSlowServer(new CountDownLatch(1), release);
+        final SimpleHttpClient client = new SimpleHttpClientFactoryBean().getObject();
+        try {
+            final URL url = new URL("http://localhost:" + server.getAddress().getPort() + "/callback");
+            final long start = System.currentTimeMillis();
+            assertFalse(client.isValidEndPoint(url, 200));
+            assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(5));
+            assertEquals(1L, client.getStatistics().get("timedOut"));
+        } finally {
+            release.countDown();
+            client.destroy();
+            server.stop(0);
+        }
+    }
+
+    private static HttpServer getSlowServer(final CountDownLatch received, final CountDownLatch release) throws Exception {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            received.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
     private static SSLConnectionSocketFactory getFriendlyToAllSSLSocketFactory() throws Exception {
         final TrustManager trm = new X509TrustManager() {
             @Override
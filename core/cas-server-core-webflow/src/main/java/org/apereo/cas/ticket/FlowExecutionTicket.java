@@ -0,0 +1,32 @@
+package org.apereo.cas.ticket;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * This is {@link FlowExecutionTicket} that carries the state of a webflow conversation,
+ * so that flow executions kept on the server may be resumed by any node.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY)
+public interface FlowExecutionTicket extends Ticket {
+    /**
+     * Ticket Prefix.
+     */
+    String PREFIX = "FEX";
+
+    /**
+     * Gets the serialized state of the conversation.
+     *
+     * @return the state, or {@code null} if the conversation has no state yet
+     */
+    byte[] getState();
+
+    /**
+     * Replace the state of the conversation and record that the ticket was used.
+     *
+     * @param state the serialized state
+     */
+    void update(byte[] state);
+}
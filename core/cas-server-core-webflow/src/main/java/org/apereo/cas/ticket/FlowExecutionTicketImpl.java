@@ -0,0 +1,62 @@
+package org.apereo.cas.ticket;
+
+import org.apereo.cas.authentication.Authentication;
+
+import javax.persistence.Column;
+import javax.persistence.DiscriminatorColumn;
+import javax.persistence.DiscriminatorValue;
+import javax.persistence.Entity;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+/**
+ * This is {@link FlowExecutionTicketImpl}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@Entity
+@Table(name = "FLOWEXECUTIONTICKET")
+@DiscriminatorColumn(name = "TYPE")
+@DiscriminatorValue(FlowExecutionTicket.PREFIX)
+public class FlowExecutionTicketImpl extends AbstractTicket implements FlowExecutionTicket {
+
+    private static final long serialVersionUID = -6183624271094561378L;
+
+    @Lob
+    @Column(name = "STATE", length = Integer.MAX_VALUE)
+    private byte[] state;
+
+    public FlowExecutionTicketImpl() {
+    }
+
+    public FlowExecutionTicketImpl(final String id, final ExpirationPolicy expirationPolicy) {
+        super(id, expirationPolicy);
+    }
+
+    @Override
+    public byte[] getState() {
+        return this.state;
+    }
+
+    @Override
+    public void update(final byte[] state) {
+        this.state = state;
+        update();
+    }
+
+    @Override
+    public TicketGrantingTicket getGrantingTicket() {
+        return null;
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return null;
+    }
+
+    @Override
+    public String getPrefix() {
+        return FlowExecutionTicket.PREFIX;
+    }
+}
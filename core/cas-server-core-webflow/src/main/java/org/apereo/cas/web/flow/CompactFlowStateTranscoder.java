@@ -0,0 +1,336 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.StatisticsSource;
+import org.apereo.spring.webflow.plugin.Transcoder;
+import org.cryptacular.bean.CipherBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * This is {@link CompactFlowStateTranscoder} that encodes flow executions kept on the client
+ * in a compact form. Classes are described by name, serial version and a hash of their serializable fields only,
+ * since both ends are expected to share the same class definitions; state written by a class whose fields
+ * have since changed is rejected rather than read into the wrong fields. The result is deflated using a preset dictionary
+ * of names that appear in almost every flow execution. The result is encrypted and signed by
+ * the given cipher, as is done for the legacy format.
+ * <p>
+ * State produced by the legacy {@code EncryptedTranscoder} is always decoded, so nodes may
+ * be switched to the compact format one at a time once they can all read it.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CompactFlowStateTranscoder implements Transcoder, StatisticsSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactFlowStateTranscoder.class);
+
+    private static final byte[] MAGIC = {(byte) 0xCA, (byte) 0x5F};
+
+    /**
+     * Version of the compact format. Must change whenever the dictionary or the class descriptors change.
+     */
+    private static final byte VERSION = 2;
+
+    private static final int HEADER_LENGTH = MAGIC.length + 1;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * Names that commonly appear in flow executions, least frequent first,
+     * since deflate encodes references to the end of the dictionary more cheaply.
+     */
+    private static final byte[] DICTIONARY = String.join("",
+            "java.lang.Integerjava.lang.Numberjava.lang.Booleanjava.util.ArrayListjava.util.LinkedListjava.util.HashSet",
+            "java.util.LinkedHashMapjava.util.HashMapjava.lang.Enumjava.lang.Stringvalue",
+            "org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImplorg.apereo.cas.authentication.principal.AbstractWebApplicationService",
+            "org.apereo.cas.authentication.UsernamePasswordCredentialorg.apereo.cas.authentication.RememberMeUsernamePasswordCredential",
+            "originalUrlartifactIdprincipalloggedOutAttributesformatresponseTypeusernamepasswordrememberMesource",
+            "serviceregisteredServicecredentialticketGrantingTicketIdwarnCookieValuecasloginSessionIdviewLoginForm",
+            "org.springframework.webflow.conversation.impl.SimpleConversationId",
+            "org.springframework.webflow.execution.repository.support.CompositeFlowExecutionKey",
+            "org.springframework.webflow.core.collection.LocalParameterMaporg.springframework.webflow.core.collection.CollectionUtils",
+            "org.springframework.webflow.core.collection.LocalAttributeMaporg.springframework.binding.collection.MapAccessor",
+            "org.springframework.webflow.engine.impl.FlowSessionImplorg.springframework.webflow.engine.impl.FlowExecutionImpl",
+            "org.apereo.spring.webflow.plugin.SerializedFlowExecutionState",
+            "flowIdflowScopeviewScopeconversationScopeflashScopestateIdparentattributesloginlogout")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final CipherBean cipherBean;
+    private final boolean compact;
+
+    private final LongAdder encodings = new LongAdder();
+    private final LongAdder encodedBytes = new LongAdder();
+    private final LongAdder encodingTime = new LongAdder();
+    private final LongAdder decodings = new LongAdder();
+    private final LongAdder legacyDecodings = new LongAdder();
+    private final LongAdder decodedBytes = new LongAdder();
+    private final LongAdder decodingTime = new LongAdder();
+
+    /**
+     * Instantiates a new compact flow state transcoder.
+     *
+     * @param cipherBean the cipher that encrypts and signs state
+     * @param compact    whether state is encoded in the compact format, or in the legacy format
+     */
+    public CompactFlowStateTranscoder(final CipherBean cipherBean, final boolean compact) {
+        this.cipherBean = cipherBean;
+        this.compact = compact;
+    }
+
+    @Override
+    public byte[] encode(final Object o) throws IOException {
+        final long start = System.nanoTime();
+        final byte[] data = this.compact ? serialize(o) : encodeLegacy(o);
+        final byte[] encoded;
+        try {
+            encoded = this.cipherBean.encrypt(data);
+        } catch (final Exception e) {
+            throw new IOException("Encryption error", e);
+        }
+        this.encodings.increment();
+        this.encodedBytes.add(encoded.length);
+        this.encodingTime.add(System.nanoTime() - start);
+        LOGGER.trace("Encoded flow state of [{}] bytes into [{}] bytes", data.length, encoded.length);
+        return encoded;
+    }
+
+    @Override
+    public Object decode(final byte[] encoded) throws IOException {
+        final long start = System.nanoTime();
+        final byte[] data;
+        try {
+            data = this.cipherBean.decrypt(encoded);
+        } catch (final Exception e) {
+            throw new IOException("Decryption error", e);
+        }
+        try {
+            if (!isCompact(data)) {
+                this.legacyDecodings.increment();
+            }
+            final Object result = deserialize(data);
+            this.decodings.increment();
+            this.decodedBytes.add(encoded.length);
+            this.decodingTime.add(System.nanoTime() - start);
+            return result;
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Deserialization error", e);
+        }
+    }
+
+    /**
+     * Collect statistics on how many flow executions were encoded and decoded, their average size
+     * and the average time it took in milliseconds.
+     *
+     * @return the map
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        final long encoded = this.encodings.sum();
+        final long decoded = this.decodings.sum();
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("compact", this.compact);
+        stats.put("encodings", encoded);
+        stats.put("averageEncodedSize", encoded == 0 ? 0L : this.encodedBytes.sum() / encoded);
+        stats.put("averageEncodingTime", encoded == 0 ? 0D : (double) TimeUnit.NANOSECONDS.toMicros(this.encodingTime.sum()) / encoded / 1000D);
+        stats.put("decodings", decoded);
+        stats.put("legacyDecodings", this.legacyDecodings.sum());
+        stats.put("averageDecodedSize", decoded == 0 ? 0L : this.decodedBytes.sum() / decoded);
+        stats.put("averageDecodingTime", decoded == 0 ? 0D : (double) TimeUnit.NANOSECONDS.toMicros(this.decodingTime.sum()) / decoded / 1000D);
+        return stats;
+    }
+
+    /**
+     * Serialize the given object in the compact format, without encryption.
+     *
+     * @param o the object
+     * @return the serialized object
+     * @throws IOException if the object cannot be serialized
+     */
+    static byte[] serialize(final Object o) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        bytes.write(MAGIC);
+        bytes.write(VERSION);
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            final DeflaterOutputStream compressed = new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE);
+            try (ObjectOutputStream out = new CompactObjectOutputStream(compressed)) {
+                out.writeObject(o);
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserialize an object serialized in the compact format, or with plain or compressed java serialization.
+     *
+     * @param data the serialized object
+     * @return the object
+     * @throws IOException            if the object cannot be deserialized
+     * @throws ClassNotFoundException if a class of the object cannot be found
+     */
+    static Object deserialize(final byte[] data) throws IOException, ClassNotFoundException {
+        if (isCompact(data)) {
+            return readObject(new CompactObjectInputStream(new ByteArrayInputStream(inflate(data))));
+        }
+        return readObject(newLegacyObjectInputStream(data));
+    }
+
+    private static byte[] encodeLegacy(final Object o) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static boolean isCompact(final byte[] data) {
+        return data.length > HEADER_LENGTH && data[0] == MAGIC[0] && data[1] == MAGIC[1] && data[2] == VERSION;
+    }
+
+    private static byte[] inflate(final byte[] data) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int count = inflater.inflate(buffer);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.needsInput()) {
+                        throw new EOFException("Flow state is truncated");
+                    }
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (final DataFormatException e) {
+            throw new IOException("Flow state cannot be decompressed", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ObjectInputStream newLegacyObjectInputStream(final byte[] data) throws IOException {
+        final InputStream in = new ByteArrayInputStream(data);
+        final boolean gzip = data.length > 1 && data[0] == (byte) GZIPInputStream.GZIP_MAGIC
+                && data[1] == (byte) (GZIPInputStream.GZIP_MAGIC >> 8);
+        return new ObjectInputStream(gzip ? new GZIPInputStream(in) : in);
+    }
+
+    private static Object readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        try {
+            return in.readObject();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Compute a hash of the serializable fields of a class, by name and type, in the order
+     * in which they are serialized.
+     *
+     * @param desc the class descriptor
+     * @return the hash
+     */
+    private static int getFieldsHash(final ObjectStreamClass desc) {
+        int hash = 1;
+        for (final ObjectStreamField field : desc.getFields()) {
+            hash = 31 * hash + field.getName().hashCode();
+            hash = 31 * hash + field.getType().getName().hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Writes class descriptors as name, serial version and fields hash only.
+     */
+    private static class CompactObjectOutputStream extends ObjectOutputStream {
+        CompactObjectOutputStream(final OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void writeStreamHeader() {
+            // the compact format header is written ahead of the compressed stream.
+        }
+
+        @Override
+        protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException {
+            writeUTF(desc.getName());
+            writeLong(desc.getSerialVersionUID());
+            writeInt(getFieldsHash(desc));
+        }
+    }
+
+    /**
+     * Reads class descriptors written by {@link CompactObjectOutputStream} from local class definitions,
+     * provided these still have the same serial version and fields.
+     */
+    private static class CompactObjectInputStream extends ObjectInputStream {
+        CompactObjectInputStream(final InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected void readStreamHeader() {
+            // the compact format header is verified ahead of the compressed stream.
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            final String name = readUTF();
+            final long serialVersionUID = readLong();
+            final int fieldsHash = readInt();
+            final ObjectStreamClass desc = ObjectStreamClass.lookupAny(loadClass(name));
+            if (desc.getSerialVersionUID() != serialVersionUID) {
+                throw new InvalidClassException(name, "Serial version " + serialVersionUID
+                        + " of flow state does not match local serial version " + desc.getSerialVersionUID());
+            }
+            if (getFieldsHash(desc) != fieldsHash) {
+                throw new InvalidClassException(name, "Fields of flow state do not match the fields of the local class");
+            }
+            return desc;
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return loadClass(desc.getName());
+            } catch (final ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+
+        private static Class<?> loadClass(final String name) throws ClassNotFoundException {
+            final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            return Class.forName(name, false, classLoader != null ? classLoader : CompactFlowStateTranscoder.class.getClassLoader());
+        }
+    }
+}
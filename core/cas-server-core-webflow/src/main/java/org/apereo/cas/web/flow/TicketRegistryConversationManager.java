@@ -0,0 +1,291 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.FlowExecutionTicket;
+import org.apereo.cas.ticket.FlowExecutionTicketImpl;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.gen.HexRandomStringGenerator;
+import org.apereo.cas.util.gen.RandomStringGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.webflow.conversation.Conversation;
+import org.springframework.webflow.conversation.ConversationId;
+import org.springframework.webflow.conversation.ConversationManager;
+import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
+import org.springframework.webflow.conversation.impl.LockInterruptedException;
+import org.springframework.webflow.conversation.impl.LockTimeoutException;
+import org.springframework.webflow.conversation.impl.SimpleConversationId;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This is {@link TicketRegistryConversationManager} that keeps webflow conversations in the ticket registry
+ * as {@link FlowExecutionTicket}s, rather than in the http session, so that any node is able to resume a flow
+ * execution without sticky sessions. The attributes of a conversation are read from the registry when the
+ * conversation is first obtained, and are written back in the compact format once the conversation is unlocked.
+ * <p>
+ * Conversations are locked by id on each node, with a lock per conversation that is only kept while the conversation
+ * is read or locked, so that requests of unrelated conversations never wait for one another. A conversation that is
+ * obtained is expected to be locked afterwards, as flow execution repositories do. Requests of the same conversation
+ * that arrive at different nodes at the same time are not serialized, and the last one to finish wins.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TicketRegistryConversationManager implements ConversationManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TicketRegistryConversationManager.class);
+
+    private static final int CONVERSATION_ID_LENGTH = 16;
+
+    private final TicketRegistry ticketRegistry;
+    private final ExpirationPolicy expirationPolicy;
+    private final long lockTimeoutInSeconds;
+
+    /**
+     * Conversation ids appear in flow execution keys, where the letter {@code s} may not be used.
+     */
+    private final RandomStringGenerator conversationIdGenerator = new HexRandomStringGenerator(CONVERSATION_ID_LENGTH);
+
+    private final ConcurrentMap<String, ConversationLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Sequence of conversation writes on this node, used to tell whether a conversation
+     * read before its lock was acquired has since been changed on this node.
+     */
+    private final AtomicLong writes = new AtomicLong();
+
+    private final ConcurrentMap<String, TicketRegistryConversation> lockedConversations = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new ticket registry conversation manager.
+     *
+     * @param ticketRegistry       the ticket registry
+     * @param expirationPolicy     the expiration policy of flow execution tickets
+     * @param lockTimeoutInSeconds the time to wait for the lock of a conversation
+     */
+    public TicketRegistryConversationManager(final TicketRegistry ticketRegistry,
+                                             final ExpirationPolicy expirationPolicy,
+                                             final long lockTimeoutInSeconds) {
+        this.ticketRegistry = ticketRegistry;
+        this.expirationPolicy = expirationPolicy;
+        this.lockTimeoutInSeconds = lockTimeoutInSeconds;
+    }
+
+    @Override
+    public Conversation beginConversation(final ConversationParameters conversationParameters) {
+        final String id = FlowExecutionTicket.PREFIX + '-' + this.conversationIdGenerator.getNewString();
+        final FlowExecutionTicket ticket = new FlowExecutionTicketImpl(id, this.expirationPolicy);
+        this.ticketRegistry.addTicket(ticket);
+        LOGGER.debug("Started conversation [{}] for [{}]", id, conversationParameters.getName());
+        final ConversationLock lock = this.locks.get(id);
+        return new TicketRegistryConversation(ticket, new HashMap<>(), lock == null ? this.writes.get() : lock.version, false);
+    }
+
+    @Override
+    public Conversation getConversation(final ConversationId id) {
+        final TicketRegistryConversation conversation = this.lockedConversations.get(id.toString());
+        if (conversation != null) {
+            return conversation;
+        }
+        final ConversationLock lock = acquireLock(id.toString());
+        try {
+            final long version = lock.version;
+            final FlowExecutionTicket ticket = getTicket(id);
+            return new TicketRegistryConversation(ticket, readAttributes(ticket), version, true);
+        } catch (final RuntimeException e) {
+            releaseLock(id.toString());
+            throw e;
+        }
+    }
+
+    @Override
+    public ConversationId parseConversationId(final String encodedId) {
+        return new SimpleConversationId(encodedId);
+    }
+
+    private FlowExecutionTicket getTicket(final ConversationId id) {
+        final Ticket ticket = this.ticketRegistry.getTicket(id.toString());
+        if (!(ticket instanceof FlowExecutionTicket) || ticket.isExpired()) {
+            LOGGER.debug("Conversation [{}] cannot be found or has expired", id);
+            throw new NoSuchConversationException(id);
+        }
+        return (FlowExecutionTicket) ticket;
+    }
+
+    private static Map<Object, Object> readAttributes(final FlowExecutionTicket ticket) {
+        if (ticket.getState() == null) {
+            return new HashMap<>();
+        }
+        try {
+            return (Map<Object, Object>) CompactFlowStateTranscoder.deserialize(ticket.getState());
+        } catch (final Exception e) {
+            LOGGER.warn("State of conversation [{}] cannot be read: [{}]", ticket.getId(), e.getMessage());
+            throw new NoSuchConversationException(new SimpleConversationId(ticket.getId()));
+        }
+    }
+
+    /**
+     * Get the lock of a conversation, creating it if needed, and count the new reference to it.
+     *
+     * @param id the conversation id
+     * @return the lock
+     */
+    private ConversationLock acquireLock(final String id) {
+        return this.locks.compute(id, (key, existing) -> {
+            final ConversationLock lock = existing == null ? new ConversationLock(this.writes.get()) : existing;
+            lock.references++;
+            return lock;
+        });
+    }
+
+    /**
+     * Count a reference to the lock of a conversation as released, and drop the lock once none remain.
+     *
+     * @param id the conversation id
+     */
+    private void releaseLock(final String id) {
+        this.locks.computeIfPresent(id, (key, lock) -> --lock.references == 0 ? null : lock);
+    }
+
+    /**
+     * The lock of a conversation, along with the write sequence at which it was last written on this node.
+     * References are only changed while the entry of the lock is computed, which keeps them consistent.
+     */
+    private static final class ConversationLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long version;
+        private int references;
+
+        ConversationLock(final long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * A conversation backed by a {@link FlowExecutionTicket}.
+     */
+    private class TicketRegistryConversation implements Conversation {
+        private final ConversationId id;
+
+        private FlowExecutionTicket ticket;
+        private Map<Object, Object> attributes;
+        private long version;
+        private boolean referenced;
+        private ConversationLock lock;
+        private int holdCount;
+        private boolean ended;
+
+        TicketRegistryConversation(final FlowExecutionTicket ticket, final Map<Object, Object> attributes,
+                                   final long version, final boolean referenced) {
+            this.id = new SimpleConversationId(ticket.getId());
+            this.ticket = ticket;
+            this.attributes = attributes;
+            this.version = version;
+            this.referenced = referenced;
+        }
+
+        @Override
+        public ConversationId getId() {
+            return this.id;
+        }
+
+        @Override
+        public void lock() {
+            final String key = this.id.toString();
+            final ConversationLock conversationLock = acquireLock(key);
+            try {
+                if (!conversationLock.lock.tryLock(lockTimeoutInSeconds, TimeUnit.SECONDS)) {
+                    releaseLock(key);
+                    throw new LockTimeoutException(lockTimeoutInSeconds);
+                }
+            } catch (final InterruptedException e) {
+                releaseLock(key);
+                Thread.currentThread().interrupt();
+                throw new LockInterruptedException(e);
+            }
+            if (this.holdCount++ > 0) {
+                return;
+            }
+            this.lock = conversationLock;
+            if (this.referenced) {
+                this.referenced = false;
+                releaseLock(key);
+            }
+            try {
+                if (this.ended) {
+                    throw new NoSuchConversationException(this.id);
+                }
+                if (conversationLock.version != this.version) {
+                    LOGGER.trace("Conversation [{}] may have changed since it was read and will be read again", this.id);
+                    this.version = conversationLock.version;
+                    this.ticket = getTicket(this.id);
+                    this.attributes = readAttributes(this.ticket);
+                }
+                lockedConversations.put(key, this);
+            } catch (final RuntimeException e) {
+                this.holdCount--;
+                conversationLock.lock.unlock();
+                releaseLock(key);
+                throw e;
+            }
+        }
+
+        @Override
+        public Object getAttribute(final Object name) {
+            return this.attributes.get(name);
+        }
+
+        @Override
+        public void putAttribute(final Object name, final Object value) {
+            this.attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(final Object name) {
+            this.attributes.remove(name);
+        }
+
+        @Override
+        public void end() {
+            this.ended = true;
+        }
+
+        @Override
+        public void unlock() {
+            final String key = this.id.toString();
+            final ConversationLock conversationLock = this.lock;
+            if (--this.holdCount > 0) {
+                conversationLock.lock.unlock();
+                releaseLock(key);
+                return;
+            }
+            try {
+                if (this.ended) {
+                    ticketRegistry.deleteTicket(this.ticket.getId());
+                    LOGGER.debug("Ended conversation [{}]", this.id);
+                } else {
+                    this.ticket.update(CompactFlowStateTranscoder.serialize(this.attributes));
+                    ticketRegistry.updateTicket(this.ticket);
+                    LOGGER.trace("Stored conversation [{}] of [{}] bytes", this.id, this.ticket.getState().length);
+                }
+            } catch (final Exception e) {
+                LOGGER.error("Unable to store conversation [{}]: [{}]", this.id, e.getMessage());
+                throw new IllegalStateException(e.getMessage(), e);
+            } finally {
+                this.version = writes.incrementAndGet();
+                conversationLock.version = this.version;
+                lockedConversations.remove(key, this);
+                conversationLock.lock.unlock();
+                releaseLock(key);
+            }
+        }
+    }
+}
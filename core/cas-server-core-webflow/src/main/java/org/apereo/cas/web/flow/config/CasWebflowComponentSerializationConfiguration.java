@@ -0,0 +1,23 @@
+package org.apereo.cas.web.flow.config;
+
+import org.apereo.cas.ComponentSerializationPlan;
+import org.apereo.cas.ComponentSerializationPlanConfigurator;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.FlowExecutionTicketImpl;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link CasWebflowComponentSerializationConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@Configuration("casWebflowComponentSerializationConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+public class CasWebflowComponentSerializationConfiguration implements ComponentSerializationPlanConfigurator {
+    @Override
+    public void configureComponentSerializationPlan(final ComponentSerializationPlan plan) {
+        plan.registerSerializableClass(FlowExecutionTicketImpl.class);
+    }
+}
@@ -2,17 +2,20 @@ package org.apereo.cas.web.flow.config;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.webapp.WebflowSessionManagementProperties;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.web.flow.CasWebflowConfigurer;
+import org.apereo.cas.web.flow.CompactFlowStateTranscoder;
+import org.apereo.cas.web.flow.TicketRegistryConversationManager;
 import org.apereo.cas.web.flow.actions.CasDefaultFlowUrlHandler;
 import org.apereo.cas.web.flow.actions.LogoutConversionService;
 import org.apereo.cas.web.flow.configurer.DefaultWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.GroovyWebflowConfigurer;
 import org.apereo.spring.webflow.plugin.ClientFlowExecutionRepository;
-import org.apereo.spring.webflow.plugin.EncryptedTranscoder;
 import org.apereo.spring.webflow.plugin.Transcoder;
 import org.cryptacular.bean.CipherBean;
-import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.binding.convert.ConversionService;
@@ -37,6 +40,7 @@ import org.springframework.webflow.config.FlowBuilderServicesBuilder;
 import org.springframework.webflow.config.FlowDefinitionRegistryBuilder;
 import org.springframework.webflow.config.FlowExecutorBuilder;
 import org.springframework.webflow.context.servlet.FlowUrlHandler;
+import org.springframework.webflow.conversation.ConversationManager;
 import org.springframework.webflow.conversation.impl.SessionBindingConversationManager;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 import org.springframework.webflow.engine.builder.ViewFactoryCreator;
@@ -180,11 +184,7 @@ public class CasWebflowContextConfiguration {
 
     @Bean
     public Transcoder loginFlowStateTranscoder() {
-        try {
-            return new EncryptedTranscoder(loginFlowCipherBean());
-        } catch (final Exception e) {
-            throw new BeanCreationException(e.getMessage(), e);
-        }
+        return new CompactFlowStateTranscoder(loginFlowCipherBean(), casProperties.getWebflow().getSession().isCompactState());
     }
 
     @Bean
@@ -277,14 +277,23 @@ public class CasWebflowContextConfiguration {
     public FlowExecutor flowExecutorViaServerSessionBindingExecution() {
         final FlowDefinitionRegistry loginFlowRegistry = loginFlowRegistry();
 
-        final SessionBindingConversationManager conversationManager = new SessionBindingConversationManager();
-        conversationManager.setLockTimeoutSeconds((int) casProperties.getWebflow().getSession().getLockTimeout());
-        conversationManager.setMaxConversations(casProperties.getWebflow().getSession().getMaxConversations());
+        final WebflowSessionManagementProperties session = casProperties.getWebflow().getSession();
+        final ConversationManager conversationManager;
+        if (session.isTicketRegistry()) {
+            final TicketRegistry ticketRegistry = this.applicationContext.getBean("ticketRegistry", TicketRegistry.class);
+            conversationManager = new TicketRegistryConversationManager(ticketRegistry,
+                    new TimeoutExpirationPolicy(session.getTimeout()), session.getLockTimeout());
+        } else {
+            final SessionBindingConversationManager sessionBindingConversationManager = new SessionBindingConversationManager();
+            sessionBindingConversationManager.setLockTimeoutSeconds((int) session.getLockTimeout());
+            sessionBindingConversationManager.setMaxConversations(session.getMaxConversations());
+            conversationManager = sessionBindingConversationManager;
+        }
 
         final FlowExecutionImplFactory executionFactory = new FlowExecutionImplFactory();
         final SerializedFlowExecutionSnapshotFactory flowExecutionSnapshotFactory =
                 new SerializedFlowExecutionSnapshotFactory(executionFactory, loginFlowRegistry);
-        flowExecutionSnapshotFactory.setCompress(casProperties.getWebflow().getSession().isCompress());
+        flowExecutionSnapshotFactory.setCompress(session.isCompress());
 
         final DefaultFlowExecutionRepository repository = new DefaultFlowExecutionRepository(conversationManager,
                 flowExecutionSnapshotFactory);
@@ -0,0 +1,44 @@
+package org.apereo.cas.web.flow.config;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.webapp.WebflowSessionManagementProperties;
+import org.apereo.cas.ticket.BaseTicketCatalogConfigurer;
+import org.apereo.cas.ticket.FlowExecutionTicket;
+import org.apereo.cas.ticket.FlowExecutionTicketImpl;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link CasWebflowTicketCatalogConfiguration} that registers flow execution tickets,
+ * if webflow conversations are kept in the ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@Configuration("casWebflowTicketCatalogConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+public class CasWebflowTicketCatalogConfiguration extends BaseTicketCatalogConfigurer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CasWebflowTicketCatalogConfiguration.class);
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Override
+    public void configureTicketCatalog(final TicketCatalog plan) {
+        final WebflowSessionManagementProperties session = casProperties.getWebflow().getSession();
+        if (!session.isStorage() || !session.isTicketRegistry()) {
+            LOGGER.debug("Webflow conversations are not kept in the ticket registry; flow execution tickets are not registered");
+            return;
+        }
+        LOGGER.debug("Registering webflow flow execution ticket definitions...");
+        final TicketDefinition defn = buildTicketDefinition(plan, FlowExecutionTicket.PREFIX, FlowExecutionTicketImpl.class);
+        defn.getProperties().setStorageName("flowExecutionTicketsCache");
+        defn.getProperties().setStorageTimeout(casProperties.getWebflow().getSession().getTimeout());
+        registerTicketDefinition(plan, defn);
+    }
+}
@@ -0,0 +1,104 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.apereo.spring.webflow.plugin.EncryptedTranscoder;
+import org.cryptacular.bean.CipherBean;
+import org.junit.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CompactFlowStateTranscoderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CompactFlowStateTranscoderTests {
+    private final CipherBean cipherBean = new TestCipherBean(
+            new WebflowConversationStateCipherExecutor(null, null, "AES", 512, 16));
+
+    @Test
+    public void verifyCompactStateIsSmallerAndDecoded() throws Exception {
+        final CompactFlowStateTranscoder compact = new CompactFlowStateTranscoder(this.cipherBean, true);
+        final CompactFlowStateTranscoder legacy = new CompactFlowStateTranscoder(this.cipherBean, false);
+        final LocalAttributeMap<Object> state = newState();
+
+        final byte[] compactEncoded = compact.encode(state);
+        final byte[] legacyEncoded = legacy.encode(state);
+        assertTrue(compactEncoded.length < legacyEncoded.length);
+
+        assertEquals(state, compact.decode(compactEncoded));
+        assertEquals(state, legacy.decode(compactEncoded));
+        assertEquals(state, compact.decode(legacyEncoded));
+        assertEquals(1L, compact.getStatistics().get("legacyDecodings"));
+        assertEquals(2L, compact.getStatistics().get("decodings"));
+    }
+
+    @Test
+    public void verifyStateOfEncryptedTranscoderIsDecoded() throws Exception {
+        final LocalAttributeMap<Object> state = newState();
+        final byte[] encoded = new EncryptedTranscoder(this.cipherBean).encode(state);
+        assertEquals(state, new CompactFlowStateTranscoder(this.cipherBean, true).decode(encoded));
+    }
+
+    private static LocalAttributeMap<Object> newState() {
+        final LocalAttributeMap<Object> state = new LocalAttributeMap<>();
+        state.put("service", "https://app.example.org/login");
+        state.put("credential", new TestCredential("casuser"));
+        state.put("loginSessionId", 42);
+        return state;
+    }
+
+    private static class TestCredential implements Serializable {
+        private static final long serialVersionUID = -3167296146391454311L;
+
+        private final String username;
+
+        TestCredential(final String username) {
+            this.username = username;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof TestCredential && ((TestCredential) obj).username.equals(this.username);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.username.hashCode();
+        }
+    }
+
+    private static class TestCipherBean implements CipherBean {
+        private final WebflowConversationStateCipherExecutor cipherExecutor;
+
+        TestCipherBean(final WebflowConversationStateCipherExecutor cipherExecutor) {
+            this.cipherExecutor = cipherExecutor;
+        }
+
+        @Override
+        public byte[] encrypt(final byte[] bytes) {
+            return this.cipherExecutor.encode(bytes);
+        }
+
+        @Override
+        public void encrypt(final InputStream inputStream, final OutputStream outputStream) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public byte[] decrypt(final byte[] bytes) {
+            return this.cipherExecutor.decode(bytes);
+        }
+
+        @Override
+        public void decrypt(final InputStream inputStream, final OutputStream outputStream) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
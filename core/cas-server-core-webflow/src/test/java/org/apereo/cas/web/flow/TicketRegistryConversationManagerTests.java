@@ -0,0 +1,109 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.ticket.FlowExecutionTicket;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
+import org.junit.Test;
+import org.springframework.webflow.conversation.Conversation;
+import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TicketRegistryConversationManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TicketRegistryConversationManagerTests {
+    private static final ConversationParameters PARAMETERS = new ConversationParameters("login", "login", "login");
+
+    private final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+
+    @Test
+    public void verifyConversationIsResumedByAnotherNode() {
+        final TicketRegistryConversationManager first = newConversationManager();
+        final TicketRegistryConversationManager second = newConversationManager();
+
+        final Conversation conversation = first.beginConversation(PARAMETERS);
+        assertTrue(conversation.getId().toString().startsWith(FlowExecutionTicket.PREFIX + '-'));
+        assertFalse(conversation.getId().toString().contains("s"));
+        conversation.lock();
+        final List<String> snapshots = new ArrayList<>();
+        conversation.putAttribute("snapshots", snapshots);
+        snapshots.add("e1s1");
+        conversation.unlock();
+
+        final Conversation resumed = second.getConversation(second.parseConversationId(conversation.getId().toString()));
+        resumed.lock();
+        try {
+            assertEquals(snapshots, resumed.getAttribute("snapshots"));
+            assertSame(resumed, second.getConversation(resumed.getId()));
+        } finally {
+            resumed.unlock();
+        }
+    }
+
+    @Test
+    public void verifyConversationChangedWhileWaitingForLockIsReadAgain() {
+        final TicketRegistryConversationManager manager = newConversationManager();
+        final Conversation conversation = manager.beginConversation(PARAMETERS);
+
+        final Conversation stale = manager.getConversation(conversation.getId());
+        final Conversation current = manager.getConversation(conversation.getId());
+        current.lock();
+        current.putAttribute("name", "value");
+        current.unlock();
+
+        stale.lock();
+        try {
+            assertEquals("value", stale.getAttribute("name"));
+        } finally {
+            stale.unlock();
+        }
+    }
+
+    @Test
+    public void verifyUnrelatedConversationsDoNotWaitForEachOther() throws Exception {
+        final TicketRegistryConversationManager manager = new TicketRegistryConversationManager(this.ticketRegistry,
+                new TimeoutExpirationPolicy(60), 1);
+        final List<Conversation> held = new ArrayList<>();
+        for (int i = 0; i < 512; i++) {
+            final Conversation conversation = manager.getConversation(manager.beginConversation(PARAMETERS).getId());
+            conversation.lock();
+            held.add(conversation);
+        }
+        try {
+            final Conversation other = manager.beginConversation(PARAMETERS);
+            CompletableFuture.runAsync(() -> {
+                final Conversation conversation = manager.getConversation(other.getId());
+                conversation.lock();
+                conversation.unlock();
+            }).get(5, TimeUnit.SECONDS);
+        } finally {
+            held.forEach(Conversation::unlock);
+        }
+    }
+
+    @Test(expected = NoSuchConversationException.class)
+    public void verifyEndedConversationIsRemoved() {
+        final TicketRegistryConversationManager manager = newConversationManager();
+        final Conversation conversation = manager.beginConversation(PARAMETERS);
+        conversation.lock();
+        conversation.end();
+        conversation.unlock();
+        assertNull(this.ticketRegistry.getTicket(conversation.getId().toString()));
+        manager.getConversation(conversation.getId());
+    }
+
+    private TicketRegistryConversationManager newConversationManager() {
+        return new TicketRegistryConversationManager(this.ticketRegistry, new TimeoutExpirationPolicy(60), 5);
+    }
+}
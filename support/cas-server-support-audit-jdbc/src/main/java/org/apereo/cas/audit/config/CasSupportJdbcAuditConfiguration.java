@@ -2,13 +2,19 @@ package org.apereo.cas.audit.config;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.audit.entity.AuditTrailEntity;
+import org.apereo.cas.audit.spi.AsynchronousAuditTrailManager;
 import org.apereo.cas.audit.spi.DefaultDelegatingAuditTrailManager;
 import org.apereo.cas.audit.spi.DelegatingAuditTrailManager;
+import org.apereo.cas.audit.support.BatchingJdbcAuditTrailManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.audit.AuditAsynchronousProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditJdbcProperties;
+import org.apereo.cas.configuration.model.core.audit.AuditProperties;
 import org.apereo.cas.configuration.model.support.jpa.JpaConfigDataHolder;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.inspektr.audit.AuditTrailManager;
 import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
 import org.apereo.inspektr.audit.support.MaxAgeWhereClauseMatchCriteria;
 import org.apereo.inspektr.audit.support.WhereClauseMatchCriteria;
@@ -44,24 +50,31 @@ public class CasSupportJdbcAuditConfiguration {
 
     @Bean
     public JdbcAuditTrailManager jdbcAuditTrailManager() {
-        final AuditJdbcProperties jdbc = casProperties.getAudit().getJdbc();
         final JdbcAuditTrailManager t = new JdbcAuditTrailManager(inspektrAuditTransactionTemplate());
         t.setCleanupCriteria(auditCleanupCriteria());
         t.setDataSource(inspektrAuditTrailDataSource());
-        String tableName = AuditTrailEntity.AUDIT_TRAIL_TABLE_NAME;
-        if (StringUtils.isNotBlank(jdbc.getDefaultSchema())) {
-            tableName = jdbc.getDefaultSchema() + '.' + tableName;
-        }
-        if (StringUtils.isNotBlank(jdbc.getDefaultCatalog())) {
-            tableName = jdbc.getDefaultCatalog() + '.' + tableName;
-        }
-        t.setTableName(tableName);
+        t.setTableName(getAuditTableName());
         return t;
     }
 
+    @Lazy
+    @Bean
+    public AsynchronousAuditTrailManager asynchronousJdbcAuditTrailManager() {
+        final AuditAsynchronousProperties async = casProperties.getAudit().getAsynchronous();
+        final BatchingJdbcAuditTrailManager manager = new BatchingJdbcAuditTrailManager(inspektrAuditTrailDataSource(),
+                inspektrAuditTransactionTemplate(), getAuditTableName());
+        return new AsynchronousAuditTrailManager(manager, async.getQueueCapacity(), async.getBatchSize(),
+                Beans.newDuration(async.getFlushInterval()).toMillis(),
+                Beans.newDuration(async.getShutdownTimeout()).toMillis(),
+                async.isDiscardWhenFull());
+    }
+
     @Bean
     public DelegatingAuditTrailManager auditTrailManager() {
-        return new DefaultDelegatingAuditTrailManager(jdbcAuditTrailManager());
+        if (casProperties.getAudit().getAsynchronous().isEnabled()) {
+            return newDelegatingAuditTrailManager(asynchronousJdbcAuditTrailManager());
+        }
+        return newDelegatingAuditTrailManager(jdbcAuditTrailManager());
     }
 
     @Lazy
@@ -100,4 +113,22 @@ public class CasSupportJdbcAuditConfiguration {
         t.setPropagationBehaviorName(casProperties.getAudit().getJdbc().getPropagationBehaviorName());
         return t;
     }
+
+    private String getAuditTableName() {
+        final AuditJdbcProperties jdbc = casProperties.getAudit().getJdbc();
+        String tableName = AuditTrailEntity.AUDIT_TRAIL_TABLE_NAME;
+        if (StringUtils.isNotBlank(jdbc.getDefaultSchema())) {
+            tableName = jdbc.getDefaultSchema() + '.' + tableName;
+        }
+        if (StringUtils.isNotBlank(jdbc.getDefaultCatalog())) {
+            tableName = jdbc.getDefaultCatalog() + '.' + tableName;
+        }
+        return tableName;
+    }
+
+    private DelegatingAuditTrailManager newDelegatingAuditTrailManager(final AuditTrailManager manager) {
+        final AuditProperties audit = casProperties.getAudit();
+        return new DefaultDelegatingAuditTrailManager(manager, audit.getRecentRecordsCapacity(),
+                Beans.newDuration(audit.getRecentRecordsMaxAge()).toMillis());
+    }
 }
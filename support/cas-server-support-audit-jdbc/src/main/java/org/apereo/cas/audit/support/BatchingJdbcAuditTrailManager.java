@@ -0,0 +1,89 @@
+package org.apereo.cas.audit.support;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.audit.spi.BatchingAuditTrailManager;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link BatchingJdbcAuditTrailManager} that inserts audit records
+ * into the audit table using JDBC batch updates, one transaction per batch.
+ * Records are written to the same table and columns as the inspektr JDBC audit trail manager.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class BatchingJdbcAuditTrailManager implements BatchingAuditTrailManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingJdbcAuditTrailManager.class);
+
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s "
+            + "(AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int DEFAULT_COLUMN_LENGTH = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String insertSql;
+
+    private int columnLength = DEFAULT_COLUMN_LENGTH;
+
+    public BatchingJdbcAuditTrailManager(final DataSource dataSource,
+                                         final TransactionTemplate transactionTemplate,
+                                         final String tableName) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = transactionTemplate;
+        this.insertSql = String.format(INSERT_SQL_TEMPLATE, tableName);
+    }
+
+    @Override
+    public void record(final AuditActionContext audit) {
+        recordAll(Collections.singletonList(audit));
+    }
+
+    @Override
+    public void recordAll(final Collection<AuditActionContext> audits) {
+        final List<Object[]> arguments = audits.stream()
+                .map(this::toArguments)
+                .collect(Collectors.toList());
+        LOGGER.debug("Inserting [{}] audit records", arguments.size());
+        this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(final TransactionStatus status) {
+                jdbcTemplate.batchUpdate(insertSql, arguments);
+            }
+        });
+    }
+
+    public void setColumnLength(final int columnLength) {
+        this.columnLength = columnLength;
+    }
+
+    private Object[] toArguments(final AuditActionContext audit) {
+        return new Object[]{
+            truncate(audit.getPrincipal()),
+            audit.getClientIpAddress(),
+            audit.getServerIpAddress(),
+            truncate(audit.getResourceOperatedUpon()),
+            audit.getActionPerformed(),
+            audit.getApplicationCode(),
+            new Timestamp(audit.getWhenActionWasPerformed().getTime())
+        };
+    }
+
+    private String truncate(final String value) {
+        return StringUtils.abbreviate(value, this.columnLength);
+    }
+}
@@ -1,18 +1,21 @@
 package org.apereo.cas.audit;
 
+import org.apereo.cas.audit.spi.BatchingAuditTrailManager;
 import org.apereo.inspektr.audit.AuditActionContext;
-import org.apereo.inspektr.audit.AuditTrailManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.util.Collection;
+
 /**
  * This is {@link MongoDbAuditTrailManager}.
+ * Batches of audit records are inserted into the collection at once.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
-public class MongoDbAuditTrailManager implements AuditTrailManager {
+public class MongoDbAuditTrailManager implements BatchingAuditTrailManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(MongoDbAuditTrailManager.class);
 
     private final String collectionName;
@@ -27,4 +30,10 @@ public class MongoDbAuditTrailManager implements AuditTrailManager {
     public void record(final AuditActionContext audit) {
         this.mongoTemplate.save(audit, this.collectionName);
     }
+
+    @Override
+    public void recordAll(final Collection<AuditActionContext> audits) {
+        LOGGER.debug("Inserting [{}] audit records into [{}]", audits.size(), this.collectionName);
+        this.mongoTemplate.insert(audits, this.collectionName);
+    }
 }
@@ -1,16 +1,21 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.audit.MongoDbAuditTrailManager;
+import org.apereo.cas.audit.spi.AsynchronousAuditTrailManager;
 import org.apereo.cas.audit.spi.DefaultDelegatingAuditTrailManager;
 import org.apereo.cas.audit.spi.DelegatingAuditTrailManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.audit.AuditAsynchronousProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditMongoDbProperties;
+import org.apereo.cas.configuration.model.core.audit.AuditProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
 /**
@@ -35,9 +40,27 @@ public class CasSupportMongoDbAuditConfiguration {
         return new MongoDbAuditTrailManager(mongoTemplate, mongo.getCollection());
     }
 
+    @Lazy
+    @Bean
+    public AsynchronousAuditTrailManager asynchronousMongoDbAuditTrailManager() {
+        final AuditAsynchronousProperties async = casProperties.getAudit().getAsynchronous();
+        return new AsynchronousAuditTrailManager(mongoDbAuditTrailManager(), async.getQueueCapacity(), async.getBatchSize(),
+                Beans.newDuration(async.getFlushInterval()).toMillis(),
+                Beans.newDuration(async.getShutdownTimeout()).toMillis(),
+                async.isDiscardWhenFull());
+    }
+
     @Bean
     public DelegatingAuditTrailManager auditTrailManager() {
-        return new DefaultDelegatingAuditTrailManager(mongoDbAuditTrailManager());
+        if (casProperties.getAudit().getAsynchronous().isEnabled()) {
+            return newDelegatingAuditTrailManager(asynchronousMongoDbAuditTrailManager());
+        }
+        return newDelegatingAuditTrailManager(mongoDbAuditTrailManager());
     }
 
+    private DelegatingAuditTrailManager newDelegatingAuditTrailManager(final AuditTrailManager manager) {
+        final AuditProperties audit = casProperties.getAudit();
+        return new DefaultDelegatingAuditTrailManager(manager, audit.getRecentRecordsCapacity(),
+                Beans.newDuration(audit.getRecentRecordsMaxAge()).toMillis());
+    }
 }
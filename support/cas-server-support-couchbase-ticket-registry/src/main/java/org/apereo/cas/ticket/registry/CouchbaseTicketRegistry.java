@@ -16,6 +16,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -63,11 +66,27 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry {
 
     private final TicketCatalog ticketCatalog;
     private final CouchbaseClientFactory couchbase;
+    private final long expirationDelay;
 
     public CouchbaseTicketRegistry(final CouchbaseClientFactory couchbase,
                                    final TicketCatalog ticketCatalog) {
+        this(couchbase, ticketCatalog, 0);
+    }
+
+    /**
+     * Instantiates a new Couchbase ticket registry.
+     *
+     * @param couchbase       the couchbase client factory
+     * @param ticketCatalog   the ticket catalog
+     * @param expirationDelay seconds for which documents are kept past the expiration of their ticket,
+     *                        so the registry cleaner gets a chance to process expired tickets first
+     */
+    public CouchbaseTicketRegistry(final CouchbaseClientFactory couchbase,
+                                   final TicketCatalog ticketCatalog,
+                                   final long expirationDelay) {
         this.couchbase = couchbase;
         this.ticketCatalog = ticketCatalog;
+        this.expirationDelay = Math.max(0, expirationDelay);
 
         LOGGER.info("Setting up Couchbase Ticket Registry instance with bucket [{}]", this.couchbase.getBucket().name());
     }
@@ -202,20 +221,26 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry {
     }
 
     /**
-     * Get the expiration policy value of the ticket in seconds.
+     * Get the expiration value of the document holding the ticket, based on the next instant
+     * at which the ticket expires plus the configured delay. Couchbase treats values up to 30 days as relative
+     * to the current time in seconds and anything larger as an absolute Unix timestamp.
      *
      * @param ticket the ticket
-     * @return the exp value
+     * @return the exp value, or zero if the document should not expire
      * @see <a href="http://docs.couchbase.com/developer/java-2.0/documents-basics.html">Couchbase Docs</a>
      */
-    private static int getTimeToLive(final Ticket ticket) {
-        final int expTime = ticket.getExpirationPolicy().getTimeToLive().intValue();
+    private int getTimeToLive(final Ticket ticket) {
+        final ZonedDateTime nextExpirationTime = getNextExpirationTime(ticket);
+        if (nextExpirationTime == null) {
+            return 0;
+        }
+        final ZonedDateTime expirationTime = nextExpirationTime.plusSeconds(this.expirationDelay);
+        final long expTime = Math.max(1, ChronoUnit.SECONDS.between(ZonedDateTime.now(ZoneOffset.UTC), expirationTime));
         if (TimeUnit.SECONDS.toDays(expTime) >= MAX_EXP_TIME_IN_DAYS) {
-            LOGGER.warn("Any expiration time larger than [{}] days in seconds is considered absolute (as in a Unix time stamp) "
-                    + "anything smaller is considered relative in seconds.", MAX_EXP_TIME_IN_DAYS);
-
+            LOGGER.trace("Expiration time for [{}] is longer than [{}] days and is passed as a Unix time stamp",
+                    ticket.getId(), MAX_EXP_TIME_IN_DAYS);
+            return (int) Math.min(Integer.MAX_VALUE, expirationTime.toEpochSecond());
         }
-        return expTime;
+        return (int) expTime;
     }
 }
-
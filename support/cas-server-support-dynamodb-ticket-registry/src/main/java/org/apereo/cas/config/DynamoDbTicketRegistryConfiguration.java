@@ -12,6 +12,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
+import org.apereo.cas.configuration.model.support.quartz.SchedulingProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.DynamoDbTicketRegistry;
@@ -25,6 +26,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link DynamoDbTicketRegistryConfiguration}.
@@ -44,8 +46,10 @@ public class DynamoDbTicketRegistryConfiguration {
     public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         final DynamoDbTicketRegistryProperties db = casProperties.getTicket().getRegistry().getDynamoDb();
         final EncryptionRandomizedSigningJwtCryptographyProperties crypto = db.getCrypto();
+        final SchedulingProperties cleaner = casProperties.getTicket().getRegistry().getCleaner().getSchedule();
+        final long expirationDelay = cleaner.isEnabled() ? TimeUnit.MILLISECONDS.toSeconds(cleaner.getRepeatInterval()) : 0;
         return new DynamoDbTicketRegistry(Beans.newTicketRegistryCipherExecutor(crypto, "dynamoDb"),
-                dynamoDbTicketRegistryFacilitator(ticketCatalog));
+                dynamoDbTicketRegistryFacilitator(ticketCatalog), expirationDelay);
     }
 
     @Autowired
@@ -6,6 +6,7 @@ import org.apereo.cas.ticket.Ticket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 
 /**
@@ -18,11 +19,27 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDbTicketRegistry.class);
 
     private final DynamoDbTicketRegistryFacilitator dbTableService;
+    private final long expirationDelay;
 
     public DynamoDbTicketRegistry(final CipherExecutor cipher,
                                   final DynamoDbTicketRegistryFacilitator dbTableService) {
+        this(cipher, dbTableService, 0);
+    }
+
+    /**
+     * Instantiates a new DynamoDb ticket registry.
+     *
+     * @param cipher          the cipher
+     * @param dbTableService  the db table service
+     * @param expirationDelay seconds for which items are kept past the expiration of their ticket,
+     *                        so the registry cleaner gets a chance to process expired tickets first
+     */
+    public DynamoDbTicketRegistry(final CipherExecutor cipher,
+                                  final DynamoDbTicketRegistryFacilitator dbTableService,
+                                  final long expirationDelay) {
         setCipherExecutor(cipher);
         this.dbTableService = dbTableService;
+        this.expirationDelay = Math.max(0, expirationDelay);
         LOGGER.info("Setting up DynamoDb Ticket Registry instance");
     }
 
@@ -31,7 +48,8 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         try {
             LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ticket.getExpirationPolicy().getTimeToLive());
             final Ticket encTicket = encodeTicket(ticket);
-            this.dbTableService.put(ticket, encTicket);
+            final ZonedDateTime expirationTime = getNextExpirationTime(ticket);
+            this.dbTableService.put(ticket, encTicket, expirationTime == null ? null : expirationTime.plusSeconds(this.expirationDelay));
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
@@ -8,6 +8,7 @@ import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
 import com.amazonaws.services.dynamodbv2.model.DeleteTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DescribeTimeToLiveRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
@@ -18,6 +19,10 @@ import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
 import com.amazonaws.services.dynamodbv2.model.ScanResult;
 import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveDescription;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveSpecification;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveStatus;
+import com.amazonaws.services.dynamodbv2.model.UpdateTimeToLiveRequest;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
@@ -30,6 +35,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -53,6 +59,7 @@ public class DynamoDbTicketRegistryFacilitator {
         COUNT_OF_USES("countOfUses"),
         TIME_TO_LIVE("timeToLive"),
         TIME_TO_IDLE("timeToIdle"),
+        EXPIRATION_TIME("expirationTime"),
         ENCODED("encoded");
 
         private final String name;
@@ -178,12 +185,13 @@ public class DynamoDbTicketRegistryFacilitator {
     /**
      * Put ticket.
      *
-     * @param ticket        the ticket
-     * @param encodedTicket the encoded ticket
+     * @param ticket         the ticket
+     * @param encodedTicket  the encoded ticket
+     * @param expirationTime the next instant at which the ticket expires, if known
      */
-    public void put(final Ticket ticket, final Ticket encodedTicket) {
+    public void put(final Ticket ticket, final Ticket encodedTicket, final ZonedDateTime expirationTime) {
         final TicketDefinition metadata = this.ticketCatalog.find(ticket);
-        final Map<String, AttributeValue> values = buildTableAttributeValuesMapFromTicket(ticket, encodedTicket);
+        final Map<String, AttributeValue> values = buildTableAttributeValuesMapFromTicket(ticket, encodedTicket, expirationTime);
         LOGGER.debug("Adding ticket id [{}] with attribute values [{}]", encodedTicket.getId(), values);
         final PutItemRequest putItemRequest = new PutItemRequest(metadata.getProperties().getStorageName(), values);
         LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, encodedTicket.getId());
@@ -224,9 +232,42 @@ public class DynamoDbTicketRegistryFacilitator {
             
             final TableDescription tableDescription = amazonDynamoDBClient.describeTable(describeTableRequest).getTable();
             LOGGER.debug("Located newly created table with description: [{}]", tableDescription);
+
+            enableTimeToLive(request.getTableName());
         }));
     }
 
+    /**
+     * Let DynamoDb remove items once the expiration time recorded with the ticket has passed.
+     * Tables are checked on every startup, including those created by earlier versions;
+     * DynamoDb rejects enabling time to live twice, so tables on which it is already
+     * enabled for the expiration time attribute are left alone.
+     *
+     * @param tableName the table name
+     */
+    private void enableTimeToLive(final String tableName) {
+        try {
+            final TimeToLiveDescription description = amazonDynamoDBClient.describeTimeToLive(
+                    new DescribeTimeToLiveRequest().withTableName(tableName)).getTimeToLiveDescription();
+            if (description != null && ColumnNames.EXPIRATION_TIME.getName().equals(description.getAttributeName())
+                    && (TimeToLiveStatus.ENABLED.toString().equals(description.getTimeToLiveStatus())
+                    || TimeToLiveStatus.ENABLING.toString().equals(description.getTimeToLiveStatus()))) {
+                LOGGER.debug("Time to live is already enabled on table [{}]", tableName);
+                return;
+            }
+            final UpdateTimeToLiveRequest request = new UpdateTimeToLiveRequest()
+                    .withTableName(tableName)
+                    .withTimeToLiveSpecification(new TimeToLiveSpecification()
+                            .withAttributeName(ColumnNames.EXPIRATION_TIME.getName())
+                            .withEnabled(Boolean.TRUE));
+            LOGGER.debug("Sending request [{}] to enable time to live on table [{}]", request, tableName);
+            amazonDynamoDBClient.updateTimeToLive(request);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to enable time to live on table [{}]; expired tickets are left to the ticket registry cleaner: [{}]",
+                    tableName, e.getMessage());
+        }
+    }
+
     /**
      * Build table attribute values from ticket map.
      *
@@ -235,6 +276,19 @@ public class DynamoDbTicketRegistryFacilitator {
      * @return the map
      */
     public Map<String, AttributeValue> buildTableAttributeValuesMapFromTicket(final Ticket ticket, final Ticket encTicket) {
+        return buildTableAttributeValuesMapFromTicket(ticket, encTicket, null);
+    }
+
+    /**
+     * Build table attribute values from ticket map.
+     *
+     * @param ticket         the ticket
+     * @param encTicket      the encoded ticket
+     * @param expirationTime the next instant at which the ticket expires, if known
+     * @return the map
+     */
+    public Map<String, AttributeValue> buildTableAttributeValuesMapFromTicket(final Ticket ticket, final Ticket encTicket,
+                                                                              final ZonedDateTime expirationTime) {
         final Map<String, AttributeValue> values = new HashMap<>();
         values.put(ColumnNames.ID.getName(), new AttributeValue(encTicket.getId()));
         values.put(ColumnNames.PREFIX.getName(), new AttributeValue(encTicket.getPrefix()));
@@ -243,6 +297,10 @@ public class DynamoDbTicketRegistryFacilitator {
         values.put(ColumnNames.TIME_TO_LIVE.getName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToLive())));
         values.put(ColumnNames.TIME_TO_IDLE.getName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToIdle())));
         values.put(ColumnNames.ENCODED.getName(), new AttributeValue().withB(ByteBuffer.wrap(SerializationUtils.serialize(encTicket))));
+        if (expirationTime != null) {
+            values.put(ColumnNames.EXPIRATION_TIME.getName(),
+                    new AttributeValue().withN(Long.toString(expirationTime.toEpochSecond())));
+        }
 
         LOGGER.debug("Created attribute values [{}] based on provided ticket [{}]", values, encTicket.getId());
         return values;
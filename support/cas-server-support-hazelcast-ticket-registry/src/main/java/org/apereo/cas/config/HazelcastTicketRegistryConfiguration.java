@@ -1,7 +1,9 @@
 package org.apereo.cas.config;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.config.MapAttributeConfig;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import org.apereo.cas.configuration.CasConfigurationProperties;
@@ -10,10 +12,14 @@ import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.registry.HazelcastTicketCacheInvalidationChannel;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationChannel;
+import org.apereo.cas.ticket.registry.support.TicketExpiredValueExtractor;
+import org.apereo.cas.ticket.registry.support.TicketPrefixValueExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -58,6 +64,13 @@ public class HazelcastTicketRegistryConfiguration {
         return r;
     }
 
+    @Autowired
+    @Bean
+    public TicketCacheInvalidationChannel ticketCacheInvalidationChannel(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+        return new HazelcastTicketCacheInvalidationChannel(hazelcast(ticketCatalog),
+                HazelcastTicketCacheInvalidationChannel.class.getSimpleName());
+    }
+
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner() {
         return NoOpTicketRegistryCleaner.getInstance();
@@ -85,9 +98,18 @@ public class HazelcastTicketRegistryConfiguration {
         final Collection<TicketDefinition> definitions = ticketCatalog.findAll();
         definitions.forEach(t -> {
             final MapConfig mapConfig = factory.buildMapConfig(hz, t.getProperties().getStorageName(), t.getProperties().getStorageTimeout());
+            configureTicketQueryAttributes(mapConfig);
             LOGGER.debug("Created Hazelcast map configuration for [{}]", t);
             mapConfigs.put(t.getProperties().getStorageName(), mapConfig);
         });
         return mapConfigs;
     }
+
+    private static void configureTicketQueryAttributes(final MapConfig mapConfig) {
+        mapConfig.addMapAttributeConfig(new MapAttributeConfig(TicketPrefixValueExtractor.ATTRIBUTE_NAME,
+                TicketPrefixValueExtractor.class.getName()));
+        mapConfig.addMapAttributeConfig(new MapAttributeConfig(TicketExpiredValueExtractor.ATTRIBUTE_NAME,
+                TicketExpiredValueExtractor.class.getName()));
+        mapConfig.addMapIndexConfig(new MapIndexConfig(TicketPrefixValueExtractor.ATTRIBUTE_NAME, false));
+    }
 }
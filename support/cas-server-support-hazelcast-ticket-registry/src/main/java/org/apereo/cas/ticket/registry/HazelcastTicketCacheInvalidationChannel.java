@@ -0,0 +1,33 @@
+package org.apereo.cas.ticket.registry;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationChannel;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationMessage;
+
+import java.util.function.Consumer;
+
+/**
+ * This is {@link HazelcastTicketCacheInvalidationChannel} that carries ticket cache
+ * invalidation messages over a hazelcast topic.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class HazelcastTicketCacheInvalidationChannel implements TicketCacheInvalidationChannel {
+    private final ITopic<TicketCacheInvalidationMessage> topic;
+
+    public HazelcastTicketCacheInvalidationChannel(final HazelcastInstance instance, final String topicName) {
+        this.topic = instance.getTopic(topicName);
+    }
+
+    @Override
+    public void publish(final TicketCacheInvalidationMessage message) {
+        this.topic.publish(message);
+    }
+
+    @Override
+    public void subscribe(final Consumer<TicketCacheInvalidationMessage> consumer) {
+        this.topic.addMessageListener(message -> consumer.accept(message.getMessageObject()));
+    }
+}
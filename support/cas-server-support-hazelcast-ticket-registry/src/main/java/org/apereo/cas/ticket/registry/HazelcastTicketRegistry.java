@@ -1,20 +1,35 @@
 package org.apereo.cas.ticket.registry;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.aggregation.Aggregators;
 import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.support.TicketExpiredValueExtractor;
+import org.apereo.cas.ticket.registry.support.TicketPrefixValueExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import java.io.Closeable;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -22,6 +37,8 @@ import java.util.stream.Collectors;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Bulk reads are paged, and ticket counts are aggregated on the members that own
+ * the tickets, so that such operations do not pull entire ticket maps onto a single node.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
@@ -121,15 +138,82 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
                 .sum();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are collected eagerly, so only the first page of each ticket map is returned.</p>
+     */
     @Override
     public Collection<Ticket> getTickets() {
-        return this.ticketCatalog.findAll().stream()
-                .map(metadata -> getTicketMapInstanceByMetadata(metadata).values())
-                .flatMap(tickets -> tickets.stream().limit(pageSize).collect(Collectors.toList()).stream())
+        return getTicketMapInstances()
+                .flatMap(map -> map.values(new PagingPredicate<String, Ticket>(this.pageSize)).stream())
                 .map(this::decodeTicket)
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are fetched from each ticket map one page at a time, as the stream is consumed,
+     * so that no member has to send more than a page worth of tickets at once.</p>
+     */
+    @Override
+    public Stream<Ticket> getTicketsStream() {
+        return getTicketMapInstances()
+                .flatMap(map -> StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                        new PagedTicketIterator(map, this.pageSize), Spliterator.ORDERED | Spliterator.NONNULL), false))
+                .flatMap(Collection::stream)
+                .map(this::decodeTicket);
+    }
+
+    @Override
+    public long sessionCount() {
+        return countUnexpiredTickets(TicketGrantingTicket.class, super::sessionCount);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countUnexpiredTickets(ServiceTicket.class, super::serviceTicketCount);
+    }
+
+    /**
+     * Count unexpired tickets of the given type. The count is aggregated on the members
+     * that own the tickets. Encoded tickets cannot be examined by members, in which case
+     * the count falls back onto the given supplier.
+     *
+     * @param type     the ticket type
+     * @param fallback the fallback
+     * @return the count
+     */
+    private long countUnexpiredTickets(final Class<? extends Ticket> type, final LongSupplier fallback) {
+        if (isCipherExecutorEnabled()) {
+            return fallback.getAsLong();
+        }
+        try {
+            return this.ticketCatalog.findAll()
+                    .stream()
+                    .filter(metadata -> type.isAssignableFrom(metadata.getImplementationClass()))
+                    .mapToLong(metadata -> {
+                        final Predicate<String, Ticket> predicate = Predicates.and(
+                                Predicates.equal(TicketPrefixValueExtractor.ATTRIBUTE_NAME, metadata.getPrefix()),
+                                Predicates.equal(TicketExpiredValueExtractor.ATTRIBUTE_NAME, false));
+                        final Long count = getTicketMapInstanceByMetadata(metadata).aggregate(Aggregators.count(), predicate);
+                        return count;
+                    })
+                    .sum();
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to count tickets of type [{}] on cluster members: [{}]", type.getSimpleName(), e.getMessage());
+            return fallback.getAsLong();
+        }
+    }
+
+    private Stream<IMap<String, Ticket>> getTicketMapInstances() {
+        return this.ticketCatalog.findAll()
+                .stream()
+                .map(metadata -> metadata.getProperties().getStorageName())
+                .distinct()
+                .map(this::getTicketMapInstance)
+                .filter(Objects::nonNull);
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -158,4 +242,37 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
         }
         return null;
     }
+
+    /**
+     * Iterates over the pages of a ticket map.
+     */
+    private static final class PagedTicketIterator implements Iterator<Collection<Ticket>> {
+        private final IMap<String, Ticket> map;
+        private final PagingPredicate<String, Ticket> predicate;
+        private Collection<Ticket> page;
+
+        PagedTicketIterator(final IMap<String, Ticket> map, final int pageSize) {
+            this.map = map;
+            this.predicate = new PagingPredicate<>(pageSize);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.page == null) {
+                this.page = this.map.values(this.predicate);
+            }
+            return !this.page.isEmpty();
+        }
+
+        @Override
+        public Collection<Ticket> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Collection<Ticket> current = this.page;
+            this.page = null;
+            this.predicate.nextPage();
+            return current;
+        }
+    }
 }
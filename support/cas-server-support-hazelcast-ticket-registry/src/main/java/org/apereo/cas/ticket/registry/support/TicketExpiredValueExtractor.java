@@ -0,0 +1,25 @@
+package org.apereo.cas.ticket.registry.support;
+
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketExpiredValueExtractor} that exposes the expiration state of the ticket
+ * as the {@value #ATTRIBUTE_NAME} attribute, so that expiry checks run on the member that owns the ticket.
+ * Since a ticket may expire without being updated, this attribute must not be indexed.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TicketExpiredValueExtractor extends ValueExtractor<Ticket, Object> {
+    /**
+     * Name of the attribute.
+     */
+    public static final String ATTRIBUTE_NAME = "expired";
+
+    @Override
+    public void extract(final Ticket ticket, final Object argument, final ValueCollector collector) {
+        collector.addObject(ticket.isExpired());
+    }
+}
@@ -0,0 +1,24 @@
+package org.apereo.cas.ticket.registry.support;
+
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketPrefixValueExtractor} that exposes the ticket prefix
+ * as the {@value #ATTRIBUTE_NAME} attribute, so tickets may be queried and indexed by type.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TicketPrefixValueExtractor extends ValueExtractor<Ticket, Object> {
+    /**
+     * Name of the attribute.
+     */
+    public static final String ATTRIBUTE_NAME = "prefix";
+
+    @Override
+    public void extract(final Ticket ticket, final Object argument, final ValueCollector collector) {
+        collector.addObject(ticket.getPrefix());
+    }
+}
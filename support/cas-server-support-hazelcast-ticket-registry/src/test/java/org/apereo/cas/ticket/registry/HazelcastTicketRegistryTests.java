@@ -2,7 +2,10 @@ package org.apereo.cas.ticket.registry;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.stream.IntStream;
 
+import com.hazelcast.core.HazelcastInstance;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
@@ -23,6 +26,12 @@ import org.apereo.cas.config.HazelcastTicketRegistryConfiguration;
 import org.apereo.cas.config.HazelcastTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +40,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
+import static org.junit.Assert.*;
+
 /**
  * Unit tests for {@link HazelcastTicketRegistry}.
  *
@@ -68,6 +79,14 @@ public class HazelcastTicketRegistryTests extends AbstractTicketRegistryTests {
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("hazelcast")
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
     public HazelcastTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
     }
@@ -81,4 +100,25 @@ public class HazelcastTicketRegistryTests extends AbstractTicketRegistryTests {
     public TicketRegistry getNewTicketRegistry() {
         return ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketsAreStreamedPageByPage() {
+        final HazelcastTicketRegistry registry = new HazelcastTicketRegistry(hazelcastInstance, ticketCatalog, 3);
+        assertEquals(0, registry.getTicketsStream().count());
+
+        IntStream.range(0, 10).forEach(i -> registry.addTicket(new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-paged-" + i,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy())));
+
+        assertEquals(10, registry.getTicketsStream().map(Ticket::getId).distinct().count());
+        assertEquals(2, registry.getTicketsStream().limit(2).count());
+    }
+
+    @Test
+    public void verifyCollectedTicketsAreCappedByPageSize() {
+        final HazelcastTicketRegistry registry = new HazelcastTicketRegistry(hazelcastInstance, ticketCatalog, 3);
+        IntStream.range(0, 10).forEach(i -> registry.addTicket(new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-paged-" + i,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy())));
+
+        assertEquals(3, registry.getTickets().size());
+    }
 }
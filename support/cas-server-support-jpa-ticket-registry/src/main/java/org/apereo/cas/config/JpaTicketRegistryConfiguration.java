@@ -8,10 +8,14 @@ import org.apereo.cas.configuration.model.support.jpa.JpaConfigDataHolder;
 import org.apereo.cas.configuration.model.support.jpa.ticketregistry.JpaTicketRegistryProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.JpaTicketRegistry;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.support.JpaLockingStrategy;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
 import org.apereo.cas.util.InetAddressUtils;
@@ -19,6 +23,8 @@ import org.reflections.Reflections;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -47,6 +53,7 @@ import java.util.stream.Collectors;
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @EnableTransactionManagement(proxyTargetClass = true)
 public class JpaTicketRegistryConfiguration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JpaTicketRegistryConfiguration.class);
 
     @Autowired
     private CasConfigurationProperties casProperties;
@@ -95,7 +102,8 @@ public class JpaTicketRegistryConfiguration {
     public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog")
                                             final TicketCatalog ticketCatalog) {
         final JpaTicketRegistryProperties jpa = casProperties.getTicket().getRegistry().getJpa();
-        final JpaTicketRegistry bean = new JpaTicketRegistry(jpa.getTicketLockType(), ticketCatalog);
+        final JpaTicketRegistry bean = new JpaTicketRegistry(jpa.getTicketLockType(), ticketCatalog,
+                jpa.isOptimisticLocking(), jpa.getOptimisticLockingRetries());
         bean.setCipherExecutor(Beans.newTicketRegistryCipherExecutor(jpa.getCrypto(), "jpa"));
         return bean;
     }
@@ -106,4 +114,20 @@ public class JpaTicketRegistryConfiguration {
         final String uniqueId = StringUtils.defaultIfEmpty(casProperties.getHost().getName(), InetAddressUtils.getCasServerHostName());
         return new JpaLockingStrategy("cas-ticket-registry-cleaner", uniqueId, registry.getJpa().getJpaLockingTimeout());
     }
+
+    @Autowired
+    @Bean
+    public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("lockingStrategy") final LockingStrategy lockingStrategy,
+                                                       @Qualifier("logoutManager") final LogoutManager logoutManager,
+                                                       @Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
+        final TicketRegistryProperties registry = casProperties.getTicket().getRegistry();
+        if (registry.getCleaner().getSchedule().isEnabled()) {
+            LOGGER.debug("Ticket registry cleaner is enabled.");
+            return new JpaTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry, registry.getJpa().getCleanerBatchSize());
+        }
+        LOGGER.debug("Ticket registry cleaner is not enabled. "
+                + "Expired tickets are not forcefully collected and cleaned by CAS. It is up to the ticket registry itself to "
+                + "clean up tickets based on expiration and eviction policies.");
+        return NoOpTicketRegistryCleaner.getInstance();
+    }
 }
@@ -4,18 +4,26 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.hibernate.LockOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
 import javax.persistence.LockModeType;
+import javax.persistence.OptimisticLockException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,6 +32,10 @@ import java.util.stream.Stream;
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
  * ticket registry is suitable for HA environments.
+ * <p>
+ * When optimistic locking is turned on, ticket rows are not locked on reads. Instead, updates
+ * to ticket-granting tickets compare and increment a version column; an update that loses
+ * the race merges its changes into the latest state of the ticket and tries again.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -39,25 +51,85 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     private final TicketCatalog ticketCatalog;
     private final LockModeType lockType;
+    private final boolean optimisticLocking;
+    private final int optimisticLockingRetries;
 
     @PersistenceContext(unitName = "ticketEntityManagerFactory")
     private EntityManager entityManager;
 
     public JpaTicketRegistry(final LockModeType lockType, final TicketCatalog ticketCatalog) {
-        this.lockType = lockType;
+        this(lockType, ticketCatalog, false, 0);
+    }
+
+    public JpaTicketRegistry(final LockModeType lockType, final TicketCatalog ticketCatalog,
+                             final boolean optimisticLocking, final int optimisticLockingRetries) {
+        this.lockType = optimisticLocking ? LockModeType.NONE : lockType;
         this.ticketCatalog = ticketCatalog;
+        this.optimisticLocking = optimisticLocking;
+        this.optimisticLockingRetries = optimisticLockingRetries;
     }
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
+        if (this.optimisticLocking && ticket instanceof TicketGrantingTicketImpl) {
+            return updateTicketGrantingTicket((TicketGrantingTicketImpl) ticket);
+        }
         this.entityManager.merge(ticket);
         LOGGER.debug("Updated ticket [{}].", ticket);
         return ticket;
     }
 
+    /**
+     * Update a ticket-granting ticket if its version in the database matches the version
+     * that was read. Otherwise, the ticket was updated elsewhere in the meantime;
+     * merge both copies and try again.
+     *
+     * @param ticket the ticket
+     * @return the updated ticket
+     */
+    private Ticket updateTicketGrantingTicket(final TicketGrantingTicketImpl ticket) {
+        final String entityName = getTicketEntityName(this.ticketCatalog.find(TicketGrantingTicket.PREFIX));
+        TicketGrantingTicketImpl current = ticket;
+        for (int attempt = 0; attempt <= this.optimisticLockingRetries; attempt++) {
+            final long version = current.getVersion();
+            final int count = this.entityManager.createQuery("update " + entityName
+                    + " t set t.version = coalesce(t.version, 0) + 1 where t.id = :id and coalesce(t.version, 0) = :version")
+                    .setParameter("id", current.getId())
+                    .setParameter("version", version)
+                    .setFlushMode(FlushModeType.COMMIT)
+                    .executeUpdate();
+            if (count > 0) {
+                current.setVersion(version + 1);
+                this.entityManager.merge(current);
+                current.markStored();
+                LOGGER.debug("Updated ticket [{}] to version [{}].", current, version + 1);
+                return current;
+            }
+
+            final TicketGrantingTicketImpl updates = SerializationUtils.clone(current);
+            final TicketGrantingTicketImpl latest = this.entityManager.find(TicketGrantingTicketImpl.class, current.getId());
+            if (latest == null) {
+                LOGGER.debug("Ticket [{}] is not yet stored; adding it as is.", current);
+                this.entityManager.merge(current);
+                current.markStored();
+                return current;
+            }
+            this.entityManager.refresh(latest);
+            LOGGER.debug("Ticket [{}] was concurrently updated to version [{}]; merging changes and retrying.",
+                    current, latest.getVersion());
+            latest.mergeConcurrentUpdate(updates);
+            current = latest;
+        }
+        throw new OptimisticLockException("Unable to update ticket " + ticket.getId() + " after "
+                + (this.optimisticLockingRetries + 1) + " attempts");
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         this.entityManager.persist(ticket);
+        if (ticket instanceof TicketGrantingTicketImpl) {
+            ((TicketGrantingTicketImpl) ticket).markStored();
+        }
         LOGGER.debug("Added ticket [{}] to registry.", ticket);
     }
 
@@ -124,6 +196,58 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
                 .flatMap(org.hibernate.query.Query::stream);
     }
 
+    /**
+     * Gets a stream of tickets that may have expired, loaded in batches. These are tickets whose
+     * expiration time has passed, and tickets whose expiration time is unknown and must be
+     * checked individually. Service tickets whose expiration time has passed are left out;
+     * those are removed in bulk via {@link #deleteExpiredServiceTickets(int)} instead.
+     *
+     * @return the stream
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Ticket> getExpirationCandidatesStream() {
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        return this.ticketCatalog.findAll().stream()
+                .map(t -> {
+                    final boolean serviceTicket = ServiceTicket.class.isAssignableFrom(t.getImplementationClass());
+                    final String query = "select t from " + getTicketEntityName(t) + " t where t.expirationTime is null"
+                            + (serviceTicket ? StringUtils.EMPTY : " or t.expirationTime < :now");
+                    final TypedQuery<? extends Ticket> typedQuery = this.entityManager.createQuery(query, t.getImplementationClass());
+                    return serviceTicket ? typedQuery : typedQuery.setParameter("now", now);
+                })
+                .map(q -> {
+                    final org.hibernate.query.Query<Ticket> hq = (org.hibernate.query.Query<Ticket>) q.unwrap(org.hibernate.query.Query.class);
+                    hq.setFetchSize(STREAM_BATCH_SIZE);
+                    hq.setLockOptions(LockOptions.NONE);
+                    return hq;
+                })
+                .flatMap(org.hibernate.query.Query::stream);
+    }
+
+    /**
+     * Delete a batch of service tickets whose expiration time has passed, using the index
+     * on the expiration time column. Each batch is committed on its own so that
+     * rows are not held locked for the duration of the entire cleanup.
+     *
+     * @param batchSize the maximum number of tickets to remove
+     * @return the number of tickets removed
+     */
+    @Transactional(transactionManager = "ticketTransactionManager", propagation = Propagation.REQUIRES_NEW)
+    public int deleteExpiredServiceTickets(final int batchSize) {
+        final String entityName = getTicketEntityName(this.ticketCatalog.find(ServiceTicket.PREFIX));
+        final List<String> ids = this.entityManager.createQuery("select s.id from " + entityName
+                + " s where s.expirationTime < :now", String.class)
+                .setParameter("now", ZonedDateTime.now(ZoneOffset.UTC))
+                .setMaxResults(batchSize)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return this.entityManager.createQuery("delete from " + entityName + " s where s.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
     @Override
     public long sessionCount() {
         final TicketDefinition md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
@@ -156,10 +280,29 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     }
 
     /**
-     * Delete ticket granting tickets int.
+     * Service tickets of a ticket-granting ticket whose definition cascades are removed
+     * along with it by {@link #deleteSingleTicket(String)}, with a single statement on the parent id,
+     * so they are not removed one by one here.
+     *
+     * @param ticket the ticket
+     * @return the number of tickets removed
+     */
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        if (this.ticketCatalog.find(ticket).getProperties().isCascade()) {
+            LOGGER.debug("Service tickets tied to [{}] are removed along with it", ticket.getId());
+            return 0;
+        }
+        return super.deleteChildren(ticket);
+    }
+
+    /**
+     * Delete the ticket-granting ticket along with its service tickets and proxy-granting tickets.
+     * Proxy-granting tickets live in the same table as their parent and are removed
+     * before it, so the reference to the parent is never left dangling.
      *
      * @param ticketId the ticket id
-     * @return the int
+     * @return the number of tickets removed
      */
     private int deleteTicketGrantingTickets(final String ticketId) {
         int totalCount = 0;
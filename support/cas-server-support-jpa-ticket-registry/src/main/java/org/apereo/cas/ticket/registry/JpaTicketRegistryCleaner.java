@@ -0,0 +1,66 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.support.LockingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This is {@link JpaTicketRegistryCleaner} that uses the indexed expiration time of each ticket,
+ * rather than loading and examining every ticket in the database. Service tickets carry no logout
+ * obligations, so expired ones are removed in batches without being loaded. Other tickets are
+ * only loaded once their expiration time has passed, so that logout may be performed for each.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class JpaTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private static final long serialVersionUID = 2378213604183436405L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(JpaTicketRegistryCleaner.class);
+
+    private final TicketRegistry ticketRegistry;
+    private final int batchSize;
+
+    public JpaTicketRegistryCleaner(final LockingStrategy lockingStrategy,
+                                    final LogoutManager logoutManager,
+                                    final TicketRegistry ticketRegistry,
+                                    final int batchSize) {
+        super(lockingStrategy, logoutManager, ticketRegistry);
+        this.ticketRegistry = ticketRegistry;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    protected void cleanInternal() {
+        final JpaTicketRegistry registry = getJpaTicketRegistry();
+        if (registry == null) {
+            super.cleanInternal();
+            return;
+        }
+
+        int serviceTicketsDeleted = 0;
+        int count;
+        do {
+            count = registry.deleteExpiredServiceTickets(this.batchSize);
+            serviceTicketsDeleted += count;
+        } while (count >= this.batchSize);
+        LOGGER.info("[{}] expired service tickets removed.", serviceTicketsDeleted);
+
+        final int ticketsDeleted = registry.getExpirationCandidatesStream()
+                .filter(Ticket::isExpired)
+                .mapToInt(this::cleanTicket)
+                .sum();
+        LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+    }
+
+    private JpaTicketRegistry getJpaTicketRegistry() {
+        TicketRegistry registry = this.ticketRegistry;
+        while (registry instanceof NearCachingTicketRegistry || registry instanceof CoalescingTicketRegistry) {
+            registry = registry instanceof NearCachingTicketRegistry
+                    ? ((NearCachingTicketRegistry) registry).getDelegate()
+                    : ((CoalescingTicketRegistry) registry).getDelegate();
+        }
+        return registry instanceof JpaTicketRegistry ? (JpaTicketRegistry) registry : null;
+    }
+}
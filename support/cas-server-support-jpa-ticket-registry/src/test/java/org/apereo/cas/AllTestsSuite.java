@@ -1,6 +1,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.monitor.SessionMonitorJpaTests;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryOptimisticLockingTests;
 import org.apereo.cas.ticket.registry.JpaTicketRegistryTests;
 import org.apereo.cas.ticket.registry.support.JpaLockingStrategyTests;
 import org.junit.runner.RunWith;
@@ -14,6 +15,6 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({SessionMonitorJpaTests.class, JpaTicketRegistryTests.class,
-        JpaLockingStrategyTests.class})
+        JpaTicketRegistryOptimisticLockingTests.class, JpaLockingStrategyTests.class})
 public class AllTestsSuite {
 }
@@ -0,0 +1,45 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the {@link JpaTicketRegistryTests} with optimistic locking turned on,
+ * and verifies that concurrent updates to the same ticket are merged.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@TestPropertySource(properties = "cas.ticket.registry.jpa.optimisticLocking=true")
+public class JpaTicketRegistryOptimisticLockingTests extends JpaTicketRegistryTests {
+
+    @Test
+    public void verifyConcurrentUpdatesAreMerged() {
+        final TicketGrantingTicket newTgt = newTGT();
+        addTicketInTransaction(newTgt);
+
+        final TicketGrantingTicket first = (TicketGrantingTicket) getTicketInTransaction(newTgt.getId());
+        final TicketGrantingTicket second = (TicketGrantingTicket) getTicketInTransaction(newTgt.getId());
+
+        final ServiceTicket st1 = first.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService("https://first.example.com"),
+                new NeverExpiresExpirationPolicy(), false, true);
+        updateTicketInTransaction(first);
+
+        final ServiceTicket st2 = second.grantServiceTicket("ST-2", RegisteredServiceTestUtils.getService("https://second.example.com"),
+                new NeverExpiresExpirationPolicy(), false, true);
+        updateTicketInTransaction(second);
+
+        final TicketGrantingTicketImpl tgtFromDb = (TicketGrantingTicketImpl) getTicketInTransaction(newTgt.getId());
+        assertEquals(2, tgtFromDb.getVersion());
+        assertTrue(tgtFromDb.getServices().containsKey(st1.getId()));
+        assertTrue(tgtFromDb.getServices().containsKey(st2.getId()));
+        deleteTicketsInTransaction();
+    }
+}
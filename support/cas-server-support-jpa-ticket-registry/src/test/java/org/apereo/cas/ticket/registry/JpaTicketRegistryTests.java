@@ -35,6 +35,7 @@ import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
@@ -118,11 +119,11 @@ public class JpaTicketRegistryTests {
 
     @Autowired
     @Qualifier("ticketTransactionManager")
-    private PlatformTransactionManager txManager;
+    protected PlatformTransactionManager txManager;
 
     @Autowired
     @Qualifier("ticketRegistry")
-    private TicketRegistry ticketRegistry;
+    protected TicketRegistry ticketRegistry;
 
     @TestConfiguration
     public static class JpaTestConfiguration {
@@ -241,6 +242,27 @@ public class JpaTicketRegistryTests {
         assertEquals(CONCURRENT_SIZE, this.ticketRegistry.getTickets().size() - 1);
     }
     
+    @Test
+    public void verifyExpiredServiceTicketsDeletedInBatches() {
+        final TicketGrantingTicket newTgt = newTGT();
+        addTicketInTransaction(newTgt);
+        final TicketGrantingTicket tgtFromDb = (TicketGrantingTicket) getTicketInTransaction(newTgt.getId());
+        final Service service = RegisteredServiceTestUtils.getService("https://service.example.com");
+        final ExpirationPolicy expired = new AlwaysExpiresExpirationPolicy();
+        for (int i = 0; i < 3; i++) {
+            addTicketInTransaction(tgtFromDb.grantServiceTicket(ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+                    service, expired, false, true));
+        }
+        final ServiceTicket validSt = grantServiceTicketInTransaction(tgtFromDb);
+
+        final JpaTicketRegistry registry = (JpaTicketRegistry) this.ticketRegistry;
+        assertEquals(2, registry.deleteExpiredServiceTickets(2));
+        assertEquals(1, registry.deleteExpiredServiceTickets(2));
+        assertEquals(0, registry.deleteExpiredServiceTickets(2));
+        assertNotNull(getTicketInTransaction(validSt.getId()));
+        deleteTicketsInTransaction();
+    }
+
     static TicketGrantingTicket newTGT() {
         final Principal principal = new DefaultPrincipalFactory().createPrincipal(
                 "bob", Collections.singletonMap("displayName", "Bob"));
@@ -280,21 +302,21 @@ public class JpaTicketRegistryTests {
                 false);
     }
 
-    private void addTicketInTransaction(final Ticket ticket) {
+    protected void addTicketInTransaction(final Ticket ticket) {
         new TransactionTemplate(txManager).execute(status -> {
             ticketRegistry.addTicket(ticket);
             return null;
         });
     }
 
-    private void updateTicketInTransaction(final Ticket ticket) {
+    protected void updateTicketInTransaction(final Ticket ticket) {
         new TransactionTemplate(txManager).execute(status -> {
             ticketRegistry.updateTicket(ticket);
             return null;
         });
     }
 
-    private void deleteTicketsInTransaction() {
+    protected void deleteTicketsInTransaction() {
         new TransactionTemplate(txManager).execute((TransactionCallback<Void>) status -> {
             ticketRegistry.deleteAll();
             return null;
@@ -308,7 +330,7 @@ public class JpaTicketRegistryTests {
         });
     }
 
-    private Ticket getTicketInTransaction(final String ticketId) {
+    protected Ticket getTicketInTransaction(final String ticketId) {
         return new TransactionTemplate(txManager).execute(status -> ticketRegistry.getTicket(ticketId));
     }
 
@@ -0,0 +1,21 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.util.LdapConnectionPoolRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link LdapCoreConfiguration} that ties the lifecycle of shared LDAP connection pools
+ * to the application context, so pools are closed when CAS shuts down.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@Configuration("ldapCoreConfiguration")
+public class LdapCoreConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public LdapConnectionPoolRegistry ldapConnectionPoolRegistry() {
+        return LdapConnectionPoolRegistry.getInstance();
+    }
+}
@@ -0,0 +1,99 @@
+package org.apereo.cas.util;
+
+import org.ldaptive.Connection;
+import org.ldaptive.LdapException;
+import org.ldaptive.pool.ConnectionPool;
+import org.ldaptive.pool.PooledConnectionFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link InstrumentedPooledConnectionFactory} that keeps track of
+ * how connections are borrowed from the underlying pool, recording
+ * the number of successful and failed checkouts and the time spent waiting for them.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class InstrumentedPooledConnectionFactory extends PooledConnectionFactory {
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowFailures = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    public InstrumentedPooledConnectionFactory(final ConnectionPool cp) {
+        super(cp);
+    }
+
+    @Override
+    public Connection getConnection() throws LdapException {
+        final long start = System.nanoTime();
+        try {
+            final Connection connection = super.getConnection();
+            this.borrowCount.increment();
+            return connection;
+        } catch (final LdapException | RuntimeException e) {
+            this.borrowFailures.increment();
+            throw e;
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            this.totalWaitTime.add(elapsed);
+            this.maxWaitTime.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    public long getBorrowCount() {
+        return this.borrowCount.sum();
+    }
+
+    public long getBorrowFailures() {
+        return this.borrowFailures.sum();
+    }
+
+    /**
+     * Gets average wait time in milliseconds
+     * across all successful and failed checkouts.
+     *
+     * @return the average wait time
+     */
+    public double getAverageWaitTime() {
+        final long attempts = getBorrowCount() + getBorrowFailures();
+        if (attempts == 0) {
+            return 0;
+        }
+        return (double) TimeUnit.NANOSECONDS.toMicros(this.totalWaitTime.sum()) / attempts / 1000D;
+    }
+
+    public long getMaxWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxWaitTime.get());
+    }
+
+    public int getActiveCount() {
+        return getConnectionPool().activeCount();
+    }
+
+    public int getIdleCount() {
+        return getConnectionPool().availableCount();
+    }
+
+    /**
+     * Collect pool statistics.
+     *
+     * @return the map
+     */
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("active", getActiveCount());
+        stats.put("idle", getIdleCount());
+        stats.put("borrowCount", getBorrowCount());
+        stats.put("borrowFailures", getBorrowFailures());
+        stats.put("averageWaitTime", getAverageWaitTime());
+        stats.put("maxWaitTime", getMaxWaitTime());
+        return stats;
+    }
+}
@@ -0,0 +1,121 @@
+package org.apereo.cas.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.configuration.model.support.ldap.AbstractLdapProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link LdapConnectionPoolRegistry} that holds on to LDAP connection pools
+ * for the lifetime of the process so they may be shared across components that
+ * talk to the same directory. Pools are keyed by LDAP url, bind dn and credential,
+ * as well as TLS/SASL settings. Pool sizing and validation settings of the component
+ * that first requests a pool apply to all components that share it.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public final class LdapConnectionPoolRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LdapConnectionPoolRegistry.class);
+
+    private static final LdapConnectionPoolRegistry INSTANCE = new LdapConnectionPoolRegistry();
+
+    private final ConcurrentMap<String, InstrumentedPooledConnectionFactory> pools = new ConcurrentHashMap<>();
+
+    private LdapConnectionPoolRegistry() {
+    }
+
+    public static LdapConnectionPoolRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets a shared connection factory for the given ldap settings,
+     * creating and initializing its pool on first request.
+     *
+     * @param l the ldap settings
+     * @return the connection factory
+     */
+    public InstrumentedPooledConnectionFactory getConnectionFactory(final AbstractLdapProperties l) {
+        return getConnectionFactory(l, null);
+    }
+
+    /**
+     * Gets a shared connection factory for the given ldap settings,
+     * creating and initializing its pool on first request.
+     * Factories requested with different qualifiers are never shared.
+     *
+     * @param l         the ldap settings
+     * @param qualifier the qualifier that further partitions the pool, may be null
+     * @return the connection factory
+     */
+    public InstrumentedPooledConnectionFactory getConnectionFactory(final AbstractLdapProperties l, final String qualifier) {
+        final String key = buildPoolKey(l, qualifier);
+        return this.pools.computeIfAbsent(key, k -> {
+            LOGGER.debug("Creating shared LDAP connection pool for [{}] and bindDn [{}]", l.getLdapUrl(), l.getBindDn());
+            return new InstrumentedPooledConnectionFactory(LdapUtils.newLdaptiveBlockingConnectionPool(l));
+        });
+    }
+
+    /**
+     * Collect statistics for all shared pools, keyed by a description of the pool.
+     *
+     * @return the map
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        final Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        this.pools.forEach((key, factory) -> stats.put(describe(key), factory.getStatistics()));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public Map<String, InstrumentedPooledConnectionFactory> getConnectionFactories() {
+        return Collections.unmodifiableMap(this.pools);
+    }
+
+    /**
+     * Close all shared pools and clear the registry.
+     */
+    public void close() {
+        this.pools.forEach((key, factory) -> {
+            LOGGER.debug("Closing shared LDAP connection pool [{}]", describe(key));
+            factory.getConnectionPool().close();
+        });
+        this.pools.clear();
+    }
+
+    private static String buildPoolKey(final AbstractLdapProperties l, final String qualifier) {
+        final String credential = StringUtils.isBlank(l.getBindCredential()) ? StringUtils.EMPTY : DigestUtils.sha256(l.getBindCredential());
+        return Arrays.asList(
+                l.getLdapUrl(),
+                l.getBindDn(),
+                credential,
+                l.isUseSsl(),
+                l.isUseStartTls(),
+                l.getTrustCertificates(),
+                l.getKeystore(),
+                l.getKeystoreType(),
+                l.getSaslMechanism(),
+                l.getSaslRealm(),
+                l.getConnectionStrategy(),
+                l.getProviderClass(),
+                qualifier)
+                .stream()
+                .map(v -> Objects.toString(v, StringUtils.EMPTY))
+                .collect(Collectors.joining("|"));
+    }
+
+    private static String describe(final String key) {
+        final String[] parts = key.split("\\|", -1);
+        final String qualifier = parts[parts.length - 1];
+        return parts[0] + '|' + parts[1] + (StringUtils.isBlank(qualifier) ? StringUtils.EMPTY : '|' + qualifier);
+    }
+}
@@ -637,7 +637,7 @@ public final class LdapUtils {
 
         final Authenticator auth;
         if (StringUtils.isBlank(l.getPrincipalAttributePassword())) {
-            auth = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
+            auth = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledBindConnectionFactory(l)));
         } else {
             auth = new Authenticator(resolver, getPooledCompareAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
         }
@@ -653,7 +653,7 @@ public final class LdapUtils {
             throw new IllegalArgumentException("Dn format cannot be empty/blank for direct bind authentication");
         }
         final FormatDnResolver resolver = new FormatDnResolver(l.getDnFormat());
-        final Authenticator authenticator = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
+        final Authenticator authenticator = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledBindConnectionFactory(l)));
 
         if (l.isEnhanceWithEntryResolver()) {
             authenticator.setEntryResolver(newLdaptiveSearchEntryResolver(l, newLdaptivePooledConnectionFactory(l)));
@@ -666,7 +666,7 @@ public final class LdapUtils {
             throw new IllegalArgumentException("Dn format cannot be empty/blank for active directory authentication");
         }
         final FormatDnResolver resolver = new FormatDnResolver(l.getDnFormat());
-        final Authenticator authn = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
+        final Authenticator authn = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledBindConnectionFactory(l)));
 
         if (l.isEnhanceWithEntryResolver()) {
             authn.setEntryResolver(newLdaptiveSearchEntryResolver(l, newLdaptivePooledConnectionFactory(l)));
@@ -690,15 +690,38 @@ public final class LdapUtils {
 
     /**
      * New pooled connection factory pooled connection factory.
+     * If pool sharing is turned on, the factory is obtained from the {@link LdapConnectionPoolRegistry}
+     * and is shared with all other components that connect to the same directory.
      *
      * @param l the ldap properties
      * @return the pooled connection factory
      */
     public static PooledConnectionFactory newLdaptivePooledConnectionFactory(final AbstractLdapProperties l) {
+        if (l.isSharedPool()) {
+            LOGGER.debug("Using shared LDAP connection pool for [{}]", l.getLdapUrl());
+            return LdapConnectionPoolRegistry.getInstance().getConnectionFactory(l);
+        }
         final ConnectionPool cp = newLdaptiveBlockingConnectionPool(l);
         return new PooledConnectionFactory(cp);
     }
 
+    /**
+     * New pooled connection factory used by authentication handlers to bind as the user.
+     * Without a passivator, connections are returned to the pool still bound as the
+     * authenticated user; such pools are never shared with search operations.
+     *
+     * @param l the ldap properties
+     * @return the pooled connection factory
+     */
+    private static PooledConnectionFactory newLdaptivePooledBindConnectionFactory(final AbstractLdapProperties l) {
+        if (l.isSharedPool() && (StringUtils.isBlank(l.getPoolPassivator())
+                || AbstractLdapProperties.LdapConnectionPoolPassivator.NONE.name().equalsIgnoreCase(l.getPoolPassivator()))) {
+            LOGGER.debug("Using shared LDAP bind connection pool for [{}] given no passivator is defined", l.getLdapUrl());
+            return LdapConnectionPoolRegistry.getInstance().getConnectionFactory(l, "bind");
+        }
+        return newLdaptivePooledConnectionFactory(l);
+    }
+
     /**
      * New connection config connection config.
      *
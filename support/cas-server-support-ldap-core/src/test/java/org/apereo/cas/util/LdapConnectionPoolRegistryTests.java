@@ -0,0 +1,70 @@
+package org.apereo.cas.util;
+
+import org.apereo.cas.configuration.model.support.ldap.AbstractLdapProperties;
+import org.apereo.cas.configuration.model.support.ldap.serviceregistry.LdapServiceRegistryProperties;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link LdapConnectionPoolRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class LdapConnectionPoolRegistryTests {
+
+    private final LdapConnectionPoolRegistry registry = LdapConnectionPoolRegistry.getInstance();
+
+    @After
+    public void tearDown() {
+        this.registry.close();
+    }
+
+    @Test
+    public void verifyPoolIsSharedForSameSettings() {
+        final InstrumentedPooledConnectionFactory factory = this.registry.getConnectionFactory(newProperties("cn=admin", "secret"));
+        assertSame(factory, this.registry.getConnectionFactory(newProperties("cn=admin", "secret")));
+        assertEquals(1, this.registry.getConnectionFactories().size());
+    }
+
+    @Test
+    public void verifyPoolIsKeyedByBindDnAndCredential() {
+        final InstrumentedPooledConnectionFactory factory = this.registry.getConnectionFactory(newProperties("cn=admin", "secret"));
+        assertNotSame(factory, this.registry.getConnectionFactory(newProperties("cn=other", "secret")));
+        assertNotSame(factory, this.registry.getConnectionFactory(newProperties("cn=admin", "other")));
+        assertEquals(3, this.registry.getConnectionFactories().size());
+        this.registry.getConnectionFactories().keySet().forEach(key -> {
+            assertFalse(key.contains("|secret|"));
+            assertFalse(key.contains("|other|"));
+        });
+    }
+
+    @Test
+    public void verifyPoolIsKeyedByQualifier() {
+        final AbstractLdapProperties properties = newProperties("cn=admin", "secret");
+        final InstrumentedPooledConnectionFactory factory = this.registry.getConnectionFactory(properties);
+        assertNotSame(factory, this.registry.getConnectionFactory(properties, "bind"));
+        assertSame(factory, this.registry.getConnectionFactory(properties, null));
+    }
+
+    @Test
+    public void verifyCloseClearsRegistry() {
+        final InstrumentedPooledConnectionFactory factory = this.registry.getConnectionFactory(newProperties("cn=admin", "secret"));
+        this.registry.close();
+        assertTrue(this.registry.getConnectionFactories().isEmpty());
+        assertNotSame(factory, this.registry.getConnectionFactory(newProperties("cn=admin", "secret")));
+    }
+
+    private static AbstractLdapProperties newProperties(final String bindDn, final String bindCredential) {
+        final LdapServiceRegistryProperties properties = new LdapServiceRegistryProperties();
+        properties.setLdapUrl("ldap://localhost:10389");
+        properties.setBindDn(bindDn);
+        properties.setBindCredential(bindCredential);
+        properties.setMinPoolSize(0);
+        properties.setFailFast(false);
+        properties.getValidator().setType("none");
+        return properties;
+    }
+}
@@ -0,0 +1,36 @@
+package org.apereo.cas.monitor;
+
+import org.apereo.cas.util.LdapConnectionPoolRegistry;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reports on the LDAP connection pools held by the {@link LdapConnectionPoolRegistry},
+ * including active and idle counts, checkout wait times and checkout failures.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SharedLdapConnectionPoolsMonitor extends AbstractNamedMonitor<Status> {
+
+    private final LdapConnectionPoolRegistry registry;
+
+    public SharedLdapConnectionPoolsMonitor(final LdapConnectionPoolRegistry registry) {
+        super(SharedLdapConnectionPoolsMonitor.class.getSimpleName());
+        this.registry = registry;
+    }
+
+    @Override
+    public Status observe() {
+        final Map<String, Map<String, Object>> stats = this.registry.getStatistics();
+        if (stats.isEmpty()) {
+            return new Status(StatusCode.UNKNOWN, "No shared LDAP connection pools are defined.");
+        }
+        final String desc = stats.entrySet()
+                .stream()
+                .map(e -> e.getKey() + ' ' + e.getValue())
+                .collect(Collectors.joining(", "));
+        return new Status(StatusCode.OK, desc);
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
 import com.mongodb.WriteResult;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
@@ -18,6 +19,7 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -38,13 +40,31 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     private final TicketCatalog ticketCatalog;
     private final MongoOperations mongoTemplate;
     private final boolean dropCollection;
+    private final long expirationDelay;
 
     public MongoDbTicketRegistry(final TicketCatalog ticketCatalog,
                                  final MongoOperations mongoTemplate,
                                  final boolean dropCollection) {
+        this(ticketCatalog, mongoTemplate, dropCollection, 0);
+    }
+
+    /**
+     * Instantiates a new MongoDb ticket registry.
+     *
+     * @param ticketCatalog   the ticket catalog
+     * @param mongoTemplate   the mongo template
+     * @param dropCollection  whether collections should be dropped on startup
+     * @param expirationDelay seconds for which documents are kept past the expiration of their ticket,
+     *                        so the registry cleaner gets a chance to process expired tickets first
+     */
+    public MongoDbTicketRegistry(final TicketCatalog ticketCatalog,
+                                 final MongoOperations mongoTemplate,
+                                 final boolean dropCollection,
+                                 final long expirationDelay) {
         this.ticketCatalog = ticketCatalog;
         this.mongoTemplate = mongoTemplate;
         this.dropCollection = dropCollection;
+        this.expirationDelay = Math.max(0, expirationDelay);
 
         createTicketCollections();
         LOGGER.info("Configured MongoDb Ticket Registry instance with available collections: [{}]", mongoTemplate.getCollectionNames());
@@ -57,11 +77,30 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
 
         LOGGER.debug("Creating indices on collection [{}] to auto-expire documents...", collectionName);
         final DBCollection collection = mongoTemplate.getCollection(collectionName);
+        dropExpirationIndexWithOtherDelay(collection);
         collection.createIndex(new BasicDBObject(TicketHolder.FIELD_NAME_EXPIRE_AT, 1),
-                new BasicDBObject(FIELD_NAME_EXPIRE_AFTER_SECONDS, ticket.getProperties().getStorageTimeout()));
+                new BasicDBObject(FIELD_NAME_EXPIRE_AFTER_SECONDS, this.expirationDelay));
         return collection;
     }
 
+    /**
+     * Documents are expired once the recorded expiration time of their ticket has passed,
+     * plus the configured delay. Mongo refuses to change the options of an existing index, so any
+     * expiration index with a different delay is dropped first and then recreated.
+     */
+    private void dropExpirationIndexWithOtherDelay(final DBCollection collection) {
+        collection.getIndexInfo().forEach(index -> {
+            final Object keys = index.get("key");
+            final Object expireAfterSeconds = index.get(FIELD_NAME_EXPIRE_AFTER_SECONDS);
+            if (keys instanceof DBObject && ((DBObject) keys).containsField(TicketHolder.FIELD_NAME_EXPIRE_AT)
+                    && expireAfterSeconds instanceof Number && ((Number) expireAfterSeconds).longValue() != this.expirationDelay) {
+                LOGGER.info("Dropping index [{}] on collection [{}] to recreate it with an expiration delay of [{}] seconds",
+                        index.get("name"), collection.getName(), this.expirationDelay);
+                collection.dropIndex(index.get("name").toString());
+            }
+        });
+    }
+
     private void createTicketCollections() {
         final Collection<TicketDefinition> definitions = ticketCatalog.findAll();
         final MongoDbConnectionFactory factory = new MongoDbConnectionFactory();
@@ -88,7 +127,8 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 return null;
             }
             final Query query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            final Update update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+            final Update update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                    .set(TicketHolder.FIELD_NAME_EXPIRE_AT, holder.getExpireAt());
             this.mongoTemplate.upsert(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}]", ticket);
         } catch (final Exception e) {
@@ -196,18 +236,19 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     }
 
     /**
-     * Calculate the time at which the ticket is eligible for automated deletion by MongoDb.
+     * Calculate the time at which the ticket is eligible for automated deletion by MongoDb,
+     * which is the next instant at which the ticket is considered expired by its expiration policy.
      * Makes the assumption that the CAS server date and the Mongo server date are in sync.
      */
     private static Date getExpireAt(final Ticket ticket) {
-        final int ttl = ticket.getExpirationPolicy().getTimeToLive().intValue();
+        final ZonedDateTime expirationTime = getNextExpirationTime(ticket);
 
         // expiration policy can specify not to delete automatically
-        if (ttl < 1) {
+        if (expirationTime == null) {
             return null;
         }
 
-        return new Date(System.currentTimeMillis() + (ttl * 1000));
+        return Date.from(expirationTime.toInstant());
     }
 
     private static String serializeTicketForMongoDocument(final Ticket ticket) {
@@ -15,7 +15,7 @@ public class TicketHolder implements Serializable {
     /** Field name to hold ticket json data. */
     public static final String FIELD_NAME_JSON = "json";
 
-    /** Field name to hold ticket expiration time. */
+    /** Field name to hold the time at which the ticket expires, if known. */
     public static final String FIELD_NAME_EXPIRE_AT = "expireAt";
 
     /** Field name to hold ticket id. */
@@ -37,7 +37,7 @@ public class TicketHolder implements Serializable {
         this.json = json;
         this.ticketId = ticketId;
         this.type = type;
-        this.expireAt = new Date(expireAt.getTime());
+        this.expireAt = expireAt == null ? null : new Date(expireAt.getTime());
     }
 
     public String getJson() {
@@ -53,7 +53,7 @@ public class TicketHolder implements Serializable {
     }
 
     public Date getExpireAt() {
-        return expireAt;
+        return expireAt == null ? null : new Date(expireAt.getTime());
     }
 
 }
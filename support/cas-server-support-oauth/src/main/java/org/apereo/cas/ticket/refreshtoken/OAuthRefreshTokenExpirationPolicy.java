@@ -66,6 +66,11 @@ public class OAuthRefreshTokenExpirationPolicy extends AbstractCasExpirationPoli
     }
 
 
+    @Override
+    public ZonedDateTime getNextExpirationTime(final TicketState ticketState) {
+        return ticketState.getCreationTime().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
@@ -1,9 +1,8 @@
 package org.apereo.cas.config;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.authentication.principal.cache.CoalescingCachingPersonAttributeDao;
 import org.apereo.cas.authentication.principal.resolvers.InternalGroovyScriptDao;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.authentication.GrouperPrincipalAttributesProperties;
@@ -13,7 +12,6 @@ import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LdapUtils;
 import org.apereo.services.persondir.IPersonAttributeDao;
-import org.apereo.services.persondir.support.CachingPersonAttributeDaoImpl;
 import org.apereo.services.persondir.support.GroovyPersonAttributeDao;
 import org.apereo.services.persondir.support.GrouperPersonAttributeDao;
 import org.apereo.services.persondir.support.JsonBackedComplexStubPersonAttributeDao;
@@ -47,7 +45,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * This is {@link CasPersonDirectoryConfiguration}.
@@ -300,20 +299,16 @@ public class CasPersonDirectoryConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "cachingAttributeRepository")
     public IPersonAttributeDao cachingAttributeRepository() {
-        final CachingPersonAttributeDaoImpl impl = new CachingPersonAttributeDaoImpl();
-        impl.setCacheNullResults(false);
-
-        final Cache graphs = Caffeine.newBuilder()
-                .weakKeys()
-                .maximumSize(casProperties.getAuthn().getAttributeRepository().getMaximumCacheSize())
-                .expireAfterWrite(casProperties.getAuthn().getAttributeRepository().getExpireInMinutes(), TimeUnit.MINUTES)
-                .build();
-        impl.setUserInfoCache(graphs.asMap());
-        impl.setCachedPersonAttributesDao(aggregatingAttributeRepository());
-
-        LOGGER.debug("Configured cache expiration policy for merging attribute sources to be [{}] minute(s)",
-                casProperties.getAuthn().getAttributeRepository().getExpireInMinutes());
-        return impl;
+        final PrincipalAttributesProperties props = casProperties.getAuthn().getAttributeRepository();
+        // sources are named after their position in the configured order, so repositories of the same type are told apart
+        final List<IPersonAttributeDao> repositories = attributeRepositories();
+        final String sourceId = IntStream.range(0, repositories.size())
+                .mapToObj(i -> repositories.get(i).getClass().getSimpleName() + '#' + i)
+                .collect(Collectors.joining(",", StringUtils.defaultIfBlank(props.getMerger(), "replace") + '[', "]"));
+        LOGGER.debug("Configured cache expiration policy for merging attribute sources [{}] to be [{}] minute(s)",
+                sourceId, props.getExpireInMinutes());
+        return new CoalescingCachingPersonAttributeDao(aggregatingAttributeRepository(), sourceId,
+                props.getMaximumCacheSize(), props.getExpireInMinutes());
     }
 
     @Bean
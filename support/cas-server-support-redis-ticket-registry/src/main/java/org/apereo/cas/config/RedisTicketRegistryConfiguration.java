@@ -5,9 +5,11 @@ import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryPrope
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.redis.core.RedisObjectFactory;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.RedisTicketCacheInvalidationChannel;
 import org.apereo.cas.ticket.registry.RedisTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRedisTemplate;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationChannel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -15,6 +17,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * This is {@link RedisTicketRegistryConfiguration}.
@@ -51,4 +54,17 @@ public class RedisTicketRegistryConfiguration {
         r.setCipherExecutor(Beans.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis"));
         return r;
     }
+
+    @Bean
+    public RedisMessageListenerContainer ticketCacheInvalidationListenerContainer() {
+        final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
+
+    @Bean
+    public TicketCacheInvalidationChannel ticketCacheInvalidationChannel() {
+        return new RedisTicketCacheInvalidationChannel(ticketRedisTemplate(), ticketCacheInvalidationListenerContainer(),
+                RedisTicketCacheInvalidationChannel.class.getSimpleName());
+    }
 }
@@ -0,0 +1,51 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationChannel;
+import org.apereo.cas.ticket.registry.support.TicketCacheInvalidationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.function.Consumer;
+
+/**
+ * This is {@link RedisTicketCacheInvalidationChannel} that carries ticket cache
+ * invalidation messages over redis pub/sub.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class RedisTicketCacheInvalidationChannel implements TicketCacheInvalidationChannel {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisTicketCacheInvalidationChannel.class);
+
+    private final RedisTemplate template;
+    private final RedisMessageListenerContainer container;
+    private final ChannelTopic topic;
+
+    public RedisTicketCacheInvalidationChannel(final RedisTemplate template,
+                                               final RedisMessageListenerContainer container,
+                                               final String topic) {
+        this.template = template;
+        this.container = container;
+        this.topic = new ChannelTopic(topic);
+    }
+
+    @Override
+    public void publish(final TicketCacheInvalidationMessage message) {
+        this.template.convertAndSend(this.topic.getTopic(), message);
+    }
+
+    @Override
+    public void subscribe(final Consumer<TicketCacheInvalidationMessage> consumer) {
+        this.container.addMessageListener((message, pattern) -> {
+            final Object result = this.template.getValueSerializer().deserialize(message.getBody());
+            if (result instanceof TicketCacheInvalidationMessage) {
+                consumer.accept((TicketCacheInvalidationMessage) result);
+            } else {
+                LOGGER.debug("Ignoring unexpected message [{}] received on [{}]", result, this.topic);
+            }
+        }, this.topic);
+    }
+}
@@ -5,6 +5,7 @@ import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.servlets.HealthCheckServlet;
 import com.codahale.metrics.servlets.MetricsServlet;
 import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.StatisticsSource;
 import org.apereo.cas.audit.spi.DelegatingAuditTrailManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.ServiceTicket;
@@ -12,6 +13,11 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
 import org.apereo.inspektr.audit.AuditActionContext;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -25,8 +31,10 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -34,6 +42,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
@@ -41,7 +50,7 @@ import java.util.stream.Collectors;
  * @author Scott Battaglia
  * @since 3.3.5
  */
-public class StatisticsController extends BaseCasMvcEndpoint implements ServletContextAware {
+public class StatisticsController extends BaseCasMvcEndpoint implements ServletContextAware, ApplicationContextAware {
 
     private static final int NUMBER_OF_BYTES_IN_A_KILOBYTE = 1024;
     private static final String MONITORING_VIEW_STATISTICS = "monitoring/viewStatistics";
@@ -54,6 +63,8 @@ public class StatisticsController extends BaseCasMvcEndpoint implements ServletC
     private final HealthCheckRegistry healthCheckRegistry;
     private final CasConfigurationProperties casProperties;
 
+    private ApplicationContext applicationContext;
+
     public StatisticsController(final DelegatingAuditTrailManager auditTrailManager,
                                 final CentralAuthenticationService centralAuthenticationService,
                                 final MetricRegistry metricsRegistry,
@@ -143,9 +154,11 @@ public class StatisticsController extends BaseCasMvcEndpoint implements ServletC
 
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         final Callable<Collection<AuthenticationAuditSummary>> asyncTask = () -> {
-            final Set<AuditActionContext> audits = getAuthnAudit(request, response);
             final LocalDateTime startDate = DateTimeUtils.localDateTimeOf(start);
             final LocalDateTime endDate = startDate.plus(Duration.parse(range));
+            final Set<AuditActionContext> audits = this.auditTrailManager.get(
+                    DateTimeUtils.dateOf(startDate.atZone(ZoneId.systemDefault())),
+                    DateTimeUtils.dateOf(endDate.atZone(ZoneId.systemDefault())));
 
             final List<AuditActionContext> authnEvents = audits.stream()
                     .filter(a -> {
@@ -247,6 +260,27 @@ public class StatisticsController extends BaseCasMvcEndpoint implements ServletC
         }
     }
 
+    /**
+     * Gets the statistics kept by components such as caches, connection pools and queues,
+     * keyed by the name of the component. Components that are not yet created, such as lazy ones
+     * that are never used, are left out rather than created just to be reported on.
+     *
+     * @param request  the http servlet request
+     * @param response the http servlet response
+     * @return the component stats
+     */
+    @GetMapping(value = "/getComponentStats")
+    @ResponseBody
+    public Map<String, Object> getComponentStats(final HttpServletRequest request, final HttpServletResponse response) {
+        ensureEndpointAccessIsAuthorized(request, response);
+        final Map<String, Object> model = new TreeMap<>();
+        final ConfigurableListableBeanFactory beanFactory = ((ConfigurableApplicationContext) this.applicationContext).getBeanFactory();
+        Arrays.stream(this.applicationContext.getBeanNamesForType(StatisticsSource.class, false, false))
+                .filter(beanFactory::containsSingleton)
+                .forEach(name -> model.put(name, this.applicationContext.getBean(name, StatisticsSource.class).getStatistics()));
+        return model;
+    }
+
     /**
      * Gets ticket stats.
      *
@@ -332,4 +366,9 @@ public class StatisticsController extends BaseCasMvcEndpoint implements ServletC
         servletContext.setAttribute(MetricsServlet.SHOW_SAMPLES, Boolean.TRUE);
         servletContext.setAttribute(HealthCheckServlet.HEALTH_CHECK_REGISTRY, this.healthCheckRegistry);
     }
+
+    @Override
+    public void setApplicationContext(final ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
 }
@@ -0,0 +1,217 @@
+package org.apereo.cas.web.support;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles by both IP address and username, counting authentication failures in Redis
+ * so that all CAS nodes share the same counts. Failures are counted per window of
+ * {@code failureRangeInSeconds}; a submission is throttled once the failures of the current window,
+ * plus the failures of the previous window weighted by how much of it still overlaps,
+ * reach the failure threshold.
+ * <p>
+ * Failures are first counted locally and are sent to Redis periodically in a single script
+ * call, which increments all counters atomically. Once a key is found to be throttled,
+ * that decision is remembered locally until the end of the current window, so that a node
+ * under attack does not consult Redis for every submission.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter
+        extends AbstractThrottledSubmissionHandlerInterceptorAdapter implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter.class);
+
+    private static final String KEY_PREFIX = "cas:throttle:";
+
+    private static final String RECORD_FAILURES_SCRIPT = "for i, key in ipairs(KEYS) do "
+            + "redis.call('INCRBY', key, ARGV[i + 1]) "
+            + "redis.call('PEXPIRE', key, ARGV[1]) "
+            + "end "
+            + "return #KEYS";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<Long> recordFailuresScript;
+    private final long windowInMilliseconds;
+
+    private final ConcurrentMap<String, LongAdder> pendingFailures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> throttledUntil = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flushExecutor;
+
+    /**
+     * Instantiates a new redis throttled submission by ip address and username handler interceptor adapter.
+     *
+     * @param failureThreshold      the failure threshold
+     * @param failureRangeInSeconds the failure range in seconds
+     * @param usernameParameter     the username parameter
+     * @param redisTemplate         the redis template
+     * @param flushInterval         the time in milliseconds between sending failures counted locally to redis
+     */
+    public RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(final int failureThreshold,
+                                                                                   final int failureRangeInSeconds,
+                                                                                   final String usernameParameter,
+                                                                                   final StringRedisTemplate redisTemplate,
+                                                                                   final long flushInterval) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter);
+        this.redisTemplate = redisTemplate;
+        this.windowInMilliseconds = TimeUnit.SECONDS.toMillis(failureRangeInSeconds);
+
+        final DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptText(RECORD_FAILURES_SCRIPT);
+        script.setResultType(Long.class);
+        this.recordFailuresScript = script;
+
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "cas-throttle-redis-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushExecutor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        final String key = constructKey(request);
+        final long now = System.currentTimeMillis();
+        final Long until = this.throttledUntil.get(key);
+        if (until != null) {
+            if (until > now) {
+                return true;
+            }
+            this.throttledUntil.remove(key, until);
+        }
+
+        final long window = now / this.windowInMilliseconds;
+        final String currentKey = getWindowKey(key, window);
+        final String previousKey = getWindowKey(key, window - 1);
+        long current = getPendingFailures(currentKey);
+        long previous = getPendingFailures(previousKey);
+        try {
+            final List<String> counts = this.redisTemplate.opsForValue().multiGet(Arrays.asList(currentKey, previousKey));
+            if (counts != null && counts.size() == 2) {
+                current += NumberUtils.toLong(counts.get(0));
+                previous += NumberUtils.toLong(counts.get(1));
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read authentication failures for [{}] from Redis: [{}]", key, e.getMessage());
+        }
+
+        final double overlap = 1 - (now % this.windowInMilliseconds) / (double) this.windowInMilliseconds;
+        final double failures = current + previous * overlap;
+        LOGGER.trace("Found [{}] recent authentication failure(s) for [{}]", failures, key);
+        if (failures >= getFailureThreshold()) {
+            this.throttledUntil.put(key, (window + 1) * this.windowInMilliseconds);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        final String key = getWindowKey(constructKey(request), System.currentTimeMillis() / this.windowInMilliseconds);
+        this.pendingFailures.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Send failures counted locally to redis.
+     */
+    public void flush() {
+        if (this.pendingFailures.isEmpty()) {
+            return;
+        }
+        final List<String> keys = new ArrayList<>();
+        final List<String> arguments = new ArrayList<>();
+        arguments.add(String.valueOf(this.windowInMilliseconds * 2));
+        for (final String key : new ArrayList<>(this.pendingFailures.keySet())) {
+            final LongAdder failures = this.pendingFailures.remove(key);
+            final long count = failures == null ? 0 : failures.sum();
+            if (count > 0) {
+                keys.add(key);
+                arguments.add(String.valueOf(count));
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            this.redisTemplate.execute(this.recordFailuresScript, keys, arguments.toArray());
+            LOGGER.debug("Recorded authentication failures for [{}] key(s) in Redis", keys.size());
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to record authentication failures in Redis: [{}]. Failures will be retried", e.getMessage());
+            for (int i = 0; i < keys.size(); i++) {
+                this.pendingFailures.computeIfAbsent(keys.get(i), k -> new LongAdder()).add(Long.parseLong(arguments.get(i + 1)));
+            }
+        }
+    }
+
+    /**
+     * Counters are expired by redis. This removes local throttling decisions
+     * that have ended and failures that could not be sent to redis in time.
+     */
+    @Override
+    public void decrement() {
+        final long now = System.currentTimeMillis();
+        final long window = now / this.windowInMilliseconds;
+        this.throttledUntil.entrySet().removeIf(entry -> entry.getValue() <= now);
+        this.pendingFailures.keySet().removeIf(key -> NumberUtils.toLong(StringUtils.substringAfterLast(key, ":")) < window - 1);
+        LOGGER.debug("Tracking [{}] throttled key(s) and [{}] pending key(s)", this.throttledUntil.size(), this.pendingFailures.size());
+    }
+
+    /**
+     * Construct the key that failures are counted by.
+     *
+     * @param request the request
+     * @return the key
+     */
+    protected String constructKey(final HttpServletRequest request) {
+        final String username = request.getParameter(getUsernameParameter());
+        if (StringUtils.isBlank(username)) {
+            return request.getRemoteAddr();
+        }
+        return ClientInfoHolder.getClientInfo().getClientIpAddress() + ';' + username.toLowerCase();
+    }
+
+    @Override
+    public String getName() {
+        return "redisIpAddressUsernameThrottle";
+    }
+
+    @Override
+    public void destroy() {
+        this.flushExecutor.shutdown();
+        try {
+            this.flushExecutor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private long getPendingFailures(final String key) {
+        final LongAdder failures = this.pendingFailures.get(key);
+        return failures == null ? 0 : failures.sum();
+    }
+
+    private static String getWindowKey(final String key, final long window) {
+        return KEY_PREFIX + key + ':' + window;
+    }
+}
@@ -0,0 +1,60 @@
+package org.apereo.cas.web.support.config;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.throttle.ThrottleProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.redis.core.RedisObjectFactory;
+import org.apereo.cas.web.support.RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * This is {@link CasRedisThrottlingConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@Configuration("casRedisThrottlingConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+public class CasRedisThrottlingConfiguration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CasRedisThrottlingConfiguration.class);
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Bean
+    @RefreshScope
+    public RedisConnectionFactory throttleRedisConnectionFactory() {
+        final ThrottleProperties.Redis redis = casProperties.getAuthn().getThrottle().getRedis();
+        final RedisObjectFactory obj = new RedisObjectFactory();
+        return obj.newRedisConnectionFactory(redis);
+    }
+
+    @Bean
+    @RefreshScope
+    public StringRedisTemplate throttleRedisTemplate() {
+        return new StringRedisTemplate(throttleRedisConnectionFactory());
+    }
+
+    @Bean
+    @RefreshScope
+    public ThrottledSubmissionHandlerInterceptor authenticationThrottle() {
+        final ThrottleProperties throttle = casProperties.getAuthn().getThrottle();
+        final ThrottleProperties.Failure failure = throttle.getFailure();
+        if (failure.getThreshold() <= 0 || failure.getRangeSeconds() <= 0) {
+            LOGGER.warn("Failure threshold and range must be defined for authentication throttling; Throttling is turned off");
+            return () -> LOGGER.debug("Throttling is turned off. No cleanup will take place");
+        }
+        return new RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(failure.getThreshold(), failure.getRangeSeconds(),
+                throttle.getUsernameParameter(), throttleRedisTemplate(),
+                Beans.newDuration(throttle.getRedis().getFlushInterval()).toMillis());
+    }
+}
@@ -0,0 +1,115 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.configuration.model.support.throttle.ThrottleProperties;
+import org.apereo.cas.redis.core.RedisObjectFactory;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import redis.embedded.RedisServer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests {
+    private static final int PORT = 6378;
+    private static final String USERNAME_PARAMETER = "username";
+
+    private static RedisServer REDIS_SERVER;
+
+    private final List<RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter> adapters = new ArrayList<>();
+
+    private JedisConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeClass
+    public static void startRedis() throws Exception {
+        REDIS_SERVER = new RedisServer(PORT);
+        REDIS_SERVER.start();
+    }
+
+    @AfterClass
+    public static void stopRedis() {
+        REDIS_SERVER.stop();
+    }
+
+    @Before
+    public void setUp() {
+        final ThrottleProperties.Redis redis = new ThrottleProperties.Redis();
+        redis.setPort(PORT);
+        this.connectionFactory = (JedisConnectionFactory) new RedisObjectFactory().newRedisConnectionFactory(redis);
+        this.connectionFactory.afterPropertiesSet();
+        this.redisTemplate = new StringRedisTemplate(this.connectionFactory);
+        this.redisTemplate.getConnectionFactory().getConnection().flushDb();
+    }
+
+    @After
+    public void tearDown() {
+        this.adapters.forEach(RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter::destroy);
+        this.adapters.clear();
+        this.connectionFactory.destroy();
+    }
+
+    @Test
+    public void verifyFailuresAreSharedByAllNodes() {
+        final RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter first = newAdapter();
+        final RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter second = newAdapter();
+
+        final MockHttpServletRequest request = newRequest("casuser");
+        first.recordSubmissionFailure(request);
+        first.recordSubmissionFailure(request);
+        assertFalse(second.exceedsThreshold(request));
+        first.flush();
+
+        second.recordSubmissionFailure(request);
+        assertTrue(second.exceedsThreshold(request));
+        second.flush();
+        assertTrue(first.exceedsThreshold(request));
+        assertFalse(first.exceedsThreshold(newRequest("otheruser")));
+    }
+
+    @Test
+    public void verifyFailuresAreCountedLocallyBeforeFlush() {
+        final RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter adapter = newAdapter();
+        final MockHttpServletRequest request = newRequest("casuser");
+        for (int i = 0; i < 3; i++) {
+            adapter.recordSubmissionFailure(request);
+        }
+        assertTrue(adapter.exceedsThreshold(request));
+        assertTrue(this.redisTemplate.keys("cas:throttle:*").isEmpty());
+
+        adapter.flush();
+        assertFalse(this.redisTemplate.keys("cas:throttle:*").isEmpty());
+    }
+
+    private RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter newAdapter() {
+        final RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter adapter =
+                new RedisThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(3, 60, USERNAME_PARAMETER, this.redisTemplate, 60_000);
+        this.adapters.add(adapter);
+        return adapter;
+    }
+
+    private static MockHttpServletRequest newRequest(final String username) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setMethod("POST");
+        request.setRemoteAddr("1.2.3.4");
+        request.setLocalAddr("4.5.6.7");
+        request.addParameter(USERNAME_PARAMETER, username);
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+        return request;
+    }
+}
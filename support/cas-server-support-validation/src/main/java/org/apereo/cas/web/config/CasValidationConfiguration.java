@@ -25,6 +25,7 @@ import org.apereo.cas.web.view.Cas10ResponseView;
 import org.apereo.cas.web.view.Cas20ResponseView;
 import org.apereo.cas.web.view.Cas30JsonResponseView;
 import org.apereo.cas.web.view.Cas30ResponseView;
+import org.apereo.cas.web.view.StreamingCasServiceResponseView;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -145,7 +146,7 @@ public class CasValidationConfiguration {
     public View cas2ServiceSuccessView() {
         return new Cas20ResponseView(true, protocolAttributeEncoder,
                 servicesManager, casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(),
-                cas2SuccessView, authenticationAttributeReleasePolicy, selectionStrategies);
+                getCas2SuccessView(), authenticationAttributeReleasePolicy, selectionStrategies);
     }
 
     @Bean
@@ -171,7 +172,7 @@ public class CasValidationConfiguration {
                 protocolAttributeEncoder,
                 servicesManager,
                 authenticationContextAttribute,
-                cas3SuccessView,
+                getCas3SuccessView(),
                 isReleaseProtocolAttributes,
                 authenticationAttributeReleasePolicy,
                 selectionStrategies);
@@ -194,7 +195,7 @@ public class CasValidationConfiguration {
                 cas20WithoutProxyProtocolValidationSpecification, authenticationSystemSupport,
                 servicesManager, centralAuthenticationService, proxy20Handler, argumentExtractor,
                 multifactorTriggerSelectionStrategy, authenticationContextValidator,
-                cas3ServiceJsonView(), cas3ServiceSuccessView(), cas3ServiceFailureView,
+                cas3ServiceJsonView(), cas3ServiceSuccessView(), getCas3ServiceFailureView(),
                 casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(), serviceValidationAuthorizers()
         );
     }
@@ -209,7 +210,7 @@ public class CasValidationConfiguration {
                 cas20ProtocolValidationSpecification, authenticationSystemSupport,
                 servicesManager, centralAuthenticationService, proxy20Handler, argumentExtractor,
                 multifactorTriggerSelectionStrategy, authenticationContextValidator,
-                cas3ServiceJsonView(), cas3ServiceSuccessView(), cas3ServiceFailureView,
+                cas3ServiceJsonView(), cas3ServiceSuccessView(), getCas3ServiceFailureView(),
                 casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(), serviceValidationAuthorizers()
         );
     }
@@ -225,7 +226,7 @@ public class CasValidationConfiguration {
                     cas20ProtocolValidationSpecification, authenticationSystemSupport,
                     servicesManager, centralAuthenticationService, proxy20Handler, argumentExtractor,
                     multifactorTriggerSelectionStrategy, authenticationContextValidator,
-                    cas3ServiceJsonView(), cas3ServiceSuccessView(), cas3ServiceFailureView,
+                    cas3ServiceJsonView(), cas3ServiceSuccessView(), getCas3ServiceFailureView(),
                     casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(), serviceValidationAuthorizers()
             );
         }
@@ -234,7 +235,7 @@ public class CasValidationConfiguration {
                 cas20ProtocolValidationSpecification, authenticationSystemSupport,
                 servicesManager, centralAuthenticationService, proxy20Handler, argumentExtractor,
                 multifactorTriggerSelectionStrategy, authenticationContextValidator,
-                cas3ServiceJsonView(), cas2ServiceSuccessView(), cas2ServiceFailureView,
+                cas3ServiceJsonView(), cas2ServiceSuccessView(), getCas2ServiceFailureView(),
                 casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(), serviceValidationAuthorizers()
         );
     }
@@ -265,7 +266,7 @@ public class CasValidationConfiguration {
                     cas20WithoutProxyProtocolValidationSpecification, authenticationSystemSupport,
                     servicesManager, centralAuthenticationService, proxy10Handler, argumentExtractor,
                     multifactorTriggerSelectionStrategy, authenticationContextValidator,
-                    cas3ServiceJsonView(), cas3ServiceSuccessView(), cas3ServiceFailureView,
+                    cas3ServiceJsonView(), cas3ServiceSuccessView(), getCas3ServiceFailureView(),
                     casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(), serviceValidationAuthorizers()
             );
         }
@@ -274,7 +275,7 @@ public class CasValidationConfiguration {
                 cas20WithoutProxyProtocolValidationSpecification, authenticationSystemSupport,
                 servicesManager, centralAuthenticationService, proxy10Handler, argumentExtractor,
                 multifactorTriggerSelectionStrategy, authenticationContextValidator,
-                cas3ServiceJsonView(), cas2ServiceSuccessView(), cas2ServiceFailureView,
+                cas3ServiceJsonView(), cas2ServiceSuccessView(), getCas2ServiceFailureView(),
                 casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(), serviceValidationAuthorizers()
         );
     }
@@ -284,4 +285,28 @@ public class CasValidationConfiguration {
     public Set<ValidationAuthorizer> serviceValidationAuthorizers() {
         return new LinkedHashSet<>(0);
     }
+
+    private View getCas2SuccessView() {
+        return casProperties.getView().getCas2().isStreaming()
+                ? new StreamingCasServiceResponseView(true, false)
+                : cas2SuccessView;
+    }
+
+    private View getCas2ServiceFailureView() {
+        return casProperties.getView().getCas2().isStreaming()
+                ? new StreamingCasServiceResponseView(false, false)
+                : cas2ServiceFailureView;
+    }
+
+    private View getCas3SuccessView() {
+        return casProperties.getView().getCas3().isStreaming()
+                ? new StreamingCasServiceResponseView(true, true)
+                : cas3SuccessView;
+    }
+
+    private View getCas3ServiceFailureView() {
+        return casProperties.getView().getCas3().isStreaming()
+                ? new StreamingCasServiceResponseView(false, true)
+                : cas3ServiceFailureView;
+    }
 }
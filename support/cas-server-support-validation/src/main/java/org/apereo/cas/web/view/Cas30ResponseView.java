@@ -140,6 +140,11 @@ public class Cas30ResponseView extends Cas20ResponseView {
         LOGGER.debug("Encoded attributes for the response are [{}]", encodedAttributes);
         super.putIntoModel(model, CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_ATTRIBUTES, encodedAttributes);
 
+        if (this.view instanceof StreamingCasServiceResponseView) {
+            LOGGER.debug("Attributes are written directly by the view; skipping formatting");
+            return;
+        }
+
         final List<String> formattedAttributes = new ArrayList<>(encodedAttributes.size());
 
         LOGGER.debug("Beginning to format/render attributes for the response");
@@ -0,0 +1,215 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.util.CollectionUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This is {@link StreamingCasServiceResponseView} that writes the CAS validation response
+ * straight to the response writer, as an alternative to rendering the protocol templates.
+ * It reads the same model that is prepared for the templates by {@link Cas20ResponseView}
+ * and {@link Cas30ResponseView}, and escapes all values as XML character data.
+ * Attributes are only written for protocol version 3.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class StreamingCasServiceResponseView implements View {
+    private static final String INDENT = "    ";
+
+    private final boolean successResponse;
+    private final boolean releaseAttributes;
+    private final String contentType;
+
+    public StreamingCasServiceResponseView(final boolean successResponse, final boolean releaseAttributes) {
+        this(successResponse, releaseAttributes, MediaType.APPLICATION_XML_VALUE);
+    }
+
+    public StreamingCasServiceResponseView(final boolean successResponse, final boolean releaseAttributes,
+                                           final String contentType) {
+        this.successResponse = successResponse;
+        this.releaseAttributes = releaseAttributes;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    @Override
+    public void render(final Map<String, ?> model, final HttpServletRequest request,
+                       final HttpServletResponse response) throws Exception {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(this.contentType);
+        final Writer writer = response.getWriter();
+        writer.write("<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n");
+        if (this.successResponse) {
+            writeAuthenticationSuccess(model, writer);
+        } else {
+            writeAuthenticationFailure(model, writer);
+        }
+        writer.write("</cas:serviceResponse>\n");
+        writer.flush();
+    }
+
+    /**
+     * Write the authentication success block.
+     *
+     * @param model  the model
+     * @param writer the writer
+     * @throws IOException the exception
+     */
+    protected void writeAuthenticationSuccess(final Map<String, ?> model, final Writer writer) throws IOException {
+        writer.write(INDENT);
+        writer.write("<cas:authenticationSuccess>\n");
+
+        final Principal principal = (Principal) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL);
+        writeElement(writer, 2, "user", principal.getId());
+
+        final Object pgtIou = model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU);
+        if (pgtIou != null) {
+            writeElement(writer, 2, "proxyGrantingTicket", pgtIou.toString());
+        }
+
+        final Collection<Authentication> proxies =
+                (Collection<Authentication>) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS);
+        if (proxies != null && !proxies.isEmpty()) {
+            writeIndent(writer, 2);
+            writer.write("<cas:proxies>\n");
+            for (final Authentication proxy : proxies) {
+                writeElement(writer, 3, "proxy", proxy.getPrincipal().getId());
+            }
+            writeIndent(writer, 2);
+            writer.write("</cas:proxies>\n");
+        }
+
+        if (this.releaseAttributes) {
+            final Map<String, Object> attributes =
+                    (Map<String, Object>) model.get(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_ATTRIBUTES);
+            if (attributes != null && !attributes.isEmpty()) {
+                writeAttributes(writer, attributes);
+            }
+        }
+
+        writer.write(INDENT);
+        writer.write("</cas:authenticationSuccess>\n");
+    }
+
+    /**
+     * Write the authentication failure block.
+     *
+     * @param model  the model
+     * @param writer the writer
+     * @throws IOException the exception
+     */
+    protected void writeAuthenticationFailure(final Map<String, ?> model, final Writer writer) throws IOException {
+        final Object code = model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE);
+        final Object description = model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION);
+        writer.write(INDENT);
+        writer.write("<cas:authenticationFailure code=\"");
+        if (code != null) {
+            escape(writer, code.toString());
+        }
+        writer.write("\">");
+        if (description != null) {
+            escape(writer, description.toString());
+        }
+        writer.write("</cas:authenticationFailure>\n");
+    }
+
+    private static void writeAttributes(final Writer writer, final Map<String, Object> attributes) throws IOException {
+        writeIndent(writer, 2);
+        writer.write("<cas:attributes>\n");
+        for (final Map.Entry<String, Object> entry : attributes.entrySet()) {
+            for (final Object value : CollectionUtils.toCollection(entry.getValue())) {
+                writeElement(writer, 3, entry.getKey(), value.toString().trim());
+            }
+        }
+        writeIndent(writer, 2);
+        writer.write("</cas:attributes>\n");
+    }
+
+    private static void writeElement(final Writer writer, final int depth, final String name, final String value) throws IOException {
+        writeIndent(writer, depth);
+        writer.write("<cas:");
+        writer.write(name);
+        writer.write('>');
+        escape(writer, value);
+        writer.write("</cas:");
+        writer.write(name);
+        writer.write(">\n");
+    }
+
+    private static void writeIndent(final Writer writer, final int depth) throws IOException {
+        for (int i = 0; i < depth; i++) {
+            writer.write(INDENT);
+        }
+    }
+
+    /**
+     * Escape the value as XML 1.0 character data, leaving out characters XML 1.0 does not allow.
+     * Runs of characters that need no escaping are written as-is.
+     *
+     * @param writer the writer
+     * @param value  the value
+     * @throws IOException the exception
+     */
+    static void escape(final Writer writer, final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        final int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            final String replacement;
+            switch (c) {
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                case '\'':
+                    replacement = "&apos;";
+                    break;
+                default:
+                    replacement = isAllowedXmlCharacter(c) ? null : "";
+                    break;
+            }
+            if (replacement != null) {
+                if (i > start) {
+                    writer.write(value, start, i - start);
+                }
+                writer.write(replacement);
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            writer.write(value, start, length - start);
+        }
+    }
+
+    private static boolean isAllowedXmlCharacter(final char c) {
+        return c >= ' ' && c <= '\uFFFD' || c == '\t' || c == '\n' || c == '\r';
+    }
+}
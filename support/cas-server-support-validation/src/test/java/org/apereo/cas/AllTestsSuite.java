@@ -4,6 +4,7 @@ import org.apereo.cas.web.ProxyControllerTests;
 import org.apereo.cas.web.view.Cas10ResponseViewTests;
 import org.apereo.cas.web.view.Cas20ResponseViewTests;
 import org.apereo.cas.web.view.Cas30ResponseViewTests;
+import org.apereo.cas.web.view.StreamingCasServiceResponseViewTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -16,7 +17,7 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({Cas10ResponseViewTests.class, Cas20ResponseViewTests.class, Cas30ResponseViewTests.class,
-        ProxyControllerTests.class})
+        ProxyControllerTests.class, StreamingCasServiceResponseViewTests.class})
 public class AllTestsSuite {
 }
 
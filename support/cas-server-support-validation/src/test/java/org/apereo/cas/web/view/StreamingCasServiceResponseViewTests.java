@@ -0,0 +1,87 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.util.CollectionUtils;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link StreamingCasServiceResponseViewTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class StreamingCasServiceResponseViewTests {
+    private static final String CAS_NAMESPACE = "http://www.yale.edu/tp/cas";
+
+    @Test
+    public void verifySuccessResponseIsWrittenAndEscaped() throws Exception {
+        final Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("memberOf", CollectionUtils.wrapList("faculty", "staff & <students>"));
+        attributes.put("name", " Bob O'Brien ");
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("casuser"));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU, "PGTIOU-1");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS,
+                CollectionUtils.wrapList(CoreAuthenticationTestUtils.getAuthentication("proxy1")));
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_ATTRIBUTES, attributes);
+
+        final Document document = render(new StreamingCasServiceResponseView(true, true), model);
+        assertEquals("casuser", getText(document, "user", 0));
+        assertEquals("PGTIOU-1", getText(document, "proxyGrantingTicket", 0));
+        assertEquals("proxy1", getText(document, "proxy", 0));
+        assertEquals("faculty", getText(document, "memberOf", 0));
+        assertEquals("staff & <students>", getText(document, "memberOf", 1));
+        assertEquals("Bob O'Brien", getText(document, "name", 0));
+    }
+
+    @Test
+    public void verifyAttributesAreLeftOutForCas2() throws Exception {
+        final Map<String, Object> model = new HashMap<>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("casuser"));
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_ATTRIBUTES,
+                CollectionUtils.wrap("name", "Bob"));
+
+        final Document document = render(new StreamingCasServiceResponseView(true, false), model);
+        assertEquals(0, document.getElementsByTagNameNS(CAS_NAMESPACE, "attributes").getLength());
+        assertEquals(0, document.getElementsByTagNameNS(CAS_NAMESPACE, "proxyGrantingTicket").getLength());
+    }
+
+    @Test
+    public void verifyFailureResponse() throws Exception {
+        final Map<String, Object> model = new HashMap<>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE, "INVALID_TICKET");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION, "Ticket \"ST-1\" not recognized");
+
+        final Document document = render(new StreamingCasServiceResponseView(false, true), model);
+        assertEquals("INVALID_TICKET", document.getElementsByTagNameNS(CAS_NAMESPACE, "authenticationFailure")
+                .item(0).getAttributes().getNamedItem("code").getNodeValue());
+        assertEquals("Ticket \"ST-1\" not recognized", getText(document, "authenticationFailure", 0));
+    }
+
+    private static Document render(final StreamingCasServiceResponseView view, final Map<String, Object> model) throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, new MockHttpServletRequest(), response);
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(response.getContentAsString())));
+    }
+
+    private static String getText(final Document document, final String name, final int index) {
+        return document.getElementsByTagNameNS(CAS_NAMESPACE, name).item(index).getTextContent();
+    }
+}